@@ -35,7 +35,6 @@ import java.time.format.TextStyle;
 import java.time.temporal.TemporalAdjuster;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -47,6 +46,7 @@ import java.util.stream.Collectors;
 import static java.lang.Integer.parseInt;
 import static java.time.DayOfWeek.SATURDAY;
 import static java.time.DayOfWeek.SUNDAY;
+import static java.time.temporal.ChronoUnit.DAYS;
 import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toCollection;
@@ -198,72 +198,110 @@ public class AbsenceOverviewViewController implements HasLaunchpad {
                                                                         Function<AbsencePeriod.RecordInfo, VacationTypeColor> recordInfoToColor) {
 
         final LocalDate today = LocalDate.now(clock);
-        final List<WorkingTime> workingTimeList = workingTimeService.getByPersons(personList);
-        final List<AbsencePeriod> openAbsences = absenceService.getOpenAbsences(personList, dateRange.startDate(), dateRange.endDate());
+        final LocalDate startDate = dateRange.startDate();
+        final int numberOfDays = (int) DAYS.between(startDate, dateRange.endDate()) + 1;
 
-        final HashMap<Integer, AbsenceOverviewMonthDto> monthsByNr = new HashMap<>();
-
-        final Map<Person, List<AbsencePeriod.Record>> absencePeriodRecordsByPerson = openAbsences.stream()
+        final Map<Person, List<WorkingTime>> workingTimesByPerson = workingTimeService.getByPersons(personList).stream()
+            .collect(groupingBy(WorkingTime::getPerson));
+        final Map<Person, List<AbsencePeriod.Record>> absencePeriodRecordsByPerson = absenceService.getOpenAbsences(personList, startDate, dateRange.endDate()).stream()
             .map(AbsencePeriod::getAbsenceRecords)
             .flatMap(List::stream)
             .collect(groupingBy(AbsencePeriod.Record::getPerson));
 
-        final Map<Person, Map<LocalDate, PublicHoliday>> publicHolidaysOfAllPersons = new HashMap<>();
-        for (Person person : personList) {
-            publicHolidaysOfAllPersons.put(person, getPublicHolidaysOfPerson(dateRange, person));
+        // index every information by person and day of the date range once,
+        // so that rendering the overview is a single pass over persons and days.
+        final int numberOfPersons = personList.size();
+        final boolean[][] workdaysByPerson = new boolean[numberOfPersons][];
+        final PublicHoliday[][] publicHolidaysByPerson = new PublicHoliday[numberOfPersons][];
+        final List<List<List<AbsencePeriod.Record>>> absenceRecordsByPerson = new ArrayList<>(numberOfPersons);
+        for (int personIndex = 0; personIndex < numberOfPersons; personIndex++) {
+            final Person person = personList.get(personIndex);
+            workdaysByPerson[personIndex] = getWorkdays(startDate, numberOfDays, workingTimesByPerson.getOrDefault(person, List.of()));
+            publicHolidaysByPerson[personIndex] = getPublicHolidays(startDate, numberOfDays, getPublicHolidaysOfPerson(dateRange, person));
+            absenceRecordsByPerson.add(getAbsenceRecords(startDate, numberOfDays, absencePeriodRecordsByPerson.getOrDefault(person, List.of())));
         }
 
-        for (LocalDate date : dateRange) {
-            final AbsenceOverviewMonthDto monthView = monthsByNr.computeIfAbsent(date.getMonthValue(),
-                monthValue -> initializeAbsenceOverviewMonthDto(date, personList, locale));
+        final List<AbsenceOverviewMonthDto> months = new ArrayList<>();
+        AbsenceOverviewMonthDto monthView = null;
 
-            final AbsenceOverviewMonthDayDto tableHeadDay = tableHeadDay(date, today, locale);
-            monthView.getDays().add(tableHeadDay);
+        for (int dayIndex = 0; dayIndex < numberOfDays; dayIndex++) {
+            final LocalDate date = startDate.plusDays(dayIndex);
+            if (monthView == null || date.getDayOfMonth() == 1) {
+                monthView = initializeAbsenceOverviewMonthDto(date, personList, locale);
+                months.add(monthView);
+            }
 
-            final Map<AbsenceOverviewMonthPersonDto, Person> personByView = personList.stream()
-                .collect(
-                    toMap(person -> monthView.getPersons().stream()
-                        .filter(view -> view.getId().equals(person.getId()))
-                        .findFirst()
-                        .orElse(null), Function.identity())
-                );
+            monthView.getDays().add(tableHeadDay(date, today, locale));
 
             // create an absence day dto for every person of the department
-            for (AbsenceOverviewMonthPersonDto personView : monthView.getPersons()) {
-
-                final Person person = personByView.get(personView);
+            final List<AbsenceOverviewMonthPersonDto> personViews = monthView.getPersons();
+            for (int personIndex = 0; personIndex < numberOfPersons; personIndex++) {
 
-                final List<WorkingTime> personWorkingTimeList = workingTimeList
-                    .stream()
-                    .filter(workingTime -> workingTime.getPerson().equals(person))
-                    .sorted(comparing(WorkingTime::getValidFrom).reversed())
-                    .collect(toList());
-
-                final List<AbsencePeriod.Record> personAbsenceRecordsForDate = Optional.ofNullable(absencePeriodRecordsByPerson.get(person))
-                    .stream()
-                    .flatMap(List::stream)
-                    .filter(absenceRecord -> absenceRecord.getDate().isEqual(date))
-                    .toList();
+                final List<AbsencePeriod.Record> personAbsenceRecordsForDate = absenceRecordsByPerson.get(personIndex).get(dayIndex);
+                final PublicHoliday publicHoliday = publicHolidaysByPerson[personIndex][dayIndex];
 
-                final AbsenceOverviewDayType personViewDayType = Optional.ofNullable(publicHolidaysOfAllPersons.get(person).get(date))
-                    .map(publicHoliday -> getAbsenceOverviewDayType(personAbsenceRecordsForDate, shouldAnonymizeAbsenceType, publicHoliday, recordInfoToColor))
+                final AbsenceOverviewDayType personViewDayType = Optional.ofNullable(publicHoliday)
+                    .map(holiday -> getAbsenceOverviewDayType(personAbsenceRecordsForDate, shouldAnonymizeAbsenceType, holiday, recordInfoToColor))
                     .orElseGet(() -> getAbsenceOverviewDayType(personAbsenceRecordsForDate, shouldAnonymizeAbsenceType, recordInfoToColor))
                     .build();
 
-                personView.getDays().add(new AbsenceOverviewPersonDayDto(personViewDayType, isWorkday(date, personWorkingTimeList)));
+                personViews.get(personIndex).getDays().add(new AbsenceOverviewPersonDayDto(personViewDayType, workdaysByPerson[personIndex][dayIndex]));
+            }
+        }
+
+        return months;
+    }
+
+    private static boolean[] getWorkdays(LocalDate startDate, int numberOfDays, List<WorkingTime> workingTimes) {
+
+        final List<WorkingTime> workingTimesSortedByValidFrom = workingTimes.stream()
+            .sorted(comparing(WorkingTime::getValidFrom))
+            .toList();
+
+        final boolean[] workdays = new boolean[numberOfDays];
+
+        int nextWorkingTimeIndex = 0;
+        WorkingTime currentWorkingTime = null;
+        for (int dayIndex = 0; dayIndex < numberOfDays; dayIndex++) {
+            final LocalDate date = startDate.plusDays(dayIndex);
+            while (nextWorkingTimeIndex < workingTimesSortedByValidFrom.size()
+                && !workingTimesSortedByValidFrom.get(nextWorkingTimeIndex).getValidFrom().isAfter(date)) {
+                final WorkingTime nextWorkingTime = workingTimesSortedByValidFrom.get(nextWorkingTimeIndex);
+                // the first of several working times with the same valid from date wins
+                if (currentWorkingTime == null || !currentWorkingTime.getValidFrom().isEqual(nextWorkingTime.getValidFrom())) {
+                    currentWorkingTime = nextWorkingTime;
+                }
+                nextWorkingTimeIndex++;
             }
+            workdays[dayIndex] = currentWorkingTime != null && currentWorkingTime.isWorkingDay(date.getDayOfWeek());
         }
 
-        return new ArrayList<>(monthsByNr.values());
+        return workdays;
     }
 
-    private boolean isWorkday(LocalDate date, List<WorkingTime> workingTimeList) {
-        return workingTimeList
-            .stream()
-            .filter(w -> w.getValidFrom().isBefore(date) || w.getValidFrom().isEqual(date))
-            .findFirst()
-            .map(w -> w.isWorkingDay(date.getDayOfWeek()))
-            .orElse(false);
+    private static PublicHoliday[] getPublicHolidays(LocalDate startDate, int numberOfDays, Map<LocalDate, PublicHoliday> publicHolidaysByDate) {
+        final PublicHoliday[] publicHolidays = new PublicHoliday[numberOfDays];
+        publicHolidaysByDate.forEach((date, publicHoliday) -> {
+            final long dayIndex = DAYS.between(startDate, date);
+            if (dayIndex >= 0 && dayIndex < numberOfDays) {
+                publicHolidays[(int) dayIndex] = publicHoliday;
+            }
+        });
+        return publicHolidays;
+    }
+
+    private static List<List<AbsencePeriod.Record>> getAbsenceRecords(LocalDate startDate, int numberOfDays, List<AbsencePeriod.Record> absenceRecords) {
+        final List<List<AbsencePeriod.Record>> absenceRecordsByDay = new ArrayList<>(numberOfDays);
+        for (int dayIndex = 0; dayIndex < numberOfDays; dayIndex++) {
+            absenceRecordsByDay.add(new ArrayList<>(1));
+        }
+        for (AbsencePeriod.Record absenceRecord : absenceRecords) {
+            final long dayIndex = DAYS.between(startDate, absenceRecord.getDate());
+            if (dayIndex >= 0 && dayIndex < numberOfDays) {
+                absenceRecordsByDay.get((int) dayIndex).add(absenceRecord);
+            }
+        }
+        return absenceRecordsByDay;
     }
 
     private Map<LocalDate, PublicHoliday> getPublicHolidaysOfPerson(DateRange dateRange, Person person) {
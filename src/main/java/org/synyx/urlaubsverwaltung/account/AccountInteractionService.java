@@ -5,6 +5,7 @@ import org.synyx.urlaubsverwaltung.person.Person;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Provides interactions with {@link Account}s like creating or editing.
@@ -68,6 +69,16 @@ public interface AccountInteractionService {
      */
     Account autoCreateOrUpdateNextYearsHolidaysAccount(Account referenceAccount);
 
+    /**
+     * Auto-creates new {@link Account}s or updates the existing {@link Account}s for the next year, based on the information
+     * of the given reference accounts like {@link #autoCreateOrUpdateNextYearsHolidaysAccount(Account)} does for a single one,
+     * but loads and saves the accounts of all persons at once.
+     *
+     * @param referenceAccounts of the same year to get the information about annual vacation days, left vacation days etc.
+     * @return the created/updated holidays accounts
+     */
+    List<Account> autoCreateOrUpdateNextYearsHolidaysAccounts(List<Account> referenceAccounts);
+
     /**
      * Updates the remaining vacation days of all {@link Account}s that follow the {@link Account} of the given year. Updating is stopped when there is no next year's
      * {@link Account}.
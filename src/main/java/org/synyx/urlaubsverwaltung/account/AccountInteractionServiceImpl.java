@@ -5,13 +5,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.synyx.urlaubsverwaltung.absence.DateRange;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendar;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendarService;
 
 import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.Year;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static java.lang.invoke.MethodHandles.lookup;
@@ -21,6 +26,8 @@ import static java.time.temporal.TemporalAdjusters.firstDayOfYear;
 import static java.time.temporal.TemporalAdjusters.lastDayOfYear;
 import static java.util.Objects.requireNonNullElse;
 import static java.util.Objects.requireNonNullElseGet;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
@@ -35,14 +42,16 @@ class AccountInteractionServiceImpl implements AccountInteractionService {
     private final AccountService accountService;
     private final VacationDaysService vacationDaysService;
     private final SettingsService settingsService;
+    private final WorkingTimeCalendarService workingTimeCalendarService;
     private final Clock clock;
 
     @Autowired
     AccountInteractionServiceImpl(AccountService accountService, VacationDaysService vacationDaysService,
-                                  SettingsService settingsService, Clock clock) {
+                                  SettingsService settingsService, WorkingTimeCalendarService workingTimeCalendarService, Clock clock) {
         this.accountService = accountService;
         this.vacationDaysService = vacationDaysService;
         this.settingsService = settingsService;
+        this.workingTimeCalendarService = workingTimeCalendarService;
         this.clock = clock;
     }
 
@@ -195,6 +204,52 @@ class AccountInteractionServiceImpl implements AccountInteractionService {
         );
     }
 
+    @Override
+    public List<Account> autoCreateOrUpdateNextYearsHolidaysAccounts(List<Account> referenceAccounts) {
+
+        if (referenceAccounts.isEmpty()) {
+            return List.of();
+        }
+
+        final Year year = Year.of(referenceAccounts.getFirst().getYear());
+        final int nextYear = year.getValue() + 1;
+        final List<Person> persons = referenceAccounts.stream().map(Account::getPerson).toList();
+
+        final Map<Person, Account> nextYearAccountsByPerson = accountService.getHolidaysAccount(nextYear, persons).stream()
+            .collect(toMap(Account::getPerson, identity()));
+        final Map<Person, WorkingTimeCalendar> workingTimeCalendarsByPerson = workingTimeCalendarService.getWorkingTimesByPersons(persons, year);
+        final DateRange dateRange = new DateRange(year.atDay(1), year.atDay(1).with(lastDayOfYear()));
+        final Map<Account, HolidayAccountVacationDays> vacationDaysLeftByAccount = vacationDaysService.getVacationDaysLeft(referenceAccounts, workingTimeCalendarsByPerson, dateRange);
+
+        final LocalDate today = LocalDate.now(clock);
+        final List<Account> nextYearAccounts = referenceAccounts.stream()
+            .map(referenceAccount -> {
+                final BigDecimal leftVacationDays = vacationDaysLeftByAccount.get(referenceAccount).vacationDaysYear()
+                    .getLeftVacationDays(today, referenceAccount.doRemainingVacationDaysExpire(), referenceAccount.getExpiryDate());
+
+                final Account nextYearAccount = nextYearAccountsByPerson.get(referenceAccount.getPerson());
+                if (nextYearAccount != null) {
+                    setRemainingVacationDays(nextYearAccount, leftVacationDays);
+                    return nextYearAccount;
+                }
+
+                final LocalDate validFrom = Year.of(nextYear).atDay(1);
+                final LocalDate expiryDateLocally = referenceAccount.getExpiryDateLocally() == null ? null : referenceAccount.getExpiryDateLocally().withYear(nextYear);
+                final Account account = new Account(referenceAccount.getPerson(), validFrom, validFrom.with(lastDayOfYear()),
+                    referenceAccount.isDoRemainingVacationDaysExpireLocally(), expiryDateLocally, referenceAccount.getAnnualVacationDays(),
+                    leftVacationDays, ZERO, referenceAccount.getComment());
+                account.setActualVacationDays(referenceAccount.getAnnualVacationDays());
+                return account;
+            })
+            .toList();
+
+        final List<Account> savedAccounts = accountService.saveAll(nextYearAccounts);
+
+        LOG.info("Created or updated {} holidays accounts for {}", savedAccounts.size(), nextYear);
+
+        return savedAccounts;
+    }
+
     /**
      * calculate remaining vacation days starting from today's month, round to ceiling
      */
@@ -213,13 +268,18 @@ class AccountInteractionServiceImpl implements AccountInteractionService {
     private void updateRemainingVacationDays(Account newAccount, Account lastAccount) {
 
         final BigDecimal leftVacationDays = vacationDaysService.calculateTotalLeftVacationDays(lastAccount);
-        newAccount.setRemainingVacationDays(leftVacationDays);
+        setRemainingVacationDays(newAccount, leftVacationDays);
+
+        accountService.save(newAccount);
+    }
+
+    private static void setRemainingVacationDays(Account account, BigDecimal leftVacationDays) {
+
+        account.setRemainingVacationDays(leftVacationDays);
 
         // number of not expiring remaining vacation days is greater than remaining vacation days
-        if (newAccount.getRemainingVacationDaysNotExpiring().compareTo(leftVacationDays) > 0) {
-            newAccount.setRemainingVacationDaysNotExpiring(leftVacationDays);
+        if (account.getRemainingVacationDaysNotExpiring().compareTo(leftVacationDays) > 0) {
+            account.setRemainingVacationDaysNotExpiring(leftVacationDays);
         }
-
-        accountService.save(newAccount);
     }
 }
@@ -1,6 +1,7 @@
 package org.synyx.urlaubsverwaltung.account;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
@@ -17,6 +18,9 @@ public class AccountProperties {
     @Valid
     private AccountProperties.VacationDaysReminder vacationDaysReminder = new VacationDaysReminder();
 
+    @Valid
+    private VacationDaysLedger vacationDaysLedger = new VacationDaysLedger();
+
     public Update getUpdate() {
         return update;
     }
@@ -33,6 +37,14 @@ public class AccountProperties {
         this.vacationDaysReminder = vacationDaysReminder;
     }
 
+    public VacationDaysLedger getVacationDaysLedger() {
+        return vacationDaysLedger;
+    }
+
+    public void setVacationDaysLedger(VacationDaysLedger vacationDaysLedger) {
+        this.vacationDaysLedger = vacationDaysLedger;
+    }
+
     public static class Update {
 
         /**
@@ -41,6 +53,12 @@ public class AccountProperties {
         @CronExpression
         private String cron = "0 0 5 1 1 *";
 
+        /**
+         * Number of persons whose holidays accounts are updated together in one transaction
+         */
+        @Min(1)
+        private int batchSize = 500;
+
         public String getCron() {
             return cron;
         }
@@ -48,6 +66,14 @@ public class AccountProperties {
         public void setCron(String cron) {
             this.cron = cron;
         }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
     }
 
     public static class VacationDaysReminder {
@@ -80,4 +106,36 @@ public class AccountProperties {
             this.expiredRemainingVacationDaysCron = expiredRemainingVacationDaysCron;
         }
     }
+
+    public static class VacationDaysLedger {
+
+        /**
+         * Reconciles the vacation days ledger with the applications for leave by default every hour,
+         * e.g. to apply changed working times or public holidays
+         */
+        @CronExpression
+        private String reconciliationCron = "0 15 * * * *";
+
+        /**
+         * Number of persons whose vacation days ledger entries are reconciled together
+         */
+        @Min(1)
+        private int batchSize = 500;
+
+        public String getReconciliationCron() {
+            return reconciliationCron;
+        }
+
+        public void setReconciliationCron(String reconciliationCron) {
+            this.reconciliationCron = reconciliationCron;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
 }
@@ -48,6 +48,14 @@ public interface AccountService {
      */
     Account save(Account account);
 
+    /**
+     * Saves the given {@link Account}s at once, so that the inserts and updates can be sent in JDBC batches.
+     *
+     * @param accounts to be saved
+     * @return saved {@link Account}s in the order of the given accounts
+     */
+    List<Account> saveAll(List<Account> accounts);
+
     /**
      * Deletes all {@link Account}s in the database of person id.
      *
@@ -1,5 +1,7 @@
 package org.synyx.urlaubsverwaltung.account;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -15,7 +17,6 @@ import java.time.Year;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -29,22 +30,31 @@ import static org.synyx.urlaubsverwaltung.person.Role.OFFICE;
 public class TurnOfTheYearAccountUpdaterService {
 
     private static final Logger LOG = getLogger(lookup().lookupClass());
+    private static final String METRIC_PERSONS_PROCESSED = "accounts.turn_of_the_year.persons.processed";
+    private static final String METRIC_ACCOUNTS_UPDATED = "accounts.turn_of_the_year.accounts.updated";
 
     private final PersonService personService;
     private final AccountService accountService;
     private final AccountInteractionService accountInteractionService;
     private final VacationDaysReminderService vacationDaysReminderService;
     private final MailService mailService;
+    private final int batchSize;
+    private final Counter personsProcessed;
+    private final Counter accountsUpdated;
     private final Clock clock;
 
     @Autowired
     TurnOfTheYearAccountUpdaterService(PersonService personService, AccountService accountService,
-                                              AccountInteractionService accountInteractionService, VacationDaysReminderService vacationDaysReminderService, MailService mailService, Clock clock) {
+                                       AccountInteractionService accountInteractionService, VacationDaysReminderService vacationDaysReminderService,
+                                       MailService mailService, AccountProperties accountProperties, MeterRegistry meterRegistry, Clock clock) {
         this.personService = personService;
         this.accountService = accountService;
         this.accountInteractionService = accountInteractionService;
         this.vacationDaysReminderService = vacationDaysReminderService;
         this.mailService = mailService;
+        this.batchSize = accountProperties.getUpdate().getBatchSize();
+        this.personsProcessed = Counter.builder(METRIC_PERSONS_PROCESSED).register(meterRegistry);
+        this.accountsUpdated = Counter.builder(METRIC_ACCOUNTS_UPDATED).register(meterRegistry);
         this.clock = clock;
     }
 
@@ -58,16 +68,24 @@ public class TurnOfTheYearAccountUpdaterService {
         // get all persons
         final List<Person> persons = personService.getActivePersons();
 
-        // get all their accounts and calculate the remaining vacation days for the new year
+        // get all their accounts and calculate the remaining vacation days for the new year batch by batch
         final List<Account> updatedAccounts = new ArrayList<>();
-        for (Person person : persons) {
-            final Optional<Account> accountLastYear = accountService.getHolidaysAccount(year - 1, person);
-            if (accountLastYear.isPresent() && accountLastYear.get().getAnnualVacationDays() != null) {
-                LOG.info("Updating account of person with id {}", person.getId());
-                final Account holidaysAccount = accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccount(accountLastYear.get());
-                LOG.info("Setting remaining vacation days of person with id {} to {} for {}", person.getId(), holidaysAccount.getRemainingVacationDays(), year);
-                updatedAccounts.add(holidaysAccount);
+        for (int fromIndex = 0; fromIndex < persons.size(); fromIndex += batchSize) {
+            final List<Person> batch = persons.subList(fromIndex, Math.min(fromIndex + batchSize, persons.size()));
+
+            final List<Account> accountsLastYear = accountService.getHolidaysAccount(year - 1, batch).stream()
+                .filter(account -> account.getAnnualVacationDays() != null)
+                .toList();
+
+            final List<Account> holidaysAccounts = accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccounts(accountsLastYear);
+            for (Account holidaysAccount : holidaysAccounts) {
+                LOG.info("Setting remaining vacation days of person with id {} to {} for {}", holidaysAccount.getPerson().getId(), holidaysAccount.getRemainingVacationDays(), year);
             }
+            updatedAccounts.addAll(holidaysAccounts);
+
+            personsProcessed.increment(batch.size());
+            accountsUpdated.increment(holidaysAccounts.size());
+            LOG.info("Processed holidays accounts of {} / {} persons", fromIndex + batch.size(), persons.size());
         }
 
         LOG.info("Updated holidays accounts: {} / {}", updatedAccounts.size(), persons.size());
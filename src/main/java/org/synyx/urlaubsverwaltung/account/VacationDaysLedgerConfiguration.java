@@ -0,0 +1,34 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.synyx.urlaubsverwaltung.config.ScheduleLocking;
+
+@Configuration
+public class VacationDaysLedgerConfiguration implements SchedulingConfigurer {
+
+    private final AccountProperties accountProperties;
+    private final VacationDaysLedgerService vacationDaysLedgerService;
+    private final ScheduleLocking scheduleLocking;
+    private final ThreadPoolTaskScheduler taskScheduler;
+
+    @Autowired
+    VacationDaysLedgerConfiguration(AccountProperties accountProperties, VacationDaysLedgerService vacationDaysLedgerService, ScheduleLocking scheduleLocking, ThreadPoolTaskScheduler taskScheduler) {
+        this.accountProperties = accountProperties;
+        this.vacationDaysLedgerService = vacationDaysLedgerService;
+        this.scheduleLocking = scheduleLocking;
+        this.taskScheduler = taskScheduler;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.setScheduler(taskScheduler);
+        taskRegistrar.addCronTask(
+            scheduleLocking.withLock("ReconcileVacationDaysLedger", vacationDaysLedgerService::reconcile),
+            accountProperties.getVacationDaysLedger().getReconciliationCron()
+        );
+    }
+}
@@ -0,0 +1,133 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import static jakarta.persistence.GenerationType.SEQUENCE;
+
+/**
+ * Used vacation days of a person in a year, before and after the expiry date of the remaining vacation days.
+ * The values are a materialized result of {@link VacationDaysService} and are only valid as long as the
+ * expiry date of the holidays account matches the {@link #getExpiryDate() expiry date} they are calculated for.
+ */
+@Entity(name = "vacation_days_ledger")
+class VacationDaysLedgerEntity {
+
+    @Id
+    @Column(name = "id", unique = true, nullable = false, updatable = false)
+    @GeneratedValue(strategy = SEQUENCE, generator = "vacation_days_ledger_generator")
+    @SequenceGenerator(name = "vacation_days_ledger_generator", sequenceName = "vacation_days_ledger_id_seq")
+    private Long id;
+
+    @ManyToOne(optional = false)
+    private Person person;
+
+    @Column(nullable = false)
+    private int year;
+
+    // null if the remaining vacation days do not expire
+    private LocalDate expiryDate;
+
+    @Column(nullable = false)
+    private BigDecimal usedDaysBeforeExpiry;
+
+    @Column(nullable = false)
+    private BigDecimal usedDaysAfterExpiry;
+
+    @Column(nullable = false)
+    private Instant calculatedAt;
+
+    Long getId() {
+        return id;
+    }
+
+    void setId(Long id) {
+        this.id = id;
+    }
+
+    Person getPerson() {
+        return person;
+    }
+
+    void setPerson(Person person) {
+        this.person = person;
+    }
+
+    int getYear() {
+        return year;
+    }
+
+    void setYear(int year) {
+        this.year = year;
+    }
+
+    LocalDate getExpiryDate() {
+        return expiryDate;
+    }
+
+    void setExpiryDate(LocalDate expiryDate) {
+        this.expiryDate = expiryDate;
+    }
+
+    BigDecimal getUsedDaysBeforeExpiry() {
+        return usedDaysBeforeExpiry;
+    }
+
+    void setUsedDaysBeforeExpiry(BigDecimal usedDaysBeforeExpiry) {
+        this.usedDaysBeforeExpiry = usedDaysBeforeExpiry;
+    }
+
+    BigDecimal getUsedDaysAfterExpiry() {
+        return usedDaysAfterExpiry;
+    }
+
+    void setUsedDaysAfterExpiry(BigDecimal usedDaysAfterExpiry) {
+        this.usedDaysAfterExpiry = usedDaysAfterExpiry;
+    }
+
+    Instant getCalculatedAt() {
+        return calculatedAt;
+    }
+
+    void setCalculatedAt(Instant calculatedAt) {
+        this.calculatedAt = calculatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "VacationDaysLedgerEntity{" +
+            "id=" + id +
+            ", year=" + year +
+            ", expiryDate=" + expiryDate +
+            ", usedDaysBeforeExpiry=" + usedDaysBeforeExpiry +
+            ", usedDaysAfterExpiry=" + usedDaysAfterExpiry +
+            '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final VacationDaysLedgerEntity that = (VacationDaysLedgerEntity) o;
+        return null != this.getId() && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
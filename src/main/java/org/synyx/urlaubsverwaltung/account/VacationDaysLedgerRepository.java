@@ -0,0 +1,58 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for {@link VacationDaysLedgerEntity} entities.
+ */
+interface VacationDaysLedgerRepository extends JpaRepository<VacationDaysLedgerEntity, Long> {
+
+    List<VacationDaysLedgerEntity> findByPerson(Person person);
+
+    List<VacationDaysLedgerEntity> findByPersonAndYearIn(Person person, Collection<Integer> years);
+
+    List<VacationDaysLedgerEntity> findByPersonInAndYear(Collection<Person> persons, int year);
+
+    List<VacationDaysLedgerEntity> findByPersonInAndYearIn(Collection<Person> persons, Collection<Integer> years);
+
+    @Modifying
+    void deleteByPerson(Person person);
+
+    /**
+     * Inserts the given ledger entry or updates the entry of the same person and year. Entries are written within the
+     * transaction of changed applications, so a concurrent insert of the same entry must not fail on the unique
+     * constraint and roll back the change.
+     *
+     * @param ledgerEntry the ledger entry to write, its id is ignored
+     */
+    default void upsert(VacationDaysLedgerEntity ledgerEntry) {
+        upsert(ledgerEntry.getPerson(), ledgerEntry.getYear(), ledgerEntry.getExpiryDate(), ledgerEntry.getUsedDaysBeforeExpiry(),
+            ledgerEntry.getUsedDaysAfterExpiry(), ledgerEntry.getCalculatedAt());
+    }
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO vacation_days_ledger (id, person_id, year, expiry_date, used_days_before_expiry, used_days_after_expiry, calculated_at)
+        VALUES (nextval('vacation_days_ledger_id_seq'), :#{#person.id}, :year, CAST(:expiryDate AS date), :usedDaysBeforeExpiry, :usedDaysAfterExpiry, :calculatedAt)
+        ON CONFLICT (person_id, year) DO UPDATE
+        SET expiry_date = excluded.expiry_date,
+            used_days_before_expiry = excluded.used_days_before_expiry,
+            used_days_after_expiry = excluded.used_days_after_expiry,
+            calculated_at = excluded.calculated_at
+        """
+        , nativeQuery = true
+    )
+    void upsert(@Param("person") Person person, @Param("year") int year, @Param("expiryDate") LocalDate expiryDate,
+                @Param("usedDaysBeforeExpiry") BigDecimal usedDaysBeforeExpiry, @Param("usedDaysAfterExpiry") BigDecimal usedDaysAfterExpiry,
+                @Param("calculatedAt") Instant calculatedAt);
+}
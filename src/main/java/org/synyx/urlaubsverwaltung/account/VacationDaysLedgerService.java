@@ -0,0 +1,254 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.synyx.urlaubsverwaltung.application.application.Application;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationAllowedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationAllowedTemporarilyEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationAppliedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationCancellationRequestedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationCancelledEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationCreatedFromSickNoteEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationDeclinedCancellationRequestEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationDeletedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationRejectedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationRevokedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationUpdatedEvent;
+import org.synyx.urlaubsverwaltung.application.vacationtype.VacationTypeUpdatedEvent;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonDeletedEvent;
+import org.synyx.urlaubsverwaltung.person.PersonService;
+import org.synyx.urlaubsverwaltung.settings.SettingsUpdatedEvent;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeUpdatedEvent;
+
+import java.time.Clock;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.springframework.transaction.annotation.Propagation.REQUIRES_NEW;
+
+/**
+ * Maintains the vacation days ledger, the materialized used vacation days per person and year that are read by
+ * {@link VacationDaysService}.
+ *
+ * <p>Entries are updated within the transaction of every change of an application for leave. Entries affected by
+ * changed working times, settings or vacation types are deleted, until they are calculated again by {@link #reconcile()}
+ * which is scheduled by {@link VacationDaysLedgerConfiguration}, the used vacation days are calculated on read.</p>
+ *
+ * <p>New entries are written with {@link VacationDaysLedgerRepository#upsert(VacationDaysLedgerEntity)}, so that
+ * concurrent changes of the same person do not fail on the unique constraint of person and year.</p>
+ */
+@Service
+class VacationDaysLedgerService {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private final VacationDaysLedgerRepository vacationDaysLedgerRepository;
+    private final VacationDaysService vacationDaysService;
+    private final AccountService accountService;
+    private final PersonService personService;
+    private final int batchSize;
+    private final Counter correctedEntries;
+    private final Clock clock;
+
+    @Autowired
+    VacationDaysLedgerService(VacationDaysLedgerRepository vacationDaysLedgerRepository, VacationDaysService vacationDaysService,
+                              AccountService accountService, PersonService personService, AccountProperties accountProperties,
+                              MeterRegistry meterRegistry, Clock clock) {
+        this.vacationDaysLedgerRepository = vacationDaysLedgerRepository;
+        this.vacationDaysService = vacationDaysService;
+        this.accountService = accountService;
+        this.personService = personService;
+        this.batchSize = accountProperties.getVacationDaysLedger().getBatchSize();
+        this.correctedEntries = Counter.builder("accounts.vacation_days_ledger.corrected")
+            .description("Vacation days ledger entries that have been corrected by the reconciliation")
+            .register(meterRegistry);
+        this.clock = clock;
+    }
+
+    @EventListener
+    void on(ApplicationAppliedEvent event) {
+        update(event.application(), false);
+    }
+
+    @EventListener
+    void on(ApplicationAllowedEvent event) {
+        update(event.application(), false);
+    }
+
+    @EventListener
+    void on(ApplicationAllowedTemporarilyEvent event) {
+        update(event.application(), false);
+    }
+
+    @EventListener
+    void on(ApplicationRejectedEvent event) {
+        update(event.application(), false);
+    }
+
+    @EventListener
+    void on(ApplicationCancelledEvent event) {
+        update(event.application(), false);
+    }
+
+    @EventListener
+    void on(ApplicationRevokedEvent event) {
+        update(event.application(), false);
+    }
+
+    @EventListener
+    void on(ApplicationCancellationRequestedEvent event) {
+        update(event.application(), false);
+    }
+
+    @EventListener
+    void on(ApplicationDeclinedCancellationRequestEvent event) {
+        update(event.application(), false);
+    }
+
+    @EventListener
+    void on(ApplicationCreatedFromSickNoteEvent event) {
+        update(event.application(), false);
+    }
+
+    @EventListener
+    void on(ApplicationUpdatedEvent event) {
+        // the application may have been moved to other years
+        update(event.application(), true);
+    }
+
+    /**
+     * Applications are only deleted together with their person, so the ledger entries are not calculated again.
+     */
+    @EventListener
+    void on(ApplicationDeletedEvent event) {
+        vacationDaysLedgerRepository.deleteByPerson(event.application().getPerson());
+    }
+
+    @EventListener
+    void on(PersonDeletedEvent event) {
+        vacationDaysLedgerRepository.deleteByPerson(event.person());
+    }
+
+    @EventListener
+    void on(WorkingTimeUpdatedEvent event) {
+        vacationDaysLedgerRepository.deleteByPerson(event.person());
+    }
+
+    /**
+     * The federal state and the working time settings determine the public holidays of all persons. The event is
+     * published after the settings have been committed, so the entries are deleted in a new transaction.
+     */
+    @EventListener
+    @Transactional(propagation = REQUIRES_NEW)
+    void on(SettingsUpdatedEvent event) {
+        vacationDaysLedgerRepository.deleteAllInBatch();
+    }
+
+    /**
+     * The category of a vacation type determines whether its applications are counted as used vacation days.
+     */
+    @EventListener
+    void on(VacationTypeUpdatedEvent event) {
+        vacationDaysLedgerRepository.deleteAllInBatch();
+    }
+
+    /**
+     * Calculates the ledger entries of the previous, the current and the next year of all active persons again
+     * and corrects the entries that differ.
+     */
+    void reconcile() {
+
+        final int currentYear = Year.now(clock).getValue();
+        final List<Person> persons = personService.getActivePersons();
+
+        int corrected = 0;
+        for (int year = currentYear - 1; year <= currentYear + 1; year++) {
+            for (int fromIndex = 0; fromIndex < persons.size(); fromIndex += batchSize) {
+                final List<Person> batch = persons.subList(fromIndex, Math.min(fromIndex + batchSize, persons.size()));
+                corrected += reconcile(year, batch);
+            }
+        }
+
+        correctedEntries.increment(corrected);
+        LOG.info("Reconciled vacation days ledger of {} persons, corrected {} entries", persons.size(), corrected);
+    }
+
+    private int reconcile(int year, List<Person> persons) {
+
+        final Map<Person, VacationDaysLedgerEntity> ledgerByPerson = vacationDaysLedgerRepository.findByPersonInAndYear(persons, year).stream()
+            .collect(toMap(VacationDaysLedgerEntity::getPerson, identity()));
+
+        final List<VacationDaysLedgerEntity> changed = new ArrayList<>();
+        for (Account account : accountService.getHolidaysAccount(year, persons)) {
+            final VacationDaysLedgerEntity ledgerEntry = ledgerByPerson.getOrDefault(account.getPerson(), newLedgerEntry(account.getPerson(), year));
+            if (vacationDaysService.updateVacationDaysLedger(ledgerEntry, account)) {
+                changed.add(ledgerEntry);
+            }
+        }
+
+        save(changed);
+        return changed.size();
+    }
+
+    private void update(Application application, boolean deleteOtherYears) {
+
+        final Person person = application.getPerson();
+        final int startYear = application.getStartDate().getYear();
+        final int endYear = application.getEndDate().getYear();
+
+        final Map<Integer, VacationDaysLedgerEntity> ledgerByYear = vacationDaysLedgerRepository.findByPerson(person).stream()
+            .collect(toMap(VacationDaysLedgerEntity::getYear, identity()));
+
+        final List<VacationDaysLedgerEntity> changed = new ArrayList<>();
+        for (int year = startYear; year <= endYear; year++) {
+            final VacationDaysLedgerEntity ledgerEntry = ledgerByYear.getOrDefault(year, newLedgerEntry(person, year));
+            accountService.getHolidaysAccount(year, person)
+                .filter(account -> vacationDaysService.updateVacationDaysLedger(ledgerEntry, account))
+                .ifPresent(account -> changed.add(ledgerEntry));
+        }
+        save(changed);
+
+        if (deleteOtherYears) {
+            // the entries of other years are calculated again by the reconciliation, until then they are calculated on read
+            final List<VacationDaysLedgerEntity> otherYears = ledgerByYear.values().stream()
+                .filter(ledgerEntry -> ledgerEntry.getYear() < startYear || ledgerEntry.getYear() > endYear)
+                .toList();
+            vacationDaysLedgerRepository.deleteAll(otherYears);
+        }
+    }
+
+    /**
+     * New entries are inserted with an upsert, since the entry of the same person and year may be inserted
+     * concurrently. Loaded entries are updated as usual.
+     */
+    private void save(List<VacationDaysLedgerEntity> ledgerEntries) {
+        final List<VacationDaysLedgerEntity> existingEntries = new ArrayList<>();
+        for (VacationDaysLedgerEntity ledgerEntry : ledgerEntries) {
+            if (ledgerEntry.getId() == null) {
+                vacationDaysLedgerRepository.upsert(ledgerEntry);
+            } else {
+                existingEntries.add(ledgerEntry);
+            }
+        }
+        vacationDaysLedgerRepository.saveAll(existingEntries);
+    }
+
+    private static VacationDaysLedgerEntity newLedgerEntry(Person person, int year) {
+        final VacationDaysLedgerEntity ledgerEntry = new VacationDaysLedgerEntity();
+        ledgerEntry.setPerson(person);
+        ledgerEntry.setYear(year);
+        return ledgerEntry;
+    }
+}
@@ -1,45 +1,64 @@
 package org.synyx.urlaubsverwaltung.account;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.synyx.urlaubsverwaltung.absence.DateRange;
 import org.synyx.urlaubsverwaltung.mail.Mail;
 import org.synyx.urlaubsverwaltung.mail.MailService;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendar;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendarService;
 
 import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.Year;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static java.math.BigDecimal.ZERO;
+import static java.util.Collections.newSetFromMap;
+import static java.time.temporal.TemporalAdjusters.lastDayOfYear;
 import static org.slf4j.LoggerFactory.getLogger;
 
 @Service
 public class VacationDaysReminderService {
 
     private static final Logger LOG = getLogger(lookup().lookupClass());
+    private static final String METRIC_DURATION = "accounts.vacation_days_reminder.duration";
+    private static final String METRIC_PERSONS = "accounts.vacation_days_reminder.persons";
 
     private final PersonService personService;
     private final AccountService accountService;
     private final VacationDaysService vacationDaysService;
+    private final WorkingTimeCalendarService workingTimeCalendarService;
     private final MailService mailService;
+    private final MeterRegistry meterRegistry;
     private final Clock clock;
 
     @Autowired
     VacationDaysReminderService(PersonService personService, AccountService accountService, VacationDaysService vacationDaysService,
-                                MailService mailService, Clock clock) {
+                                WorkingTimeCalendarService workingTimeCalendarService, MailService mailService,
+                                MeterRegistry meterRegistry, Clock clock) {
         this.personService = personService;
         this.accountService = accountService;
         this.vacationDaysService = vacationDaysService;
+        this.workingTimeCalendarService = workingTimeCalendarService;
         this.mailService = mailService;
+        this.meterRegistry = meterRegistry;
         this.clock = clock;
     }
 
@@ -48,20 +67,25 @@ public class VacationDaysReminderService {
      */
     @Async
     void remindForCurrentlyLeftVacationDays() {
-        final int year = Year.now(clock).getValue();
-        final List<Person> persons = personService.getActivePersons();
-
-        for (Person person : persons) {
-            accountService.getHolidaysAccount(year, person)
-                .filter(Account::doRemainingVacationDaysExpire)
-                .ifPresent(account -> {
-                    final BigDecimal vacationDaysLeft = vacationDaysService.calculateTotalLeftVacationDays(account);
-                    if (vacationDaysLeft.compareTo(ZERO) > 0) {
-                        sendReminderForCurrentlyLeftVacationDays(person, vacationDaysLeft, year + 1);
-                        LOG.info("Reminded person with id {} for {} currently left vacation days", person.getId(), vacationDaysLeft);
-                    }
-                });
-        }
+        timed("currently_left_vacation_days", persons -> {
+            final LocalDate today = LocalDate.now(clock);
+            final int year = today.getYear();
+
+            final List<Mail> mails = new ArrayList<>();
+            for (HolidayAccountVacationDays accountVacationDays : getVacationDaysOfAccountsWithExpiringRemainingVacationDays(year, persons, account -> true)) {
+                final Account account = accountVacationDays.account();
+                final Person person = account.getPerson();
+
+                final BigDecimal vacationDaysLeft = accountVacationDays.vacationDaysYear()
+                    .getLeftVacationDays(today, account.doRemainingVacationDaysExpire(), account.getExpiryDate());
+                if (vacationDaysLeft.compareTo(ZERO) > 0) {
+                    mails.add(reminderForCurrentlyLeftVacationDays(person, vacationDaysLeft, year + 1));
+                    LOG.info("Reminding person with id {} for {} currently left vacation days", person.getId(), vacationDaysLeft);
+                }
+            }
+
+            sendMails(mails);
+        });
     }
 
     /**
@@ -70,26 +94,26 @@ public class VacationDaysReminderService {
      */
     @Async
     void remindForRemainingVacationDays() {
-        final int year = Year.now(clock).getValue();
-        final List<Person> persons = personService.getActivePersons();
-
-        for (Person person : persons) {
-
-            accountService.getHolidaysAccount(year, person)
-                .filter(Account::doRemainingVacationDaysExpire)
-                .ifPresent(account -> {
-                    final Optional<Account> accountOfNextYear = accountService.getHolidaysAccount(year + 1, person);
-                    final VacationDaysLeft vacationDaysLeft = vacationDaysService.getVacationDaysLeft(account, accountOfNextYear);
-
-                    final BigDecimal remainingVacationDaysLeft = vacationDaysLeft.getRemainingVacationDays()
-                        .subtract(vacationDaysLeft.getRemainingVacationDaysNotExpiring());
-
-                    if (remainingVacationDaysLeft.compareTo(ZERO) > 0) {
-                        sendReminderForRemainingVacationDaysNotification(person, remainingVacationDaysLeft, account.getExpiryDate().minusDays(1));
-                        LOG.info("Reminded person with id {} for {} remaining vacation days in year {}.", person.getId(), remainingVacationDaysLeft, year);
-                    }
-                });
-        }
+        timed("remaining_vacation_days", persons -> {
+            final int year = Year.now(clock).getValue();
+
+            final List<Mail> mails = new ArrayList<>();
+            for (HolidayAccountVacationDays accountVacationDays : getVacationDaysOfAccountsWithExpiringRemainingVacationDays(year, persons, account -> true)) {
+                final Account account = accountVacationDays.account();
+                final Person person = account.getPerson();
+
+                final VacationDaysLeft vacationDaysLeft = accountVacationDays.vacationDaysYear();
+                final BigDecimal remainingVacationDaysLeft = vacationDaysLeft.getRemainingVacationDays()
+                    .subtract(vacationDaysLeft.getRemainingVacationDaysNotExpiring());
+
+                if (remainingVacationDaysLeft.compareTo(ZERO) > 0) {
+                    mails.add(reminderForRemainingVacationDaysNotification(person, remainingVacationDaysLeft, account.getExpiryDate().minusDays(1)));
+                    LOG.info("Reminding person with id {} for {} remaining vacation days in year {}.", person.getId(), remainingVacationDaysLeft, year);
+                }
+            }
+
+            sendMails(mails);
+        });
     }
 
     /**
@@ -97,72 +121,128 @@ public class VacationDaysReminderService {
      */
     @Async
     void notifyForExpiredRemainingVacationDays() {
-        final LocalDate now = LocalDate.now(clock);
-        final int year = now.getYear();
+        timed("expired_remaining_vacation_days", persons -> {
+            final LocalDate now = LocalDate.now(clock);
+            final int year = now.getYear();
+
+            final Predicate<Account> expiredAndNotNotified = account -> account.getExpiryNotificationSentDate() == null && !now.isBefore(account.getExpiryDate());
+
+            final Map<Mail, Account> accountsByMail = new IdentityHashMap<>();
+            final List<Mail> mails = new ArrayList<>();
+            for (HolidayAccountVacationDays accountVacationDays : getVacationDaysOfAccountsWithExpiringRemainingVacationDays(year, persons, expiredAndNotNotified)) {
+                final Account account = accountVacationDays.account();
+                final Person person = account.getPerson();
+
+                final VacationDaysLeft vacationDaysLeft = accountVacationDays.vacationDaysYear();
+                final BigDecimal expiredRemainingVacationDays = vacationDaysLeft.getRemainingVacationDays()
+                    .subtract(vacationDaysLeft.getRemainingVacationDaysNotExpiring());
+                if (expiredRemainingVacationDays.compareTo(ZERO) > 0) {
+                    final BigDecimal totalLeftVacationDays = vacationDaysLeft.getLeftVacationDays(now, account.doRemainingVacationDaysExpire(), account.getExpiryDate());
+
+                    final Mail mail = notificationForExpiredRemainingVacationDays(person, expiredRemainingVacationDays, totalLeftVacationDays, vacationDaysLeft.getRemainingVacationDaysNotExpiring(), account.getExpiryDate());
+                    accountsByMail.put(mail, account);
+                    mails.add(mail);
+                    LOG.info("Notifying person with id {} for {} expired remaining vacation days in year {}.", person.getId(), expiredRemainingVacationDays, year);
+                }
+            }
+
+            // accounts whose notification could not be sent are notified again on the next run
+            final Set<Mail> failedMails = newSetFromMap(new IdentityHashMap<>());
+            failedMails.addAll(sendMails(mails));
+
+            final List<Account> notifiedAccounts = new ArrayList<>();
+            for (Mail mail : mails) {
+                final Account account = accountsByMail.get(mail);
+                if (failedMails.contains(mail)) {
+                    LOG.warn("Could not notify person with id {} for expired remaining vacation days, notifying again on next run.", account.getPerson().getId());
+                } else {
+                    account.setExpiryNotificationSentDate(now);
+                    notifiedAccounts.add(account);
+                }
+            }
+
+            if (!notifiedAccounts.isEmpty()) {
+                accountService.saveAll(notifiedAccounts);
+            }
+        });
+    }
 
-        final List<Person> persons = personService.getActivePersons();
-        for (Person person : persons) {
-            accountService.getHolidaysAccount(year, person)
-                .filter(Account::doRemainingVacationDaysExpire)
-                .ifPresent(account -> {
-                    final LocalDate expiryDate = account.getExpiryDate();
-                    if (account.getExpiryNotificationSentDate() == null && (now.isEqual(expiryDate) || now.isAfter(expiryDate))) {
-
-                        final Optional<Account> accountOfNextYear = accountService.getHolidaysAccount(year + 1, person);
-                        final VacationDaysLeft vacationDaysLeft = vacationDaysService.getVacationDaysLeft(account, accountOfNextYear);
-
-                        final BigDecimal expiredRemainingVacationDays = vacationDaysLeft.getRemainingVacationDays()
-                            .subtract(vacationDaysLeft.getRemainingVacationDaysNotExpiring());
-                        if (expiredRemainingVacationDays.compareTo(ZERO) > 0) {
-                            final BigDecimal totalLeftVacationDays = vacationDaysService.calculateTotalLeftVacationDays(account);
-
-                            sendNotificationForExpiredRemainingVacationDays(person, expiredRemainingVacationDays, totalLeftVacationDays, vacationDaysLeft.getRemainingVacationDaysNotExpiring(), account.getExpiryDate());
-                            LOG.info("Notified person with id {} for {} expired remaining vacation days in year {}.", person.getId(), expiredRemainingVacationDays, year);
-
-                            account.setExpiryNotificationSentDate(now);
-                            accountService.save(account);
-                        }
-                    }
-                });
+    /**
+     * Evaluates the left vacation days of all holidays accounts of the given persons and year at once. Only accounts with
+     * expiring remaining vacation days that match the given filter are evaluated.
+     *
+     * <p>The vacation days used in the next year are not considered, they do not change the left remaining vacation days
+     * the reminders are about.</p>
+     */
+    private List<HolidayAccountVacationDays> getVacationDaysOfAccountsWithExpiringRemainingVacationDays(int year, List<Person> persons, Predicate<Account> filter) {
+
+        final List<Account> accounts = accountService.getHolidaysAccount(year, persons).stream()
+            .filter(Account::doRemainingVacationDaysExpire)
+            .filter(filter)
+            .toList();
+
+        if (accounts.isEmpty()) {
+            return List.of();
         }
+
+        final List<Person> personsWithAccount = accounts.stream().map(Account::getPerson).toList();
+        final Map<Person, WorkingTimeCalendar> workingTimeCalendarsByPerson = workingTimeCalendarService.getWorkingTimesByPersons(personsWithAccount, Year.of(year));
+        final LocalDate firstDayOfYear = Year.of(year).atDay(1);
+        final DateRange dateRange = new DateRange(firstDayOfYear, firstDayOfYear.with(lastDayOfYear()));
+        final Map<Account, HolidayAccountVacationDays> vacationDaysByAccount = vacationDaysService.getVacationDaysLeft(accounts, workingTimeCalendarsByPerson, dateRange);
+
+        return accounts.stream().map(vacationDaysByAccount::get).toList();
+    }
+
+    private void timed(String job, Consumer<List<Person>> reminderJob) {
+        final Timer.Sample sample = Timer.start(meterRegistry);
+
+        final List<Person> persons = personService.getActivePersons();
+        reminderJob.accept(persons);
+
+        DistributionSummary.builder(METRIC_PERSONS).tag("job", job).register(meterRegistry).record(persons.size());
+        sample.stop(Timer.builder(METRIC_DURATION).tag("job", job).register(meterRegistry));
+    }
+
+    private List<Mail> sendMails(List<Mail> mails) {
+        return mails.isEmpty() ? List.of() : mailService.send(mails);
     }
 
-    private void sendReminderForCurrentlyLeftVacationDays(Person person, BigDecimal vacationDaysLeft, int nextYear) {
+    private Mail reminderForCurrentlyLeftVacationDays(Person person, BigDecimal vacationDaysLeft, int nextYear) {
         final Map<String, Object> model = new HashMap<>();
         model.put("vacationDaysLeft", vacationDaysLeft);
         model.put("nextYear", nextYear);
 
-        sendMail(person, "subject.account.remindForCurrentlyLeftVacationDays", "account_cron_currently_left_vacation_days", model);
+        return mail(person, "subject.account.remindForCurrentlyLeftVacationDays", "account_cron_currently_left_vacation_days", model);
     }
 
-    private void sendReminderForRemainingVacationDaysNotification(Person person, BigDecimal remainingVacationDays, LocalDate dayBeforeExpiryDate) {
+    private Mail reminderForRemainingVacationDaysNotification(Person person, BigDecimal remainingVacationDays, LocalDate dayBeforeExpiryDate) {
         final Map<String, Object> model = new HashMap<>();
         model.put("remainingVacationDays", remainingVacationDays);
         model.put("dayBeforeExpiryDate", dayBeforeExpiryDate);
 
-        sendMail(person, "subject.account.remindForRemainingVacationDays", "account_cron_remind_remaining_vacation_days", model);
+        return mail(person, "subject.account.remindForRemainingVacationDays", "account_cron_remind_remaining_vacation_days", model);
     }
 
-    private void sendNotificationForExpiredRemainingVacationDays(Person person, BigDecimal expiredRemainingVacationDays, BigDecimal totalLeftVacationDays, BigDecimal remainingVacationDaysNotExpiring, LocalDate expiryDate) {
+    private Mail notificationForExpiredRemainingVacationDays(Person person, BigDecimal expiredRemainingVacationDays, BigDecimal totalLeftVacationDays, BigDecimal remainingVacationDaysNotExpiring, LocalDate expiryDate) {
         final Map<String, Object> model = new HashMap<>();
         model.put("expiredRemainingVacationDays", expiredRemainingVacationDays);
         model.put("totalLeftVacationDays", totalLeftVacationDays);
         model.put("remainingVacationDaysNotExpiring", remainingVacationDaysNotExpiring);
         model.put("expiryDate", expiryDate);
 
-        sendMail(person, "subject.account.notifyForExpiredRemainingVacationDays", "account_cron_expired_remaining_vacation_days", model);
+        return mail(person, "subject.account.notifyForExpiredRemainingVacationDays", "account_cron_expired_remaining_vacation_days", model);
     }
 
-    private void sendMail(Person person, String subjectMessageKey, String templateName, Map<String, Object> model) {
+    private Mail mail(Person person, String subjectMessageKey, String templateName, Map<String, Object> model) {
 
         model.put("recipientNiceName", person.getNiceName());
         model.put("personId", person.getId());
 
-        final Mail mailToPerson = Mail.builder()
+        return Mail.builder()
             .withRecipient(person)
             .withSubject(subjectMessageKey)
             .withTemplate(templateName, locale -> model)
             .build();
-        mailService.send(mailToPerson);
     }
 }
@@ -8,16 +8,23 @@ import org.synyx.urlaubsverwaltung.application.application.ApplicationService;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.workingtime.WorkDaysCountService;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendar;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendarService;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.Year;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static java.math.BigDecimal.ZERO;
@@ -28,24 +35,35 @@ import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.reducing;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.activeStatuses;
 import static org.synyx.urlaubsverwaltung.application.vacationtype.VacationCategory.HOLIDAY;
 
 
 /**
  * Provides calculation of used / left vacation days.
+ *
+ * <p>The used vacation days of a whole year are materialized per person in the vacation days ledger, which is
+ * maintained by {@link VacationDaysLedgerService}. If there is no valid ledger entry, the used vacation days are
+ * calculated from the applications for leave.</p>
  */
 @Service
 public class VacationDaysService {
 
     private final WorkDaysCountService workDaysCountService;
     private final ApplicationService applicationService;
+    private final VacationDaysLedgerRepository vacationDaysLedgerRepository;
+    private final WorkingTimeCalendarService workingTimeCalendarService;
     private final Clock clock;
 
     @Autowired
-    public VacationDaysService(WorkDaysCountService workDaysCountService, ApplicationService applicationService, Clock clock) {
+    public VacationDaysService(WorkDaysCountService workDaysCountService, ApplicationService applicationService,
+                               VacationDaysLedgerRepository vacationDaysLedgerRepository,
+                               WorkingTimeCalendarService workingTimeCalendarService, Clock clock) {
         this.workDaysCountService = workDaysCountService;
         this.applicationService = applicationService;
+        this.vacationDaysLedgerRepository = vacationDaysLedgerRepository;
+        this.workingTimeCalendarService = workingTimeCalendarService;
         this.clock = clock;
     }
 
@@ -67,7 +85,7 @@ public class VacationDaysService {
     }
 
     private BigDecimal calculateTotalLeftVacationDays(LocalDate start, LocalDate end, LocalDate today, Account account) {
-        return getVacationDaysLeft(start, end, account)
+        return vacationDaysLeft(account, calculateUsedVacationDays(start, end, account), ZERO)
             .getLeftVacationDays(today, account.doRemainingVacationDaysExpire(), account.getExpiryDate());
     }
 
@@ -83,9 +101,128 @@ public class VacationDaysService {
      */
     @Deprecated(since = "4.53.0")
     public VacationDaysLeft getVacationDaysLeft(Account account, Optional<Account> nextYear) {
-        final LocalDate firstDayOfYear = Year.of(account.getYear()).atDay(1);
-        final LocalDate lastDayOfYear = firstDayOfYear.with(lastDayOfYear());
-        return getVacationDaysLeft(firstDayOfYear, lastDayOfYear, account, nextYear);
+
+        final List<Integer> years = nextYear.map(next -> List.of(account.getYear(), next.getYear())).orElseGet(() -> List.of(account.getYear()));
+        final Map<Integer, VacationDaysLedgerEntity> ledgerByYear = vacationDaysLedgerRepository.findByPersonAndYearIn(account.getPerson(), years).stream()
+            .collect(toMap(VacationDaysLedgerEntity::getYear, identity()));
+
+        final UsedVacationDaysYear usedVacationDays = getUsedVacationDaysOfYear(account, ledgerByYear.get(account.getYear()));
+        final BigDecimal usedVacationDaysNextYear = nextYear
+            .map(next -> getUsedRemainingVacationDays(next, () -> getUsedVacationDaysOfYear(next, ledgerByYear.get(next.getYear()))))
+            .orElse(ZERO);
+
+        return vacationDaysLeft(account, usedVacationDays, usedVacationDaysNextYear);
+    }
+
+    /**
+     * Bulk version of {@link VacationDaysService#getVacationDaysLeft(Account, Optional)}. The used vacation days of all
+     * accounts are read from the vacation days ledger with a single query. The accounts without a valid ledger entry
+     * are calculated together from the applications for leave, so the number of queries does not depend on the
+     * number of accounts.
+     *
+     * @param accounts         the accounts to calculate the vacation days for
+     * @param accountsNextYear the accounts of the following year of the same persons, if available
+     * @return information about the vacation days left for every given account
+     */
+    public Map<Account, VacationDaysLeft> getVacationDaysLeft(List<Account> accounts, List<Account> accountsNextYear) {
+
+        if (accounts.isEmpty()) {
+            return Map.of();
+        }
+
+        final Map<Person, Account> accountNextYearByPerson = accountsNextYear.stream()
+            .collect(toMap(Account::getPerson, identity(), (first, second) -> first));
+
+        final List<Person> persons = accounts.stream().map(Account::getPerson).distinct().toList();
+        final Set<Integer> years = Stream.concat(accounts.stream(), accountsNextYear.stream()).map(Account::getYear).collect(toSet());
+        final Map<Person, Map<Integer, VacationDaysLedgerEntity>> ledgerByPersonAndYear = vacationDaysLedgerRepository.findByPersonInAndYearIn(persons, years).stream()
+            .collect(groupingBy(VacationDaysLedgerEntity::getPerson, toMap(VacationDaysLedgerEntity::getYear, identity())));
+
+        final List<Account> accountsOfPersonsNextYear = persons.stream()
+            .map(accountNextYearByPerson::get)
+            .filter(Objects::nonNull)
+            .toList();
+        final Map<Account, UsedVacationDaysYear> usedVacationDaysByAccount =
+            getUsedVacationDaysOfYears(Stream.concat(accounts.stream(), accountsOfPersonsNextYear.stream()).toList(), ledgerByPersonAndYear);
+
+        final Map<Account, VacationDaysLeft> vacationDaysLeftByAccount = new HashMap<>();
+        for (Account account : accounts) {
+            final UsedVacationDaysYear usedVacationDays = usedVacationDaysByAccount.get(account);
+            final BigDecimal usedVacationDaysNextYear = Optional.ofNullable(accountNextYearByPerson.get(account.getPerson()))
+                .map(next -> getUsedRemainingVacationDays(next, () -> usedVacationDaysByAccount.get(next)))
+                .orElse(ZERO);
+
+            vacationDaysLeftByAccount.put(account, vacationDaysLeft(account, usedVacationDays, usedVacationDaysNextYear));
+        }
+
+        return vacationDaysLeftByAccount;
+    }
+
+    /**
+     * Reads the used vacation days of the given accounts from the given ledger entries. The used vacation days of the
+     * accounts without a valid ledger entry are calculated with the working time calendars, per year at once.
+     */
+    private Map<Account, UsedVacationDaysYear> getUsedVacationDaysOfYears(List<Account> accounts, Map<Person, Map<Integer, VacationDaysLedgerEntity>> ledgerByPersonAndYear) {
+
+        final Map<Account, UsedVacationDaysYear> usedVacationDaysByAccount = new HashMap<>();
+        final Map<Integer, List<Account>> accountsWithoutLedgerEntryByYear = new HashMap<>();
+        for (Account account : accounts) {
+            final VacationDaysLedgerEntity ledgerEntry = ledgerByPersonAndYear.getOrDefault(account.getPerson(), Map.of()).get(account.getYear());
+            if (isValid(ledgerEntry, account)) {
+                usedVacationDaysByAccount.put(account, new UsedVacationDaysYear(ledgerEntry.getUsedDaysBeforeExpiry(), ledgerEntry.getUsedDaysAfterExpiry()));
+            } else {
+                accountsWithoutLedgerEntryByYear.computeIfAbsent(account.getYear(), year -> new ArrayList<>()).add(account);
+            }
+        }
+
+        accountsWithoutLedgerEntryByYear.forEach((year, accountsOfYear) -> {
+            final List<Person> persons = accountsOfYear.stream().map(Account::getPerson).distinct().toList();
+            final Map<Person, WorkingTimeCalendar> workingTimeCalendarsByPerson = workingTimeCalendarService.getWorkingTimesByPersons(persons, Year.of(year));
+            final LocalDate firstDayOfYear = Year.of(year).atDay(1);
+            final DateRange dateRange = new DateRange(firstDayOfYear, firstDayOfYear.with(lastDayOfYear()));
+
+            getUsedVacationDays(accountsOfYear, dateRange, workingTimeCalendarsByPerson).forEach((account, usedVacationDays) -> {
+                final UsedVacationDaysYear usedVacationDaysYear = usedVacationDays.getUsedVacationDaysYear();
+                if (account.doRemainingVacationDaysExpire()) {
+                    usedVacationDaysByAccount.put(account, usedVacationDaysYear);
+                } else {
+                    // like calculateUsedVacationDays all vacation days are used before expiry if nothing expires
+                    final BigDecimal usedVacationDaysOfYear = usedVacationDaysYear.getUsedVacationDaysBeforeExpiryDate().add(usedVacationDaysYear.getUsedVacationDaysAfterExpiryDate());
+                    usedVacationDaysByAccount.put(account, new UsedVacationDaysYear(usedVacationDaysOfYear, ZERO));
+                }
+            });
+        });
+
+        return usedVacationDaysByAccount;
+    }
+
+    /**
+     * Calculates the used vacation days of the year of the given holidays account and writes them to the given
+     * ledger entry of the same person and year.
+     *
+     * @param ledgerEntry ledger entry to update
+     * @param account     holidays account of the ledger entry
+     * @return {@code true} if the ledger entry has been changed, {@code false} if it was up-to-date already
+     */
+    boolean updateVacationDaysLedger(VacationDaysLedgerEntity ledgerEntry, Account account) {
+
+        final UsedVacationDaysYear usedVacationDays = calculateUsedVacationDaysOfYear(account);
+        final LocalDate expiryDate = expiryDateOf(account);
+
+        final boolean upToDate = ledgerEntry.getId() != null
+            && Objects.equals(ledgerEntry.getExpiryDate(), expiryDate)
+            && ledgerEntry.getUsedDaysBeforeExpiry().compareTo(usedVacationDays.getUsedVacationDaysBeforeExpiryDate()) == 0
+            && ledgerEntry.getUsedDaysAfterExpiry().compareTo(usedVacationDays.getUsedVacationDaysAfterExpiryDate()) == 0;
+
+        if (upToDate) {
+            return false;
+        }
+
+        ledgerEntry.setExpiryDate(expiryDate);
+        ledgerEntry.setUsedDaysBeforeExpiry(usedVacationDays.getUsedVacationDaysBeforeExpiryDate());
+        ledgerEntry.setUsedDaysAfterExpiry(usedVacationDays.getUsedVacationDaysAfterExpiryDate());
+        ledgerEntry.setCalculatedAt(Instant.now(clock));
+        return true;
     }
 
     /**
@@ -256,10 +393,6 @@ public class VacationDaysService {
         return new UsedVacationDaysTuple(dateRangeUsedVacationDays, yearUsedVacationDays);
     }
 
-    private VacationDaysLeft getVacationDaysLeft(LocalDate start, LocalDate end, Account account) {
-        return getVacationDaysLeft(start, end, account, Optional.empty());
-    }
-
     private BigDecimal divideBy2(BigDecimal value) {
         return value.divide(BigDecimal.valueOf(2), 2, RoundingMode.CEILING);
     }
@@ -360,11 +493,24 @@ public class VacationDaysService {
         }
     }
 
-    private VacationDaysLeft getVacationDaysLeft(LocalDate start, LocalDate end, Account account, Optional<Account> nextYear) {
+    private UsedVacationDaysYear getUsedVacationDaysOfYear(Account account, VacationDaysLedgerEntity ledgerEntry) {
+        if (isValid(ledgerEntry, account)) {
+            return new UsedVacationDaysYear(ledgerEntry.getUsedDaysBeforeExpiry(), ledgerEntry.getUsedDaysAfterExpiry());
+        }
+        return calculateUsedVacationDaysOfYear(account);
+    }
 
-        final BigDecimal vacationDays = account.getActualVacationDays();
-        final BigDecimal remainingVacationDays = account.getRemainingVacationDays();
-        final BigDecimal remainingVacationDaysNotExpiring = account.getRemainingVacationDaysNotExpiring();
+    private static boolean isValid(VacationDaysLedgerEntity ledgerEntry, Account account) {
+        return ledgerEntry != null && Objects.equals(ledgerEntry.getExpiryDate(), expiryDateOf(account));
+    }
+
+    private UsedVacationDaysYear calculateUsedVacationDaysOfYear(Account account) {
+        final LocalDate firstDayOfYear = Year.of(account.getYear()).atDay(1);
+        final LocalDate lastDayOfYear = firstDayOfYear.with(lastDayOfYear());
+        return calculateUsedVacationDays(firstDayOfYear, lastDayOfYear, account);
+    }
+
+    private UsedVacationDaysYear calculateUsedVacationDays(LocalDate start, LocalDate end, Account account) {
 
         final BigDecimal usedVacationDaysBeforeExpiryDate;
         final BigDecimal usedVacationDaysAfterExpiryDate;
@@ -383,35 +529,36 @@ public class VacationDaysService {
             usedVacationDaysAfterExpiryDate = ZERO;
         }
 
-        final BigDecimal usedVacationDaysNextYear = nextYear
-            .map(this::getUsedRemainingVacationDays)
-            .orElse(ZERO);
+        return new UsedVacationDaysYear(usedVacationDaysBeforeExpiryDate, usedVacationDaysAfterExpiryDate);
+    }
 
+    private static VacationDaysLeft vacationDaysLeft(Account account, UsedVacationDaysYear usedVacationDays, BigDecimal usedVacationDaysNextYear) {
         return VacationDaysLeft.builder()
-            .withAnnualVacation(vacationDays)
-            .withRemainingVacation(remainingVacationDays)
-            .notExpiring(remainingVacationDaysNotExpiring)
-            .forUsedVacationDaysBeforeExpiry(usedVacationDaysBeforeExpiryDate)
-            .forUsedVacationDaysAfterExpiry(usedVacationDaysAfterExpiryDate)
+            .withAnnualVacation(account.getActualVacationDays())
+            .withRemainingVacation(account.getRemainingVacationDays())
+            .notExpiring(account.getRemainingVacationDaysNotExpiring())
+            .forUsedVacationDaysBeforeExpiry(usedVacationDays.getUsedVacationDaysBeforeExpiryDate())
+            .forUsedVacationDaysAfterExpiry(usedVacationDays.getUsedVacationDaysAfterExpiryDate())
             .withVacationDaysUsedNextYear(usedVacationDaysNextYear)
             .build();
     }
 
-    public BigDecimal getUsedRemainingVacationDays(Account account) {
-        final LocalDate firstDayOfYear = Year.of(account.getYear()).atDay(1);
-        final LocalDate lastDayOfYear = firstDayOfYear.with(lastDayOfYear());
-        return getUsedRemainingVacationDays(firstDayOfYear, lastDayOfYear, account);
+    private static LocalDate expiryDateOf(Account account) {
+        return account.doRemainingVacationDaysExpire() ? account.getExpiryDate() : null;
     }
 
-    private BigDecimal getUsedRemainingVacationDays(LocalDate start, LocalDate end, Account account) {
+    public BigDecimal getUsedRemainingVacationDays(Account account) {
+        return getUsedRemainingVacationDays(account, () -> {
+            final List<VacationDaysLedgerEntity> ledger = vacationDaysLedgerRepository.findByPersonAndYearIn(account.getPerson(), List.of(account.getYear()));
+            return getUsedVacationDaysOfYear(account, ledger.isEmpty() ? null : ledger.getFirst());
+        });
+    }
 
-        if (start.isAfter(end)) {
-            return ZERO;
-        }
+    private BigDecimal getUsedRemainingVacationDays(Account account, Supplier<UsedVacationDaysYear> usedVacationDays) {
 
         if (account.getRemainingVacationDays().signum() > 0) {
 
-            final VacationDaysLeft left = getVacationDaysLeft(start, end, account);
+            final VacationDaysLeft left = vacationDaysLeft(account, usedVacationDays.get(), ZERO);
 
             final BigDecimal totalUsed = account.getActualVacationDays()
                 .add(account.getRemainingVacationDays())
@@ -1,11 +1,15 @@
 package org.synyx.urlaubsverwaltung.application;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 import org.synyx.urlaubsverwaltung.validation.CronExpression;
 
+import java.time.Duration;
+
 @Component
 @ConfigurationProperties("uv.application")
 @Validated
@@ -29,6 +33,9 @@ public class ApplicationProperties {
     @Valid
     private ReminderNotification reminderNotification = new ReminderNotification();
 
+    @Valid
+    private Statistics statistics = new Statistics();
+
     public ReminderNotification getUpcomingHolidayReplacementNotification() {
         return upcomingHolidayReplacementNotification;
     }
@@ -53,6 +60,14 @@ public class ApplicationProperties {
         this.reminderNotification = reminderNotification;
     }
 
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    public void setStatistics(Statistics statistics) {
+        this.statistics = statistics;
+    }
+
     public static class ReminderNotification {
 
         @CronExpression
@@ -66,5 +81,52 @@ public class ApplicationProperties {
             this.cron = cron;
         }
     }
-}
 
+    public static class Statistics {
+
+        /**
+         * Duration the precomputed sort keys of the statistics are used to sort a page by a statistics attribute.
+         * Changes that are not published as application events, like changed working times or holidays accounts,
+         * are visible in the sort order after this duration.
+         */
+        @NotNull
+        private Duration sortKeyTimeToLive = Duration.ofMinutes(15);
+
+        /**
+         * Maximum number of persons the sort keys of the statistics are computed for at once
+         */
+        @Min(1)
+        private int sortKeyBatchSize = 100;
+
+        /**
+         * Delay between the refreshes of the sort keys, which delete expired sort keys and compute the requested ones.
+         * Until then, pages sorted by a statistics attribute are sorted in memory.
+         */
+        @NotNull
+        private Duration sortKeyRefreshInterval = Duration.ofSeconds(30);
+
+        public Duration getSortKeyTimeToLive() {
+            return sortKeyTimeToLive;
+        }
+
+        public void setSortKeyTimeToLive(Duration sortKeyTimeToLive) {
+            this.sortKeyTimeToLive = sortKeyTimeToLive;
+        }
+
+        public int getSortKeyBatchSize() {
+            return sortKeyBatchSize;
+        }
+
+        public void setSortKeyBatchSize(int sortKeyBatchSize) {
+            this.sortKeyBatchSize = sortKeyBatchSize;
+        }
+
+        public Duration getSortKeyRefreshInterval() {
+            return sortKeyRefreshInterval;
+        }
+
+        public void setSortKeyRefreshInterval(Duration sortKeyRefreshInterval) {
+            this.sortKeyRefreshInterval = sortKeyRefreshInterval;
+        }
+    }
+}
@@ -23,6 +23,7 @@ import java.time.Clock;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -875,6 +876,7 @@ class ApplicationMailService {
 
     @Async
     void sendRemindForUpcomingApplicationsReminderNotification(List<Application> applications) {
+        final List<Mail> mails = new ArrayList<>();
         for (Application application : applications) {
 
             final MailTemplateModelSupplier modelSupplier = locale -> Map.of(
@@ -887,7 +889,11 @@ class ApplicationMailService {
                 .withSubject("subject.application.remind.upcoming")
                 .withTemplate("application_cron_remind_for_upcoming_application_to_applicant", modelSupplier)
                 .build();
-            mailService.send(mailToUpcomingApplicationsPersons);
+            mails.add(mailToUpcomingApplicationsPersons);
+        }
+
+        if (!mails.isEmpty()) {
+            mailService.send(mails);
         }
     }
 
@@ -34,19 +34,35 @@ interface ApplicationRepository extends CrudRepository<ApplicationEntity, Long>
 
     @Query(
         "select x from application x "
-            + "where x.status = ?3 "
-            + "and ((x.startDate between ?1 and ?2) or (x.endDate between ?1 and ?2) or (x.startDate < ?1 and x.endDate > ?2)) "
-            + "order by x.startDate"
+            + "where x.status in :statuses "
+            + "and x.endDate >= :start and x.startDate <= :end "
+            + "and x.person <> :person "
+            + "and exists ("
+            + "select d.id from department d join d.members colleague join d.members member "
+            + "where colleague.person = x.person and member.person = :person"
+            + ")"
     )
-    List<ApplicationEntity> getApplicationsForACertainTimeAndState(LocalDate startDate, LocalDate endDate, ApplicationStatus status);
+    List<ApplicationEntity> findByStatusInAndDepartmentColleaguesOfPersonAndEndDateIsGreaterThanEqualAndStartDateIsLessThanEqual(
+        @Param("statuses") List<ApplicationStatus> statuses, @Param("person") Person person, @Param("start") LocalDate start, @Param("end") LocalDate end);
 
+    // NOTE: the overlap of the periods is checked with the daterange operator to use the gist index idx_application_period
     @Query(
-        "select x from application x "
-            + "where x.person = ?3 "
-            + "and ((x.startDate between ?1 and ?2) or (x.endDate between ?1 and ?2) or (x.startDate < ?1 and x.endDate > ?2)) "
-            + "order by x.startDate"
+        value = "select * from application x "
+            + "where x.status = :#{#status.name()} "
+            + "and daterange(x.start_date, x.end_date, '[]') && daterange(:startDate, :endDate, '[]') "
+            + "order by x.start_date",
+        nativeQuery = true
+    )
+    List<ApplicationEntity> getApplicationsForACertainTimeAndState(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, @Param("status") ApplicationStatus status);
+
+    @Query(
+        value = "select * from application x "
+            + "where x.person_id = :#{#person.id} "
+            + "and daterange(x.start_date, x.end_date, '[]') && daterange(:startDate, :endDate, '[]') "
+            + "order by x.start_date",
+        nativeQuery = true
     )
-    List<ApplicationEntity> getApplicationsForACertainTimeAndPerson(LocalDate startDate, LocalDate endDate, Person person);
+    List<ApplicationEntity> getApplicationsForACertainTimeAndPerson(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, @Param("person") Person person);
 
     List<ApplicationEntity> findByStatusInAndPersonAndEndDateIsGreaterThanEqualAndStartDateIsLessThanEqualAndVacationTypeCategory(List<ApplicationStatus> statuses, Person person, LocalDate start, LocalDate end, VacationCategory vacationCategory);
 
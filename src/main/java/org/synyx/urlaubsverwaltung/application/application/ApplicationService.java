@@ -129,6 +129,18 @@ public interface ApplicationService {
      * @return list of all matching {@link Application}s
      */
     List<Application> getForStatesAndPerson(List<ApplicationStatus> statuses, List<Person> persons, LocalDate start, LocalDate end);
+
+    /**
+     * Get all {@link Application}s with specific states of the persons sharing at least one department with the given
+     * person for the given date range. The applications of the given person are not included.
+     *
+     * @param statuses {@link ApplicationStatus} to filter
+     * @param person   {@link Person} whose department colleagues are considered
+     * @param start    start date (inclusive)
+     * @param end      end date (inclusive)
+     * @return list of all matching {@link Application}s
+     */
+    List<Application> getForStatesOfDepartmentColleagues(List<ApplicationStatus> statuses, Person person, LocalDate start, LocalDate end);
     /**
      * Get all {@link Application}s with specific states for the given date range
      *
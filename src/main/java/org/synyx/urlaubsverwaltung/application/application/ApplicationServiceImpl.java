@@ -115,6 +115,11 @@ class ApplicationServiceImpl implements ApplicationService {
         return toApplication(applicationRepository.findByStatusInAndPersonInAndEndDateIsGreaterThanEqualAndStartDateIsLessThanEqual(statuses, persons, start, end));
     }
 
+    @Override
+    public List<Application> getForStatesOfDepartmentColleagues(List<ApplicationStatus> statuses, Person person, LocalDate start, LocalDate end) {
+        return toApplication(applicationRepository.findByStatusInAndDepartmentColleaguesOfPersonAndEndDateIsGreaterThanEqualAndStartDateIsLessThanEqual(statuses, person, start, end));
+    }
+
     @Override
     public List<Application> getForStates(List<ApplicationStatus> statuses, LocalDate start, LocalDate end) {
         return toApplication(applicationRepository.findByStatusInAndEndDateIsGreaterThanEqualAndStartDateIsLessThanEqual(statuses, start, end));
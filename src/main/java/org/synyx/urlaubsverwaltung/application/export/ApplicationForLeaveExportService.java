@@ -32,6 +32,7 @@ import static java.util.stream.Collectors.toList;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED_CANCELLATION_REQUESTED;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.TEMPORARY_ALLOWED;
+import static org.synyx.urlaubsverwaltung.person.PersonService.BASEDATA_PERSONNEL_NUMBER;
 import static org.synyx.urlaubsverwaltung.person.Role.BOSS;
 import static org.synyx.urlaubsverwaltung.person.Role.DEPARTMENT_HEAD;
 import static org.synyx.urlaubsverwaltung.person.Role.OFFICE;
@@ -42,6 +43,7 @@ import static org.synyx.urlaubsverwaltung.person.Role.SECOND_STAGE_AUTHORITY;
 class ApplicationForLeaveExportService {
 
     private static final String PERSON_PREFIX = "person.";
+    private static final String PERSONAL_NUMBER = "personalNumber";
 
     private final ApplicationService applicationService;
     private final DepartmentService departmentService;
@@ -83,29 +85,24 @@ class ApplicationForLeaveExportService {
         final List<Application> applications = getApplications(person, relevantMembers, from, to);
 
         final Map<Person, List<Application>> applicationsByPerson = applications.stream().collect(groupingBy(Application::getPerson));
-        for (Person member : relevantMembers) {
-            applicationsByPerson.putIfAbsent(member, List.of());
-        }
-
 
         final Map<PersonId, PersonBasedata> basedataByPersonId = personBasedataService.getBasedataByPersonId(relevantPersonIds);
         final Map<PersonId, List<String>> departmentsByPersonId = departmentService.getDepartmentNamesByMembers(relevantMembers);
 
-        Stream<ApplicationForLeaveExport> exportsStream = applicationsByPerson.entrySet()
-            .stream()
-            .map(toApplicationForLeaveExport(basedataByPersonId, departmentsByPersonId));
+        Stream<ApplicationForLeaveExport> exportsStream = relevantMembers.stream()
+            .map(member -> Map.entry(member, applicationsByPerson.getOrDefault(member, List.of())))
+            .map(toApplicationForLeaveExport(basedataByPersonId, departmentsByPersonId))
+            .sorted(new SortComparator<>(ApplicationForLeaveExport.class, pageable.getSort()));
 
         if (relevantMembersPage.getPageable().isUnpaged()) {
             // we don't have to restrict the statistics if persons page is paged and or sorted already.
-            // otherwise we have fetched ALL persons -> therefore skip and limit statistics content.
+            // otherwise we have fetched ALL persons -> therefore skip and limit the sorted statistics content.
             exportsStream = exportsStream
                 .skip((long) pageable.getPageNumber() * pageable.getPageSize())
                 .limit(pageable.getPageSize());
         }
 
-        final List<ApplicationForLeaveExport> content = exportsStream
-            .sorted(new SortComparator<>(ApplicationForLeaveExport.class, pageable.getSort()))
-            .collect(toList());
+        final List<ApplicationForLeaveExport> content = exportsStream.collect(toList());
 
         return new PageImpl<>(content, pageable, relevantMembersPage.getTotalElements());
     }
@@ -132,16 +129,17 @@ class ApplicationForLeaveExportService {
 
     private Page<Person> getMembersForPerson(Person person, PageableSearchQuery pageableSearchQuery) {
         final Pageable pageable = pageableSearchQuery.getPageable();
-        final boolean sortByPerson = isSortByPersonAttribute(pageable);
 
         if (person.hasRole(OFFICE) || person.hasRole(BOSS)) {
-            final PageableSearchQuery query = sortByPerson
+            // the personnel number is part of the persons basedata and can be sorted by the database as well
+            final PageableSearchQuery query = isSortByPersonOrBasedataAttribute(pageable)
                 ? new PageableSearchQuery(mapToPersonPageRequest(pageable), pageableSearchQuery.getQuery())
                 : new PageableSearchQuery(PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()), pageableSearchQuery.getQuery());
 
             return personService.getActivePersons(query);
         }
 
+        final boolean sortByPerson = isSortByPersonAttribute(pageable);
         final PageableSearchQuery query = new PageableSearchQuery(sortByPerson ? mapToPersonPageRequest(pageable) : Pageable.unpaged(), pageableSearchQuery.getQuery());
         return departmentService.getManagedMembersOfPerson(person, query);
     }
@@ -155,12 +153,23 @@ class ApplicationForLeaveExportService {
         return true;
     }
 
+    private boolean isSortByPersonOrBasedataAttribute(Pageable pageable) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!order.getProperty().startsWith(PERSON_PREFIX) && !order.getProperty().equals(PERSONAL_NUMBER)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private PageRequest mapToPersonPageRequest(Pageable statisticsPageRequest) {
         Sort personSort = Sort.unsorted();
 
         for (Sort.Order order : statisticsPageRequest.getSort()) {
             if (order.getProperty().startsWith(PERSON_PREFIX)) {
                 personSort = personSort.and(Sort.by(order.getDirection(), order.getProperty().replace(PERSON_PREFIX, "")));
+            } else if (order.getProperty().equals(PERSONAL_NUMBER)) {
+                personSort = personSort.and(Sort.by(order.getDirection(), BASEDATA_PERSONNEL_NUMBER));
             }
         }
 
@@ -16,6 +16,7 @@ import java.text.DecimalFormat;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Locale;
+import java.util.stream.Stream;
 
 import static java.lang.String.format;
 import static java.text.NumberFormat.getInstance;
@@ -46,6 +47,11 @@ class ApplicationForLeaveStatisticsCsvExportService implements CsvExportService<
 
     @Override
     public void write(FilterPeriod period, Locale locale, List<ApplicationForLeaveStatistics> statistics, CSVWriter csvWriter) {
+        write(period, locale, statistics.stream(), csvWriter);
+    }
+
+    @Override
+    public void write(FilterPeriod period, Locale locale, Stream<ApplicationForLeaveStatistics> statistics, CSVWriter csvWriter) {
 
         final String[] csvHeader = {
             getTranslation(locale, "person.account.basedata.personnelNumber"),
@@ -81,7 +87,7 @@ class ApplicationForLeaveStatisticsCsvExportService implements CsvExportService<
         final List<VacationType<?>> allVacationTypes = vacationTypeService.getAllVacationTypes();
 
         final String translatedTextTotal = getTranslation(locale, "applications.statistics.total");
-        for (ApplicationForLeaveStatistics applicationForLeaveStatistics : statistics) {
+        statistics.forEachOrdered(applicationForLeaveStatistics -> {
 
             final String[] csvRow = new String[csvHeader.length];
             csvRow[0] = applicationForLeaveStatistics.getPersonBasedata().map(PersonBasedata::getPersonnelNumber).orElse("");
@@ -109,7 +115,7 @@ class ApplicationForLeaveStatisticsCsvExportService implements CsvExportService<
                     csvWriter.writeNext(csvRowVacationTypes);
                 }
             }
-        }
+        });
     }
 
     private String getTranslation(Locale locale, String key, Object... args) {
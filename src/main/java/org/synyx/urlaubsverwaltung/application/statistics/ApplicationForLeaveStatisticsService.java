@@ -15,42 +15,53 @@ import org.synyx.urlaubsverwaltung.person.PersonId;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 import org.synyx.urlaubsverwaltung.person.basedata.PersonBasedata;
 import org.synyx.urlaubsverwaltung.person.basedata.PersonBasedataService;
+import org.synyx.urlaubsverwaltung.search.PageStreamSupport;
 import org.synyx.urlaubsverwaltung.search.PageableSearchQuery;
 import org.synyx.urlaubsverwaltung.search.SortComparator;
 import org.synyx.urlaubsverwaltung.web.FilterPeriod;
 
-import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Stream;
 
+import static java.lang.Integer.MAX_VALUE;
 import static java.util.stream.Collectors.toList;
 import static org.synyx.urlaubsverwaltung.person.Role.BOSS;
 import static org.synyx.urlaubsverwaltung.person.Role.OFFICE;
+import static org.synyx.urlaubsverwaltung.search.SortSupport.withIdTieBreaker;
 
 @Service
 class ApplicationForLeaveStatisticsService {
 
+    static final int STREAM_CHUNK_SIZE = 100;
+
     private final PersonService personService;
     private final PersonBasedataService personBasedataService;
     private final DepartmentService departmentService;
     private final ApplicationForLeaveStatisticsBuilder applicationForLeaveStatisticsBuilder;
     private final VacationTypeService vacationTypeService;
+    private final ApplicationForLeaveStatisticsSortKeyService sortKeyService;
 
     @Autowired
     ApplicationForLeaveStatisticsService(PersonService personService, PersonBasedataService personBasedataService, DepartmentService departmentService,
-                                         ApplicationForLeaveStatisticsBuilder applicationForLeaveStatisticsBuilder, VacationTypeService vacationTypeService) {
+                                         ApplicationForLeaveStatisticsBuilder applicationForLeaveStatisticsBuilder, VacationTypeService vacationTypeService,
+                                         ApplicationForLeaveStatisticsSortKeyService sortKeyService) {
         this.personService = personService;
         this.personBasedataService = personBasedataService;
         this.departmentService = departmentService;
         this.applicationForLeaveStatisticsBuilder = applicationForLeaveStatisticsBuilder;
         this.vacationTypeService = vacationTypeService;
+        this.sortKeyService = sortKeyService;
     }
 
     /**
      * Get {@link ApplicationForLeaveStatistics} the given person is allowed to see.
      * A person with {@link org.synyx.urlaubsverwaltung.person.Role} BOSS or OFFICE is allowed to see statistics of everyone for instance.
      *
+     * <p>The persons of the requested page are selected first, either sorted by person attributes or by the sort keys
+     * of the statistics, and the statistics are computed for these persons only.</p>
+     *
      * @param person              person to restrict the returned page content
      * @param period              filter result set for a given period of time
      * @param pageableSearchQuery the page request
@@ -58,51 +69,74 @@ class ApplicationForLeaveStatisticsService {
      */
     Page<ApplicationForLeaveStatistics> getStatistics(Person person, FilterPeriod period, PageableSearchQuery pageableSearchQuery) {
         final Pageable pageable = pageableSearchQuery.getPageable();
+
+        final Page<Person> relevantPersonsPage = isSortByPersonAttribute(pageable.getSort())
+            ? getRelevantPersonsPage(person, pageableSearchQuery)
+            : sortKeyService.getPersonsSortedBySortKeys(getAllRelevantPersons(person, pageableSearchQuery.getQuery()), period, pageable);
+
+        final List<ApplicationForLeaveStatistics> content = buildStatistics(relevantPersonsPage.getContent(), period);
+        return new PageImpl<>(content, pageable, relevantPersonsPage.getTotalElements());
+    }
+
+    /**
+     * Get all {@link ApplicationForLeaveStatistics} the given person is allowed to see as lazy stream.
+     * Statistics are computed chunk by chunk while the stream is consumed, as long as the sort can be applied to
+     * the persons. Sorting by a statistics attribute requires the statistics of all persons, so they are computed
+     * once upfront and sorted in memory.
+     *
+     * @param person person to restrict the returned statistics
+     * @param period filter result set for a given period of time
+     * @param sort   the sort of the statistics
+     * @return stream of all {@link ApplicationForLeaveStatistics} the person is allowed to see
+     */
+    Stream<ApplicationForLeaveStatistics> streamStatistics(Person person, FilterPeriod period, Sort sort) {
+        if (!isSortByPersonAttribute(sort)) {
+            return buildStatistics(getAllRelevantPersons(person, ""), period).stream()
+                .sorted(new SortComparator<>(ApplicationForLeaveStatistics.class, withIdTieBreaker(sort, "person.id")));
+        }
+
+        return PageStreamSupport.stream(chunk -> getStatistics(person, period, new PageableSearchQuery(chunk, "")), STREAM_CHUNK_SIZE, sort);
+    }
+
+    private List<ApplicationForLeaveStatistics> buildStatistics(List<Person> persons, FilterPeriod period) {
         final List<VacationType<?>> activeVacationTypes = vacationTypeService.getActiveVacationTypes();
-        final Page<Person> relevantPersonsPage = getAllRelevantPersons(person, pageableSearchQuery);
-        final List<Long> personIdValues = relevantPersonsPage.getContent().stream().map(Person::getId).collect(toList());
+
+        final List<Long> personIdValues = persons.stream().map(Person::getId).collect(toList());
         final Map<PersonId, PersonBasedata> basedataByPersonId = personBasedataService.getBasedataByPersonId(personIdValues);
 
-        final Collection<ApplicationForLeaveStatistics> statisticsCollection = applicationForLeaveStatisticsBuilder
-            .build(relevantPersonsPage.getContent(), period.getStartDate(), period.getEndDate(), activeVacationTypes).values();
+        final Map<Person, ApplicationForLeaveStatistics> statisticsByPerson = applicationForLeaveStatisticsBuilder
+            .build(persons, period.getStartDate(), period.getEndDate(), activeVacationTypes);
 
-        statisticsCollection.forEach(statistics -> {
+        statisticsByPerson.values().forEach(statistics -> {
             final PersonId personId = new PersonId(statistics.getPerson().getId());
             statistics.setPersonBasedata(basedataByPersonId.getOrDefault(personId, null));
         });
 
-        Stream<ApplicationForLeaveStatistics> statisticsStream = statisticsCollection.stream();
-        if (relevantPersonsPage.getPageable().isUnpaged()) {
-            // we don't have to restrict the statistics if persons page is paged and or sorted already.
-            // otherwise we have fetched ALL persons -> therefore skip and limit statistics content.
-            statisticsStream = statisticsStream
-                .skip((long) pageable.getPageNumber() * pageable.getPageSize())
-                .limit(pageable.getPageSize());
-        }
-
-        final List<ApplicationForLeaveStatistics> content = statisticsStream
-            .sorted(new SortComparator<>(ApplicationForLeaveStatistics.class, pageable.getSort()))
+        // keep the order of the persons, persons without holidays account have no statistics
+        return persons.stream()
+            .map(statisticsByPerson::get)
+            .filter(Objects::nonNull)
             .collect(toList());
-
-        return new PageImpl<>(content, pageable, relevantPersonsPage.getTotalElements());
     }
 
-    private Page<Person> getAllRelevantPersons(Person person, PageableSearchQuery pageableSearchQuery) {
-        final Pageable pageable = pageableSearchQuery.getPageable();
-        final boolean sortByPerson = isSortByPersonAttribute(pageable);
+    private Page<Person> getRelevantPersonsPage(Person person, PageableSearchQuery pageableSearchQuery) {
+        final PageableSearchQuery query = new PageableSearchQuery(mapToPersonPageRequest(pageableSearchQuery.getPageable()), pageableSearchQuery.getQuery());
 
         if (person.hasRole(BOSS) || person.hasRole(OFFICE)) {
-            final PageableSearchQuery query = sortByPerson
-                ? new PageableSearchQuery(mapToPersonPageRequest(pageable), pageableSearchQuery.getQuery())
-                : new PageableSearchQuery(PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()), pageableSearchQuery.getQuery());
-
             return personService.getActivePersons(query);
         }
 
-        final PageableSearchQuery query = new PageableSearchQuery(sortByPerson ? mapToPersonPageRequest(pageable) : Pageable.unpaged(), pageableSearchQuery.getQuery());
         return departmentService.getManagedMembersOfPerson(person, query);
     }
 
+    private List<Person> getAllRelevantPersons(Person person, String query) {
+        if (person.hasRole(BOSS) || person.hasRole(OFFICE)) {
+            return personService.getActivePersons(new PageableSearchQuery(PageRequest.of(0, MAX_VALUE), query)).getContent();
+        }
+
+        return departmentService.getManagedMembersOfPerson(person, new PageableSearchQuery(Pageable.unpaged(), query)).getContent();
+    }
+
     private PageRequest mapToPersonPageRequest(Pageable statisticsPageRequest) {
         Sort personSort = Sort.unsorted();
 
@@ -115,8 +149,8 @@ class ApplicationForLeaveStatisticsService {
         return PageRequest.of(statisticsPageRequest.getPageNumber(), statisticsPageRequest.getPageSize(), personSort);
     }
 
-    private boolean isSortByPersonAttribute(Pageable pageable) {
-        for (Sort.Order order : pageable.getSort()) {
+    private boolean isSortByPersonAttribute(Sort sort) {
+        for (Sort.Order order : sort) {
             if (!order.getProperty().startsWith("person.")) {
                 return false;
             }
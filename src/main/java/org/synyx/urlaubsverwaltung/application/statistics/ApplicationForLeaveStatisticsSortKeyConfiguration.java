@@ -0,0 +1,32 @@
+package org.synyx.urlaubsverwaltung.application.statistics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.synyx.urlaubsverwaltung.application.ApplicationProperties;
+
+/**
+ * Every node computes the sort keys requested on its own, therefore the task is not guarded by a schedule lock.
+ */
+@Configuration
+class ApplicationForLeaveStatisticsSortKeyConfiguration implements SchedulingConfigurer {
+
+    private final ApplicationProperties applicationProperties;
+    private final ApplicationForLeaveStatisticsSortKeyService sortKeyService;
+    private final ThreadPoolTaskScheduler taskScheduler;
+
+    @Autowired
+    ApplicationForLeaveStatisticsSortKeyConfiguration(ApplicationProperties applicationProperties, ApplicationForLeaveStatisticsSortKeyService sortKeyService, ThreadPoolTaskScheduler taskScheduler) {
+        this.applicationProperties = applicationProperties;
+        this.sortKeyService = sortKeyService;
+        this.taskScheduler = taskScheduler;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.setTaskScheduler(taskScheduler);
+        taskRegistrar.addFixedDelayTask(sortKeyService::refreshSortKeys, applicationProperties.getStatistics().getSortKeyRefreshInterval());
+    }
+}
@@ -0,0 +1,158 @@
+package org.synyx.urlaubsverwaltung.application.statistics;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import static jakarta.persistence.GenerationType.SEQUENCE;
+
+/**
+ * The attributes of the {@link ApplicationForLeaveStatistics} of a person in a period that can be used to sort the
+ * statistics. The values are a materialized result of {@link ApplicationForLeaveStatisticsBuilder}, so that a page
+ * sorted by one of these attributes can be selected by the database.
+ */
+@Entity(name = "application_statistics_sort_key")
+class ApplicationForLeaveStatisticsSortKeyEntity {
+
+    @Id
+    @Column(name = "id", unique = true, nullable = false, updatable = false)
+    @GeneratedValue(strategy = SEQUENCE, generator = "application_statistics_sort_key_generator")
+    @SequenceGenerator(name = "application_statistics_sort_key_generator", sequenceName = "application_statistics_sort_key_id_seq")
+    private Long id;
+
+    @ManyToOne(optional = false)
+    private Person person;
+
+    @Column(nullable = false)
+    private LocalDate periodStart;
+
+    @Column(nullable = false)
+    private LocalDate periodEnd;
+
+    @Column(nullable = false)
+    private BigDecimal totalAllowedVacationDays;
+
+    @Column(nullable = false)
+    private BigDecimal totalWaitingVacationDays;
+
+    @Column(nullable = false)
+    private BigDecimal leftVacationDaysForPeriod;
+
+    @Column(nullable = false)
+    private BigDecimal leftVacationDaysForYear;
+
+    @Column(nullable = false)
+    private Instant computedAt;
+
+    Long getId() {
+        return id;
+    }
+
+    void setId(Long id) {
+        this.id = id;
+    }
+
+    Person getPerson() {
+        return person;
+    }
+
+    void setPerson(Person person) {
+        this.person = person;
+    }
+
+    LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    LocalDate getPeriodEnd() {
+        return periodEnd;
+    }
+
+    void setPeriodEnd(LocalDate periodEnd) {
+        this.periodEnd = periodEnd;
+    }
+
+    BigDecimal getTotalAllowedVacationDays() {
+        return totalAllowedVacationDays;
+    }
+
+    void setTotalAllowedVacationDays(BigDecimal totalAllowedVacationDays) {
+        this.totalAllowedVacationDays = totalAllowedVacationDays;
+    }
+
+    BigDecimal getTotalWaitingVacationDays() {
+        return totalWaitingVacationDays;
+    }
+
+    void setTotalWaitingVacationDays(BigDecimal totalWaitingVacationDays) {
+        this.totalWaitingVacationDays = totalWaitingVacationDays;
+    }
+
+    BigDecimal getLeftVacationDaysForPeriod() {
+        return leftVacationDaysForPeriod;
+    }
+
+    void setLeftVacationDaysForPeriod(BigDecimal leftVacationDaysForPeriod) {
+        this.leftVacationDaysForPeriod = leftVacationDaysForPeriod;
+    }
+
+    BigDecimal getLeftVacationDaysForYear() {
+        return leftVacationDaysForYear;
+    }
+
+    void setLeftVacationDaysForYear(BigDecimal leftVacationDaysForYear) {
+        this.leftVacationDaysForYear = leftVacationDaysForYear;
+    }
+
+    Instant getComputedAt() {
+        return computedAt;
+    }
+
+    void setComputedAt(Instant computedAt) {
+        this.computedAt = computedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ApplicationForLeaveStatisticsSortKeyEntity{" +
+            "id=" + id +
+            ", periodStart=" + periodStart +
+            ", periodEnd=" + periodEnd +
+            ", totalAllowedVacationDays=" + totalAllowedVacationDays +
+            ", totalWaitingVacationDays=" + totalWaitingVacationDays +
+            ", leftVacationDaysForPeriod=" + leftVacationDaysForPeriod +
+            ", leftVacationDaysForYear=" + leftVacationDaysForYear +
+            ", computedAt=" + computedAt +
+            '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ApplicationForLeaveStatisticsSortKeyEntity that = (ApplicationForLeaveStatisticsSortKeyEntity) o;
+        return null != this.getId() && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
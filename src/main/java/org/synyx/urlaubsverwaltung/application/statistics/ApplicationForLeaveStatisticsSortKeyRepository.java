@@ -0,0 +1,32 @@
+package org.synyx.urlaubsverwaltung.application.statistics;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for {@link ApplicationForLeaveStatisticsSortKeyEntity} entities.
+ */
+interface ApplicationForLeaveStatisticsSortKeyRepository extends JpaRepository<ApplicationForLeaveStatisticsSortKeyEntity, Long> {
+
+    List<ApplicationForLeaveStatisticsSortKeyEntity> findByPeriodStartAndPeriodEndAndPersonIn(LocalDate periodStart, LocalDate periodEnd, Collection<Person> persons);
+
+    long countByPeriodStartAndPeriodEndAndPersonInAndComputedAtGreaterThanEqual(LocalDate periodStart, LocalDate periodEnd, Collection<Person> persons, Instant computedAt);
+
+    Page<ApplicationForLeaveStatisticsSortKeyEntity> findByPeriodStartAndPeriodEndAndPersonInAndComputedAtGreaterThanEqual(LocalDate periodStart, LocalDate periodEnd, Collection<Person> persons, Instant computedAt, Pageable pageable);
+
+    @Modifying
+    void deleteByPerson(Person person);
+
+    @Query("select k.id from application_statistics_sort_key k where k.computedAt < :computedAt")
+    List<Long> findIdsByComputedAtBefore(@Param("computedAt") Instant computedAt);
+}
@@ -0,0 +1,288 @@
+package org.synyx.urlaubsverwaltung.application.statistics;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.synyx.urlaubsverwaltung.application.ApplicationProperties;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationAllowedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationAllowedTemporarilyEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationAppliedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationCancellationRequestedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationCancelledEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationCreatedFromSickNoteEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationDeclinedCancellationRequestEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationDeletedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationRejectedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationRevokedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationUpdatedEvent;
+import org.synyx.urlaubsverwaltung.application.vacationtype.VacationType;
+import org.synyx.urlaubsverwaltung.application.vacationtype.VacationTypeService;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonDeletedEvent;
+import org.synyx.urlaubsverwaltung.search.SortComparator;
+import org.synyx.urlaubsverwaltung.web.FilterPeriod;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.Comparator.comparing;
+import static java.util.function.Predicate.not;
+import static java.util.stream.Collectors.toSet;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.synyx.urlaubsverwaltung.search.SortSupport.withIdTieBreaker;
+
+/**
+ * Maintains the sort keys of the {@link ApplicationForLeaveStatistics}, so that a page of statistics sorted by a
+ * statistics attribute can be selected by the database instead of computing the statistics of all persons.
+ *
+ * <p>Reading a page never writes sort keys. Missing sort keys of a request are computed by
+ * {@link #refreshSortKeys()}, until then the page is sorted in memory. Sort keys are deleted on every change of an
+ * application for leave of the person. Changes that are not published as application events, like changed working
+ * times or holidays accounts, are considered as soon as the sort keys are expired.</p>
+ */
+@Service
+class ApplicationForLeaveStatisticsSortKeyService {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private static final String PERSON_PREFIX = "person.";
+    private static final List<String> SORT_KEY_PROPERTIES = List.of("totalAllowedVacationDays", "totalWaitingVacationDays", "leftVacationDaysForPeriod", "leftVacationDaysForYear");
+
+    private final ApplicationForLeaveStatisticsSortKeyRepository sortKeyRepository;
+    private final ApplicationForLeaveStatisticsBuilder applicationForLeaveStatisticsBuilder;
+    private final VacationTypeService vacationTypeService;
+    private final Duration timeToLive;
+    private final int batchSize;
+    private final Clock clock;
+
+    private final Map<FilterPeriod, Set<Person>> requestedSortKeys = new ConcurrentHashMap<>();
+
+    @Autowired
+    ApplicationForLeaveStatisticsSortKeyService(ApplicationForLeaveStatisticsSortKeyRepository sortKeyRepository,
+                                                ApplicationForLeaveStatisticsBuilder applicationForLeaveStatisticsBuilder,
+                                                VacationTypeService vacationTypeService, ApplicationProperties applicationProperties,
+                                                Clock clock) {
+        this.sortKeyRepository = sortKeyRepository;
+        this.applicationForLeaveStatisticsBuilder = applicationForLeaveStatisticsBuilder;
+        this.vacationTypeService = vacationTypeService;
+        this.timeToLive = applicationProperties.getStatistics().getSortKeyTimeToLive();
+        this.batchSize = applicationProperties.getStatistics().getSortKeyBatchSize();
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the requested page of the given persons sorted by the sort keys of their statistics in the given period.
+     * Orders by person attributes, like {@code person.firstName}, are applied as well. If a sort key is missing or
+     * expired, the statistics of all persons are computed and sorted in memory, and the sort keys are requested to be
+     * computed by the next refresh.
+     *
+     * @param persons  all persons that are part of the statistics
+     * @param period   the period of the statistics
+     * @param pageable the page request with the sort of the statistics
+     * @return page of persons sorted by the sort keys of their statistics
+     */
+    Page<Person> getPersonsSortedBySortKeys(List<Person> persons, FilterPeriod period, Pageable pageable) {
+
+        if (persons.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        final Instant validSince = Instant.now(clock).minus(timeToLive);
+        final long validSortKeys = sortKeyRepository.countByPeriodStartAndPeriodEndAndPersonInAndComputedAtGreaterThanEqual(period.getStartDate(), period.getEndDate(), persons, validSince);
+        if (validSortKeys < persons.size()) {
+            requestedSortKeys.computeIfAbsent(period, requestedPeriod -> ConcurrentHashMap.newKeySet()).addAll(persons);
+            return getPersonsSortedByStatistics(persons, period, pageable);
+        }
+
+        final PageRequest sortKeyPageRequest = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), mapToSortKeySort(pageable.getSort()));
+        return sortKeyRepository.findByPeriodStartAndPeriodEndAndPersonInAndComputedAtGreaterThanEqual(period.getStartDate(), period.getEndDate(), persons, validSince, sortKeyPageRequest)
+            .map(ApplicationForLeaveStatisticsSortKeyEntity::getPerson);
+    }
+
+    /**
+     * Deletes expired sort keys and computes the sort keys that have been requested since the last refresh.
+     */
+    void refreshSortKeys() {
+
+        final Instant now = Instant.now(clock);
+        final List<Long> expiredSortKeyIds = sortKeyRepository.findIdsByComputedAtBefore(now.minus(timeToLive));
+        if (!expiredSortKeyIds.isEmpty()) {
+            sortKeyRepository.deleteAllByIdInBatch(expiredSortKeyIds);
+        }
+
+        for (FilterPeriod period : List.copyOf(requestedSortKeys.keySet())) {
+            final Set<Person> requestedPersons = requestedSortKeys.remove(period);
+            if (requestedPersons == null) {
+                continue;
+            }
+
+            final List<Person> personsWithoutSortKey = getPersonsWithoutSortKey(requestedPersons.stream().sorted(comparing(Person::getId)).toList(), period);
+            for (int fromIndex = 0; fromIndex < personsWithoutSortKey.size(); fromIndex += batchSize) {
+                final List<Person> batch = personsWithoutSortKey.subList(fromIndex, Math.min(fromIndex + batchSize, personsWithoutSortKey.size()));
+                computeSortKeys(batch, period, now);
+            }
+        }
+    }
+
+    @EventListener
+    void on(ApplicationAppliedEvent event) {
+        sortKeyRepository.deleteByPerson(event.application().getPerson());
+    }
+
+    @EventListener
+    void on(ApplicationAllowedEvent event) {
+        sortKeyRepository.deleteByPerson(event.application().getPerson());
+    }
+
+    @EventListener
+    void on(ApplicationAllowedTemporarilyEvent event) {
+        sortKeyRepository.deleteByPerson(event.application().getPerson());
+    }
+
+    @EventListener
+    void on(ApplicationRejectedEvent event) {
+        sortKeyRepository.deleteByPerson(event.application().getPerson());
+    }
+
+    @EventListener
+    void on(ApplicationCancelledEvent event) {
+        sortKeyRepository.deleteByPerson(event.application().getPerson());
+    }
+
+    @EventListener
+    void on(ApplicationRevokedEvent event) {
+        sortKeyRepository.deleteByPerson(event.application().getPerson());
+    }
+
+    @EventListener
+    void on(ApplicationCancellationRequestedEvent event) {
+        sortKeyRepository.deleteByPerson(event.application().getPerson());
+    }
+
+    @EventListener
+    void on(ApplicationDeclinedCancellationRequestEvent event) {
+        sortKeyRepository.deleteByPerson(event.application().getPerson());
+    }
+
+    @EventListener
+    void on(ApplicationCreatedFromSickNoteEvent event) {
+        sortKeyRepository.deleteByPerson(event.application().getPerson());
+    }
+
+    @EventListener
+    void on(ApplicationUpdatedEvent event) {
+        sortKeyRepository.deleteByPerson(event.application().getPerson());
+    }
+
+    @EventListener
+    void on(ApplicationDeletedEvent event) {
+        sortKeyRepository.deleteByPerson(event.application().getPerson());
+    }
+
+    @EventListener
+    void on(PersonDeletedEvent event) {
+        sortKeyRepository.deleteByPerson(event.person());
+    }
+
+    /**
+     * @return {@code true} if the property is an attribute of the statistics that is backed by a sort key
+     */
+    static boolean isSortKeyProperty(String property) {
+        return SORT_KEY_PROPERTIES.contains(property);
+    }
+
+    private Page<Person> getPersonsSortedByStatistics(List<Person> persons, FilterPeriod period, Pageable pageable) {
+
+        final List<Person> sortedPersons = buildStatistics(persons, period).stream()
+            .sorted(new SortComparator<>(ApplicationForLeaveStatistics.class, withIdTieBreaker(pageable.getSort(), "person.id")))
+            .map(ApplicationForLeaveStatistics::getPerson)
+            .toList();
+
+        final int fromIndex = (int) Math.min(pageable.getOffset(), sortedPersons.size());
+        final int toIndex = Math.min(fromIndex + pageable.getPageSize(), sortedPersons.size());
+        return new PageImpl<>(sortedPersons.subList(fromIndex, toIndex), pageable, sortedPersons.size());
+    }
+
+    private List<Person> getPersonsWithoutSortKey(List<Person> persons, FilterPeriod period) {
+        final Set<Person> personsWithSortKey = sortKeyRepository.findByPeriodStartAndPeriodEndAndPersonIn(period.getStartDate(), period.getEndDate(), persons).stream()
+            .map(ApplicationForLeaveStatisticsSortKeyEntity::getPerson)
+            .collect(toSet());
+
+        return persons.stream()
+            .filter(not(personsWithSortKey::contains))
+            .toList();
+    }
+
+    private void computeSortKeys(List<Person> persons, FilterPeriod period, Instant computedAt) {
+
+        final List<ApplicationForLeaveStatistics> statistics = buildStatistics(persons, period);
+
+        try {
+            sortKeyRepository.saveAll(toSortKeys(statistics, period, computedAt));
+        } catch (DataIntegrityViolationException e) {
+            // sort keys of some persons have been computed by another node in the meantime
+            LOG.debug("Sort keys of statistics have been computed concurrently, saving the missing ones only", e);
+            final Set<Person> personsWithoutSortKey = Set.copyOf(getPersonsWithoutSortKey(persons, period));
+            final List<ApplicationForLeaveStatistics> missingStatistics = statistics.stream()
+                .filter(personStatistics -> personsWithoutSortKey.contains(personStatistics.getPerson()))
+                .toList();
+            sortKeyRepository.saveAll(toSortKeys(missingStatistics, period, computedAt));
+        }
+    }
+
+    private List<ApplicationForLeaveStatistics> buildStatistics(List<Person> persons, FilterPeriod period) {
+
+        final List<VacationType<?>> activeVacationTypes = vacationTypeService.getActiveVacationTypes();
+        final Map<Person, ApplicationForLeaveStatistics> statisticsByPerson = applicationForLeaveStatisticsBuilder
+            .build(persons, period.getStartDate(), period.getEndDate(), activeVacationTypes);
+
+        // persons without holidays account have no statistics, they are sorted like persons without any vacation days
+        return persons.stream()
+            .map(person -> statisticsByPerson.getOrDefault(person, new ApplicationForLeaveStatistics(person, activeVacationTypes)))
+            .toList();
+    }
+
+    private static List<ApplicationForLeaveStatisticsSortKeyEntity> toSortKeys(List<ApplicationForLeaveStatistics> statistics, FilterPeriod period, Instant computedAt) {
+        return statistics.stream()
+            .map(personStatistics -> toSortKey(personStatistics, period, computedAt))
+            .toList();
+    }
+
+    private static ApplicationForLeaveStatisticsSortKeyEntity toSortKey(ApplicationForLeaveStatistics statistics, FilterPeriod period, Instant computedAt) {
+        final ApplicationForLeaveStatisticsSortKeyEntity sortKey = new ApplicationForLeaveStatisticsSortKeyEntity();
+        sortKey.setPerson(statistics.getPerson());
+        sortKey.setPeriodStart(period.getStartDate());
+        sortKey.setPeriodEnd(period.getEndDate());
+        sortKey.setTotalAllowedVacationDays(statistics.getTotalAllowedVacationDays());
+        sortKey.setTotalWaitingVacationDays(statistics.getTotalWaitingVacationDays());
+        sortKey.setLeftVacationDaysForPeriod(statistics.getLeftVacationDaysForPeriod());
+        sortKey.setLeftVacationDaysForYear(statistics.getLeftVacationDaysForYear());
+        sortKey.setComputedAt(computedAt);
+        return sortKey;
+    }
+
+    private static Sort mapToSortKeySort(Sort statisticsSort) {
+        Sort sortKeySort = Sort.unsorted();
+
+        for (Sort.Order order : statisticsSort) {
+            if (order.getProperty().startsWith(PERSON_PREFIX) || isSortKeyProperty(order.getProperty())) {
+                sortKeySort = sortKeySort.and(Sort.by(order));
+            }
+        }
+
+        return withIdTieBreaker(sortKeySort, "person.id");
+    }
+}
@@ -0,0 +1,201 @@
+package org.synyx.urlaubsverwaltung.calendar;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationAllowedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationAllowedTemporarilyEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationAppliedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationCancellationRequestedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationCancelledEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationCreatedFromSickNoteEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationDeclinedCancellationRequestEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationDeletedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationRejectedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationRevokedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationUpdatedEvent;
+import org.synyx.urlaubsverwaltung.department.DepartmentCreatedEvent;
+import org.synyx.urlaubsverwaltung.department.DepartmentDeletedEvent;
+import org.synyx.urlaubsverwaltung.department.DepartmentUpdatedEvent;
+import org.synyx.urlaubsverwaltung.department.PersonLeftDepartmentEvent;
+import org.synyx.urlaubsverwaltung.person.PersonDeletedEvent;
+import org.synyx.urlaubsverwaltung.person.PersonDisabledEvent;
+import org.synyx.urlaubsverwaltung.person.PersonUpdatedEvent;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteCancelledEvent;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteCreatedEvent;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteDeletedEvent;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteToApplicationConvertedEvent;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteUpdatedEvent;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static java.time.temporal.ChronoUnit.SECONDS;
+import static org.springframework.transaction.event.TransactionPhase.AFTER_COMMIT;
+
+/**
+ * Caches the versions of the iCal feeds of person, department and company calendars.
+ * <p>
+ * A version is kept per calendar, secret and locale, so that polling calendar clients with a valid secret and an
+ * unchanged feed are answered with 304 Not Modified without generating the feed. The feeds themselves are not cached
+ * but streamed to the client. All versions are discarded on changes of absences, persons, departments or calendars
+ * and expire after {@link CalendarProperties#getFeedCacheTimeToLive()} to pick up changes without a dedicated event.
+ * Since the calendar period starts relative to the current date, versions expire at the end of the day as well.
+ */
+@Component
+class CalendarFeedCache {
+
+    private final Duration timeToLive;
+    private final Clock clock;
+
+    private final Map<CalendarFeedKey, CalendarFeedVersion> versions = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    CalendarFeedCache(CalendarProperties calendarProperties, Clock clock) {
+        this.timeToLive = calendarProperties.getFeedCacheTimeToLive();
+        this.clock = clock;
+    }
+
+    /**
+     * @param key of the requested calendar feed
+     * @return the version of the feed if it has been generated before and has not changed since
+     */
+    Optional<CalendarFeedVersion> getVersion(CalendarFeedKey key) {
+        final CalendarFeedVersion version = versions.get(key);
+        if (version != null && isCurrent(version)) {
+            return Optional.of(version);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Prepares the feed with the given supplier and returns it with its current version. A new version is not
+     * registered until the feed has been written with {@link #register(CalendarFeedKey, CalendarFeed)}.
+     *
+     * @param key          of the requested calendar feed
+     * @param feedSupplier prepares the iCal feed, exceptions are passed through
+     * @return the calendar feed with its version
+     */
+    CalendarFeed getFeed(CalendarFeedKey key, Supplier<ICalFeed> feedSupplier) {
+
+        final long currentGeneration = generation.get();
+        final ICalFeed iCalFeed = feedSupplier.get();
+
+        final Optional<CalendarFeedVersion> currentVersion = getVersion(key);
+        if (currentVersion.isPresent()) {
+            return new CalendarFeed(iCalFeed, currentVersion.get(), currentGeneration);
+        }
+
+        final Instant lastModified = Instant.now(clock).truncatedTo(SECONDS);
+        final CalendarFeedVersion version = new CalendarFeedVersion(
+            "\"" + Long.toHexString(currentGeneration) + '-' + Long.toHexString(lastModified.getEpochSecond()) + '"', lastModified);
+
+        return new CalendarFeed(iCalFeed, version, currentGeneration);
+    }
+
+    /**
+     * Registers the version of a feed that has been written successfully, so that following requests with this
+     * version are answered with 304 Not Modified.
+     *
+     * @param key  of the written calendar feed
+     * @param feed as returned by {@link #getFeed(CalendarFeedKey, Supplier)}
+     */
+    void register(CalendarFeedKey key, CalendarFeed feed) {
+
+        if (generation.get() != feed.generation()) {
+            return;
+        }
+
+        versions.put(key, feed.version());
+        if (generation.get() != feed.generation()) {
+            // the feed may have been prepared from data that changed in the meantime
+            versions.remove(key, feed.version());
+        }
+    }
+
+    /**
+     * Discards all versions after the changes have been committed. Feeds prepared concurrently before the commit
+     * would otherwise be registered again with the outdated data. Called directly within a transaction, e.g. on
+     * changes of the calendars and their periods, the versions are discarded after completion again for the same
+     * reason.
+     */
+    @TransactionalEventListener(value = {
+        ApplicationAllowedEvent.class,
+        ApplicationAllowedTemporarilyEvent.class,
+        ApplicationAppliedEvent.class,
+        ApplicationCancellationRequestedEvent.class,
+        ApplicationCancelledEvent.class,
+        ApplicationCreatedFromSickNoteEvent.class,
+        ApplicationDeclinedCancellationRequestEvent.class,
+        ApplicationDeletedEvent.class,
+        ApplicationRejectedEvent.class,
+        ApplicationRevokedEvent.class,
+        ApplicationUpdatedEvent.class,
+        SickNoteCancelledEvent.class,
+        SickNoteCreatedEvent.class,
+        SickNoteDeletedEvent.class,
+        SickNoteToApplicationConvertedEvent.class,
+        SickNoteUpdatedEvent.class,
+        PersonUpdatedEvent.class,
+        PersonDisabledEvent.class,
+        PersonDeletedEvent.class,
+        PersonLeftDepartmentEvent.class,
+        DepartmentCreatedEvent.class,
+        DepartmentUpdatedEvent.class,
+        DepartmentDeletedEvent.class
+    }, phase = AFTER_COMMIT, fallbackExecution = true)
+    void evictAll() {
+        evictNow();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow();
+                }
+            });
+        }
+    }
+
+    private void evictNow() {
+        generation.incrementAndGet();
+        versions.clear();
+    }
+
+    private boolean isCurrent(CalendarFeedVersion version) {
+        final Instant now = Instant.now(clock);
+        if (!version.lastModified().plus(timeToLive).isAfter(now)) {
+            return false;
+        }
+
+        // the calendar period starts relative to the current date, so the feed changes with the date as well
+        final LocalDate lastModifiedDate = LocalDate.ofInstant(version.lastModified(), clock.getZone());
+        return lastModifiedDate.equals(LocalDate.ofInstant(now, clock.getZone()));
+    }
+
+    record CalendarFeedKey(CalendarFeedType type, Long calendarOwnerId, Long personId, String secret, Locale locale) {
+    }
+
+    enum CalendarFeedType {
+        PERSON,
+        DEPARTMENT,
+        COMPANY
+    }
+
+    record CalendarFeedVersion(String eTag, Instant lastModified) {
+    }
+
+    record CalendarFeed(ICalFeed iCalFeed, CalendarFeedVersion version, long generation) {
+    }
+}
@@ -45,6 +45,15 @@ public class CalendarProperties {
     @DurationUnit(ChronoUnit.MINUTES)
     private Duration refreshInterval = Duration.ofDays(1);
 
+    /**
+     * Defines how long a generated iCal feed is served from the cache.
+     * Cached feeds are discarded earlier on changes of absences, persons or calendars.
+     * <p>
+     * Default is ten minutes (PT10M).
+     */
+    @DurationUnit(ChronoUnit.MINUTES)
+    private Duration feedCacheTimeToLive = Duration.ofMinutes(10);
+
     public String getOrganizer() {
         return organizer;
     }
@@ -60,4 +69,12 @@ public class CalendarProperties {
     public void setRefreshInterval(Duration refreshInterval) {
         this.refreshInterval = refreshInterval;
     }
+
+    public Duration getFeedCacheTimeToLive() {
+        return feedCacheTimeToLive;
+    }
+
+    public void setFeedCacheTimeToLive(Duration feedCacheTimeToLive) {
+        this.feedCacheTimeToLive = feedCacheTimeToLive;
+    }
 }
@@ -4,7 +4,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.context.event.EventListener;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.synyx.urlaubsverwaltung.absence.Absence;
@@ -32,15 +31,17 @@ class CompanyCalendarService {
     private final PersonService personService;
     private final MessageSource messageSource;
     private final Clock clock;
+    private final CalendarFeedCache calendarFeedCache;
 
     @Autowired
-    CompanyCalendarService(AbsenceService absenceService, CompanyCalendarRepository companyCalendarRepository, ICalService iCalService, PersonService personService, MessageSource messageSource, Clock clock) {
+    CompanyCalendarService(AbsenceService absenceService, CompanyCalendarRepository companyCalendarRepository, ICalService iCalService, PersonService personService, MessageSource messageSource, Clock clock, CalendarFeedCache calendarFeedCache) {
         this.absenceService = absenceService;
         this.companyCalendarRepository = companyCalendarRepository;
         this.iCalService = iCalService;
         this.personService = personService;
         this.messageSource = messageSource;
         this.clock = clock;
+        this.calendarFeedCache = calendarFeedCache;
     }
 
     CompanyCalendar createCalendarForPerson(long personId, Period calendarPeriod) {
@@ -53,7 +54,9 @@ class CompanyCalendarService {
         companyCalendar.setCalendarPeriod(calendarPeriod);
         companyCalendar.generateSecret();
 
-        return companyCalendarRepository.save(companyCalendar);
+        final CompanyCalendar savedCompanyCalendar = companyCalendarRepository.save(companyCalendar);
+        calendarFeedCache.evictAll();
+        return savedCompanyCalendar;
     }
 
     Optional<CompanyCalendar> getCompanyCalendar(long personId) {
@@ -63,7 +66,7 @@ class CompanyCalendarService {
         return companyCalendarRepository.findByPerson(person);
     }
 
-    ByteArrayResource getCalendarForAll(Long personId, String secret, Locale locale) {
+    ICalFeed getCalendarForAll(Long personId, String secret, Locale locale) {
 
         if (StringUtils.isBlank(secret)) {
             throw new IllegalArgumentException("secret must not be empty.");
@@ -81,7 +84,7 @@ class CompanyCalendarService {
         final LocalDate sinceDate = LocalDate.now(clock).minus(companyCalendar.getCalendarPeriod());
         final List<Absence> absences = absenceService.getOpenAbsencesSince(sinceDate);
 
-        return iCalService.getCalendar(title, absences, person);
+        return iCalService.getCalendarFeed(title, absences, person);
     }
 
     @Transactional
@@ -90,6 +93,7 @@ class CompanyCalendarService {
         final Person person = getPersonOrThrow(personId);
 
         companyCalendarRepository.deleteByPerson(person);
+        calendarFeedCache.evictAll();
     }
 
     @EventListener
@@ -113,6 +117,8 @@ class CompanyCalendarService {
                 companyCalendarRepository.deleteByPerson(person);
             }
         }
+
+        calendarFeedCache.evictAll();
     }
 
     private Person getPersonOrThrow(Long personId) {
@@ -4,7 +4,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.context.event.EventListener;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.synyx.urlaubsverwaltung.absence.Absence;
@@ -33,10 +32,12 @@ class DepartmentCalendarService {
     private final ICalService iCalService;
     private final MessageSource messageSource;
     private final Clock clock;
+    private final CalendarFeedCache calendarFeedCache;
 
     @Autowired
     public DepartmentCalendarService(AbsenceService absenceService, DepartmentService departmentService,
-                                     PersonService personService, DepartmentCalendarRepository departmentCalendarRepository, ICalService iCalService, MessageSource messageSource, Clock clock) {
+                                     PersonService personService, DepartmentCalendarRepository departmentCalendarRepository, ICalService iCalService, MessageSource messageSource, Clock clock,
+                                     CalendarFeedCache calendarFeedCache) {
 
         this.absenceService = absenceService;
         this.departmentService = departmentService;
@@ -45,6 +46,7 @@ class DepartmentCalendarService {
         this.iCalService = iCalService;
         this.messageSource = messageSource;
         this.clock = clock;
+        this.calendarFeedCache = calendarFeedCache;
     }
 
     @Transactional
@@ -53,6 +55,7 @@ class DepartmentCalendarService {
         final Person person = getPersonOrThrow(personId);
 
         departmentCalendarRepository.deleteByDepartmentIdAndPerson(departmentId, person);
+        calendarFeedCache.evictAll();
     }
 
     DepartmentCalendar createCalendarForDepartmentAndPerson(long departmentId, long personId, Period calendarPeriod) {
@@ -70,7 +73,9 @@ class DepartmentCalendarService {
         departmentCalendar.setCalendarPeriod(calendarPeriod);
         departmentCalendar.generateSecret();
 
-        return departmentCalendarRepository.save(departmentCalendar);
+        final DepartmentCalendar savedDepartmentCalendar = departmentCalendarRepository.save(departmentCalendar);
+        calendarFeedCache.evictAll();
+        return savedDepartmentCalendar;
     }
 
     Optional<DepartmentCalendar> getCalendarForDepartment(Long departmentId, Long personId) {
@@ -80,7 +85,7 @@ class DepartmentCalendarService {
         return departmentCalendarRepository.findByDepartmentIdAndPerson(departmentId, person);
     }
 
-    ByteArrayResource getCalendarForDepartment(Long departmentId, Long personId, String secret, Locale locale) {
+    ICalFeed getCalendarForDepartment(Long departmentId, Long personId, String secret, Locale locale) {
 
         if (StringUtils.isBlank(secret)) {
             throw new IllegalArgumentException("secret must not be empty.");
@@ -106,7 +111,7 @@ class DepartmentCalendarService {
 
         final List<Absence> absences = absenceService.getOpenAbsencesSince(department.getMembers(), sinceDate);
 
-        return iCalService.getCalendar(title, absences, person);
+        return iCalService.getCalendarFeed(title, absences, person);
     }
 
     @Transactional
@@ -115,6 +120,7 @@ class DepartmentCalendarService {
         final Person person = getPersonOrThrow(personId);
 
         departmentCalendarRepository.deleteByPerson(person);
+        calendarFeedCache.evictAll();
     }
 
     @EventListener
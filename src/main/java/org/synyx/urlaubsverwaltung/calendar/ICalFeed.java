@@ -0,0 +1,18 @@
+package org.synyx.urlaubsverwaltung.calendar;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An iCal feed which is written on demand, so that it can be streamed to the client
+ * instead of being held in memory.
+ */
+@FunctionalInterface
+interface ICalFeed {
+
+    /**
+     * @param outputStream to write the iCal feed to, is not closed
+     * @throws IOException if the feed could not be written to the outputStream
+     */
+    void writeTo(OutputStream outputStream) throws IOException;
+}
@@ -1,6 +1,7 @@
 package org.synyx.urlaubsverwaltung.calendar;
 
 import net.fortuna.ical4j.data.CalendarOutputter;
+import net.fortuna.ical4j.data.FoldingWriter;
 import net.fortuna.ical4j.model.Calendar;
 import net.fortuna.ical4j.model.Date;
 import net.fortuna.ical4j.model.DateTime;
@@ -26,6 +27,8 @@ import org.synyx.urlaubsverwaltung.person.Person;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.net.URI;
 import java.text.ParseException;
 import java.time.ZonedDateTime;
@@ -34,12 +37,17 @@ import java.util.List;
 import java.util.Optional;
 
 import static java.lang.invoke.MethodHandles.lookup;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Date.from;
+import static net.fortuna.ical4j.model.Calendar.BEGIN;
+import static net.fortuna.ical4j.model.Calendar.END;
+import static net.fortuna.ical4j.model.Calendar.VCALENDAR;
 import static net.fortuna.ical4j.model.parameter.Role.REQ_PARTICIPANT;
 import static net.fortuna.ical4j.model.property.CalScale.GREGORIAN;
 import static net.fortuna.ical4j.model.property.Method.CANCEL;
 import static net.fortuna.ical4j.model.property.Transp.VALUE_TRANSPARENT;
 import static net.fortuna.ical4j.model.property.Version.VERSION_2_0;
+import static net.fortuna.ical4j.util.Strings.LINE_SEPARATOR;
 import static org.slf4j.LoggerFactory.getLogger;
 import static org.synyx.urlaubsverwaltung.calendar.ICalType.CANCELLED;
 import static org.synyx.urlaubsverwaltung.calendar.ICalType.PUBLISHED;
@@ -59,9 +67,18 @@ public class ICalService {
         this.calendarProperties = calendarProperties;
     }
 
-    public ByteArrayResource getCalendar(String title, List<Absence> absences, Person recipient) {
-        final Calendar calendar = generateCalendar(title, absences, recipient);
-        return writeCalenderIntoRessource(calendar);
+    /**
+     * Returns the calendar with the given absences as feed that is written on demand. The calendar properties are
+     * written first, then the events are generated, validated and written one after another, so that neither the
+     * whole calendar nor the serialized calendar is held in memory. Events that are not valid are skipped.
+     *
+     * @param title     of the calendar
+     * @param absences  to write as events
+     * @param recipient of the calendar, absences of other persons are marked as transparent
+     * @return the calendar feed
+     */
+    public ICalFeed getCalendarFeed(String title, List<Absence> absences, Person recipient) {
+        return outputStream -> writeCalendar(title, absences, recipient, outputStream);
     }
 
     public ByteArrayResource getSingleAppointment(Absence absence, ICalType method, Person recipient) {
@@ -69,8 +86,8 @@ public class ICalService {
         return writeCalenderIntoRessource(calendar);
     }
 
-    private Calendar generateCalendar(String title, List<Absence> absences, Person recipient) {
-        final Calendar calendar = prepareCalendar(absences, PUBLISHED, recipient);
+    private Calendar generateCalendarWithoutEvents(String title) {
+        final Calendar calendar = prepareCalendar(List.of(), PUBLISHED, null);
         calendar.getProperties().add(new XProperty("X-WR-CALNAME", title));
         calendar.getProperties().add(new RefreshInterval(new ParameterList(), calendarProperties.getRefreshInterval()));
         return calendar;
@@ -165,6 +182,36 @@ public class ICalService {
         return DigestUtils.md5Hex(data).toUpperCase();
     }
 
+    /**
+     * Writes the calendar the same way as {@link CalendarOutputter} does, but generates the events one after another
+     * while writing and does not close the outputStream.
+     */
+    private void writeCalendar(String title, List<Absence> absences, Person recipient, OutputStream outputStream) throws IOException {
+
+        final Calendar calendar = generateCalendarWithoutEvents(title);
+
+        final FoldingWriter writer = new FoldingWriter(new OutputStreamWriter(outputStream, UTF_8), FoldingWriter.REDUCED_FOLD_LENGTH);
+        writer.write(BEGIN + ':' + VCALENDAR + LINE_SEPARATOR);
+        writer.write(calendar.getProperties().toString());
+
+        for (Absence absence : absences) {
+            final Optional<VEvent> maybeEvent = toVEvent(absence, PUBLISHED, absence.getPerson().equals(recipient));
+            if (maybeEvent.isPresent()) {
+                final VEvent event = maybeEvent.get();
+                try {
+                    event.validate();
+                    writer.write(event.toString());
+                } catch (ValidationException e) {
+                    // the calendar has been started already, so an invalid event must not abort the whole calendar
+                    LOG.warn("Skipping invalid ical event for absence {}", absence, e);
+                }
+            }
+        }
+
+        writer.write(END + ':' + VCALENDAR + LINE_SEPARATOR);
+        writer.flush();
+    }
+
     private ByteArrayResource writeCalenderIntoRessource(Calendar calendar) {
 
         final boolean validation = !calendar.getComponents().isEmpty();
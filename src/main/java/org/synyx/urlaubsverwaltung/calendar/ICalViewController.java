@@ -3,19 +3,29 @@ package org.synyx.urlaubsverwaltung.calendar;
 import io.swagger.v3.oas.annotations.Hidden;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.synyx.urlaubsverwaltung.calendar.CalendarFeedCache.CalendarFeed;
+import org.synyx.urlaubsverwaltung.calendar.CalendarFeedCache.CalendarFeedKey;
+import org.synyx.urlaubsverwaltung.calendar.CalendarFeedCache.CalendarFeedVersion;
 
+import java.io.IOException;
 import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
 
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.LAST_MODIFIED;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.NO_CONTENT;
+import static org.synyx.urlaubsverwaltung.calendar.CalendarFeedCache.CalendarFeedType.COMPANY;
+import static org.synyx.urlaubsverwaltung.calendar.CalendarFeedCache.CalendarFeedType.DEPARTMENT;
+import static org.synyx.urlaubsverwaltung.calendar.CalendarFeedCache.CalendarFeedType.PERSON;
 
 @Hidden
 @Controller
@@ -25,75 +35,71 @@ public class ICalViewController {
     private final PersonCalendarService personCalendarService;
     private final DepartmentCalendarService departmentCalendarService;
     private final CompanyCalendarService companyCalendarService;
+    private final CalendarFeedCache calendarFeedCache;
 
     @Autowired
     ICalViewController(
         PersonCalendarService personCalendarService,
         DepartmentCalendarService departmentCalendarService,
-        CompanyCalendarService companyCalendarService
+        CompanyCalendarService companyCalendarService,
+        CalendarFeedCache calendarFeedCache
     ) {
         this.personCalendarService = personCalendarService;
         this.departmentCalendarService = departmentCalendarService;
         this.companyCalendarService = companyCalendarService;
+        this.calendarFeedCache = calendarFeedCache;
     }
 
     @GetMapping("/persons/{personId}/calendar")
-    @ResponseBody
-    public String getCalendarForPerson(Locale locale, HttpServletResponse response, @PathVariable Long personId, @RequestParam String secret) {
-
-        final ByteArrayResource iCal;
-        try {
-            iCal = personCalendarService.getCalendarForPerson(personId, secret, locale);
-        } catch (IllegalArgumentException e) {
-            throw new ResponseStatusException(BAD_REQUEST, "Could not generate person calendar");
-        } catch (CalendarException e) {
-            throw new ResponseStatusException(NO_CONTENT);
-        }
-
-        setContentTypeAndHeaders(response);
-
-        return new String(iCal.getByteArray());
+    public void getCalendarForPerson(Locale locale, HttpServletResponse response, WebRequest webRequest, @PathVariable Long personId, @RequestParam String secret) throws IOException {
+        final CalendarFeedKey key = new CalendarFeedKey(PERSON, personId, personId, secret, locale);
+        writeCalendarFeed(key, () -> personCalendarService.getCalendarForPerson(personId, secret, locale), "Could not generate person calendar", webRequest, response);
     }
 
     @GetMapping("/departments/{departmentId}/persons/{personId}/calendar")
-    @ResponseBody
-    public String getCalendarForDepartment(Locale locale, HttpServletResponse response, @PathVariable Long departmentId, @PathVariable Long personId, @RequestParam String secret) {
-
-        final ByteArrayResource iCal;
-        try {
-            iCal = departmentCalendarService.getCalendarForDepartment(departmentId, personId, secret, locale);
-        } catch (IllegalArgumentException e) {
-            throw new ResponseStatusException(BAD_REQUEST, "Could not generate department calendar");
-        } catch (CalendarException e) {
-            throw new ResponseStatusException(NO_CONTENT);
-        }
-
-        setContentTypeAndHeaders(response);
-
-        return new String(iCal.getByteArray());
+    public void getCalendarForDepartment(Locale locale, HttpServletResponse response, WebRequest webRequest, @PathVariable Long departmentId, @PathVariable Long personId, @RequestParam String secret) throws IOException {
+        final CalendarFeedKey key = new CalendarFeedKey(DEPARTMENT, departmentId, personId, secret, locale);
+        writeCalendarFeed(key, () -> departmentCalendarService.getCalendarForDepartment(departmentId, personId, secret, locale), "Could not generate department calendar", webRequest, response);
     }
 
     @GetMapping("/company/persons/{personId}/calendar")
-    @ResponseBody
-    public String getCalendarForCompany(Locale locale, HttpServletResponse response, @PathVariable Long personId, @RequestParam String secret) {
+    public void getCalendarForCompany(Locale locale, HttpServletResponse response, WebRequest webRequest, @PathVariable Long personId, @RequestParam String secret) throws IOException {
+        final CalendarFeedKey key = new CalendarFeedKey(COMPANY, null, personId, secret, locale);
+        writeCalendarFeed(key, () -> companyCalendarService.getCalendarForAll(personId, secret, locale), "Could not generate company calendar", webRequest, response);
+    }
 
-        final ByteArrayResource iCal;
+    /**
+     * Answers with 304 Not Modified if the calendar client already has the current feed,
+     * otherwise the feed is streamed to the response. The calendar is looked up before the response
+     * is touched and the version of the feed is only registered after it has been written.
+     */
+    private void writeCalendarFeed(CalendarFeedKey key, Supplier<ICalFeed> feedSupplier, String badRequestMessage,
+                                   WebRequest webRequest, HttpServletResponse response) throws IOException {
+
+        final Optional<CalendarFeedVersion> cachedVersion = calendarFeedCache.getVersion(key);
+        if (cachedVersion.isPresent() && webRequest.checkNotModified(cachedVersion.get().eTag(), cachedVersion.get().lastModified().toEpochMilli())) {
+            return;
+        }
+
+        final CalendarFeed feed;
         try {
-            iCal = companyCalendarService.getCalendarForAll(personId, secret, locale);
+            feed = calendarFeedCache.getFeed(key, feedSupplier);
         } catch (IllegalArgumentException e) {
-            throw new ResponseStatusException(BAD_REQUEST, "Could not generate company calendar");
+            throw new ResponseStatusException(BAD_REQUEST, badRequestMessage);
         } catch (CalendarException e) {
             throw new ResponseStatusException(NO_CONTENT);
         }
 
-        setContentTypeAndHeaders(response);
-
-        return new String(iCal.getByteArray());
+        setContentTypeAndHeaders(response, feed.version());
+        feed.iCalFeed().writeTo(response.getOutputStream());
+        calendarFeedCache.register(key, feed);
     }
 
-    private void setContentTypeAndHeaders(HttpServletResponse response) {
+    private void setContentTypeAndHeaders(HttpServletResponse response, CalendarFeedVersion version) {
         response.setContentType("text/calendar");
         response.setCharacterEncoding("UTF-8");
         response.setHeader("Content-Disposition", "attachment; filename=calendar.ics");
+        response.setHeader(ETAG, version.eTag());
+        response.setDateHeader(LAST_MODIFIED, version.lastModified().toEpochMilli());
     }
 }
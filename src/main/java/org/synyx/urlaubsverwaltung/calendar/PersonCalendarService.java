@@ -4,7 +4,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.context.event.EventListener;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.synyx.urlaubsverwaltung.absence.Absence;
@@ -30,10 +29,12 @@ class PersonCalendarService {
     private final ICalService iCalService;
     private final MessageSource messageSource;
     private final Clock clock;
+    private final CalendarFeedCache calendarFeedCache;
 
     @Autowired
     PersonCalendarService(AbsenceService absenceService, PersonService personService,
-                          PersonCalendarRepository personCalendarRepository, ICalService iCalService, MessageSource messageSource, Clock clock) {
+                          PersonCalendarRepository personCalendarRepository, ICalService iCalService, MessageSource messageSource, Clock clock,
+                          CalendarFeedCache calendarFeedCache) {
 
         this.absenceService = absenceService;
         this.personService = personService;
@@ -41,6 +42,7 @@ class PersonCalendarService {
         this.iCalService = iCalService;
         this.messageSource = messageSource;
         this.clock = clock;
+        this.calendarFeedCache = calendarFeedCache;
     }
 
     PersonCalendar createCalendarForPerson(Long personId, Period calendarPeriod) {
@@ -53,7 +55,9 @@ class PersonCalendarService {
         personCalendar.setCalendarPeriod(calendarPeriod);
         personCalendar.generateSecret();
 
-        return personCalendarRepository.save(personCalendar);
+        final PersonCalendar savedPersonCalendar = personCalendarRepository.save(personCalendar);
+        calendarFeedCache.evictAll();
+        return savedPersonCalendar;
     }
 
     Optional<PersonCalendar> getPersonCalendar(Long personId) {
@@ -63,7 +67,7 @@ class PersonCalendarService {
         return personCalendarRepository.findByPerson(person);
     }
 
-    ByteArrayResource getCalendarForPerson(Long personId, String secret, Locale locale) {
+    ICalFeed getCalendarForPerson(Long personId, String secret, Locale locale) {
 
         if (StringUtils.isBlank(secret)) {
             throw new IllegalArgumentException("secret must not be empty.");
@@ -85,7 +89,7 @@ class PersonCalendarService {
         final LocalDate sinceDate = LocalDate.now(clock).minus(personCalendar.getCalendarPeriod());
         final List<Absence> absences = absenceService.getOpenAbsencesSince(List.of(person), sinceDate);
 
-        return iCalService.getCalendar(title, absences, person);
+        return iCalService.getCalendarFeed(title, absences, person);
     }
 
     @Transactional
@@ -94,6 +98,7 @@ class PersonCalendarService {
         final Person person = getPersonOrThrow(personId);
 
         personCalendarRepository.deleteByPerson(person);
+        calendarFeedCache.evictAll();
     }
 
     @EventListener
@@ -0,0 +1,32 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import org.synyx.urlaubsverwaltung.absence.Absence;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import java.util.UUID;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Fingerprint of everything of an {@link Absence} that ends up in its calendar event.
+ * Two absences with the same fingerprint result in the same calendar event.
+ */
+final class AbsenceFingerprint {
+
+    private AbsenceFingerprint() {
+        // ok
+    }
+
+    static String of(Absence absence) {
+        final Person person = absence.getPerson();
+        final String content = String.join("|",
+            absence.getEventSubject(),
+            String.valueOf(absence.getStartDate().toInstant()),
+            String.valueOf(absence.getEndDate().toInstant()),
+            String.valueOf(absence.isAllDay()),
+            String.valueOf(person.getEmail()),
+            String.valueOf(person.getNiceName())
+        );
+        return UUID.nameUUIDFromBytes(content.getBytes(UTF_8)).toString();
+    }
+}
@@ -34,14 +34,24 @@ public class AbsenceMapping {
     @Column(nullable = false)
     private String eventId;
 
+    /**
+     * Fingerprint of the absence when it has been synced to the calendar the last time, see {@link AbsenceFingerprint}
+     */
+    private String eventFingerprint;
+
     protected AbsenceMapping() {
         /* OK */
     }
 
     AbsenceMapping(Long absenceId, AbsenceMappingType absenceMappingType, String eventId) {
+        this(absenceId, absenceMappingType, eventId, null);
+    }
+
+    AbsenceMapping(Long absenceId, AbsenceMappingType absenceMappingType, String eventId, String eventFingerprint) {
         this.absenceId = absenceId;
         this.absenceMappingType = absenceMappingType;
         this.eventId = eventId;
+        this.eventFingerprint = eventFingerprint;
     }
 
     public Long getId() {
@@ -76,6 +86,14 @@ public class AbsenceMapping {
         this.eventId = eventId;
     }
 
+    public String getEventFingerprint() {
+        return eventFingerprint;
+    }
+
+    public void setEventFingerprint(String eventFingerprint) {
+        this.eventFingerprint = eventFingerprint;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
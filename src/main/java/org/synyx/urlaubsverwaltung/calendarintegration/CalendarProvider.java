@@ -2,6 +2,7 @@ package org.synyx.urlaubsverwaltung.calendarintegration;
 
 import org.synyx.urlaubsverwaltung.absence.Absence;
 
+import java.util.List;
 import java.util.Optional;
 
 
@@ -39,6 +40,29 @@ interface CalendarProvider {
     Optional<String> delete(String eventId, CalendarSettings calendarSettings);
 
 
+    /**
+     * Syncs the given operations to the calendar. Providers may send the operations together,
+     * by default they are synced one by one.
+     *
+     * @param operations       operations to sync
+     * @param calendarSettings contains configuration for calendar provider
+     * @return for every given operation in the same order the id of the added, updated or deleted event,
+     * empty if the operation could not be synced
+     */
+    default List<Optional<String>> sync(List<CalendarSyncOperation> operations, CalendarSettings calendarSettings) {
+        return operations.stream()
+            .map(operation -> switch (operation) {
+                case CalendarSyncOperation.Add add -> add(add.absence(), calendarSettings);
+                case CalendarSyncOperation.Update update -> {
+                    update(update.absence(), update.eventId(), calendarSettings);
+                    yield Optional.of(update.eventId());
+                }
+                case CalendarSyncOperation.Delete delete -> delete(delete.eventId(), calendarSettings);
+            })
+            .toList();
+    }
+
+
     /**
      * Check the settings for calendar sync.
      *
@@ -0,0 +1,258 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.synyx.urlaubsverwaltung.absence.Absence;
+import org.synyx.urlaubsverwaltung.absence.AbsenceTimeConfiguration;
+import org.synyx.urlaubsverwaltung.application.application.Application;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationService;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNote;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteService;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteStatus;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.Collections.synchronizedList;
+import static java.util.stream.Collectors.toSet;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.synyx.urlaubsverwaltung.calendarintegration.AbsenceMappingType.SICKNOTE;
+import static org.synyx.urlaubsverwaltung.calendarintegration.AbsenceMappingType.VACATION;
+
+/**
+ * Compares the open absences with the {@link AbsenceMapping absence mappings} and syncs only the differences
+ * to the calendar of the configured {@link CalendarProvider}:
+ *
+ * <ul>
+ *     <li>open absences without mapping are added</li>
+ *     <li>open absences whose {@link AbsenceFingerprint fingerprint} differs from the synced one are updated</li>
+ *     <li>mappings of absences that are not active anymore or do not exist anymore are deleted</li>
+ * </ul>
+ *
+ * <p>This fixes everything the regular calendar sync missed, e.g. changes while the calendar provider was not reachable.</p>
+ *
+ * <p>Mappings created before the fingerprint was introduced have none. Their events are assumed to be in sync, so the
+ * fingerprint of the open absence is only recorded instead of updating every event once. Differences of these
+ * events that already exist are not fixed.</p>
+ */
+@Service
+class CalendarResyncService {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private final SettingsService settingsService;
+    private final CalendarSettingsService calendarSettingsService;
+    private final CalendarProviderService calendarProviderService;
+    private final AbsenceMappingRepository absenceMappingRepository;
+    private final ApplicationService applicationService;
+    private final SickNoteService sickNoteService;
+    private final CalendarSyncExecutor calendarSyncExecutor;
+    private final CalendarSyncProperties calendarSyncProperties;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    @Autowired
+    CalendarResyncService(
+        SettingsService settingsService,
+        CalendarSettingsService calendarSettingsService,
+        CalendarProviderService calendarProviderService,
+        AbsenceMappingRepository absenceMappingRepository,
+        ApplicationService applicationService,
+        SickNoteService sickNoteService,
+        CalendarSyncExecutor calendarSyncExecutor,
+        CalendarSyncProperties calendarSyncProperties,
+        MeterRegistry meterRegistry,
+        Clock clock
+    ) {
+        this.settingsService = settingsService;
+        this.calendarSettingsService = calendarSettingsService;
+        this.calendarProviderService = calendarProviderService;
+        this.absenceMappingRepository = absenceMappingRepository;
+        this.applicationService = applicationService;
+        this.sickNoteService = sickNoteService;
+        this.calendarSyncExecutor = calendarSyncExecutor;
+        this.calendarSyncProperties = calendarSyncProperties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    void resync() {
+
+        final Optional<CalendarProvider> maybeCalendarProvider = calendarProviderService.getCalendarProvider();
+        if (maybeCalendarProvider.isEmpty()) {
+            return;
+        }
+
+        final List<CalendarSyncTask> drift = findDrift();
+        record(drift, "found");
+        if (drift.isEmpty()) {
+            LOG.info("Calendar is in sync with the open absences");
+            return;
+        }
+
+        final List<CalendarSyncTask> fixed = sync(maybeCalendarProvider.get(), drift);
+        record(fixed, "fixed");
+        LOG.info("Fixed {} of {} differences between the calendar and the open absences", fixed.size(), drift.size());
+    }
+
+    private List<CalendarSyncTask> findDrift() {
+
+        final Map<AbsenceKey, Absence> openAbsences = getOpenAbsences();
+        final List<CalendarSyncTask> drift = new ArrayList<>();
+
+        final int batchSize = calendarSyncProperties.getBatchSize();
+        long lastId = 0;
+        List<AbsenceMapping> absenceMappings;
+        do {
+            absenceMappings = absenceMappingRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(batchSize));
+
+            final List<AbsenceMapping> absenceMappingsOfOtherAbsences = new ArrayList<>();
+            final List<AbsenceMapping> absenceMappingsWithoutFingerprint = new ArrayList<>();
+            for (AbsenceMapping absenceMapping : absenceMappings) {
+                final Absence openAbsence = openAbsences.remove(new AbsenceKey(absenceMapping.getAbsenceId(), absenceMapping.getAbsenceMappingType()));
+                if (openAbsence == null) {
+                    absenceMappingsOfOtherAbsences.add(absenceMapping);
+                } else if (absenceMapping.getEventFingerprint() == null) {
+                    absenceMapping.setEventFingerprint(AbsenceFingerprint.of(openAbsence));
+                    absenceMappingsWithoutFingerprint.add(absenceMapping);
+                } else if (!AbsenceFingerprint.of(openAbsence).equals(absenceMapping.getEventFingerprint())) {
+                    drift.add(CalendarSyncTask.update(absenceMapping, openAbsence));
+                }
+            }
+            drift.addAll(deleteTasksOfInactiveAbsences(absenceMappingsOfOtherAbsences));
+
+            if (!absenceMappingsWithoutFingerprint.isEmpty()) {
+                absenceMappingRepository.saveAll(absenceMappingsWithoutFingerprint);
+                LOG.info("Recorded the fingerprint of {} absences synced before fingerprints were introduced", absenceMappingsWithoutFingerprint.size());
+            }
+
+            if (!absenceMappings.isEmpty()) {
+                lastId = absenceMappings.getLast().getId();
+            }
+        } while (absenceMappings.size() == batchSize);
+
+        openAbsences.forEach((absenceKey, absence) -> drift.add(CalendarSyncTask.add(absenceKey.absenceId(), absenceKey.absenceMappingType(), absence)));
+
+        return drift;
+    }
+
+    /**
+     * Open absences are all active absences that end today or later, like {@link org.synyx.urlaubsverwaltung.absence.AbsenceService#getOpenAbsencesSince(LocalDate)}.
+     * The absences are loaded with their ids to be able to compare them with the absence mappings.
+     */
+    private Map<AbsenceKey, Absence> getOpenAbsences() {
+
+        final LocalDate today = LocalDate.now(clock);
+        final AbsenceTimeConfiguration absenceTimeConfiguration = new AbsenceTimeConfiguration(settingsService.getSettings().getTimeSettings());
+
+        final Map<AbsenceKey, Absence> openAbsences = new LinkedHashMap<>();
+        for (Application application : applicationService.getForStatesSince(ApplicationStatus.activeStatuses(), today)) {
+            openAbsences.put(new AbsenceKey(application.getId(), VACATION), new Absence(application.getPerson(), application.getPeriod(), absenceTimeConfiguration));
+        }
+        for (SickNote sickNote : sickNoteService.getForStatesSince(SickNoteStatus.activeStatuses(), today)) {
+            openAbsences.put(new AbsenceKey(sickNote.getId(), SICKNOTE), new Absence(sickNote.getPerson(), sickNote.getPeriod(), absenceTimeConfiguration));
+        }
+        return openAbsences;
+    }
+
+    /**
+     * Absences that are not open are either in the past, not active anymore or do not exist anymore.
+     * Only the events of the latter are deleted, events of past absences are kept.
+     */
+    private List<CalendarSyncTask> deleteTasksOfInactiveAbsences(List<AbsenceMapping> absenceMappings) {
+
+        final List<Long> applicationIds = absenceIdsOf(absenceMappings, VACATION);
+        final Set<Long> activeApplicationIds = applicationIds.isEmpty() ? Set.of() : applicationService.findApplicationsByIds(applicationIds).stream()
+            .filter(application -> ApplicationStatus.activeStatuses().contains(application.getStatus()))
+            .map(Application::getId)
+            .collect(toSet());
+
+        final List<Long> sickNoteIds = absenceIdsOf(absenceMappings, SICKNOTE);
+        final Set<Long> activeSickNoteIds = sickNoteIds.isEmpty() ? Set.of() : sickNoteService.findSickNotesByIds(sickNoteIds).stream()
+            .filter(sickNote -> SickNoteStatus.activeStatuses().contains(sickNote.getStatus()))
+            .map(SickNote::getId)
+            .collect(toSet());
+
+        return absenceMappings.stream()
+            .filter(absenceMapping -> switch (absenceMapping.getAbsenceMappingType()) {
+                case VACATION -> !activeApplicationIds.contains(absenceMapping.getAbsenceId());
+                case SICKNOTE -> !activeSickNoteIds.contains(absenceMapping.getAbsenceId());
+            })
+            .map(CalendarSyncTask::delete)
+            .toList();
+    }
+
+    /**
+     * Syncs the tasks in batches, at most {@link CalendarSyncProperties.Resync#getConcurrency()} batches at the same time.
+     */
+    private List<CalendarSyncTask> sync(CalendarProvider calendarProvider, List<CalendarSyncTask> tasks) {
+
+        final CalendarSettings calendarSettings = calendarSettingsService.getCalendarSettings();
+        final int batchSize = calendarSyncProperties.getBatchSize();
+        final Semaphore permits = new Semaphore(calendarSyncProperties.getResync().getConcurrency(), true);
+
+        final List<CalendarSyncTask> synced = synchronizedList(new ArrayList<>());
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int fromIndex = 0; fromIndex < tasks.size(); fromIndex += batchSize) {
+                final List<CalendarSyncTask> batch = tasks.subList(fromIndex, Math.min(fromIndex + batchSize, tasks.size()));
+                executorService.execute(() -> synced.addAll(syncBatch(calendarProvider, batch, calendarSettings, permits)));
+            }
+        }
+
+        return List.copyOf(synced);
+    }
+
+    private List<CalendarSyncTask> syncBatch(CalendarProvider calendarProvider, List<CalendarSyncTask> batch, CalendarSettings calendarSettings, Semaphore permits) {
+
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.error("Interrupted while waiting to sync {} absences to calendar", batch.size(), e);
+            return List.of();
+        }
+
+        try {
+            return calendarSyncExecutor.execute(calendarProvider, batch, calendarSettings);
+        } catch (RuntimeException e) {
+            LOG.error("Could not sync {} absences to calendar", batch.size(), e);
+            return List.of();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void record(List<CalendarSyncTask> tasks, String outcome) {
+        final long added = tasks.stream().filter(task -> task.operation() instanceof CalendarSyncOperation.Add).count();
+        final long updated = tasks.stream().filter(task -> task.operation() instanceof CalendarSyncOperation.Update).count();
+        final long deleted = tasks.stream().filter(task -> task.operation() instanceof CalendarSyncOperation.Delete).count();
+        meterRegistry.counter("calendar.resync.drift", "operation", "add", "outcome", outcome).increment(added);
+        meterRegistry.counter("calendar.resync.drift", "operation", "update", "outcome", outcome).increment(updated);
+        meterRegistry.counter("calendar.resync.drift", "operation", "delete", "outcome", outcome).increment(deleted);
+    }
+
+    private static List<Long> absenceIdsOf(List<AbsenceMapping> absenceMappings, AbsenceMappingType absenceMappingType) {
+        return absenceMappings.stream()
+            .filter(absenceMapping -> absenceMapping.getAbsenceMappingType() == absenceMappingType)
+            .map(AbsenceMapping::getAbsenceId)
+            .toList();
+    }
+
+    private record AbsenceKey(Long absenceId, AbsenceMappingType absenceMappingType) {
+    }
+}
@@ -0,0 +1,51 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.synyx.urlaubsverwaltung.config.ScheduleLocking;
+
+import java.time.Duration;
+
+@Configuration
+class CalendarSyncConfiguration implements SchedulingConfigurer {
+
+    private static final String LOCK_NAME = "CalendarSync";
+
+    private final CalendarSyncProperties calendarSyncProperties;
+    private final CalendarSyncService calendarSyncService;
+    private final CalendarResyncService calendarResyncService;
+    private final ScheduleLocking scheduleLocking;
+    private final ThreadPoolTaskScheduler taskScheduler;
+
+    @Autowired
+    CalendarSyncConfiguration(CalendarSyncProperties calendarSyncProperties, CalendarSyncService calendarSyncService,
+                              CalendarResyncService calendarResyncService, ScheduleLocking scheduleLocking,
+                              ThreadPoolTaskScheduler taskScheduler) {
+        this.calendarSyncProperties = calendarSyncProperties;
+        this.calendarSyncService = calendarSyncService;
+        this.calendarResyncService = calendarResyncService;
+        this.scheduleLocking = scheduleLocking;
+        this.taskScheduler = taskScheduler;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.setTaskScheduler(taskScheduler);
+        taskRegistrar.addFixedDelayTask(
+            scheduleLocking.withLock(LOCK_NAME, calendarSyncService::flush, Duration.ofMinutes(15), Duration.ZERO),
+            calendarSyncProperties.getInterval()
+        );
+
+        final CalendarSyncProperties.Resync resync = calendarSyncProperties.getResync();
+        if (resync.isEnabled()) {
+            // same lock as the regular sync, both change the absence mappings
+            taskRegistrar.addCronTask(
+                scheduleLocking.withLock(LOCK_NAME, calendarResyncService::resync, Duration.ofHours(1), Duration.ofMinutes(2)),
+                resync.getCron()
+            );
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Syncs {@link CalendarSyncTask tasks} to the calendar of a {@link CalendarProvider} and keeps the
+ * {@link AbsenceMapping absence mappings} in line with the calendar.
+ */
+@Component
+class CalendarSyncExecutor {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private final AbsenceMappingRepository absenceMappingRepository;
+
+    @Autowired
+    CalendarSyncExecutor(AbsenceMappingRepository absenceMappingRepository) {
+        this.absenceMappingRepository = absenceMappingRepository;
+    }
+
+    /**
+     * Syncs the given tasks. The absence mappings are only changed for tasks that have been synced successfully.
+     *
+     * @param calendarProvider provider to sync the tasks with
+     * @param tasks            tasks to sync
+     * @param calendarSettings settings of the calendar provider
+     * @return the tasks that have been synced successfully
+     */
+    List<CalendarSyncTask> execute(CalendarProvider calendarProvider, List<CalendarSyncTask> tasks, CalendarSettings calendarSettings) {
+
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+
+        final List<CalendarSyncOperation> operations = tasks.stream().map(CalendarSyncTask::operation).toList();
+        final List<Optional<String>> eventIds = calendarProvider.sync(operations, calendarSettings);
+
+        final List<CalendarSyncTask> synced = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            final CalendarSyncTask task = tasks.get(i);
+            final Optional<String> maybeEventId = eventIds.get(i);
+            if (maybeEventId.isEmpty()) {
+                LOG.warn("Could not sync absence {} of type {} to calendar", task.absenceId(), task.absenceMappingType());
+                continue;
+            }
+
+            switch (task.operation()) {
+                case CalendarSyncOperation.Add add ->
+                    absenceMappingRepository.save(new AbsenceMapping(task.absenceId(), task.absenceMappingType(), maybeEventId.get(), AbsenceFingerprint.of(add.absence())));
+                case CalendarSyncOperation.Update update -> {
+                    final AbsenceMapping absenceMapping = task.absenceMapping();
+                    absenceMapping.setEventFingerprint(AbsenceFingerprint.of(update.absence()));
+                    absenceMappingRepository.save(absenceMapping);
+                }
+                case CalendarSyncOperation.Delete ignored -> absenceMappingRepository.delete(task.absenceMapping());
+            }
+            synced.add(task);
+        }
+
+        return synced;
+    }
+}
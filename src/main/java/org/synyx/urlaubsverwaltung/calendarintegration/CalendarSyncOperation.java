@@ -0,0 +1,34 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import org.synyx.urlaubsverwaltung.absence.Absence;
+
+/**
+ * A change of an absence that has to be synced to the calendar of a {@link CalendarProvider}.
+ */
+public sealed interface CalendarSyncOperation {
+
+    /**
+     * Adds a new event for the absence.
+     *
+     * @param absence the absence to add
+     */
+    record Add(Absence absence) implements CalendarSyncOperation {
+    }
+
+    /**
+     * Updates the existing event of the absence.
+     *
+     * @param absence the updated absence
+     * @param eventId id of the event to update
+     */
+    record Update(Absence absence, String eventId) implements CalendarSyncOperation {
+    }
+
+    /**
+     * Deletes the event of an absence.
+     *
+     * @param eventId id of the event to delete
+     */
+    record Delete(String eventId) implements CalendarSyncOperation {
+    }
+}
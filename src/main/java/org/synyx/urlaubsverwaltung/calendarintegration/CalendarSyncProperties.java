@@ -0,0 +1,148 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import com.google.api.services.calendar.Calendar;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.validator.constraints.URL;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+import org.synyx.urlaubsverwaltung.validation.CronExpression;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties("uv.calendar-sync")
+@Validated
+public class CalendarSyncProperties {
+
+    /**
+     * Delay between the end of one run of the calendar sync job and the start of the next one
+     */
+    @NotNull
+    private Duration interval = Duration.ofSeconds(30);
+
+    /**
+     * Maximum number of absence changes that are sent to the calendar provider at once.
+     * Google accepts up to 1000 requests in a single batch request.
+     */
+    @Min(1)
+    @Max(1000)
+    private int batchSize = 50;
+
+    @Valid
+    private Resync resync = new Resync();
+
+    @Valid
+    private Google google = new Google();
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Resync getResync() {
+        return resync;
+    }
+
+    public void setResync(Resync resync) {
+        this.resync = resync;
+    }
+
+    public Google getGoogle() {
+        return google;
+    }
+
+    public void setGoogle(Google google) {
+        this.google = google;
+    }
+
+    public static class Resync {
+
+        /**
+         * Compares all open absences with the events in the calendar and fixes differences
+         * that have been missed by the regular calendar sync
+         */
+        private boolean enabled = true;
+
+        @CronExpression
+        private String cron = "0 30 2 * * *";
+
+        /**
+         * Maximum number of batches that are sent to the calendar provider at the same time
+         */
+        @Min(1)
+        private int concurrency = 2;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+    }
+
+    public static class Google {
+
+        /**
+         * Root url of the google calendar api, e.g. to use a local stand-in for tests
+         */
+        @URL
+        @NotEmpty
+        private String rootUrl = Calendar.DEFAULT_ROOT_URL;
+
+        /**
+         * Url that is used to refresh the access token of the google calendar client
+         */
+        @URL
+        @NotEmpty
+        private String tokenServerUrl = "https://www.googleapis.com/oauth2/v4/token";
+
+        public String getRootUrl() {
+            return rootUrl;
+        }
+
+        public void setRootUrl(String rootUrl) {
+            this.rootUrl = rootUrl;
+        }
+
+        public String getTokenServerUrl() {
+            return tokenServerUrl;
+        }
+
+        public void setTokenServerUrl(String tokenServerUrl) {
+            this.tokenServerUrl = tokenServerUrl;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import static jakarta.persistence.EnumType.STRING;
+import static jakarta.persistence.GenerationType.SEQUENCE;
+
+/**
+ * Marks an absence (application for leave or sick note) whose calendar event has to be synced.
+ */
+@Entity(name = "calendar_sync_queue")
+class CalendarSyncQueueEntity {
+
+    @Id
+    @Column(name = "id", unique = true, nullable = false, updatable = false)
+    @GeneratedValue(strategy = SEQUENCE, generator = "calendar_sync_queue_generator")
+    @SequenceGenerator(name = "calendar_sync_queue_generator", sequenceName = "calendar_sync_queue_id_seq")
+    private Long id;
+
+    @Column(nullable = false)
+    private Long absenceId;
+
+    @Enumerated(STRING)
+    @Column(nullable = false)
+    private AbsenceMappingType absenceMappingType;
+
+    @Column(nullable = false)
+    private Instant enqueuedAt;
+
+    protected CalendarSyncQueueEntity() {
+        /* OK */
+    }
+
+    CalendarSyncQueueEntity(Long absenceId, AbsenceMappingType absenceMappingType, Instant enqueuedAt) {
+        this.absenceId = absenceId;
+        this.absenceMappingType = absenceMappingType;
+        this.enqueuedAt = enqueuedAt;
+    }
+
+    Long getId() {
+        return id;
+    }
+
+    void setId(Long id) {
+        this.id = id;
+    }
+
+    Long getAbsenceId() {
+        return absenceId;
+    }
+
+    AbsenceMappingType getAbsenceMappingType() {
+        return absenceMappingType;
+    }
+
+    Instant getEnqueuedAt() {
+        return enqueuedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final CalendarSyncQueueEntity that = (CalendarSyncQueueEntity) o;
+        return null != this.getId() && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,11 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.List;
+
+interface CalendarSyncQueueRepository extends CrudRepository<CalendarSyncQueueEntity, Long> {
+
+    List<CalendarSyncQueueEntity> findByOrderByIdAsc(Limit limit);
+}
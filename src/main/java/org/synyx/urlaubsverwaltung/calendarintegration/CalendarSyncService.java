@@ -3,11 +3,10 @@ package org.synyx.urlaubsverwaltung.calendarintegration;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.synyx.urlaubsverwaltung.absence.Absence;
 import org.synyx.urlaubsverwaltung.absence.AbsenceTimeConfiguration;
-import org.synyx.urlaubsverwaltung.application.application.Application;
 import org.synyx.urlaubsverwaltung.application.application.ApplicationAllowedEvent;
 import org.synyx.urlaubsverwaltung.application.application.ApplicationAllowedTemporarilyEvent;
 import org.synyx.urlaubsverwaltung.application.application.ApplicationAppliedEvent;
@@ -15,22 +14,39 @@ import org.synyx.urlaubsverwaltung.application.application.ApplicationCancelledE
 import org.synyx.urlaubsverwaltung.application.application.ApplicationDeletedEvent;
 import org.synyx.urlaubsverwaltung.application.application.ApplicationRejectedEvent;
 import org.synyx.urlaubsverwaltung.application.application.ApplicationRevokedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationService;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationStatus;
 import org.synyx.urlaubsverwaltung.application.application.ApplicationUpdatedEvent;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
-import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNote;
 import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteCancelledEvent;
 import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteCreatedEvent;
 import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteDeletedEvent;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteService;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteStatus;
 import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteToApplicationConvertedEvent;
 import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteUpdatedEvent;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.stream.Collectors.toCollection;
 import static org.slf4j.LoggerFactory.getLogger;
 import static org.synyx.urlaubsverwaltung.calendarintegration.AbsenceMappingType.SICKNOTE;
 import static org.synyx.urlaubsverwaltung.calendarintegration.AbsenceMappingType.VACATION;
 
+/**
+ * Syncs absences to the calendar of the configured {@link CalendarProvider}.
+ *
+ * <p>Changes of absences are only marked in the {@link CalendarSyncQueueRepository calendar sync queue} within the
+ * transaction of the change. The queue is flushed by a scheduled job, which coalesces all changes of one absence
+ * and sends the current state of the absences to the calendar provider in batches.</p>
+ */
 @Service
 class CalendarSyncService {
 
@@ -40,154 +56,178 @@ class CalendarSyncService {
     private final CalendarSettingsService calendarSettingsService;
     private final CalendarProviderService calendarProviderService;
     private final AbsenceMappingRepository absenceMappingRepository;
+    private final CalendarSyncQueueRepository calendarSyncQueueRepository;
+    private final CalendarSyncExecutor calendarSyncExecutor;
+    private final ApplicationService applicationService;
+    private final SickNoteService sickNoteService;
+    private final CalendarSyncProperties calendarSyncProperties;
+    private final Clock clock;
 
     @Autowired
     CalendarSyncService(
         SettingsService settingsService,
         CalendarSettingsService calendarSettingsService,
         CalendarProviderService calendarProviderService,
-        AbsenceMappingRepository absenceMappingRepository
+        AbsenceMappingRepository absenceMappingRepository,
+        CalendarSyncQueueRepository calendarSyncQueueRepository,
+        CalendarSyncExecutor calendarSyncExecutor,
+        ApplicationService applicationService,
+        SickNoteService sickNoteService,
+        CalendarSyncProperties calendarSyncProperties,
+        Clock clock
     ) {
         this.settingsService = settingsService;
         this.calendarSettingsService = calendarSettingsService;
         this.calendarProviderService = calendarProviderService;
         this.absenceMappingRepository = absenceMappingRepository;
+        this.calendarSyncQueueRepository = calendarSyncQueueRepository;
+        this.calendarSyncExecutor = calendarSyncExecutor;
+        this.applicationService = applicationService;
+        this.sickNoteService = sickNoteService;
+        this.calendarSyncProperties = calendarSyncProperties;
+        this.clock = clock;
         LOG.debug("The following calendar provider is configured: {}", calendarProviderService.getCalendarProvider().getClass());
     }
 
-    @Async
     @EventListener
     public void consumeApplicationAppliedEvent(ApplicationAppliedEvent event) {
-        addCalendarEntry(event.application());
+        enqueue(event.application().getId(), VACATION);
     }
 
-    @Async
     @EventListener
     public void consumeApplicationAllowedTemporarilyEvent(ApplicationAllowedTemporarilyEvent event) {
-        updateCalendarEntry(event.application());
+        enqueue(event.application().getId(), VACATION);
     }
 
-    @Async
     @EventListener
     public void consumeApplicationAllowedEvent(ApplicationAllowedEvent event) {
-        updateCalendarEntry(event.application());
+        enqueue(event.application().getId(), VACATION);
     }
 
-    @Async
     @EventListener
     public void consumeApplicationUpdatedEvent(ApplicationUpdatedEvent event) {
-        updateCalendarEntry(event.application());
+        enqueue(event.application().getId(), VACATION);
     }
 
-    @Async
     @EventListener
     public void consumeApplicationRejectedEvent(ApplicationRejectedEvent event) {
-        deleteCalendarEntry(event.application());
+        enqueue(event.application().getId(), VACATION);
     }
 
-    @Async
     @EventListener
     public void consumeApplicationRevokedEvent(ApplicationRevokedEvent event) {
-        deleteCalendarEntry(event.application());
+        enqueue(event.application().getId(), VACATION);
     }
 
-    @Async
     @EventListener
     public void consumeApplicationCancelledEvent(ApplicationCancelledEvent event) {
-        deleteCalendarEntry(event.application());
+        enqueue(event.application().getId(), VACATION);
     }
 
-    @Async
     @EventListener
     public void consumeApplicationDeletedEvent(ApplicationDeletedEvent event) {
-        deleteCalendarEntry(event.application());
+        enqueue(event.application().getId(), VACATION);
     }
 
-    @Async
     @EventListener
     public void consumeSickNoteCreatedEvent(SickNoteCreatedEvent event) {
-        addCalendarEntry(event.sickNote());
+        enqueue(event.sickNote().getId(), SICKNOTE);
     }
 
-    @Async
     @EventListener
     public void consumeSickNoteUpdatedEvent(SickNoteUpdatedEvent event) {
-        updateCalendarEntry(event.sickNote());
+        enqueue(event.sickNote().getId(), SICKNOTE);
     }
 
-    @Async
     @EventListener
     public void consumeSickNoteCancelledEvent(SickNoteCancelledEvent event) {
-        deleteCalendarEntry(event.sickNote());
+        enqueue(event.sickNote().getId(), SICKNOTE);
     }
 
-    @Async
     @EventListener
     public void consumeSickNoteDeletedEvent(SickNoteDeletedEvent event) {
-        deleteCalendarEntry(event.sickNote());
+        enqueue(event.sickNote().getId(), SICKNOTE);
     }
 
-    @Async
     @EventListener
     public void consumeSickNoteToApplicationConvertedEvent(SickNoteToApplicationConvertedEvent event) {
-        deleteCalendarEntry(event.sickNote());
-        addCalendarEntry(event.application());
+        enqueue(event.sickNote().getId(), SICKNOTE);
+        enqueue(event.application().getId(), VACATION);
     }
 
-    private void addCalendarEntry(Application application) {
-        calendarProviderService.getCalendarProvider()
-            .flatMap(calendarProvider -> calendarProvider.add(new Absence(application.getPerson(), application.getPeriod(), getAbsenceTimeConfiguration()), getCalendarSettings()))
-            .ifPresent(eventId -> createCalendarEntryMapping(application.getId(), VACATION, eventId));
+    /**
+     * Syncs all queued absences to the calendar of the configured calendar provider.
+     * Every absence is synced only once per batch, regardless of how often it has been changed.
+     * Operations that could not be synced are not retried.
+     */
+    void flush() {
+
+        final Optional<CalendarProvider> maybeCalendarProvider = calendarProviderService.getCalendarProvider();
+        if (maybeCalendarProvider.isEmpty()) {
+            calendarSyncQueueRepository.deleteAll();
+            return;
+        }
+
+        final CalendarProvider calendarProvider = maybeCalendarProvider.get();
+        final int batchSize = calendarSyncProperties.getBatchSize();
+
+        List<CalendarSyncQueueEntity> queued;
+        do {
+            queued = calendarSyncQueueRepository.findByOrderByIdAsc(Limit.of(batchSize));
+            if (!queued.isEmpty()) {
+                sync(calendarProvider, queued);
+                calendarSyncQueueRepository.deleteAll(queued);
+            }
+        } while (queued.size() == batchSize);
     }
 
-    private void addCalendarEntry(SickNote sickNote) {
+    void checkCalendarSyncSettings() {
         calendarProviderService.getCalendarProvider()
-            .flatMap(calendarProvider -> calendarProvider.add(new Absence(sickNote.getPerson(), sickNote.getPeriod(), getAbsenceTimeConfiguration()), getCalendarSettings()))
-            .ifPresent(eventId -> createCalendarEntryMapping(sickNote.getId(), SICKNOTE, eventId));
+            .ifPresent(calendarProvider -> calendarProvider.checkCalendarSyncSettings(getCalendarSettings()));
     }
 
-    private void updateCalendarEntry(Application application) {
-        getAbsenceByIdAndType(application.getId(), VACATION)
-            .ifPresent(absenceMapping ->
-                calendarProviderService.getCalendarProvider()
-                    .ifPresent(calendarProvider -> {
-                        final Absence absence = new Absence(application.getPerson(), application.getPeriod(), getAbsenceTimeConfiguration());
-                        calendarProvider.update(absence, absenceMapping.getEventId(), getCalendarSettings());
-                    })
-            );
+    private void enqueue(Long absenceId, AbsenceMappingType absenceMappingType) {
+        if (calendarProviderService.getCalendarProvider().isPresent()) {
+            calendarSyncQueueRepository.save(new CalendarSyncQueueEntity(absenceId, absenceMappingType, Instant.now(clock)));
+        }
     }
 
-    private void updateCalendarEntry(SickNote sickNote) {
-        getAbsenceByIdAndType(sickNote.getId(), VACATION)
-            .ifPresent(absenceMapping -> calendarProviderService.getCalendarProvider()
-                .ifPresent(calendarProvider -> {
-                    final Absence absence = new Absence(sickNote.getPerson(), sickNote.getPeriod(), getAbsenceTimeConfiguration());
-                    calendarProvider.update(absence, absenceMapping.getEventId(), getCalendarSettings());
-                })
-            );
-    }
+    private void sync(CalendarProvider calendarProvider, List<CalendarSyncQueueEntity> queued) {
 
-    private void deleteCalendarEntry(Application application) {
-        getAbsenceByIdAndType(application.getId(), VACATION)
-            .flatMap(absenceMapping -> calendarProviderService.getCalendarProvider()
-                .flatMap(calendarProvider -> calendarProvider.delete(absenceMapping.getEventId(), getCalendarSettings())))
-            .ifPresent(absenceMappingRepository::deleteByEventId);
-    }
+        final Set<QueuedAbsence> queuedAbsences = queued.stream()
+            .map(entity -> new QueuedAbsence(entity.getAbsenceId(), entity.getAbsenceMappingType()))
+            .collect(toCollection(LinkedHashSet::new));
 
-    private void deleteCalendarEntry(SickNote sickNote) {
-        getAbsenceByIdAndType(sickNote.getId(), SICKNOTE)
-            .flatMap(absenceMapping -> calendarProviderService.getCalendarProvider()
-                .flatMap(calendarProvider -> calendarProvider.delete(absenceMapping.getEventId(), getCalendarSettings())))
-            .ifPresent(absenceMappingRepository::deleteByEventId);
-    }
+        final AbsenceTimeConfiguration absenceTimeConfiguration = getAbsenceTimeConfiguration();
 
-    void checkCalendarSyncSettings() {
-        calendarProviderService.getCalendarProvider()
-            .ifPresent(calendarProvider -> calendarProvider.checkCalendarSyncSettings(getCalendarSettings()));
+        final List<CalendarSyncTask> tasks = new ArrayList<>();
+        for (QueuedAbsence queuedAbsence : queuedAbsences) {
+            final Optional<AbsenceMapping> maybeAbsenceMapping = getAbsenceByIdAndType(queuedAbsence.absenceId(), queuedAbsence.absenceMappingType());
+            final Optional<Absence> maybeAbsence = getActiveAbsence(queuedAbsence, absenceTimeConfiguration);
+
+            if (maybeAbsence.isPresent() && maybeAbsenceMapping.isEmpty()) {
+                tasks.add(CalendarSyncTask.add(queuedAbsence.absenceId(), queuedAbsence.absenceMappingType(), maybeAbsence.get()));
+            } else if (maybeAbsence.isPresent()) {
+                tasks.add(CalendarSyncTask.update(maybeAbsenceMapping.get(), maybeAbsence.get()));
+            } else if (maybeAbsenceMapping.isPresent()) {
+                tasks.add(CalendarSyncTask.delete(maybeAbsenceMapping.get()));
+            }
+        }
+
+        if (!tasks.isEmpty()) {
+            calendarSyncExecutor.execute(calendarProvider, tasks, getCalendarSettings());
+        }
     }
 
-    private void createCalendarEntryMapping(Long id, AbsenceMappingType absenceMappingType, String eventId) {
-        absenceMappingRepository.save(new AbsenceMapping(id, absenceMappingType, eventId));
+    private Optional<Absence> getActiveAbsence(QueuedAbsence queuedAbsence, AbsenceTimeConfiguration absenceTimeConfiguration) {
+        return switch (queuedAbsence.absenceMappingType()) {
+            case VACATION -> applicationService.getApplicationById(queuedAbsence.absenceId())
+                .filter(application -> ApplicationStatus.activeStatuses().contains(application.getStatus()))
+                .map(application -> new Absence(application.getPerson(), application.getPeriod(), absenceTimeConfiguration));
+            case SICKNOTE -> sickNoteService.getById(queuedAbsence.absenceId())
+                .filter(sickNote -> SickNoteStatus.activeStatuses().contains(sickNote.getStatus()))
+                .map(sickNote -> new Absence(sickNote.getPerson(), sickNote.getPeriod(), absenceTimeConfiguration));
+        };
     }
 
     private Optional<AbsenceMapping> getAbsenceByIdAndType(Long id, AbsenceMappingType absenceMappingType) {
@@ -201,4 +241,7 @@ class CalendarSyncService {
     private AbsenceTimeConfiguration getAbsenceTimeConfiguration() {
         return new AbsenceTimeConfiguration(settingsService.getSettings().getTimeSettings());
     }
+
+    private record QueuedAbsence(Long absenceId, AbsenceMappingType absenceMappingType) {
+    }
 }
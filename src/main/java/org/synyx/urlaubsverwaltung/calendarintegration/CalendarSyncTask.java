@@ -0,0 +1,28 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import org.synyx.urlaubsverwaltung.absence.Absence;
+
+/**
+ * A {@link CalendarSyncOperation} for an absence together with its current {@link AbsenceMapping}.
+ *
+ * @param absenceId          id of the application for leave or sick note
+ * @param absenceMappingType type of the absence
+ * @param absenceMapping     current mapping of the absence, {@code null} if the absence has not been synced yet
+ * @param operation          operation to sync
+ */
+record CalendarSyncTask(Long absenceId, AbsenceMappingType absenceMappingType, AbsenceMapping absenceMapping, CalendarSyncOperation operation) {
+
+    static CalendarSyncTask add(Long absenceId, AbsenceMappingType absenceMappingType, Absence absence) {
+        return new CalendarSyncTask(absenceId, absenceMappingType, null, new CalendarSyncOperation.Add(absence));
+    }
+
+    static CalendarSyncTask update(AbsenceMapping absenceMapping, Absence absence) {
+        return new CalendarSyncTask(absenceMapping.getAbsenceId(), absenceMapping.getAbsenceMappingType(), absenceMapping,
+            new CalendarSyncOperation.Update(absence, absenceMapping.getEventId()));
+    }
+
+    static CalendarSyncTask delete(AbsenceMapping absenceMapping) {
+        return new CalendarSyncTask(absenceMapping.getAbsenceId(), absenceMapping.getAbsenceMappingType(), absenceMapping,
+            new CalendarSyncOperation.Delete(absenceMapping.getEventId()));
+    }
+}
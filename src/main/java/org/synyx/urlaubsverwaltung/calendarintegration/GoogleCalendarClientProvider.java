@@ -12,6 +12,7 @@ import com.google.api.client.json.JsonFactory;
 import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.services.calendar.Calendar;
 import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
@@ -27,17 +28,23 @@ class GoogleCalendarClientProvider {
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
     private static final String APPLICATION_NAME = "Urlaubsverwaltung";
-    private static final String GOOGLEAPIS_OAUTH2_V4_TOKEN = "https://www.googleapis.com/oauth2/v4/token";
+
+    private final CalendarSyncProperties calendarSyncProperties;
 
     private Optional<Calendar> maybeCalendarClient = Optional.empty();
     private int refreshTokenHashCode;
 
+    @Autowired
+    GoogleCalendarClientProvider(CalendarSyncProperties calendarSyncProperties) {
+        this.calendarSyncProperties = calendarSyncProperties;
+    }
+
     /**
      * Build and return an authorized google calendar client.
      *
      * @return an authorized calendar client service
      */
-    Optional<Calendar> getCalendarClient(GoogleCalendarSettings googleCalendarSettings) {
+    synchronized Optional<Calendar> getCalendarClient(GoogleCalendarSettings googleCalendarSettings) {
 
         final String refreshToken = googleCalendarSettings.getRefreshToken();
         if (maybeCalendarClient.isEmpty() || refreshToken == null || refreshTokenHashCode != refreshToken.hashCode()) {
@@ -69,6 +76,7 @@ class GoogleCalendarClientProvider {
 
         final Calendar calendar = new Calendar.Builder(httpTransport, jsonFactory, credential)
             .setApplicationName(APPLICATION_NAME)
+            .setRootUrl(calendarSyncProperties.getGoogle().getRootUrl())
             .build();
 
         LOG.debug("Created new google calendar client");
@@ -93,7 +101,7 @@ class GoogleCalendarClientProvider {
         return new Credential.Builder(BearerToken.authorizationHeaderAccessMethod())
             .setTransport(transport)
             .setJsonFactory(jsonFactory)
-            .setTokenServerUrl(new GenericUrl(GOOGLEAPIS_OAUTH2_V4_TOKEN))
+            .setTokenServerUrl(new GenericUrl(calendarSyncProperties.getGoogle().getTokenServerUrl()))
             .setClientAuthentication(new BasicAuthentication(clientId, clientSecret))
             .build()
             .setFromTokenResponse(tokenResponse);
@@ -1,5 +1,9 @@
 package org.synyx.urlaubsverwaltung.calendarintegration;
 
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.http.HttpHeaders;
 import com.google.api.client.http.HttpResponse;
 import com.google.api.client.util.DateTime;
 import com.google.api.services.calendar.Calendar;
@@ -13,9 +17,12 @@ import org.synyx.urlaubsverwaltung.absence.Absence;
 
 import java.io.IOException;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static org.apache.http.HttpStatus.SC_OK;
@@ -29,12 +36,14 @@ public class GoogleCalendarSyncProvider implements CalendarProvider {
     private static final String DATE_PATTERN_YYYY_MM_DD = "yyyy-MM-dd";
 
     private final GoogleCalendarClientProvider googleCalendarClientProvider;
+    private final CalendarSyncProperties calendarSyncProperties;
 
     private Optional<Calendar> maybeCalendarClient;
 
     @Autowired
-    GoogleCalendarSyncProvider(GoogleCalendarClientProvider googleCalendarClientProvider) {
+    GoogleCalendarSyncProvider(GoogleCalendarClientProvider googleCalendarClientProvider, CalendarSyncProperties calendarSyncProperties) {
         this.googleCalendarClientProvider = googleCalendarClientProvider;
+        this.calendarSyncProperties = calendarSyncProperties;
     }
 
     @Override
@@ -72,16 +81,11 @@ public class GoogleCalendarSyncProvider implements CalendarProvider {
         if (maybeCalendarClient.isPresent()) {
             final String calendarId = googleCalendarSettings.getCalendarId();
             try {
-                final Calendar calendarClient = maybeCalendarClient.get();
-
-                // gather exiting event
-                final Event event = calendarClient.events().get(calendarId, eventId).execute();
-
-                // update event with absence
+                // patch only touches the fields that are set, so there is no need to fetch the event beforehand
+                final Event event = new Event();
                 fillEvent(absence, event);
 
-                // sync event to calendar
-                calendarClient.events().patch(calendarId, eventId, event).execute();
+                maybeCalendarClient.get().events().patch(calendarId, eventId, event).execute();
 
                 LOG.info("Event {} has been updated in calendar '{}'.", eventId, calendarId);
             } catch (IOException ex) {
@@ -110,6 +114,40 @@ public class GoogleCalendarSyncProvider implements CalendarProvider {
         return Optional.empty();
     }
 
+    /**
+     * Syncs the operations with google batch requests, each containing at most the configured batch size of operations.
+     */
+    @Override
+    public List<Optional<String>> sync(List<CalendarSyncOperation> operations, CalendarSettings calendarSettings) {
+
+        final List<Optional<String>> eventIds = new ArrayList<>(Collections.nCopies(operations.size(), Optional.empty()));
+
+        // sync may be called concurrently, therefore the client is not stored in the field
+        final GoogleCalendarSettings googleCalendarSettings = calendarSettings.getGoogleCalendarSettings();
+        final Optional<Calendar> maybeSyncCalendarClient = googleCalendarClientProvider.getCalendarClient(googleCalendarSettings);
+
+        if (maybeSyncCalendarClient.isPresent()) {
+            final Calendar calendarClient = maybeSyncCalendarClient.get();
+            final String calendarId = googleCalendarSettings.getCalendarId();
+            final int batchSize = calendarSyncProperties.getBatchSize();
+
+            for (int from = 0; from < operations.size(); from += batchSize) {
+                final int to = Math.min(from + batchSize, operations.size());
+                try {
+                    final BatchRequest batch = calendarClient.batch();
+                    for (int index = from; index < to; index++) {
+                        queue(batch, calendarClient, calendarId, operations.get(index), index, eventIds);
+                    }
+                    batch.execute();
+                } catch (IOException ex) {
+                    LOG.warn("Could not sync {} events to calendar '{}'.", to - from, calendarId, ex);
+                }
+            }
+        }
+
+        return eventIds;
+    }
+
     @Override
     public void checkCalendarSyncSettings(CalendarSettings calendarSettings) {
 
@@ -131,11 +169,51 @@ public class GoogleCalendarSyncProvider implements CalendarProvider {
         }
     }
 
-    /**
-     * Build and return an authorized google calendar client.
-     *
-     * @return an authorized calendar client service
-     */
+    private static void queue(BatchRequest batch, Calendar calendarClient, String calendarId, CalendarSyncOperation operation,
+                              int index, List<Optional<String>> eventIds) throws IOException {
+        switch (operation) {
+            case CalendarSyncOperation.Add add -> {
+                final Event event = new Event();
+                fillEvent(add.absence(), event);
+                calendarClient.events().insert(calendarId, event).queue(batch, new SyncCallback<>(calendarId, index, eventIds, Event::getId));
+            }
+            case CalendarSyncOperation.Update update -> {
+                final Event event = new Event();
+                fillEvent(update.absence(), event);
+                calendarClient.events().patch(calendarId, update.eventId(), event).queue(batch, new SyncCallback<>(calendarId, index, eventIds, ignored -> update.eventId()));
+            }
+            case CalendarSyncOperation.Delete delete ->
+                calendarClient.events().delete(calendarId, delete.eventId()).queue(batch, new SyncCallback<>(calendarId, index, eventIds, ignored -> delete.eventId()));
+        }
+    }
+
+    private static final class SyncCallback<T> extends JsonBatchCallback<T> {
+
+        private final String calendarId;
+        private final int index;
+        private final List<Optional<String>> eventIds;
+        private final Function<T, String> eventIdOf;
+
+        private SyncCallback(String calendarId, int index, List<Optional<String>> eventIds, Function<T, String> eventIdOf) {
+            this.calendarId = calendarId;
+            this.index = index;
+            this.eventIds = eventIds;
+            this.eventIdOf = eventIdOf;
+        }
+
+        @Override
+        public void onSuccess(T result, HttpHeaders responseHeaders) {
+            final String eventId = eventIdOf.apply(result);
+            LOG.info("Event {} has been synced to calendar '{}'.", eventId, calendarId);
+            eventIds.set(index, Optional.ofNullable(eventId));
+        }
+
+        @Override
+        public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+            LOG.warn("Could not sync event to calendar '{}': {} {}", calendarId, error.getCode(), error.getMessage());
+        }
+    }
+
     private static void fillEvent(Absence absence, Event event) {
 
         event.setSummary(absence.getEventSubject());
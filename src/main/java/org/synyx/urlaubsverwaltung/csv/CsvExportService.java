@@ -4,13 +4,18 @@ package org.synyx.urlaubsverwaltung.csv;
 import com.opencsv.CSVWriter;
 import net.fortuna.ical4j.validate.ValidationException;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.synyx.urlaubsverwaltung.web.FilterPeriod;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static com.opencsv.ICSVWriter.DEFAULT_LINE_END;
 import static com.opencsv.ICSVWriter.DEFAULT_QUOTE_CHARACTER;
@@ -29,6 +34,19 @@ public interface CsvExportService<T> {
      */
     void write(FilterPeriod period, Locale locale, List<T> data, CSVWriter csvWriter);
 
+    /**
+     * Writes the data row by row into the csv writer. Collects the data into a list by default,
+     * implementations that are able to write row by row should override this to keep the memory footprint flat.
+     *
+     * @param period    to add period to csv
+     * @param locale    for i18n (messages and number formats)
+     * @param data      are the main information for the csv, consumed exactly once
+     * @param csvWriter to write data to
+     */
+    default void write(FilterPeriod period, Locale locale, Stream<T> data, CSVWriter csvWriter) {
+        write(period, locale, data.toList(), csvWriter);
+    }
+
     /**
      * Contains the algorithm to create a unique filename
      *
@@ -76,20 +94,39 @@ public interface CsvExportService<T> {
      * @return {@link ByteArrayResource} based on the filter period and data
      */
     default ByteArrayResource resource(FilterPeriod period, Locale locale, List<T> data) {
-        final ByteArrayResource byteArrayResource;
-
         try (final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream()) {
-            byteArrayOutputStream.write(bom());
-
-            try (final OutputStreamWriter outputStreamWriter = new OutputStreamWriter(byteArrayOutputStream, UTF_8)) {
-                try (final CSVWriter csvWriter = new CSVWriter(outputStreamWriter, separator(), NO_QUOTE_CHARACTER, DEFAULT_QUOTE_CHARACTER, DEFAULT_LINE_END)) {
-                    write(period, locale, data, csvWriter);
-                }
-            }
-            byteArrayResource = new ByteArrayResource(byteArrayOutputStream.toByteArray());
-            return byteArrayResource;
+            writeCsv(byteArrayOutputStream, csvWriter -> write(period, locale, data, csvWriter));
+            return new ByteArrayResource(byteArrayOutputStream.toByteArray());
         } catch (ValidationException | IOException e) {
             throw new CsvExportException("csv data not be written to ByteArrayResource", e);
         }
     }
+
+    /**
+     * Creates a {@link StreamingResponseBody} that writes the csv straight to the response while the data is consumed,
+     * so that neither the data nor the file have to be held in memory. The content is the same as of {@link #resource}.
+     *
+     * @param period to create content
+     * @param data   supplies the data to create content, is not called before the response is written
+     * @return {@link StreamingResponseBody} writing the csv
+     */
+    default StreamingResponseBody streamingResource(FilterPeriod period, Locale locale, Supplier<Stream<T>> data) {
+        return outputStream -> {
+            try (final Stream<T> rows = data.get()) {
+                writeCsv(outputStream, csvWriter -> write(period, locale, rows, csvWriter));
+            }
+        };
+    }
+
+    /**
+     * Writes the bom and the rows to the given output stream, which is flushed but not closed.
+     */
+    private void writeCsv(OutputStream outputStream, Consumer<CSVWriter> rows) throws IOException {
+        outputStream.write(bom());
+
+        final OutputStreamWriter outputStreamWriter = new OutputStreamWriter(outputStream, UTF_8);
+        final CSVWriter csvWriter = new CSVWriter(outputStreamWriter, separator(), NO_QUOTE_CHARACTER, DEFAULT_QUOTE_CHARACTER, DEFAULT_LINE_END);
+        rows.accept(csvWriter);
+        csvWriter.flush();
+    }
 }
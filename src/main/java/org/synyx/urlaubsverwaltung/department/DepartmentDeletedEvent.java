@@ -0,0 +1,5 @@
+package org.synyx.urlaubsverwaltung.department;
+
+public record DepartmentDeletedEvent(Long departmentId) {
+
+}
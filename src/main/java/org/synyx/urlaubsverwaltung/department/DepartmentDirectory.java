@@ -0,0 +1,265 @@
+package org.synyx.urlaubsverwaltung.department;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonDeletedEvent;
+import org.synyx.urlaubsverwaltung.person.PersonDisabledEvent;
+import org.synyx.urlaubsverwaltung.person.PersonUpdatedEvent;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.synyx.urlaubsverwaltung.person.Role.DEPARTMENT_HEAD;
+import static org.synyx.urlaubsverwaltung.person.Role.SECOND_STAGE_AUTHORITY;
+
+/**
+ * Keeps the members, department heads and second stage authorities of all departments in memory, so that
+ * authorization and scoping checks are answered with set lookups instead of repository queries.
+ * <p>
+ * The memberships are loaded with a single query on first use. They are discarded on changes of departments
+ * or persons, and expire after {@link DepartmentProperties#getDirectoryTimeToLive()} to pick up changes made
+ * by other instances of the application. The returned persons are shared and must not be modified.
+ */
+@Component
+class DepartmentDirectory {
+
+    private final DepartmentRepository departmentRepository;
+    private final Duration timeToLive;
+    private final Clock clock;
+
+    private final Object lock = new Object();
+    private long generation;
+    private volatile Memberships memberships;
+
+    @Autowired
+    DepartmentDirectory(DepartmentRepository departmentRepository, DepartmentProperties departmentProperties, Clock clock) {
+        this.departmentRepository = departmentRepository;
+        this.timeToLive = departmentProperties.getDirectoryTimeToLive();
+        this.clock = clock;
+    }
+
+    /**
+     * @param departmentHead the department head
+     * @param person         the person of interest
+     * @return true if the person is a member of a department of the department head and not a second stage
+     * authority of this department, false otherwise
+     */
+    boolean isManagedByDepartmentHead(Person departmentHead, Person person) {
+        return getMemberships().managedMembersByDepartmentHead.getOrDefault(departmentHead, Set.of()).contains(person);
+    }
+
+    /**
+     * @param secondStageAuthority the second stage authority
+     * @param person               the person of interest
+     * @return true if the person is a member of a department of the second stage authority, false otherwise
+     */
+    boolean isManagedBySecondStageAuthority(Person secondStageAuthority, Person person) {
+        return getMemberships().managedMembersBySecondStageAuthority.getOrDefault(secondStageAuthority, Set.of()).contains(person);
+    }
+
+    /**
+     * Checks if both persons share a department. Departments of a person with the role department head or
+     * second stage authority include the departments the person is responsible for.
+     *
+     * @param person      the person
+     * @param otherPerson the other person
+     * @return true if both persons share at least one department, false otherwise
+     */
+    boolean hasDepartmentMatch(Person person, Person otherPerson) {
+        final Memberships current = getMemberships();
+
+        final Set<Integer> departments = current.departmentsOf(person);
+        final Set<Integer> otherDepartments = current.departmentsOf(otherPerson);
+
+        final Set<Integer> smaller = departments.size() <= otherDepartments.size() ? departments : otherDepartments;
+        final Set<Integer> bigger = smaller == departments ? otherDepartments : departments;
+        return smaller.stream().anyMatch(bigger::contains);
+    }
+
+    /**
+     * @return true if there is at least one department, false otherwise
+     */
+    boolean hasDepartments() {
+        return !getMemberships().membersByDepartment.isEmpty();
+    }
+
+    /**
+     * The colleagues are determined once per person and kept until the memberships are discarded, so that repeated
+     * requests of the same person, e.g. for every month of the calendar, are answered without recomputing them.
+     *
+     * @param person the person
+     * @return the distinct members of all departments the given person is a member of, without the person itself
+     */
+    List<Person> getColleaguesOf(Person person) {
+        return getMemberships().colleaguesOf(person);
+    }
+
+    /**
+     * @param person the department head and/or second stage authority
+     * @return the distinct members of all departments the given person is responsible for in the role of a
+     * department head or second stage authority
+     */
+    List<Person> getMembersOfManagedDepartments(Person person) {
+
+        final boolean isDepartmentHead = person.hasRole(DEPARTMENT_HEAD);
+        final boolean isSecondStageAuthority = person.hasRole(SECOND_STAGE_AUTHORITY);
+        if (!isDepartmentHead && !isSecondStageAuthority) {
+            return List.of();
+        }
+
+        final Memberships current = getMemberships();
+
+        final SortedSet<Integer> departments = new TreeSet<>();
+        if (isDepartmentHead) {
+            departments.addAll(current.departmentsByDepartmentHead.getOrDefault(person, Set.of()));
+        }
+        if (isSecondStageAuthority) {
+            departments.addAll(current.departmentsBySecondStageAuthority.getOrDefault(person, Set.of()));
+        }
+
+        return current.membersOf(departments);
+    }
+
+    /**
+     * Discards the memberships, they are loaded again on next use. Within a transaction the memberships are
+     * discarded after completion again, since they may have been loaded meanwhile without the uncommitted changes.
+     */
+    @EventListener({PersonUpdatedEvent.class, PersonDisabledEvent.class, PersonDeletedEvent.class})
+    void evict() {
+        evictNow();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow();
+                }
+            });
+        }
+    }
+
+    private void evictNow() {
+        synchronized (lock) {
+            generation++;
+            memberships = null;
+        }
+    }
+
+    private Memberships getMemberships() {
+
+        final Memberships current = memberships;
+        if (current != null && current.loadedAt.plus(timeToLive).isAfter(Instant.now(clock))) {
+            return current;
+        }
+
+        final long currentGeneration;
+        synchronized (lock) {
+            currentGeneration = generation;
+        }
+
+        final Memberships loaded = Memberships.of(departmentRepository.findAll(), Instant.now(clock));
+
+        synchronized (lock) {
+            // memberships loaded while departments or persons changed must not be kept
+            if (generation == currentGeneration) {
+                memberships = loaded;
+            }
+        }
+
+        return loaded;
+    }
+
+    private static final class Memberships {
+
+        private final Instant loadedAt;
+        private final List<List<Person>> membersByDepartment = new ArrayList<>();
+        private final Map<Person, Set<Integer>> departmentsByMember = new HashMap<>();
+        private final Map<Person, Set<Integer>> departmentsByDepartmentHead = new HashMap<>();
+        private final Map<Person, Set<Integer>> departmentsBySecondStageAuthority = new HashMap<>();
+        private final Map<Person, Set<Person>> managedMembersByDepartmentHead = new HashMap<>();
+        private final Map<Person, Set<Person>> managedMembersBySecondStageAuthority = new HashMap<>();
+        private final Map<Person, List<Person>> colleaguesByMember = new ConcurrentHashMap<>();
+
+        private Memberships(Instant loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+
+        static Memberships of(List<DepartmentEntity> departmentEntities, Instant loadedAt) {
+
+            final Memberships memberships = new Memberships(loadedAt);
+
+            for (DepartmentEntity departmentEntity : departmentEntities) {
+                final int department = memberships.membersByDepartment.size();
+
+                final List<Person> members = departmentEntity.getMembers().stream()
+                    .map(DepartmentMemberEmbeddable::getPerson)
+                    .toList();
+                final List<Person> departmentHeads = departmentEntity.getDepartmentHeads();
+                final List<Person> secondStageAuthorities = departmentEntity.getSecondStageAuthorities();
+
+                memberships.membersByDepartment.add(members);
+                members.forEach(member -> add(memberships.departmentsByMember, member, department));
+
+                for (Person departmentHead : departmentHeads) {
+                    add(memberships.departmentsByDepartmentHead, departmentHead, department);
+                    members.stream()
+                        .filter(member -> !secondStageAuthorities.contains(member))
+                        .forEach(member -> add(memberships.managedMembersByDepartmentHead, departmentHead, member));
+                }
+
+                for (Person secondStageAuthority : secondStageAuthorities) {
+                    add(memberships.departmentsBySecondStageAuthority, secondStageAuthority, department);
+                    members.forEach(member -> add(memberships.managedMembersBySecondStageAuthority, secondStageAuthority, member));
+                }
+            }
+
+            return memberships;
+        }
+
+        Set<Integer> departmentsOf(Person person) {
+
+            final Set<Integer> departments = departmentsByMember.getOrDefault(person, Set.of());
+            if (!person.hasAnyRole(DEPARTMENT_HEAD, SECOND_STAGE_AUTHORITY)) {
+                return departments;
+            }
+
+            final Set<Integer> allDepartments = new LinkedHashSet<>(departments);
+            allDepartments.addAll(departmentsByDepartmentHead.getOrDefault(person, Set.of()));
+            allDepartments.addAll(departmentsBySecondStageAuthority.getOrDefault(person, Set.of()));
+            return allDepartments;
+        }
+
+        List<Person> colleaguesOf(Person person) {
+            return colleaguesByMember.computeIfAbsent(person, member ->
+                membersOf(departmentsByMember.getOrDefault(member, Set.of())).stream()
+                    .filter(colleague -> !colleague.equals(member))
+                    .toList()
+            );
+        }
+
+        List<Person> membersOf(Collection<Integer> departments) {
+            final Set<Person> members = new LinkedHashSet<>();
+            departments.forEach(department -> members.addAll(membersByDepartment.get(department)));
+            return List.copyOf(members);
+        }
+
+        private static <T> void add(Map<Person, Set<T>> map, Person key, T value) {
+            map.computeIfAbsent(key, unused -> new LinkedHashSet<>()).add(value);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.synyx.urlaubsverwaltung.department;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+@Component
+@ConfigurationProperties("uv.department")
+@Validated
+public class DepartmentProperties {
+
+    /**
+     * Defines how long the in-memory directory of department memberships is used for authorization and scoping checks.
+     * The directory is discarded earlier on changes of departments or persons made by this instance, so this only
+     * limits how long changes made by other instances of the application remain unnoticed.
+     * <p>
+     * Default is one minute (PT1M).
+     */
+    @DurationUnit(ChronoUnit.MINUTES)
+    private Duration directoryTimeToLive = Duration.ofMinutes(1);
+
+    public Duration getDirectoryTimeToLive() {
+        return directoryTimeToLive;
+    }
+
+    public void setDirectoryTimeToLive(Duration directoryTimeToLive) {
+        this.directoryTimeToLive = directoryTimeToLive;
+    }
+}
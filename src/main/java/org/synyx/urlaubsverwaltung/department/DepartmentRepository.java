@@ -1,7 +1,12 @@
 package org.synyx.urlaubsverwaltung.department;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.Role;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,6 +17,21 @@ import java.util.Optional;
  */
 interface DepartmentRepository extends JpaRepository<DepartmentEntity, Long> {
 
+    String NICE_NAME_CONTAINS_QUERY = "(lower(p.firstName) like lower('%'||:query||'%') or lower(p.lastName) like lower('%'||:query||'%') or lower(concat(p.firstName, ' ', p.lastName)) like lower('%'||:query||'%'))";
+
+    String MEMBER_OF_MANAGED_DEPARTMENTS = "exists (select d.id from department d join d.members m where m.person = p " +
+        "and ((:asDepartmentHead = true and :person member of d.departmentHeads) or (:asSecondStageAuthority = true and :person member of d.secondStageAuthorities)))";
+
+    String MEMBER_OF_DEPARTMENT = "exists (select d.id from department d join d.members m where m.person = p and d.id = :departmentId)";
+
+    String MANAGED_MEMBERS_WITHOUT_PERMISSION = "from Person p where :permission not member of p.permissions and " + NICE_NAME_CONTAINS_QUERY + " and " + MEMBER_OF_MANAGED_DEPARTMENTS;
+
+    String MANAGED_MEMBERS_WITH_PERMISSION = "from Person p where :permission member of p.permissions and " + NICE_NAME_CONTAINS_QUERY + " and " + MEMBER_OF_MANAGED_DEPARTMENTS;
+
+    String DEPARTMENT_MEMBERS_WITHOUT_PERMISSION = "from Person p where :permission not member of p.permissions and " + NICE_NAME_CONTAINS_QUERY + " and " + MEMBER_OF_DEPARTMENT;
+
+    String DEPARTMENT_MEMBERS_WITH_PERMISSION = "from Person p where :permission member of p.permissions and " + NICE_NAME_CONTAINS_QUERY + " and " + MEMBER_OF_DEPARTMENT;
+
     List<DepartmentEntity> findByDepartmentHeadsOrSecondStageAuthorities(Person departmentHead, Person secondStageAuthority);
 
     List<DepartmentEntity> findByDepartmentHeads(Person person);
@@ -23,4 +43,34 @@ interface DepartmentRepository extends JpaRepository<DepartmentEntity, Long> {
     List<DepartmentEntity> findDistinctByMembersPersonIn(List<Person> person);
 
     Optional<DepartmentEntity> findFirstByName(String departmentName);
+
+    boolean existsByIdAndDepartmentHeads(Long id, Person departmentHead);
+
+    boolean existsByIdAndSecondStageAuthorities(Long id, Person secondStageAuthority);
+
+    /**
+     * Finds the distinct members without the given permission of all departments the given person is department head
+     * and/or second stage authority of, whose first or last name contains the given query.
+     */
+    @Query(value = "select p " + MANAGED_MEMBERS_WITHOUT_PERMISSION, countQuery = "select count(p) " + MANAGED_MEMBERS_WITHOUT_PERMISSION)
+    Page<Person> findMembersOfManagedDepartmentsByPermissionsNotContainingAndNiceNameContainingIgnoreCase(@Param("person") Person person, @Param("asDepartmentHead") boolean asDepartmentHead,
+                                                                                                          @Param("asSecondStageAuthority") boolean asSecondStageAuthority, @Param("permission") Role permission,
+                                                                                                          @Param("query") String query, Pageable pageable);
+
+    /**
+     * Finds the distinct members with the given permission of all departments the given person is department head
+     * and/or second stage authority of, whose first or last name contains the given query.
+     */
+    @Query(value = "select p " + MANAGED_MEMBERS_WITH_PERMISSION, countQuery = "select count(p) " + MANAGED_MEMBERS_WITH_PERMISSION)
+    Page<Person> findMembersOfManagedDepartmentsByPermissionsContainingAndNiceNameContainingIgnoreCase(@Param("person") Person person, @Param("asDepartmentHead") boolean asDepartmentHead,
+                                                                                                       @Param("asSecondStageAuthority") boolean asSecondStageAuthority, @Param("permission") Role permission,
+                                                                                                       @Param("query") String query, Pageable pageable);
+
+    @Query(value = "select p " + DEPARTMENT_MEMBERS_WITHOUT_PERMISSION, countQuery = "select count(p) " + DEPARTMENT_MEMBERS_WITHOUT_PERMISSION)
+    Page<Person> findMembersOfDepartmentByPermissionsNotContainingAndNiceNameContainingIgnoreCase(@Param("departmentId") Long departmentId, @Param("permission") Role permission,
+                                                                                                  @Param("query") String query, Pageable pageable);
+
+    @Query(value = "select p " + DEPARTMENT_MEMBERS_WITH_PERMISSION, countQuery = "select count(p) " + DEPARTMENT_MEMBERS_WITH_PERMISSION)
+    Page<Person> findMembersOfDepartmentByPermissionsContainingAndNiceNameContainingIgnoreCase(@Param("departmentId") Long departmentId, @Param("permission") Role permission,
+                                                                                               @Param("query") String query, Pageable pageable);
 }
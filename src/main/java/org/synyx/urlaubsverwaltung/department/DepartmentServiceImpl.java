@@ -5,7 +5,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.synyx.urlaubsverwaltung.application.application.Application;
@@ -14,7 +13,6 @@ import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonDeletedEvent;
 import org.synyx.urlaubsverwaltung.person.PersonId;
 import org.synyx.urlaubsverwaltung.search.PageableSearchQuery;
-import org.synyx.urlaubsverwaltung.search.SortComparator;
 
 import java.time.Clock;
 import java.time.Instant;
@@ -23,11 +21,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -41,8 +37,10 @@ import static org.slf4j.LoggerFactory.getLogger;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.activeStatuses;
 import static org.synyx.urlaubsverwaltung.person.Role.BOSS;
 import static org.synyx.urlaubsverwaltung.person.Role.DEPARTMENT_HEAD;
+import static org.synyx.urlaubsverwaltung.person.Role.INACTIVE;
 import static org.synyx.urlaubsverwaltung.person.Role.OFFICE;
 import static org.synyx.urlaubsverwaltung.person.Role.SECOND_STAGE_AUTHORITY;
+import static org.synyx.urlaubsverwaltung.search.SortSupport.withIdTieBreaker;
 
 /**
  * Implementation for {@link DepartmentService}.
@@ -53,13 +51,16 @@ class DepartmentServiceImpl implements DepartmentService {
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
     private final DepartmentRepository departmentRepository;
+    private final DepartmentDirectory departmentDirectory;
     private final ApplicationService applicationService;
     private final ApplicationEventPublisher applicationEventPublisher;
     private final Clock clock;
 
     @Autowired
-    DepartmentServiceImpl(DepartmentRepository departmentRepository, ApplicationService applicationService, ApplicationEventPublisher applicationEventPublisher, Clock clock) {
+    DepartmentServiceImpl(DepartmentRepository departmentRepository, DepartmentDirectory departmentDirectory,
+                          ApplicationService applicationService, ApplicationEventPublisher applicationEventPublisher, Clock clock) {
         this.departmentRepository = departmentRepository;
+        this.departmentDirectory = departmentDirectory;
         this.applicationService = applicationService;
         this.applicationEventPublisher = applicationEventPublisher;
         this.clock = clock;
@@ -67,80 +68,51 @@ class DepartmentServiceImpl implements DepartmentService {
 
     @Override
     public Page<Person> getManagedMembersOfPerson(Person person, PageableSearchQuery personPageableSearchQuery) {
-        return getManagedMembersOfPerson(person, personPageableSearchQuery, not(Person::isInactive));
+        if (!managesDepartments(person)) {
+            return Page.empty(personPageableSearchQuery.getPageable());
+        }
+
+        return departmentRepository.findMembersOfManagedDepartmentsByPermissionsNotContainingAndNiceNameContainingIgnoreCase(person,
+            person.hasRole(DEPARTMENT_HEAD), person.hasRole(SECOND_STAGE_AUTHORITY), INACTIVE,
+            personPageableSearchQuery.getQuery(), withIdTieBreaker(personPageableSearchQuery.getPageable(), "id"));
     }
 
     @Override
     public List<Person> getManagedActiveMembersOfPerson(Person person) {
-
-        final List<DepartmentEntity> departments;
-
-        if (person.hasRole(DEPARTMENT_HEAD) && person.hasRole(SECOND_STAGE_AUTHORITY)) {
-            departments = departmentRepository.findByDepartmentHeadsOrSecondStageAuthorities(person, person);
-        } else if (person.hasRole(DEPARTMENT_HEAD)) {
-            departments = departmentRepository.findByDepartmentHeads(person);
-        } else if (person.hasRole(SECOND_STAGE_AUTHORITY)) {
-            departments = departmentRepository.findBySecondStageAuthorities(person);
-        } else {
-            departments = List.of();
-        }
-
-        return departments.stream()
-            .map(DepartmentEntity::getMembers)
-            .flatMap(List::stream)
-            .map(DepartmentMemberEmbeddable::getPerson)
-            .distinct()
+        return departmentDirectory.getMembersOfManagedDepartments(person).stream()
             .filter(Person::isActive)
             .collect(toList());
     }
 
     @Override
     public Page<Person> getManagedInactiveMembersOfPerson(Person person, PageableSearchQuery personPageableSearchQuery) {
-        return getManagedMembersOfPerson(person, personPageableSearchQuery, Person::isInactive);
+        if (!managesDepartments(person)) {
+            return Page.empty(personPageableSearchQuery.getPageable());
+        }
+
+        return departmentRepository.findMembersOfManagedDepartmentsByPermissionsContainingAndNiceNameContainingIgnoreCase(person,
+            person.hasRole(DEPARTMENT_HEAD), person.hasRole(SECOND_STAGE_AUTHORITY), INACTIVE,
+            personPageableSearchQuery.getQuery(), withIdTieBreaker(personPageableSearchQuery.getPageable(), "id"));
     }
 
     @Override
     public Page<Person> getManagedMembersOfPersonAndDepartment(Person person, Long departmentId, PageableSearchQuery pageableSearchQuery) {
-        final Predicate<Person> filter = nameContains(pageableSearchQuery.getQuery()).and(not(Person::isInactive));
-        return managedMembersOfPersonAndDepartment(person, departmentId, pageableSearchQuery, filter);
+        if (!doesPersonManageDepartment(person, departmentId)) {
+            return Page.empty();
+        }
+
+        return departmentRepository.findMembersOfDepartmentByPermissionsNotContainingAndNiceNameContainingIgnoreCase(departmentId,
+            INACTIVE, pageableSearchQuery.getQuery(), withIdTieBreaker(pageableSearchQuery.getPageable(), "id"));
     }
 
     @Override
     public Page<Person> getManagedInactiveMembersOfPersonAndDepartment(Person person, Long departmentId, PageableSearchQuery pageableSearchQuery) {
-        final Predicate<Person> filter = nameContains(pageableSearchQuery.getQuery()).and(Person::isInactive);
-        return managedMembersOfPersonAndDepartment(person, departmentId, pageableSearchQuery, filter);
-    }
-
-    private Page<Person> getManagedMembersOfPerson(Person person, PageableSearchQuery personPageableSearchQuery, Predicate<Person> predicate) {
-        final List<DepartmentEntity> departments;
-
-        if (person.hasRole(DEPARTMENT_HEAD) && person.hasRole(SECOND_STAGE_AUTHORITY)) {
-            departments = departmentRepository.findByDepartmentHeadsOrSecondStageAuthorities(person, person);
-        } else if (person.hasRole(DEPARTMENT_HEAD)) {
-            departments = departmentRepository.findByDepartmentHeads(person);
-        } else if (person.hasRole(SECOND_STAGE_AUTHORITY)) {
-            departments = departmentRepository.findBySecondStageAuthorities(person);
-        } else {
-            departments = List.of();
+        if (!doesPersonManageDepartment(person, departmentId)) {
+            return Page.empty();
         }
 
-        final Pageable pageable = personPageableSearchQuery.getPageable();
-
-        final List<Person> managedMembers = departments.stream()
-            .map(DepartmentEntity::getMembers)
-            .flatMap(List::stream)
-            .map(DepartmentMemberEmbeddable::getPerson)
-            .distinct()
-            .filter(nameContains(personPageableSearchQuery.getQuery()).and(predicate))
-            .sorted(new SortComparator<>(Person.class, pageable.getSort()))
-            .toList();
-
-        final List<Person> content = managedMembers.stream()
-            .skip((long) pageable.getPageNumber() * pageable.getPageSize())
-            .limit(pageable.getPageSize())
-            .collect(toList());
-
-        return new PageImpl<>(content, pageable, managedMembers.size());
+        return departmentRepository.findMembersOfDepartmentByPermissionsContainingAndNiceNameContainingIgnoreCase(departmentId,
+            INACTIVE, pageableSearchQuery.getQuery(), withIdTieBreaker(pageableSearchQuery.getPageable(), "id"));
     }
 
     @Override
@@ -178,6 +150,8 @@ class DepartmentServiceImpl implements DepartmentService {
 
         final DepartmentEntity createdDepartmentEntity = departmentRepository.save(departmentEntity);
         final Department createdDepartment = mapToDepartment(createdDepartmentEntity);
+        departmentDirectory.evict();
+        applicationEventPublisher.publishEvent(new DepartmentCreatedEvent(createdDepartment));
 
         LOG.info("Created department: {}", createdDepartment);
 
@@ -200,7 +174,9 @@ class DepartmentServiceImpl implements DepartmentService {
 
         final DepartmentEntity updatedDepartmentEntity = departmentRepository.save(departmentEntity);
         final Department updatedDepartment = mapToDepartment(updatedDepartmentEntity);
+        departmentDirectory.evict();
         sendMemberLeftDepartmentEvent(department, currentDepartmentEntity);
+        applicationEventPublisher.publishEvent(new DepartmentUpdatedEvent(updatedDepartment));
 
         LOG.info("Updated department: {}", updatedDepartment);
 
@@ -261,6 +237,8 @@ class DepartmentServiceImpl implements DepartmentService {
 
         if (this.departmentExists(departmentId)) {
             departmentRepository.deleteById(departmentId);
+            departmentDirectory.evict();
+            applicationEventPublisher.publishEvent(new DepartmentDeletedEvent(departmentId));
         } else {
             LOG.info("No department found for ID = {}, deletion is not necessary.", departmentId);
         }
@@ -327,15 +305,14 @@ class DepartmentServiceImpl implements DepartmentService {
 
         final List<Application> colleaguesApplications;
 
-        if (getNumberOfDepartments() == 0) {
+        if (!departmentDirectory.hasDepartments()) {
             colleaguesApplications = applicationService.getForStates(activeStatuses(), startDate, endDate).stream()
                 .filter(application -> !application.getPerson().equals(person))
                 .toList();
+        } else if (departmentDirectory.getColleaguesOf(person).isEmpty()) {
+            colleaguesApplications = List.of();
         } else {
-            final List<Person> colleagues = getMembersOfAssignedDepartments(person).stream()
-                .filter(not(isEqual(person)))
-                .toList();
-            colleaguesApplications = applicationService.getForStatesAndPerson(activeStatuses(), colleagues, startDate, endDate);
+            colleaguesApplications = applicationService.getForStatesOfDepartmentColleagues(activeStatuses(), person, startDate, endDate);
         }
 
         return colleaguesApplications.stream()
@@ -364,7 +341,7 @@ class DepartmentServiceImpl implements DepartmentService {
     @Override
     public boolean isDepartmentHeadAllowedToManagePerson(Person departmentHead, Person person) {
         if (departmentHead.hasRole(DEPARTMENT_HEAD)) {
-            return getManagedMembersOfDepartmentHead(departmentHead).contains(person);
+            return departmentDirectory.isManagedByDepartmentHead(departmentHead, person);
         }
 
         return false;
@@ -382,7 +359,7 @@ class DepartmentServiceImpl implements DepartmentService {
     @Override
     public boolean isSecondStageAuthorityAllowedToManagePerson(Person secondStageAuthority, Person person) {
         if (secondStageAuthority.hasRole(SECOND_STAGE_AUTHORITY)) {
-            return getManagedMembersForSecondStageAuthority(secondStageAuthority).contains(person);
+            return departmentDirectory.isManagedBySecondStageAuthority(secondStageAuthority, person);
         }
 
         return false;
@@ -449,22 +426,7 @@ class DepartmentServiceImpl implements DepartmentService {
 
     @Override
     public boolean hasDepartmentMatch(Person person, Person otherPerson) {
-
-        final Set<DepartmentEntity> personDepartments = new HashSet<>(departmentRepository.findByMembersPerson(person));
-        if (person.hasAnyRole(DEPARTMENT_HEAD, SECOND_STAGE_AUTHORITY)) {
-            personDepartments.addAll(
-                departmentRepository.findByDepartmentHeadsOrSecondStageAuthorities(person, person)
-            );
-        }
-
-        final Set<DepartmentEntity> otherPersonDepartments = new HashSet<>(departmentRepository.findByMembersPerson(otherPerson));
-        if (otherPerson.hasAnyRole(DEPARTMENT_HEAD, SECOND_STAGE_AUTHORITY)) {
-            otherPersonDepartments.addAll(
-                departmentRepository.findByDepartmentHeadsOrSecondStageAuthorities(otherPerson, otherPerson)
-            );
-        }
-
-        return personDepartments.stream().anyMatch(otherPersonDepartments::contains);
+        return departmentDirectory.hasDepartmentMatch(person, otherPerson);
     }
 
     private static List<String> merge(Collection<String> departmentNames, Collection<String> bucket) {
@@ -534,45 +496,30 @@ class DepartmentServiceImpl implements DepartmentService {
         return list;
     }
 
-    private Page<Person> managedMembersOfPersonAndDepartment(Person person, Long departmentId, PageableSearchQuery pageableSearchQuery, Predicate<Person> filter) {
-        final Pageable pageable = pageableSearchQuery.getPageable();
-
-        final DepartmentEntity departmentEntity = departmentRepository.findById(departmentId)
-            .orElseThrow(() -> new IllegalArgumentException("could not find department with id=" + departmentId));
-
-        if (!doesPersonManageDepartment(person, departmentEntity)) {
-            return Page.empty();
+    private boolean doesPersonManageDepartment(Person person, Long departmentId) {
+        if (!departmentRepository.existsById(departmentId)) {
+            throw new IllegalArgumentException("could not find department with id=" + departmentId);
         }
 
-        final List<DepartmentMemberEmbeddable> departmentMembers = departmentEntity.getMembers();
-
-        final List<Person> content = departmentMembers.stream()
-            .map(DepartmentMemberEmbeddable::getPerson)
-            .filter(filter)
-            .sorted(new SortComparator<>(Person.class, pageable.getSort()))
-            .skip((long) pageable.getPageNumber() * pageable.getPageSize())
-            .limit(pageable.getPageSize())
-            .collect(toList());
-
-        return new PageImpl<>(content, pageable, departmentMembers.size());
-    }
-
-    private static boolean doesPersonManageDepartment(Person person, DepartmentEntity departmentEntity) {
         if (person.hasRole(BOSS) || person.hasRole(OFFICE)) {
             return true;
         }
 
         if (person.hasRole(DEPARTMENT_HEAD)) {
-            return departmentEntity.getDepartmentHeads().stream().anyMatch(person::equals);
+            return departmentRepository.existsByIdAndDepartmentHeads(departmentId, person);
         }
 
         if (person.hasRole(SECOND_STAGE_AUTHORITY)) {
-            return departmentEntity.getSecondStageAuthorities().stream().anyMatch(person::equals);
+            return departmentRepository.existsByIdAndSecondStageAuthorities(departmentId, person);
         }
 
         return false;
     }
 
+    private static boolean managesDepartments(Person person) {
+        return person.hasRole(DEPARTMENT_HEAD) || person.hasRole(SECOND_STAGE_AUTHORITY);
+    }
+
     private void sendMemberLeftDepartmentEvent(Department department, DepartmentEntity currentDepartmentEntity) {
         currentDepartmentEntity.getMembers().stream()
             .map(DepartmentMemberEmbeddable::getPerson)
@@ -580,14 +527,6 @@ class DepartmentServiceImpl implements DepartmentService {
             .forEach(person -> applicationEventPublisher.publishEvent(new PersonLeftDepartmentEvent(this, person.getId(), department.getId())));
     }
 
-    private List<Person> getMembersOfAssignedDepartments(Person member) {
-        return getAssignedDepartmentsOfMember(member).stream()
-            .map(Department::getMembers)
-            .flatMap(List::stream)
-            .distinct()
-            .toList();
-    }
-
     private boolean isSecondStageAuthorityAllowedToAccessPersonData(Person secondStageAuthority, Person person) {
         if (secondStageAuthority.hasRole(SECOND_STAGE_AUTHORITY)) {
             return getMembersForSecondStageAuthority(secondStageAuthority).contains(person);
@@ -604,10 +543,6 @@ class DepartmentServiceImpl implements DepartmentService {
         return false;
     }
 
-    private static Predicate<Person> nameContains(String query) {
-        return person -> person.getNiceName().toLowerCase().contains(query.toLowerCase());
-    }
-
     private Comparator<Department> departmentComparator() {
         return comparing(department -> department.getName().toLowerCase());
     }
@@ -3,7 +3,6 @@ package org.synyx.urlaubsverwaltung.dev;
 import org.synyx.urlaubsverwaltung.overtime.Overtime;
 import org.synyx.urlaubsverwaltung.overtime.OvertimeService;
 import org.synyx.urlaubsverwaltung.person.Person;
-import org.synyx.urlaubsverwaltung.settings.Settings;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
 
 import java.time.Duration;
@@ -24,9 +23,7 @@ class OvertimeRecordDataProvider {
     }
 
     void activateOvertime() {
-        final Settings settings = settingsService.getSettings();
-        settings.getOvertimeSettings().setOvertimeActive(true);
-        settingsService.save(settings);
+        settingsService.update(settings -> settings.getOvertimeSettings().setOvertimeActive(true));
     }
 
     void createOvertimeRecord(Person person, LocalDate startDate, LocalDate endDate, Duration duration) {
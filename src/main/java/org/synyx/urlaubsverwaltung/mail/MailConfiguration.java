@@ -47,7 +47,7 @@ class MailConfiguration {
         textEmailTemplateResolver.setSuffix(".txt");
         textEmailTemplateResolver.setTemplateMode(TEXT);
         textEmailTemplateResolver.setCharacterEncoding(UTF_8);
-        textEmailTemplateResolver.setCacheable(false);
+        textEmailTemplateResolver.setCacheable(true);
         return textEmailTemplateResolver;
     }
 }
@@ -0,0 +1,119 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.Collections.synchronizedList;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Sends mails in batches of {@link MailProperties.Dispatch#getBatchSize()}, every batch over a single connection
+ * to the mail server. At most {@link MailProperties.Dispatch#getConcurrency()} connections are used at the same
+ * time, callers wait until a connection is available.
+ */
+@Component
+class MailDispatcher {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private final JavaMailSender mailSender;
+    private final int batchSize;
+    private final Semaphore connections;
+    private final Counter sentMails;
+    private final Counter failedMails;
+    private final Timer batchDuration;
+
+    @Autowired
+    MailDispatcher(JavaMailSender mailSender, MailProperties mailProperties, MeterRegistry meterRegistry) {
+        this.mailSender = mailSender;
+        this.batchSize = mailProperties.getDispatch().getBatchSize();
+        this.connections = new Semaphore(mailProperties.getDispatch().getConcurrency(), true);
+        this.sentMails = Counter.builder("mails.dispatch.mails").tag("outcome", "sent")
+            .description("Mails that have been handed over to the mail server")
+            .register(meterRegistry);
+        this.failedMails = Counter.builder("mails.dispatch.mails").tag("outcome", "failed")
+            .description("Mails that could not be handed over to the mail server")
+            .register(meterRegistry);
+        this.batchDuration = Timer.builder("mails.dispatch.batch.duration")
+            .description("Duration to send a batch of mails over a single connection")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Sends the given mails. The batches are sent concurrently, the method returns when all batches are done.
+     *
+     * @param mimeMessages mails to send
+     * @return the mails that could not be sent
+     */
+    List<MimeMessage> dispatch(List<MimeMessage> mimeMessages) {
+
+        if (mimeMessages.size() <= batchSize) {
+            return mimeMessages.isEmpty() ? List.of() : sendBatch(mimeMessages);
+        }
+
+        final List<MimeMessage> failed = synchronizedList(new ArrayList<>());
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int fromIndex = 0; fromIndex < mimeMessages.size(); fromIndex += batchSize) {
+                final List<MimeMessage> batch = mimeMessages.subList(fromIndex, Math.min(fromIndex + batchSize, mimeMessages.size()));
+                executorService.execute(() -> failed.addAll(sendBatch(batch)));
+            }
+        }
+
+        return List.copyOf(failed);
+    }
+
+    private List<MimeMessage> sendBatch(List<MimeMessage> batch) {
+
+        try {
+            connections.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.error("Interrupted while waiting for a connection to send {} mails", batch.size(), e);
+            failedMails.increment(batch.size());
+            return batch;
+        }
+
+        try {
+            final List<MimeMessage> failed = batchDuration.record(() -> send(batch));
+            sentMails.increment((double) batch.size() - failed.size());
+            failedMails.increment(failed.size());
+            LOG.debug("Sent batch of {} mails, {} failed", batch.size(), failed.size());
+            return failed;
+        } finally {
+            connections.release();
+        }
+    }
+
+    private List<MimeMessage> send(List<MimeMessage> batch) {
+        try {
+            mailSender.send(batch.toArray(MimeMessage[]::new));
+            return List.of();
+        } catch (MailSendException ex) {
+            final List<MimeMessage> failed = batch.stream()
+                .filter(mimeMessage -> ex.getFailedMessages().containsKey(mimeMessage))
+                .toList();
+            // without details about the failed messages the whole batch is considered as failed
+            final List<MimeMessage> failedMessages = failed.isEmpty() ? batch : failed;
+            LOG.error("Sending {} of {} mails failed", failedMessages.size(), batch.size(), ex);
+            return failedMessages;
+        } catch (MailException ex) {
+            LOG.error("Sending {} mails failed", batch.size(), ex);
+            return batch;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.Collections.newSetFromMap;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.synyx.urlaubsverwaltung.mail.MailOutboxStatus.DEAD;
+import static org.synyx.urlaubsverwaltung.mail.MailOutboxStatus.PENDING;
+
+/**
+ * Persistent outbox for mails. Mails are stored within the transaction of the caller, so they are only sent if
+ * the business transaction commits and are not lost if the mail server is not available.
+ * <p>
+ * The mails are sent by {@link #relay()}, which is called by a scheduled job. Mails that could not be sent are
+ * retried with an exponential backoff, after {@link MailProperties.Outbox#getMaxAttempts()} attempts they are
+ * marked as {@link MailOutboxStatus#DEAD} and kept for inspection. A mail may be sent twice if the application
+ * stops after sending but before the outbox is updated.
+ */
+@Component
+class MailOutbox {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final MailSenderService mailSenderService;
+    private final MailProperties.Outbox outboxProperties;
+    private final Clock clock;
+    private final Counter enqueuedMails;
+    private final Counter retriedMails;
+    private final Counter deadMails;
+
+    @Autowired
+    MailOutbox(MailOutboxRepository mailOutboxRepository, MailSenderService mailSenderService, MailProperties mailProperties,
+               MeterRegistry meterRegistry, Clock clock) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailSenderService = mailSenderService;
+        this.outboxProperties = mailProperties.getOutbox();
+        this.clock = clock;
+        this.enqueuedMails = Counter.builder("mails.outbox.enqueued")
+            .description("Mails that have been stored in the outbox")
+            .register(meterRegistry);
+        this.retriedMails = Counter.builder("mails.outbox.retries")
+            .description("Mails that could not be sent and will be retried")
+            .register(meterRegistry);
+        this.deadMails = Counter.builder("mails.outbox.dead")
+            .description("Mails that could not be sent and will not be retried anymore")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Stores the given mails in the outbox, within the current transaction if there is one.
+     *
+     * @param from    mail address from where the mails are sent
+     * @param replyTo mail address to reply to
+     * @param mails   mails to send
+     */
+    void enqueue(String from, String replyTo, List<OutgoingMail> mails) {
+
+        final Instant now = Instant.now(clock);
+
+        final List<MailOutboxEntity> entities = new ArrayList<>();
+        for (OutgoingMail mail : mails) {
+            if (mail.recipient() == null || mail.recipient().isBlank()) {
+                LOG.warn("Could not send email to empty recipients!");
+                continue;
+            }
+
+            final MailOutboxEntity entity = new MailOutboxEntity();
+            entity.setSender(from);
+            entity.setReplyTo(replyTo);
+            entity.setRecipient(mail.recipient());
+            entity.setSubject(mail.subject());
+            entity.setBody(mail.text());
+            entity.setAttachments(mail.mailAttachments().stream().map(MailOutbox::toEmbeddable).toList());
+            entity.setStatus(PENDING);
+            entity.setAttempts(0);
+            entity.setCreatedAt(now);
+            entity.setNextAttemptAt(now);
+            entities.add(entity);
+        }
+
+        mailOutboxRepository.saveAll(entities);
+        enqueuedMails.increment(entities.size());
+    }
+
+    /**
+     * Sends all pending mails that are due. Sent mails are removed from the outbox. No further batch is started
+     * after {@link MailProperties.Outbox#getMaxRelayDuration()}, so that the run ends while the job is still locked.
+     * The remaining mails are sent by the next run.
+     */
+    void relay() {
+        final Instant deadline = Instant.now(clock).plus(outboxProperties.getMaxRelayDuration());
+
+        List<MailOutboxEntity> dueMails;
+        do {
+            dueMails = mailOutboxRepository.findByStatusAndNextAttemptAtIsLessThanEqualOrderByIdAsc(PENDING, Instant.now(clock), Limit.of(outboxProperties.getBatchSize()));
+            send(dueMails);
+        } while (dueMails.size() == outboxProperties.getBatchSize() && Instant.now(clock).isBefore(deadline));
+    }
+
+    private void send(List<MailOutboxEntity> dueMails) {
+
+        final Map<Sender, List<MailOutboxEntity>> mailsBySender = new LinkedHashMap<>();
+        dueMails.forEach(entity -> mailsBySender.computeIfAbsent(new Sender(entity.getSender(), entity.getReplyTo()), sender -> new ArrayList<>()).add(entity));
+
+        final List<MailOutboxEntity> sent = new ArrayList<>();
+        final List<MailOutboxEntity> failed = new ArrayList<>();
+
+        mailsBySender.forEach((sender, entities) -> {
+            final Map<OutgoingMail, MailOutboxEntity> entitiesByMail = new IdentityHashMap<>();
+            entities.forEach(entity -> entitiesByMail.put(toOutgoingMail(entity), entity));
+
+            final Set<MailOutboxEntity> failedEntities = newSetFromMap(new IdentityHashMap<>());
+            mailSenderService.sendEmails(sender.from(), sender.replyTo(), List.copyOf(entitiesByMail.keySet())).stream()
+                .map(entitiesByMail::get)
+                .forEach(failedEntities::add);
+
+            entities.forEach(entity -> (failedEntities.contains(entity) ? failed : sent).add(entity));
+        });
+
+        mailOutboxRepository.deleteAll(sent);
+
+        if (!failed.isEmpty()) {
+            failed.forEach(this::scheduleRetry);
+            mailOutboxRepository.saveAll(failed);
+        }
+    }
+
+    private void scheduleRetry(MailOutboxEntity entity) {
+
+        final int attempts = entity.getAttempts() + 1;
+        entity.setAttempts(attempts);
+
+        if (attempts >= outboxProperties.getMaxAttempts()) {
+            entity.setStatus(DEAD);
+            deadMails.increment();
+            LOG.error("Sending mail with id {} failed {} times, it will not be retried anymore", entity.getId(), attempts);
+        } else {
+            final Duration backoff = backoff(attempts);
+            entity.setNextAttemptAt(Instant.now(clock).plus(backoff));
+            retriedMails.increment();
+            LOG.warn("Sending mail with id {} failed {} times, retrying in {}", entity.getId(), attempts, backoff);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        final Duration backoff = outboxProperties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 30));
+        return backoff.compareTo(outboxProperties.getMaxBackoff()) > 0 ? outboxProperties.getMaxBackoff() : backoff;
+    }
+
+    private static OutgoingMail toOutgoingMail(MailOutboxEntity entity) {
+        final List<MailAttachment> mailAttachments = entity.getAttachments().stream()
+            .map(attachment -> new MailAttachment(attachment.getName(), new ByteArrayResource(attachment.getContent())))
+            .toList();
+        return new OutgoingMail(entity.getRecipient(), entity.getSubject(), entity.getBody(), mailAttachments);
+    }
+
+    private static MailOutboxAttachmentEmbeddable toEmbeddable(MailAttachment mailAttachment) {
+        try {
+            return new MailOutboxAttachmentEmbeddable(mailAttachment.getName(), mailAttachment.getContent().getContentAsByteArray());
+        } catch (IOException e) {
+            throw new MailContentBuilderException("Could not read mail attachment " + mailAttachment.getName(), e);
+        }
+    }
+
+    private record Sender(String from, String replyTo) {
+    }
+}
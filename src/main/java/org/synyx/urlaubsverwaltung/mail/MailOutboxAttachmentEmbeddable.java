@@ -0,0 +1,31 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+class MailOutboxAttachmentEmbeddable {
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private byte[] content;
+
+    protected MailOutboxAttachmentEmbeddable() {
+        // for hibernate
+    }
+
+    MailOutboxAttachmentEmbeddable(String name, byte[] content) {
+        this.name = name;
+        this.content = content;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    byte[] getContent() {
+        return content;
+    }
+}
@@ -0,0 +1,45 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.synyx.urlaubsverwaltung.config.ScheduleLocking;
+
+import java.time.Duration;
+
+@Configuration
+class MailOutboxConfiguration implements SchedulingConfigurer {
+
+    // the lock must outlast a relay run, which may exceed its maximum duration by the batch in progress
+    private static final Duration LOCK_MARGIN = Duration.ofMinutes(5);
+
+    private final MailProperties mailProperties;
+    private final MailOutbox mailOutbox;
+    private final ScheduleLocking scheduleLocking;
+    private final ThreadPoolTaskScheduler taskScheduler;
+
+    @Autowired
+    MailOutboxConfiguration(MailProperties mailProperties, MailOutbox mailOutbox, ScheduleLocking scheduleLocking, ThreadPoolTaskScheduler taskScheduler) {
+        this.mailProperties = mailProperties;
+        this.mailOutbox = mailOutbox;
+        this.scheduleLocking = scheduleLocking;
+        this.taskScheduler = taskScheduler;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+
+        final MailProperties.Outbox outbox = mailProperties.getOutbox();
+        if (!outbox.isEnabled()) {
+            return;
+        }
+
+        taskRegistrar.setTaskScheduler(taskScheduler);
+        taskRegistrar.addFixedDelayTask(
+            scheduleLocking.withLock("MailOutbox", mailOutbox::relay, outbox.getMaxRelayDuration().plus(LOCK_MARGIN), Duration.ZERO),
+            outbox.getInterval()
+        );
+    }
+}
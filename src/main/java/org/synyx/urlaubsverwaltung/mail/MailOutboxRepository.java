@@ -0,0 +1,14 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.CrudRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+interface MailOutboxRepository extends CrudRepository<MailOutboxEntity, Long> {
+
+    List<MailOutboxEntity> findByStatusAndNextAttemptAtIsLessThanEqualOrderByIdAsc(MailOutboxStatus status, Instant nextAttemptAt, Limit limit);
+
+    long countByStatus(MailOutboxStatus status);
+}
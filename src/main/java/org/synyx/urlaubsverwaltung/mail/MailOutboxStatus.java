@@ -0,0 +1,14 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+enum MailOutboxStatus {
+
+    /**
+     * The mail is waiting to be sent (again).
+     */
+    PENDING,
+
+    /**
+     * Sending the mail failed too many times, it is kept for inspection but not sent anymore.
+     */
+    DEAD
+}
@@ -1,11 +1,16 @@
 package org.synyx.urlaubsverwaltung.mail;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import org.hibernate.validator.constraints.URL;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+
 @Validated
 @ConfigurationProperties(prefix = "uv.mail")
 public class MailProperties {
@@ -27,6 +32,12 @@ public class MailProperties {
     @URL
     private String applicationUrl;
 
+    @Valid
+    private Dispatch dispatch = new Dispatch();
+
+    @Valid
+    private Outbox outbox = new Outbox();
+
     public String getFrom() {
         return from;
     }
@@ -66,4 +77,153 @@ public class MailProperties {
     public void setApplicationUrl(String applicationUrl) {
         this.applicationUrl = applicationUrl;
     }
+
+    public Dispatch getDispatch() {
+        return dispatch;
+    }
+
+    public void setDispatch(Dispatch dispatch) {
+        this.dispatch = dispatch;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public void setOutbox(Outbox outbox) {
+        this.outbox = outbox;
+    }
+
+    public static class Dispatch {
+
+        /**
+         * Maximum number of mails that are sent over a single connection to the mail server
+         */
+        @Min(1)
+        private int batchSize = 50;
+
+        /**
+         * Maximum number of connections to the mail server that are used at the same time
+         */
+        @Min(1)
+        private int concurrency = 2;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+    }
+
+    public static class Outbox {
+
+        /**
+         * Mails are stored in the outbox within the transaction of the caller and sent by a scheduled job.
+         * If disabled the mails are sent right away and are lost if the mail server is not available.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Delay between the end of one run of the outbox job and the start of the next one
+         */
+        @NotNull
+        private Duration interval = Duration.ofSeconds(10);
+
+        /**
+         * Maximum number of mails that are loaded from the outbox at once
+         */
+        @Min(1)
+        private int batchSize = 200;
+
+        /**
+         * Number of attempts to send a mail before it is not retried anymore
+         */
+        @Min(1)
+        private int maxAttempts = 10;
+
+        /**
+         * Delay before the first retry of a mail, doubled with every further attempt
+         */
+        @NotNull
+        private Duration initialBackoff = Duration.ofMinutes(1);
+
+        /**
+         * Maximum delay between two attempts to send a mail
+         */
+        @NotNull
+        private Duration maxBackoff = Duration.ofHours(6);
+
+        /**
+         * Maximum duration of one run of the outbox job, the remaining mails are sent by the next run.
+         * The job is locked for this duration plus five minutes.
+         */
+        @NotNull
+        private Duration maxRelayDuration = Duration.ofMinutes(10);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getInterval() {
+            return interval;
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public Duration getMaxRelayDuration() {
+            return maxRelayDuration;
+        }
+
+        public void setMaxRelayDuration(Duration maxRelayDuration) {
+            this.maxRelayDuration = maxRelayDuration;
+        }
+    }
 }
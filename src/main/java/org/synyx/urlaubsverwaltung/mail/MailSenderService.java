@@ -4,15 +4,14 @@ import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.lang.Nullable;
-import org.springframework.mail.MailException;
-import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -23,82 +22,81 @@ class MailSenderService {
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
     private final JavaMailSender mailSender;
+    private final MailDispatcher mailDispatcher;
 
     @Autowired
-    MailSenderService(JavaMailSender mailSender) {
+    MailSenderService(JavaMailSender mailSender, MailDispatcher mailDispatcher) {
         this.mailSender = mailSender;
+        this.mailDispatcher = mailDispatcher;
     }
 
     /**
-     * Send a mail with the given subject and text to the given recipients.
+     * Send the given mails. The mails are sent in batches, each batch over a single connection to the mail server.
      *
-     * @param from      mail address from where the mail is sent
-     * @param recipient mail address where the mail should be sent to
-     * @param subject   mail subject
-     * @param text      mail body
+     * @param from    mail address from where the mails are sent
+     * @param replyTo mail address to reply to
+     * @param mails   mails to send, mails without recipient are skipped
+     * @return the given mails that could not be sent
      */
-    void sendEmail(String from, String replyTo, @Nullable String recipient, String subject, String text) {
+    List<OutgoingMail> sendEmails(String from, String replyTo, List<OutgoingMail> mails) {
 
-        if (recipient == null || recipient.isBlank()) {
-            LOG.warn("Could not send email to empty recipients!");
-            return;
-        }
+        final Map<MimeMessage, OutgoingMail> mailsByMessage = new IdentityHashMap<>();
+        final List<MimeMessage> mimeMessages = new ArrayList<>();
+        final List<OutgoingMail> failed = new ArrayList<>();
 
-        final SimpleMailMessage mailMessage = new SimpleMailMessage();
-        mailMessage.setFrom(from);
-        mailMessage.setReplyTo(replyTo);
-        mailMessage.setTo(recipient);
-        mailMessage.setSubject(subject);
-        mailMessage.setText(text);
-
-        try {
-            mailSender.send(mailMessage);
-
-            if (LOG.isDebugEnabled()) {
-                for (String recipient1 : mailMessage.getTo()) {
-                    LOG.debug("Sent email to {}", recipient1);
-                }
-                LOG.debug("To={}\n\nSubject={}\n\nText={}",
-                    Arrays.toString(mailMessage.getTo()), mailMessage.getSubject(), mailMessage.getText());
+        for (OutgoingMail mail : mails) {
+            final String recipient = mail.recipient();
+            if (recipient == null || recipient.isBlank()) {
+                LOG.warn("Could not send email to empty recipients!");
+                continue;
             }
-        } catch (MailException ex) {
-            for (String recipient1 : mailMessage.getTo()) {
-                LOG.error("Sending email to {} failed", recipient1, ex);
+
+            try {
+                final MimeMessage mimeMessage = createMimeMessage(from, replyTo, mail);
+                mailsByMessage.put(mimeMessage, mail);
+                mimeMessages.add(mimeMessage);
+            } catch (MessagingException e) {
+                LOG.error("Sending email to {} failed", recipient, e);
+                failed.add(mail);
             }
         }
-    }
 
-    /**
-     * Send a mail with the given subject and text to the given recipients.
-     *
-     * @param from            mail address from where the mail is sent
-     * @param recipient       mail address where the mail should be sent to
-     * @param subject         mail subject
-     * @param text            mail body
-     * @param mailAttachments List of attachments to add to the mail
-     */
-    void sendEmail(String from, String replyTo, @Nullable String recipient, String subject, String text, List<MailAttachment> mailAttachments) {
+        if (mimeMessages.isEmpty()) {
+            return failed;
+        }
 
-        if (recipient == null || recipient.isBlank()) {
-            LOG.warn("Could not send email to empty recipients!");
-            return;
+        final List<MimeMessage> failedMessages = mailDispatcher.dispatch(mimeMessages);
+        for (MimeMessage mimeMessage : failedMessages) {
+            final OutgoingMail mail = mailsByMessage.get(mimeMessage);
+            LOG.error("Sending email to {} failed", mail.recipient());
+            failed.add(mail);
         }
 
+        if (LOG.isDebugEnabled()) {
+            mimeMessages.stream()
+                .filter(mimeMessage -> !failedMessages.contains(mimeMessage))
+                .forEach(mimeMessage -> LOG.debug("Sent email to {}", mailsByMessage.get(mimeMessage).recipient()));
+        }
+
+        return failed;
+    }
+
+    private MimeMessage createMimeMessage(String from, String replyTo, OutgoingMail mail) throws MessagingException {
+
+        final List<MailAttachment> mailAttachments = mail.mailAttachments();
+
         final MimeMessage mimeMessage = mailSender.createMimeMessage();
-        try {
-            final MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true);
-            helper.setFrom(from);
-            helper.setReplyTo(replyTo);
-            helper.setTo(recipient);
-            helper.setSubject(subject);
-            helper.setText(text);
-
-            for (MailAttachment mailAttachment : mailAttachments) {
-                helper.addAttachment(mailAttachment.getName(), mailAttachment.getContent());
-            }
-        } catch (MessagingException e) {
-            LOG.error("Sending email to {} failed", recipient, e);
+        final MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, !mailAttachments.isEmpty());
+        helper.setFrom(from);
+        helper.setReplyTo(replyTo);
+        helper.setTo(mail.recipient());
+        helper.setSubject(mail.subject());
+        helper.setText(mail.text());
+
+        for (MailAttachment mailAttachment : mailAttachments) {
+            helper.addAttachment(mailAttachment.getName(), mailAttachment.getContent());
         }
-        mailSender.send(mimeMessage);
+
+        return mimeMessage;
     }
 }
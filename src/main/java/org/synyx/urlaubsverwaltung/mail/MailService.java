@@ -1,5 +1,7 @@
 package org.synyx.urlaubsverwaltung.mail;
 
+import java.util.List;
+
 /**
  * This service provides sending notification emails.
  */
@@ -11,4 +13,15 @@ public interface MailService {
      * @param mail that defines the parameters to send the mail
      */
     void send(Mail mail);
+
+    /**
+     * Send all given mails together. Prefer this over sending every mail on its own when many mails are sent at
+     * once, e.g. by reminder jobs, since the mails are sent in batches over a shared connection to the mail server.
+     * A mail that cannot be rendered is logged and does not prevent sending the other mails.
+     *
+     * @param mails that define the parameters to send the mails
+     * @return the given mails that could not be sent or stored in the outbox for at least one recipient, including
+     * mails without any recipient with an e-mail address
+     */
+    List<Mail> send(List<Mail> mails);
 }
@@ -1,10 +1,11 @@
 package org.synyx.urlaubsverwaltung.mail;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.MessageSource;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.user.UserSettingsService;
@@ -12,15 +13,24 @@ import org.thymeleaf.ITemplateEngine;
 import org.thymeleaf.context.Context;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.Collections.newSetFromMap;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * Implementation of interface {@link MailService}.
+ * <p>
+ * Recipients of a mail that share the same locale get the same template model, so the mail body is rendered only
+ * once per locale with placeholders for the recipient and the placeholders are replaced for every recipient
+ * afterwards. Therefore templates must use the {@code recipient} only to output its {@code id} or {@code niceName}.
  */
 @Service("mailService")
 @EnableConfigurationProperties(MailProperties.class)
@@ -31,52 +41,140 @@ class MailServiceImpl implements MailService {
     private final MessageSource emailMessageSource;
     private final ITemplateEngine emailTemplateEngine;
     private final MailSenderService mailSenderService;
+    private final MailOutbox mailOutbox;
     private final MailProperties mailProperties;
     private final UserSettingsService userSettingsService;
+    private final String from;
+    private final String replyTo;
+    private final String applicationUrl;
+    private final Counter renderedBodies;
+    private final Counter reusedBodies;
 
     @Autowired
     MailServiceImpl(MessageSource emailMessageSource, ITemplateEngine emailTemplateEngine, MailSenderService mailSenderService,
-                    MailProperties mailProperties, UserSettingsService userSettingsService) {
+                    MailOutbox mailOutbox, MailProperties mailProperties, UserSettingsService userSettingsService,
+                    MeterRegistry meterRegistry) {
         this.emailMessageSource = emailMessageSource;
         this.emailTemplateEngine = emailTemplateEngine;
         this.mailProperties = mailProperties;
         this.mailSenderService = mailSenderService;
+        this.mailOutbox = mailOutbox;
         this.userSettingsService = userSettingsService;
+        this.from = generateMailAddressAndDisplayName(mailProperties.getFrom(), mailProperties.getFromDisplayName());
+        this.replyTo = generateMailAddressAndDisplayName(mailProperties.getReplyTo(), mailProperties.getReplyToDisplayName());
+        this.applicationUrl = getApplicationUrl(mailProperties.getApplicationUrl());
+        this.renderedBodies = renderingCounter(meterRegistry, "miss");
+        this.reusedBodies = renderingCounter(meterRegistry, "hit");
     }
 
-    @Async
     @Override
     public void send(Mail mail) {
+        sendEmails(render(mail));
+    }
 
-        final List<Person> recipients = getRecipients(mail);
-        final Map<Person, Locale> effectiveLocales = userSettingsService.getEffectiveLocale(recipients);
+    @Override
+    public List<Mail> send(List<Mail> mails) {
+
+        final Set<Mail> failedMails = newSetFromMap(new IdentityHashMap<>());
+        final Map<OutgoingMail, Mail> mailsByOutgoingMail = new IdentityHashMap<>();
+        final List<OutgoingMail> outgoingMails = new ArrayList<>();
+        for (Mail mail : mails) {
+            try {
+                final List<OutgoingMail> renderedMails = render(mail);
+                if (renderedMails.isEmpty()) {
+                    failedMails.add(mail);
+                }
+                renderedMails.forEach(outgoingMail -> mailsByOutgoingMail.put(outgoingMail, mail));
+                outgoingMails.addAll(renderedMails);
+            } catch (RuntimeException e) {
+                LOG.error("Could not render mail {} with template {}", mail.getSubjectMessageKey(), mail.getTemplateName(), e);
+                failedMails.add(mail);
+            }
+        }
 
-        recipients.forEach(recipient -> {
+        sendEmails(outgoingMails).forEach(outgoingMail -> failedMails.add(mailsByOutgoingMail.get(outgoingMail)));
 
-            final Locale effectiveLocale = effectiveLocales.get(recipient);
+        return mails.stream()
+            .filter(failedMails::contains)
+            .toList();
+    }
 
-            final Context context = new Context(effectiveLocale);
-            context.setVariables(mail.getTemplateModel(effectiveLocale));
-            context.setVariable("baseLinkURL", getApplicationUrl());
-            context.setVariable("rightPadder", RightPadder.getInstance());
-            context.setVariable("recipient", recipient);
+    private List<OutgoingMail> render(Mail mail) {
 
-            final String from = generateMailAddressAndDisplayName(mailProperties.getFrom(), mailProperties.getFromDisplayName());
-            final String replyTo = generateMailAddressAndDisplayName(mailProperties.getReplyTo(), mailProperties.getReplyToDisplayName());
+        final List<Person> recipients = getRecipients(mail).stream()
+            .filter(recipient -> {
+                if (recipient.getEmail() == null) {
+                    LOG.debug("Could not send mail to E-Mail-Address of person with id {}, because email is null.", recipient.getId());
+                    return false;
+                }
+                return true;
+            })
+            .toList();
 
-            final String email = recipient.getEmail();
-            final String subject = getTranslation(effectiveLocale, mail.getSubjectMessageKey(), mail.getSubjectMessageArguments());
-            final String body = emailTemplateEngine.process(mail.getTemplateName(), context);
+        final Map<Person, Locale> effectiveLocales = userSettingsService.getEffectiveLocale(recipients);
+        final Map<Locale, List<Person>> recipientsByLocale = new LinkedHashMap<>();
+        recipients.forEach(recipient -> recipientsByLocale.computeIfAbsent(effectiveLocales.get(recipient), locale -> new ArrayList<>()).add(recipient));
+
+        final Map<Person, OutgoingMail> mailsByRecipient = new IdentityHashMap<>();
+        final List<MailAttachment> mailAttachments = mail.getMailAttachments().orElse(List.of());
+        recipientsByLocale.forEach((locale, recipientsOfLocale) -> {
+            final String subject = getTranslation(locale, mail.getSubjectMessageKey(), mail.getSubjectMessageArguments());
+            renderBodies(mail, locale, recipientsOfLocale).forEach((recipient, body) ->
+                mailsByRecipient.put(recipient, new OutgoingMail(recipient.getEmail(), subject, body, mailAttachments)));
+        });
+
+        return recipients.stream()
+            .map(mailsByRecipient::get)
+            .toList();
+    }
 
-            if (email != null) {
-                mail.getMailAttachments().ifPresentOrElse(
-                    mailAttachments -> mailSenderService.sendEmail(from, replyTo, email, subject, body, mailAttachments),
-                    () -> mailSenderService.sendEmail(from, replyTo, email, subject, body)
-                );
-            } else {
-                LOG.debug("Could not send mail to E-Mail-Address of person with id {}, because email is null.", recipient.getId());
+    private Map<Person, String> renderBodies(Mail mail, Locale locale, List<Person> recipients) {
+
+        final Map<String, Object> templateModel = mail.getTemplateModel(locale);
+        final Map<Person, String> bodies = new IdentityHashMap<>();
+
+        if (recipients.size() > 1) {
+            final RecipientPlaceholder placeholder = new RecipientPlaceholder();
+            try {
+                final String body = renderBody(mail.getTemplateName(), locale, templateModel, placeholder);
+                recipients.forEach(recipient -> bodies.put(recipient, placeholder.replace(body, recipient)));
+                renderedBodies.increment();
+                reusedBodies.increment(recipients.size() - 1D);
+                return bodies;
+            } catch (RuntimeException e) {
+                LOG.debug("Could not render template {} once for all recipients, rendering it for every recipient.", mail.getTemplateName(), e);
             }
-        });
+        }
+
+        recipients.forEach(recipient -> bodies.put(recipient, renderBody(mail.getTemplateName(), locale, templateModel, recipient)));
+        renderedBodies.increment(recipients.size());
+        return bodies;
+    }
+
+    private String renderBody(String templateName, Locale locale, Map<String, Object> templateModel, Object recipient) {
+        final Context context = new Context(locale);
+        context.setVariables(templateModel);
+        context.setVariable("baseLinkURL", applicationUrl);
+        context.setVariable("rightPadder", RightPadder.getInstance());
+        context.setVariable("recipient", recipient);
+        return emailTemplateEngine.process(templateName, context);
+    }
+
+    /**
+     * @return the given mails that could not be sent, mails stored in the outbox are sent later on and not returned
+     */
+    private List<OutgoingMail> sendEmails(List<OutgoingMail> outgoingMails) {
+
+        if (outgoingMails.isEmpty()) {
+            return List.of();
+        }
+
+        if (mailProperties.getOutbox().isEnabled()) {
+            mailOutbox.enqueue(from, replyTo, outgoingMails);
+            return List.of();
+        }
+
+        return mailSenderService.sendEmails(from, replyTo, outgoingMails);
     }
 
     private List<Person> getRecipients(Mail mail) {
@@ -93,12 +191,48 @@ class MailServiceImpl implements MailService {
         return emailMessageSource.getMessage(key, args, locale);
     }
 
-    private String getApplicationUrl() {
-        final String applicationUrl = mailProperties.getApplicationUrl();
-        return applicationUrl.endsWith("/") ? applicationUrl : applicationUrl + "/";
+    private static String getApplicationUrl(String applicationUrl) {
+        return applicationUrl == null || applicationUrl.endsWith("/") ? applicationUrl : applicationUrl + "/";
     }
 
-    private String generateMailAddressAndDisplayName(String address, String displayName) {
+    private static String generateMailAddressAndDisplayName(String address, String displayName) {
         return String.format("%s <%s>", displayName, address);
     }
+
+    private static Counter renderingCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("mails.rendering.cache")
+            .description("Mail bodies that have been rendered (miss) or reused from the rendering for another recipient (hit)")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Stands in for the recipient while rendering a template once for several recipients.
+     * Its properties are unique tokens that are replaced by the properties of the actual recipient afterwards.
+     */
+    static final class RecipientPlaceholder {
+
+        private final String id;
+        private final String niceName;
+
+        RecipientPlaceholder() {
+            final String token = UUID.randomUUID().toString();
+            this.id = "{recipient.id:" + token + "}";
+            this.niceName = "{recipient.niceName:" + token + "}";
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getNiceName() {
+            return niceName;
+        }
+
+        String replace(String body, Person recipient) {
+            return body
+                .replace(id, String.valueOf(recipient.getId()))
+                .replace(niceName, String.valueOf(recipient.getNiceName()));
+        }
+    }
 }
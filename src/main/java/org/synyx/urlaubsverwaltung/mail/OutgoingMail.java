@@ -0,0 +1,16 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * A rendered mail to a single recipient.
+ *
+ * @param recipient       mail address where the mail should be sent to
+ * @param subject         mail subject
+ * @param text            mail body
+ * @param mailAttachments attachments to add to the mail, may be empty
+ */
+record OutgoingMail(@Nullable String recipient, String subject, String text, List<MailAttachment> mailAttachments) {
+}
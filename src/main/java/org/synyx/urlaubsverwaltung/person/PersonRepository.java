@@ -22,6 +22,8 @@ interface PersonRepository extends JpaRepository<Person, Long> {
 
     Optional<Person> findByEmailIgnoreCase(String email);
 
+    List<Person> findByUsernameIgnoreCaseOrEmailIgnoreCase(String username, String email);
+
     int countByPermissionsNotContaining(Role permission);
 
     int countByPermissionsContainingAndIdNotIn(Role permission, List<Long> id);
@@ -31,6 +33,14 @@ interface PersonRepository extends JpaRepository<Person, Long> {
     @Query("select p from Person p where :permission not member of p.permissions and (lower(p.firstName) like lower('%'||:query||'%') or lower(p.lastName) like lower('%'||:query||'%'))")
     Page<Person> findByPermissionsNotContainingAndByNiceNameContainingIgnoreCase(@Param("permission") Role role, @Param("query") String query, Pageable pageable);
 
+    /**
+     * Same as {@link #findByPermissionsNotContainingAndByNiceNameContainingIgnoreCase(Role, String, Pageable)} but joins
+     * the basedata of the persons, so that the page can be sorted by e.g. {@code b.personnelNumber} with an unsafe
+     * {@link org.springframework.data.jpa.domain.JpaSort}.
+     */
+    @Query("select p from Person p left join PersonBasedataEntity b on b.personId = p.id where :permission not member of p.permissions and (lower(p.firstName) like lower('%'||:query||'%') or lower(p.lastName) like lower('%'||:query||'%'))")
+    Page<Person> findByPermissionsNotContainingAndByNiceNameContainingIgnoreCaseJoiningBasedata(@Param("permission") Role role, @Param("query") String query, Pageable pageable);
+
     List<Person> findByPermissionsContainingOrderByFirstNameAscLastNameAsc(Role permission);
 
     @Query("select p from Person p where :permission member of p.permissions and (lower(p.firstName) like lower('%'||:query||'%') or lower(p.lastName) like lower('%'||:query||'%'))")
@@ -12,6 +12,11 @@ import java.util.Optional;
  */
 public interface PersonService {
 
+    /**
+     * Sort property to sort a page of persons by the personnel number of their basedata.
+     */
+    String BASEDATA_PERSONNEL_NUMBER = "basedata.personnelNumber";
+
     /**
      * Create a new person using the given attributes.
      * <p>
@@ -79,6 +84,16 @@ public interface PersonService {
      */
     Optional<Person> getPersonByMailAddress(String mailAddress);
 
+    /**
+     * finds a {@link Person} in the database by username and falls back to the mail address
+     * if there is no person with the given username.
+     *
+     * @param username    of the person
+     * @param mailAddress of the person, may be {@code null} to find the person by username only
+     * @return optional {@link Person} for the given username or mail address
+     */
+    Optional<Person> getPersonByUsernameOrMailAddress(String username, String mailAddress);
+
     /**
      * returns all active persons ordered by first name.
      *
@@ -88,6 +103,7 @@ public interface PersonService {
 
     /**
      * Find all active persons matching the given query.
+     * The page can be sorted by person attributes and by {@value #BASEDATA_PERSONNEL_NUMBER} additionally.
      *
      * @param personPageableSearchQuery search query containing pageable and an optional query for firstname/lastname
      * @return paginated active persons matching the search query
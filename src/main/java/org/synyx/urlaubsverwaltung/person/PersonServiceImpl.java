@@ -7,6 +7,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -41,6 +42,7 @@ import static org.synyx.urlaubsverwaltung.person.MailNotification.NOTIFICATION_E
 import static org.synyx.urlaubsverwaltung.person.Role.INACTIVE;
 import static org.synyx.urlaubsverwaltung.person.Role.OFFICE;
 import static org.synyx.urlaubsverwaltung.person.Role.USER;
+import static org.synyx.urlaubsverwaltung.search.SortSupport.withIdTieBreaker;
 
 /**
  * Implementation for {@link PersonService}.
@@ -54,15 +56,18 @@ class PersonServiceImpl implements PersonService {
     private final AccountInteractionService accountInteractionService;
     private final WorkingTimeWriteService workingTimeWriteService;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final SignedInUserContext signedInUserContext;
 
     @Autowired
     PersonServiceImpl(PersonRepository personRepository, AccountInteractionService accountInteractionService,
-                      WorkingTimeWriteService workingTimeWriteService, ApplicationEventPublisher applicationEventPublisher) {
+                      WorkingTimeWriteService workingTimeWriteService, ApplicationEventPublisher applicationEventPublisher,
+                      SignedInUserContext signedInUserContext) {
 
         this.personRepository = personRepository;
         this.accountInteractionService = accountInteractionService;
         this.workingTimeWriteService = workingTimeWriteService;
         this.applicationEventPublisher = applicationEventPublisher;
+        this.signedInUserContext = signedInUserContext;
     }
 
     @Override
@@ -122,6 +127,7 @@ class PersonServiceImpl implements PersonService {
         }
 
         final Person updatedPerson = personRepository.save(normalizePerson(person));
+        signedInUserContext.evict();
         LOG.info("Updated person: {}", updatedPerson);
 
         if (updatedPerson.isInactive()) {
@@ -145,6 +151,7 @@ class PersonServiceImpl implements PersonService {
         accountInteractionService.deleteAllByPerson(person);
         workingTimeWriteService.deleteAllByPerson(person);
         personRepository.delete(person);
+        signedInUserContext.evict();
 
         final String status = person.isActive() ? "active" : "inactive";
         LOG.info("person with id {} ({}) and status {} deleted by signed in user with id {}", person.getId(), person.getUsername(), status, signedInUser.getId());
@@ -157,7 +164,7 @@ class PersonServiceImpl implements PersonService {
 
     @Override
     public Optional<Person> getPersonByUsername(String username) {
-        return personRepository.findByUsernameIgnoreCase(username);
+        return signedInUserContext.getPerson(username, personRepository::findByUsernameIgnoreCase);
     }
 
     @Override
@@ -165,6 +172,20 @@ class PersonServiceImpl implements PersonService {
         return personRepository.findByEmailIgnoreCase(mailAddress);
     }
 
+    @Override
+    public Optional<Person> getPersonByUsernameOrMailAddress(String username, String mailAddress) {
+
+        if (mailAddress == null) {
+            return personRepository.findByUsernameIgnoreCase(username);
+        }
+
+        final List<Person> persons = personRepository.findByUsernameIgnoreCaseOrEmailIgnoreCase(username, mailAddress);
+        return persons.stream()
+            .filter(person -> username.equalsIgnoreCase(person.getUsername()))
+            .findFirst()
+            .or(() -> persons.stream().findFirst());
+    }
+
     @Override
     public List<Person> getActivePersons() {
         return personRepository.findByPermissionsNotContainingOrderByFirstNameAscLastNameAsc(INACTIVE);
@@ -175,6 +196,12 @@ class PersonServiceImpl implements PersonService {
         final Pageable pageable = personPageableSearchQuery.getPageable();
         final Sort implicitSort = mapToImplicitPersonSort(pageable.getSort());
         final String query = personPageableSearchQuery.getQuery();
+
+        if (implicitSort.getOrderFor(BASEDATA_PERSONNEL_NUMBER) != null) {
+            final PageRequest pageRequest = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), mapToBasedataJoiningSort(implicitSort));
+            return personRepository.findByPermissionsNotContainingAndByNiceNameContainingIgnoreCaseJoiningBasedata(INACTIVE, query, pageRequest);
+        }
+
         final PageRequest pageRequest = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), implicitSort);
         return personRepository.findByPermissionsNotContainingAndByNiceNameContainingIgnoreCase(INACTIVE, query, pageRequest);
     }
@@ -281,7 +308,22 @@ class PersonServiceImpl implements PersonService {
             implicitSort = requestedSort;
         }
 
-        return implicitSort;
+        return withIdTieBreaker(implicitSort, "id");
+    }
+
+    private static Sort mapToBasedataJoiningSort(Sort personSort) {
+        Sort sort = Sort.unsorted();
+
+        for (Sort.Order order : personSort) {
+            if (order.getProperty().equals(BASEDATA_PERSONNEL_NUMBER)) {
+                // alias of the joined basedata, see PersonRepository
+                sort = sort.and(JpaSort.unsafe(order.getDirection(), "b.personnelNumber"));
+            } else {
+                sort = sort.and(Sort.by(order));
+            }
+        }
+
+        return sort;
     }
 
     private PersonCreatedEvent toPersonCreatedEvent(Person person) {
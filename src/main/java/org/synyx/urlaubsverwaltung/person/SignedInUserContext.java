@@ -0,0 +1,83 @@
+package org.synyx.urlaubsverwaltung.person;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.springframework.web.context.request.RequestAttributes.SCOPE_REQUEST;
+
+/**
+ * Resolves the person of the signed in user once per web request. All lookups of the signed in user within the
+ * request, like the ones of the controller, the frame data provider and the method security, share this person
+ * with its roles instead of loading it again.
+ * <p>
+ * Outside of a web request or for other persons every lookup is delegated to the given loader.
+ */
+@Component
+class SignedInUserContext {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+    private static final String ATTRIBUTE_NAME = SignedInUserContext.class.getName() + ".signedInUser";
+
+    private final Counter savedLookups;
+
+    @Autowired
+    SignedInUserContext(MeterRegistry meterRegistry) {
+        this.savedLookups = Counter.builder("persons.signed_in_user.lookups.saved")
+            .description("Lookups of the signed in user that were answered from the current request")
+            .register(meterRegistry);
+    }
+
+    /**
+     * @param username of the person to look up
+     * @param loader   to load the person if it is not the signed in user or not resolved in this request yet
+     * @return the person with the given username
+     */
+    Optional<Person> getPerson(String username, Function<String, Optional<Person>> loader) {
+
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null || !isSignedInUser(username)) {
+            return loader.apply(username);
+        }
+
+        if (requestAttributes.getAttribute(ATTRIBUTE_NAME, SCOPE_REQUEST) instanceof SignedInUser(String signedInUsername, Person person)
+            && signedInUsername.equals(username)) {
+            savedLookups.increment();
+            LOG.debug("Saved lookup of signed in user with id {}, {} lookups saved so far", person.getId(), savedLookups.count());
+            return Optional.of(person);
+        }
+
+        final Optional<Person> person = loader.apply(username);
+        person.ifPresent(signedInUser -> requestAttributes.setAttribute(ATTRIBUTE_NAME, new SignedInUser(username, signedInUser), SCOPE_REQUEST));
+        return person;
+    }
+
+    /**
+     * Discards the signed in user of the current request, e.g. because a person has been changed.
+     */
+    void evict() {
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            requestAttributes.removeAttribute(ATTRIBUTE_NAME, SCOPE_REQUEST);
+        }
+    }
+
+    private static boolean isSignedInUser(String username) {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && username != null && username.equals(authentication.getName());
+    }
+
+    private record SignedInUser(String username, Person person) {
+    }
+}
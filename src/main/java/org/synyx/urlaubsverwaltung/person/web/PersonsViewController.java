@@ -22,7 +22,9 @@ import org.synyx.urlaubsverwaltung.department.Department;
 import org.synyx.urlaubsverwaltung.department.DepartmentService;
 import org.synyx.urlaubsverwaltung.department.web.UnknownDepartmentException;
 import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonId;
 import org.synyx.urlaubsverwaltung.person.PersonService;
+import org.synyx.urlaubsverwaltung.person.basedata.PersonBasedata;
 import org.synyx.urlaubsverwaltung.person.basedata.PersonBasedataService;
 import org.synyx.urlaubsverwaltung.search.PageableSearchQuery;
 import org.synyx.urlaubsverwaltung.search.SortComparator;
@@ -46,9 +48,11 @@ import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static java.util.Comparator.comparing;
+import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 import static org.springframework.util.StringUtils.hasText;
 import static org.synyx.urlaubsverwaltung.person.Role.BOSS;
 import static org.synyx.urlaubsverwaltung.person.Role.DEPARTMENT_HEAD;
@@ -209,19 +213,34 @@ public class PersonsViewController implements HasLaunchpad {
             .collect(toList());
     }
 
+    /**
+     * Loads the holidays accounts, vacation days left and basedata of all persons of the page at once,
+     * so the number of queries does not depend on the size of the page.
+     */
     private Page<PersonDto> personPage(Page<Person> personPage, Sort originalAccountSort, int year, LocalDate now) {
 
-        final List<PersonDto> personDtos = new ArrayList<>(personPage.getContent().size());
+        final List<Person> persons = personPage.getContent();
+        if (persons.isEmpty()) {
+            return new PageImpl<>(List.of(), personPage.getPageable(), personPage.getTotalElements());
+        }
 
-        for (Person person : personPage) {
-            final PersonDto.Builder personDtoBuilder = PersonDto.builder();
+        final List<Account> holidaysAccounts = accountService.getHolidaysAccount(year, persons);
+        final List<Account> holidaysAccountsNextYear = accountService.getHolidaysAccount(year + 1, persons);
+        final Map<Account, VacationDaysLeft> vacationDaysLeftByAccount = vacationDaysService.getVacationDaysLeft(holidaysAccounts, holidaysAccountsNextYear);
+        final Map<Person, Account> holidaysAccountByPerson = holidaysAccounts.stream()
+            .collect(toMap(Account::getPerson, identity(), (first, second) -> first));
+
+        final List<Long> personIds = persons.stream().map(Person::getId).toList();
+        final Map<PersonId, PersonBasedata> basedataByPersonId = personBasedataService.getBasedataByPersonId(personIds);
 
-            final Optional<Account> maybeHolidayAccount = accountService.getHolidaysAccount(year, person);
-            if (maybeHolidayAccount.isPresent()) {
-                final Account holidaysAccount = maybeHolidayAccount.get();
-                final Optional<Account> accountNextYear = accountService.getHolidaysAccount(year + 1, person);
-                final VacationDaysLeft vacationDaysLeft = vacationDaysService.getVacationDaysLeft(holidaysAccount, accountNextYear);
+        final List<PersonDto> personDtos = new ArrayList<>(persons.size());
 
+        for (Person person : persons) {
+            final PersonDto.Builder personDtoBuilder = PersonDto.builder();
+
+            final Account holidaysAccount = holidaysAccountByPerson.get(person);
+            final VacationDaysLeft vacationDaysLeft = holidaysAccount == null ? null : vacationDaysLeftByAccount.get(holidaysAccount);
+            if (vacationDaysLeft != null) {
                 final boolean doRemainingVacationDaysExpire = holidaysAccount.doRemainingVacationDaysExpire();
                 final LocalDate expiryDate = holidaysAccount.getExpiryDate();
                 final double remainingVacationDays = vacationDaysLeft.getRemainingVacationDaysLeft(now, doRemainingVacationDaysExpire, expiryDate).doubleValue();
@@ -245,8 +264,10 @@ public class PersonsViewController implements HasLaunchpad {
                 .niceName(person.getNiceName())
                 .lastName(lastName);
 
-            personBasedataService.getBasedataByPersonId(person.getId())
-                .ifPresent(personBasedata -> personDtoBuilder.personnelNumber(personBasedata.getPersonnelNumber()));
+            final PersonBasedata personBasedata = basedataByPersonId.get(new PersonId(person.getId()));
+            if (personBasedata != null) {
+                personDtoBuilder.personnelNumber(personBasedata.getPersonnelNumber());
+            }
 
             final PersonDto personDto = personDtoBuilder.build();
 
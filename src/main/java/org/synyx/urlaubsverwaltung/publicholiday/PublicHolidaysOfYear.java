@@ -0,0 +1,122 @@
+package org.synyx.urlaubsverwaltung.publicholiday;
+
+import de.focus_shift.jollyday.core.Holiday;
+import org.synyx.urlaubsverwaltung.period.DayLength;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeSettings;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.synyx.urlaubsverwaltung.period.DayLength.ZERO;
+import static org.synyx.urlaubsverwaltung.util.DateUtil.isChristmasEve;
+import static org.synyx.urlaubsverwaltung.util.DateUtil.isNewYearsEve;
+
+/**
+ * Precomputed public holidays of one {@link org.synyx.urlaubsverwaltung.workingtime.FederalState} in one year.
+ * <p>
+ * The holidays are sorted by their day of year and stored in index aligned arrays, so that lookups for a date
+ * or a date range are a binary search instead of a jollyday calculation.
+ */
+final class PublicHolidaysOfYear {
+
+    private final int year;
+    private final int[] dayOfYears;
+    private final Holiday[] holidays;
+    private final DayLength[] dayLengths;
+    private final DayLength workingDurationForChristmasEve;
+    private final DayLength workingDurationForNewYearsEve;
+    private final Map<Locale, String[]> descriptionsByLocale = new ConcurrentHashMap<>();
+
+    private PublicHolidaysOfYear(int year, Holiday[] holidays, WorkingTimeSettings workingTimeSettings) {
+        this.year = year;
+        this.holidays = holidays;
+        this.workingDurationForChristmasEve = workingTimeSettings.getWorkingDurationForChristmasEve();
+        this.workingDurationForNewYearsEve = workingTimeSettings.getWorkingDurationForNewYearsEve();
+        this.dayOfYears = new int[holidays.length];
+        this.dayLengths = new DayLength[holidays.length];
+        for (int i = 0; i < holidays.length; i++) {
+            dayOfYears[i] = holidays[i].getDate().getDayOfYear();
+            dayLengths[i] = getHolidayDayLength(workingTimeSettings, holidays[i].getDate());
+        }
+    }
+
+    static PublicHolidaysOfYear of(int year, Collection<Holiday> holidays, WorkingTimeSettings workingTimeSettings) {
+        final Holiday[] sortedHolidays = holidays.stream()
+            .sorted(Comparator.comparing(Holiday::getDate))
+            .toArray(Holiday[]::new);
+        return new PublicHolidaysOfYear(year, sortedHolidays, workingTimeSettings);
+    }
+
+    boolean isPublicHoliday(LocalDate date) {
+        final int index = firstIndexAtOrAfter(date.getDayOfYear());
+        return index < dayOfYears.length && dayOfYears[index] == date.getDayOfYear();
+    }
+
+    /**
+     * Returns the public holidays between from and to (inclusive). Dates outside of this year are ignored.
+     *
+     * @param from                to get public holidays from
+     * @param to                  to get public holidays to
+     * @param workingTimeSettings the global workingTimeSettings
+     * @param locale              to get the description of the public holidays for
+     * @return public holidays sorted by date
+     */
+    List<PublicHoliday> getPublicHolidays(LocalDate from, LocalDate to, WorkingTimeSettings workingTimeSettings, Locale locale) {
+        final int fromDayOfYear = from.getYear() < year ? 1 : from.getDayOfYear();
+        final int toDayOfYear = to.getYear() > year ? Integer.MAX_VALUE : to.getDayOfYear();
+
+        final boolean precomputedDayLengths = workingDurationForChristmasEve == workingTimeSettings.getWorkingDurationForChristmasEve()
+            && workingDurationForNewYearsEve == workingTimeSettings.getWorkingDurationForNewYearsEve();
+
+        final String[] descriptions = descriptionsByLocale.computeIfAbsent(locale, this::descriptionsOf);
+
+        final List<PublicHoliday> publicHolidays = new ArrayList<>();
+        for (int i = firstIndexAtOrAfter(fromDayOfYear); i < dayOfYears.length && dayOfYears[i] <= toDayOfYear; i++) {
+            final LocalDate date = holidays[i].getDate();
+            final DayLength dayLength = precomputedDayLengths ? dayLengths[i] : getHolidayDayLength(workingTimeSettings, date);
+            publicHolidays.add(new PublicHoliday(date, dayLength, descriptions[i]));
+        }
+        return publicHolidays;
+    }
+
+    private String[] descriptionsOf(Locale locale) {
+        final String[] descriptions = new String[holidays.length];
+        for (int i = 0; i < holidays.length; i++) {
+            descriptions[i] = holidays[i].getDescription(locale);
+        }
+        return descriptions;
+    }
+
+    private int firstIndexAtOrAfter(int dayOfYear) {
+        int low = 0;
+        int high = dayOfYears.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (dayOfYears[mid] < dayOfYear) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static DayLength getHolidayDayLength(WorkingTimeSettings workingTimeSettings, LocalDate date) {
+        final DayLength workingTime;
+        if (isChristmasEve(date)) {
+            workingTime = workingTimeSettings.getWorkingDurationForChristmasEve();
+        } else if (isNewYearsEve(date)) {
+            workingTime = workingTimeSettings.getWorkingDurationForNewYearsEve();
+        } else {
+            workingTime = ZERO;
+        }
+
+        return workingTime.getInverse();
+    }
+}
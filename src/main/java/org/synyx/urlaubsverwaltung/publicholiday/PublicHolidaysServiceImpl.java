@@ -3,30 +3,29 @@ package org.synyx.urlaubsverwaltung.publicholiday;
 import de.focus_shift.jollyday.core.Holiday;
 import de.focus_shift.jollyday.core.HolidayManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
-import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.settings.SettingsUpdatedEvent;
 import org.synyx.urlaubsverwaltung.workingtime.FederalState;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeSettings;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-
-import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
-import static org.synyx.urlaubsverwaltung.period.DayLength.ZERO;
-import static org.synyx.urlaubsverwaltung.util.DateUtil.isChristmasEve;
-import static org.synyx.urlaubsverwaltung.util.DateUtil.isNewYearsEve;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class PublicHolidaysServiceImpl implements PublicHolidaysService {
 
     private final Map<String, HolidayManager> holidayManagers;
     private final SettingsService settingsService;
+    private final Map<PublicHolidaysOfYearKey, PublicHolidaysOfYear> publicHolidaysIndex = new ConcurrentHashMap<>();
 
     @Autowired
     public PublicHolidaysServiceImpl(SettingsService settingsService, Map<String, HolidayManager> holidayManagers) {
@@ -36,9 +35,16 @@ public class PublicHolidaysServiceImpl implements PublicHolidaysService {
 
     @Override
     public boolean isPublicHoliday(LocalDate date, FederalState federalState) {
-        return getHolidayManager(federalState)
-            .map(holidayManager -> holidayManager.isHoliday(date, federalState.getCodes()))
-            .orElse(false);
+        if (getHolidayManager(federalState).isEmpty()) {
+            return false;
+        }
+
+        final PublicHolidaysOfYear publicHolidaysOfYear = publicHolidaysIndex.get(new PublicHolidaysOfYearKey(federalState, date.getYear()));
+        if (publicHolidaysOfYear != null) {
+            return publicHolidaysOfYear.isPublicHoliday(date);
+        }
+
+        return getPublicHolidaysOfYear(date.getYear(), federalState, getWorkingTimeSettings()).isPublicHoliday(date);
     }
 
     @Override
@@ -57,26 +63,38 @@ public class PublicHolidaysServiceImpl implements PublicHolidaysService {
     }
 
     public List<PublicHoliday> getPublicHolidays(LocalDate from, LocalDate to, FederalState federalState, WorkingTimeSettings workingTimeSettings) {
+        if (from.isAfter(to) || getHolidayManager(federalState).isEmpty()) {
+            return List.of();
+        }
+
         final Locale locale = LocaleContextHolder.getLocale();
 
-        return getHolidays(from, to, federalState).stream()
-            .map(holiday -> new PublicHoliday(holiday.getDate(), getHolidayDayLength(workingTimeSettings, holiday.getDate(), federalState), holiday.getDescription(locale)))
-            .toList();
-    }
+        if (from.getYear() == to.getYear()) {
+            return getPublicHolidaysOfYear(from.getYear(), federalState, workingTimeSettings)
+                .getPublicHolidays(from, to, workingTimeSettings, locale);
+        }
 
-    private DayLength getHolidayDayLength(WorkingTimeSettings workingTimeSettings, LocalDate date, FederalState federalState) {
-        DayLength workingTime = FULL;
-        if (isPublicHoliday(date, federalState)) {
-            if (isChristmasEve(date)) {
-                workingTime = workingTimeSettings.getWorkingDurationForChristmasEve();
-            } else if (isNewYearsEve(date)) {
-                workingTime = workingTimeSettings.getWorkingDurationForNewYearsEve();
-            } else {
-                workingTime = ZERO;
-            }
+        final List<PublicHoliday> publicHolidays = new ArrayList<>();
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            publicHolidays.addAll(getPublicHolidaysOfYear(year, federalState, workingTimeSettings).getPublicHolidays(from, to, workingTimeSettings, locale));
         }
+        return publicHolidays;
+    }
 
-        return workingTime.getInverse();
+    /**
+     * The precomputed day lengths of christmas eve and new years eve depend on the working time settings,
+     * therefore the index is dropped as soon as the settings have been changed.
+     *
+     * @param event the settings updated event
+     */
+    @EventListener
+    void on(SettingsUpdatedEvent event) {
+        publicHolidaysIndex.clear();
+    }
+
+    private PublicHolidaysOfYear getPublicHolidaysOfYear(int year, FederalState federalState, WorkingTimeSettings workingTimeSettings) {
+        return publicHolidaysIndex.computeIfAbsent(new PublicHolidaysOfYearKey(federalState, year),
+            key -> PublicHolidaysOfYear.of(year, getHolidays(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31), federalState), workingTimeSettings));
     }
 
     private Set<Holiday> getHolidays(final LocalDate from, final LocalDate to, FederalState federalState) {
@@ -92,4 +110,7 @@ public class PublicHolidaysServiceImpl implements PublicHolidaysService {
     private WorkingTimeSettings getWorkingTimeSettings() {
         return settingsService.getSettings().getWorkingTimeSettings();
     }
+
+    private record PublicHolidaysOfYearKey(FederalState federalState, int year) {
+    }
 }
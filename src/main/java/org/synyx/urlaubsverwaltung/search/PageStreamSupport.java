@@ -3,7 +3,9 @@ package org.synyx.urlaubsverwaltung.search;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.util.Objects;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -20,16 +22,20 @@ public class PageStreamSupport {
     }
 
     public static <E> Stream<E> stream(Function<Pageable, Page<E>> pageSupplier, int pageSize) {
-        final Page<E> initialPage = pageSupplier.apply(PageRequest.of(0, pageSize));
+        return stream(pageSupplier, pageSize, Sort.unsorted());
+    }
 
-        if (initialPage == null || !initialPage.hasContent()) {
-            return Stream.empty();
-        }
+    /**
+     * Streams the content of all pages. The pages are requested lazily one after another as long as
+     * {@link Page#hasNext()} says so, a page without content does not end the stream.
+     */
+    public static <E> Stream<E> stream(Function<Pageable, Page<E>> pageSupplier, int pageSize, Sort sort) {
+        final Page<E> initialPage = pageSupplier.apply(PageRequest.of(0, pageSize, sort));
 
         return Stream.iterate(
                 initialPage,
-                currentPage -> !currentPage.isEmpty(),
-                currentPage -> currentPage.hasNext() ? pageSupplier.apply(currentPage.nextPageable()) : Page.empty()
+                Objects::nonNull,
+                currentPage -> currentPage.hasNext() ? pageSupplier.apply(currentPage.nextPageable()) : null
             )
             .flatMap(p -> p.getContent().stream());
     }
@@ -0,0 +1,38 @@
+package org.synyx.urlaubsverwaltung.search;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+public class SortSupport {
+
+    private SortSupport() {
+        // Utility classes should not have public constructors java:S1118
+    }
+
+    /**
+     * Adds the id as last sort criteria. Requested sort criteria like names are not unique, and without a unique
+     * criteria the database may return entries with equal values in a different order for every page, so that
+     * entries appear on several pages or on none.
+     *
+     * @param sort       the requested sort
+     * @param idProperty the property of the id, e.g. {@code id} or {@code person.id}
+     * @return the sort with the id as last criteria
+     */
+    public static Sort withIdTieBreaker(Sort sort, String idProperty) {
+        return sort.getOrderFor(idProperty) == null ? sort.and(Sort.by(idProperty)) : sort;
+    }
+
+    /**
+     * @param pageable   the requested page
+     * @param idProperty the property of the id, e.g. {@code id} or {@code person.id}
+     * @return the page request with the id as last sort criteria, see {@link #withIdTieBreaker(Sort, String)}
+     */
+    public static Pageable withIdTieBreaker(Pageable pageable, String idProperty) {
+        if (pageable.isUnpaged()) {
+            return pageable;
+        }
+
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), withIdTieBreaker(pageable.getSort(), idProperty));
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Supplier;
 
@@ -44,11 +45,8 @@ class PersonOnSuccessfullyOidcLoginEventHandler {
         final String lastName = extractFamilyName(oidcUser);
         final String emailAddress = extractMailAddress(oidcUser);
 
-        Optional<Person> optionalPerson = personService.getPersonByUsername(userUniqueID);
-        // try to fall back to uniqueness of mailAddress if userUniqueID is not found in database
-        if (optionalPerson.isEmpty()) {
-            optionalPerson = personService.getPersonByMailAddress(emailAddress);
-        }
+        // falls back to uniqueness of mailAddress if userUniqueID is not found in database
+        final Optional<Person> optionalPerson = personService.getPersonByUsernameOrMailAddress(userUniqueID, emailAddress);
 
         if (optionalPerson.isPresent()) {
 
@@ -57,13 +55,21 @@ class PersonOnSuccessfullyOidcLoginEventHandler {
             if (!userUniqueID.equals(existentPerson.getUsername())) {
                 LOG.info("No person with given userUniqueID was found. Falling back to matching mail address for " +
                     "person lookup. Existing username '{}' is replaced with '{}'.", existentPerson.getUsername(), userUniqueID);
-                existentPerson.setUsername(userUniqueID);
             }
 
-            existentPerson.setFirstName(firstName);
-            existentPerson.setLastName(lastName);
-            existentPerson.setEmail(emailAddress);
-            personService.update(existentPerson);
+            if (hasChanged(existentPerson.getUsername(), userUniqueID)
+                || hasChanged(existentPerson.getFirstName(), firstName)
+                || hasChanged(existentPerson.getLastName(), lastName)
+                || hasChanged(existentPerson.getEmail(), emailAddress)) {
+
+                existentPerson.setUsername(userUniqueID);
+                existentPerson.setFirstName(firstName);
+                existentPerson.setLastName(lastName);
+                existentPerson.setEmail(emailAddress);
+                personService.update(existentPerson);
+            } else {
+                LOG.debug("Person with id {} is up to date with the claims of the login, no update necessary.", existentPerson.getId());
+            }
 
         } else {
             final Person createdPerson = personService.create(userUniqueID, firstName, lastName, emailAddress);
@@ -71,6 +77,13 @@ class PersonOnSuccessfullyOidcLoginEventHandler {
         }
     }
 
+    /**
+     * Compares with the stripped claim, since the person is saved with stripped values.
+     */
+    private static boolean hasChanged(String currentValue, String claim) {
+        return !Objects.equals(currentValue, claim == null ? null : claim.strip());
+    }
+
     private String extractIdentifier(OidcUser oidcUser) {
         return getClaimAsString(oidcUser, () -> SUB)
             .orElseThrow(() -> {
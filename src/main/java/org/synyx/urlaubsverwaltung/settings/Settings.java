@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 import org.synyx.urlaubsverwaltung.absence.TimeSettings;
 import org.synyx.urlaubsverwaltung.account.AccountSettings;
 import org.synyx.urlaubsverwaltung.application.settings.ApplicationSettings;
@@ -30,6 +31,9 @@ public class Settings {
     @SequenceGenerator(name = "settings_generator", sequenceName = "settings_id_seq", allocationSize = 1)
     private Long id;
 
+    @Version
+    private long version;
+
     private ApplicationSettings applicationSettings = new ApplicationSettings();
     private AccountSettings accountSettings = new AccountSettings();
     private WorkingTimeSettings workingTimeSettings = new WorkingTimeSettings();
@@ -47,6 +51,14 @@ public class Settings {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public ApplicationSettings getApplicationSettings() {
         return applicationSettings;
     }
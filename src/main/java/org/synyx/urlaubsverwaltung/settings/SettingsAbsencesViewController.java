@@ -53,8 +53,7 @@ public class SettingsAbsencesViewController implements HasLaunchpad {
             return "settings/absences/settings_absences";
         }
 
-        final Settings settings = settingsDtoToSettings(settingsDto);
-        settingsService.save(settings);
+        settingsService.update(settings -> applyDtoToSettings(settingsDto, settings));
 
         redirectAttributes.addFlashAttribute("success", true);
 
@@ -71,12 +70,10 @@ public class SettingsAbsencesViewController implements HasLaunchpad {
         return dto;
     }
 
-    private Settings settingsDtoToSettings(SettingsAbsencesDto dto) {
-        final Settings settings = settingsService.getSettings();
+    private static void applyDtoToSettings(SettingsAbsencesDto dto, Settings settings) {
         settings.setId(dto.getId());
         settings.setApplicationSettings(dto.getApplicationSettings());
         settings.setAccountSettings(dto.getAccountSettings());
         settings.setSickNoteSettings(dto.getSickNoteSettings());
-        return settings;
     }
 }
@@ -42,8 +42,7 @@ public class SettingsAvatarViewController implements HasLaunchpad {
     public String settingsSaved(@Valid @ModelAttribute("settings") SettingsAvatarDto settingsDto,
                                 RedirectAttributes redirectAttributes) {
 
-        final Settings settings = settingsDtoToSettings(settingsDto);
-        settingsService.save(settings);
+        settingsService.update(settings -> applyDtoToSettings(settingsDto, settings));
 
         redirectAttributes.addFlashAttribute("success", true);
 
@@ -58,10 +57,8 @@ public class SettingsAvatarViewController implements HasLaunchpad {
         return dto;
     }
 
-    private Settings settingsDtoToSettings(SettingsAvatarDto dto) {
-        final Settings settings = settingsService.getSettings();
+    private static void applyDtoToSettings(SettingsAvatarDto dto, Settings settings) {
         settings.setId(dto.getId());
         settings.setAvatarSettings(dto.getAvatarSettings());
-        return settings;
     }
 }
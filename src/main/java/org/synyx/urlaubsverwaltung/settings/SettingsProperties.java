@@ -0,0 +1,39 @@
+package org.synyx.urlaubsverwaltung.settings;
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+@Component
+@ConfigurationProperties("uv.settings")
+@Validated
+public class SettingsProperties {
+
+    /**
+     * Defines the interval in which the in-memory settings snapshot is checked for changes made by other nodes.
+     * <p>
+     * Possible inputs:
+     * <p><ul>
+     * <li>30 (30 Seconds)
+     * <li>PT30S (30 Seconds in ISO-8601 Format)
+     * <li>30s (30 Seconds)
+     * </ul><p>
+     * Default refresh interval is one minute (PT1M).
+     */
+    @NotNull
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration snapshotRefreshInterval = Duration.ofMinutes(1);
+
+    public Duration getSnapshotRefreshInterval() {
+        return snapshotRefreshInterval;
+    }
+
+    public void setSnapshotRefreshInterval(Duration snapshotRefreshInterval) {
+        this.snapshotRefreshInterval = snapshotRefreshInterval;
+    }
+}
@@ -1,10 +1,17 @@
 package org.synyx.urlaubsverwaltung.settings;
 
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
 
 
 /**
  * Repository for {@link Settings} entities.
  */
 public interface SettingsRepository extends CrudRepository<Settings, Long> {
+
+    @Query("select s.version from Settings s where s.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 }
@@ -1,5 +1,7 @@
 package org.synyx.urlaubsverwaltung.settings;
 
+import java.util.function.Consumer;
+
 /**
  * Provides access to {@link org.synyx.urlaubsverwaltung.settings.Settings}.
  */
@@ -13,6 +15,15 @@ public interface SettingsService {
      */
     Settings save(Settings settings);
 
+    /**
+     * Applies the given changes to the current settings and persists them. If the settings have been changed
+     * concurrently, e.g. by another node, the changes are applied once more to the reloaded settings.
+     *
+     * @param changes to be applied to the current settings
+     * @return saved settings
+     */
+    Settings update(Consumer<Settings> changes);
+
     /**
      * @return settings for the application
      */
@@ -1,43 +1,268 @@
 package org.synyx.urlaubsverwaltung.settings;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.synyx.urlaubsverwaltung.absence.TimeSettings;
+import org.synyx.urlaubsverwaltung.account.AccountSettings;
+import org.synyx.urlaubsverwaltung.application.settings.ApplicationSettings;
+import org.synyx.urlaubsverwaltung.overtime.OvertimeSettings;
+import org.synyx.urlaubsverwaltung.person.settings.AvatarSettings;
+import org.synyx.urlaubsverwaltung.sicknote.settings.SickNoteSettings;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeSettings;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * Implementation for {@link org.synyx.urlaubsverwaltung.settings.SettingsService}.
+ * <p>
+ * The settings are held as an in-memory snapshot which is replaced atomically after {@link #save(Settings)} has been
+ * committed. Changes of other nodes are detected by {@link #refreshSnapshot()} comparing the version of the persisted
+ * settings.
  */
 @Service
 public class SettingsServiceImpl implements SettingsService {
 
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
+    private static final long SETTINGS_ID = 1L;
+    private static final String METRIC_SNAPSHOT_AGE = "settings.snapshot.age";
+    private static final String METRIC_SNAPSHOT_HITS = "settings.snapshot.hits";
+
     private final SettingsRepository settingsRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final Clock clock;
+
+    private final AtomicReference<SettingsSnapshot> snapshot = new AtomicReference<>();
+    private final LongAdder snapshotHits = new LongAdder();
 
     @Autowired
-    public SettingsServiceImpl(SettingsRepository settingsRepository) {
+    public SettingsServiceImpl(SettingsRepository settingsRepository, ApplicationEventPublisher applicationEventPublisher,
+                               Clock clock, MeterRegistry meterRegistry) {
         this.settingsRepository = settingsRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.clock = clock;
+
+        Gauge.builder(METRIC_SNAPSHOT_AGE, this::snapshotAgeInSeconds)
+            .description("Age of the in-memory settings snapshot")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        FunctionCounter.builder(METRIC_SNAPSHOT_HITS, snapshotHits, LongAdder::doubleValue)
+            .description("Settings served from the in-memory snapshot")
+            .register(meterRegistry);
     }
 
     @Override
     public Settings save(Settings settings) {
-        final Settings savedSettings = settingsRepository.save(settings);
+        final Settings savedSettings;
+        try {
+            savedSettings = settingsRepository.save(settings);
+        } catch (OptimisticLockingFailureException e) {
+            // the settings have been changed by another node, the snapshot is loaded again on next use
+            snapshot.set(null);
+            throw e;
+        }
+
         LOG.info("Updated settings: {}", savedSettings);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishSnapshot(savedSettings);
+                }
+            });
+        } else {
+            publishSnapshot(savedSettings);
+        }
+
         return savedSettings;
     }
 
+    @Override
+    public Settings update(Consumer<Settings> changes) {
+        final Settings settings = getSettings();
+        changes.accept(settings);
+        try {
+            return save(settings);
+        } catch (OptimisticLockingFailureException e) {
+            LOG.info("Settings have been changed concurrently, applying the changes to the reloaded settings");
+            final Settings reloadedSettings = getSettings();
+            changes.accept(reloadedSettings);
+            return save(reloadedSettings);
+        }
+    }
+
+    /**
+     * Returns a copy of the current settings snapshot. The copy, including its nested settings, can be changed and
+     * passed to {@link #save(Settings)} without affecting the snapshot used by other callers.
+     *
+     * @return settings for the application
+     */
     @Override
     public Settings getSettings() {
-        return settingsRepository.findById(1L)
+        final SettingsSnapshot currentSnapshot = snapshot.get();
+        if (currentSnapshot != null) {
+            snapshotHits.increment();
+            return copyOf(currentSnapshot.settings());
+        }
+        return copyOf(loadSnapshot().settings());
+    }
+
+    /**
+     * Reloads the settings snapshot if the persisted settings have been changed by another node.
+     */
+    void refreshSnapshot() {
+        final SettingsSnapshot currentSnapshot = snapshot.get();
+        if (currentSnapshot == null) {
+            return;
+        }
+
+        final Optional<Long> persistedVersion = settingsRepository.findVersionById(SETTINGS_ID);
+        if (persistedVersion.isPresent() && persistedVersion.get() != currentSnapshot.settings().getVersion()) {
+            LOG.info("Settings have been changed to version {}, refreshing snapshot of version {}",
+                persistedVersion.get(), currentSnapshot.settings().getVersion());
+            snapshot.compareAndSet(currentSnapshot, null);
+            loadSnapshot();
+            applicationEventPublisher.publishEvent(SettingsUpdatedEvent.of());
+        }
+    }
+
+    private synchronized SettingsSnapshot loadSnapshot() {
+        final SettingsSnapshot currentSnapshot = snapshot.get();
+        if (currentSnapshot != null) {
+            return currentSnapshot;
+        }
+
+        final Settings settings = settingsRepository.findById(SETTINGS_ID)
             .orElseGet(() -> {
-                final Settings settings = new Settings();
-                settings.setId(1L);
-                final Settings savedSettings = settingsRepository.save(settings);
+                final Settings initialSettings = new Settings();
+                initialSettings.setId(SETTINGS_ID);
+                final Settings savedSettings = settingsRepository.save(initialSettings);
                 LOG.info("Saved initial settings {}", savedSettings);
                 return savedSettings;
             });
+
+        final SettingsSnapshot loadedSnapshot = new SettingsSnapshot(copyOf(settings), Instant.now(clock));
+        snapshot.set(loadedSnapshot);
+        return loadedSnapshot;
+    }
+
+    private void publishSnapshot(Settings savedSettings) {
+        snapshot.set(new SettingsSnapshot(copyOf(savedSettings), Instant.now(clock)));
+        applicationEventPublisher.publishEvent(SettingsUpdatedEvent.of());
+    }
+
+    private double snapshotAgeInSeconds() {
+        final SettingsSnapshot currentSnapshot = snapshot.get();
+        if (currentSnapshot == null) {
+            return 0;
+        }
+        return Duration.between(currentSnapshot.loadedAt(), Instant.now(clock)).toSeconds();
+    }
+
+    private static Settings copyOf(Settings settings) {
+        final Settings copy = new Settings();
+        copy.setId(settings.getId());
+        copy.setVersion(settings.getVersion());
+        copy.setApplicationSettings(copyOf(settings.getApplicationSettings()));
+        copy.setAccountSettings(copyOf(settings.getAccountSettings()));
+        copy.setWorkingTimeSettings(copyOf(settings.getWorkingTimeSettings()));
+        copy.setOvertimeSettings(copyOf(settings.getOvertimeSettings()));
+        copy.setTimeSettings(copyOf(settings.getTimeSettings()));
+        copy.setSickNoteSettings(copyOf(settings.getSickNoteSettings()));
+        copy.setAvatarSettings(copyOf(settings.getAvatarSettings()));
+        return copy;
+    }
+
+    private static ApplicationSettings copyOf(ApplicationSettings applicationSettings) {
+        final ApplicationSettings copy = new ApplicationSettings();
+        copy.setMaximumMonthsToApplyForLeaveInAdvance(applicationSettings.getMaximumMonthsToApplyForLeaveInAdvance());
+        copy.setMaximumMonthsToApplyForLeaveAfterwards(applicationSettings.getMaximumMonthsToApplyForLeaveAfterwards());
+        copy.setRemindForWaitingApplications(applicationSettings.isRemindForWaitingApplications());
+        copy.setAllowHalfDays(applicationSettings.isAllowHalfDays());
+        copy.setDaysBeforeRemindForWaitingApplications(applicationSettings.getDaysBeforeRemindForWaitingApplications());
+        copy.setRemindForUpcomingApplications(applicationSettings.isRemindForUpcomingApplications());
+        copy.setDaysBeforeRemindForUpcomingApplications(applicationSettings.getDaysBeforeRemindForUpcomingApplications());
+        copy.setRemindForUpcomingHolidayReplacement(applicationSettings.isRemindForUpcomingHolidayReplacement());
+        copy.setDaysBeforeRemindForUpcomingHolidayReplacement(applicationSettings.getDaysBeforeRemindForUpcomingHolidayReplacement());
+        return copy;
+    }
+
+    private static AccountSettings copyOf(AccountSettings accountSettings) {
+        final AccountSettings copy = new AccountSettings();
+        copy.setDefaultVacationDays(accountSettings.getDefaultVacationDays());
+        copy.setMaximumAnnualVacationDays(accountSettings.getMaximumAnnualVacationDays());
+        copy.setExpiryDateDayOfMonth(accountSettings.getExpiryDateDayOfMonth());
+        copy.setExpiryDateMonth(accountSettings.getExpiryDateMonth());
+        copy.setDoRemainingVacationDaysExpireGlobally(accountSettings.isDoRemainingVacationDaysExpireGlobally());
+        return copy;
+    }
+
+    private static WorkingTimeSettings copyOf(WorkingTimeSettings workingTimeSettings) {
+        final WorkingTimeSettings copy = new WorkingTimeSettings();
+        copy.setMonday(workingTimeSettings.getMonday());
+        copy.setTuesday(workingTimeSettings.getTuesday());
+        copy.setWednesday(workingTimeSettings.getWednesday());
+        copy.setThursday(workingTimeSettings.getThursday());
+        copy.setFriday(workingTimeSettings.getFriday());
+        copy.setSaturday(workingTimeSettings.getSaturday());
+        copy.setSunday(workingTimeSettings.getSunday());
+        copy.setWorkingDurationForChristmasEve(workingTimeSettings.getWorkingDurationForChristmasEve());
+        copy.setWorkingDurationForNewYearsEve(workingTimeSettings.getWorkingDurationForNewYearsEve());
+        copy.setFederalState(workingTimeSettings.getFederalState());
+        return copy;
+    }
+
+    private static OvertimeSettings copyOf(OvertimeSettings overtimeSettings) {
+        final OvertimeSettings copy = new OvertimeSettings();
+        copy.setOvertimeActive(overtimeSettings.isOvertimeActive());
+        copy.setOvertimeReductionWithoutApplicationActive(overtimeSettings.isOvertimeReductionWithoutApplicationActive());
+        copy.setOvertimeWritePrivilegedOnly(overtimeSettings.isOvertimeWritePrivilegedOnly());
+        copy.setMaximumOvertime(overtimeSettings.getMaximumOvertime());
+        copy.setMinimumOvertime(overtimeSettings.getMinimumOvertime());
+        copy.setMinimumOvertimeReduction(overtimeSettings.getMinimumOvertimeReduction());
+        return copy;
+    }
+
+    private static TimeSettings copyOf(TimeSettings timeSettings) {
+        final TimeSettings copy = new TimeSettings();
+        copy.setTimeZoneId(timeSettings.getTimeZoneId());
+        copy.setWorkDayBeginHour(timeSettings.getWorkDayBeginHour());
+        copy.setWorkDayEndHour(timeSettings.getWorkDayEndHour());
+        return copy;
+    }
+
+    private static SickNoteSettings copyOf(SickNoteSettings sickNoteSettings) {
+        final SickNoteSettings copy = new SickNoteSettings();
+        copy.setMaximumSickPayDays(sickNoteSettings.getMaximumSickPayDays());
+        copy.setDaysBeforeEndOfSickPayNotification(sickNoteSettings.getDaysBeforeEndOfSickPayNotification());
+        copy.setUserIsAllowedToSubmitSickNotes(sickNoteSettings.getUserIsAllowedToSubmitSickNotes());
+        return copy;
+    }
+
+    private static AvatarSettings copyOf(AvatarSettings avatarSettings) {
+        final AvatarSettings copy = new AvatarSettings();
+        copy.setGravatarEnabled(avatarSettings.isGravatarEnabled());
+        return copy;
+    }
+
+    private record SettingsSnapshot(Settings settings, Instant loadedAt) {
     }
 }
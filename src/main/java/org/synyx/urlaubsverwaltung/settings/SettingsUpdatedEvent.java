@@ -0,0 +1,14 @@
+package org.synyx.urlaubsverwaltung.settings;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Indicates that the {@link Settings} of the application have been changed.
+ */
+public record SettingsUpdatedEvent(UUID id, Instant createdAt) {
+
+    public static SettingsUpdatedEvent of() {
+        return new SettingsUpdatedEvent(UUID.randomUUID(), Instant.now());
+    }
+}
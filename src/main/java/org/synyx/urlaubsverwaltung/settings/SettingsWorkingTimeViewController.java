@@ -59,8 +59,7 @@ public class SettingsWorkingTimeViewController implements HasLaunchpad {
             return "settings/public-holidays/settings_working_time";
         }
 
-        final Settings settings = settingsDtoToSettings(settingsDto);
-        settingsService.save(settings);
+        settingsService.update(settings -> applyDtoToSettings(settingsDto, settings));
 
         redirectAttributes.addFlashAttribute("success", true);
 
@@ -85,12 +84,10 @@ public class SettingsWorkingTimeViewController implements HasLaunchpad {
         return dto;
     }
 
-    private Settings settingsDtoToSettings(SettingsWorkingTimeDto settingsDto) {
-        final Settings settings = settingsService.getSettings();
+    private static void applyDtoToSettings(SettingsWorkingTimeDto settingsDto, Settings settings) {
         settings.setId(settingsDto.getId());
         settings.setWorkingTimeSettings(settingsDto.getWorkingTimeSettings());
         settings.setOvertimeSettings(settingsDto.getOvertimeSettings());
         settings.setTimeSettings(settingsDto.getTimeSettings());
-        return settings;
     }
 }
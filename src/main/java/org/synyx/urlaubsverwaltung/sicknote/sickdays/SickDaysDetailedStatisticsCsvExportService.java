@@ -11,6 +11,7 @@ import java.text.DecimalFormat;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Locale;
+import java.util.stream.Stream;
 
 import static java.lang.String.format;
 import static java.text.NumberFormat.getInstance;
@@ -39,6 +40,11 @@ class SickDaysDetailedStatisticsCsvExportService implements CsvExportService<Sic
 
     @Override
     public void write(FilterPeriod period, Locale locale, List<SickDaysDetailedStatistics> allDetailedSickNotes, CSVWriter csvWriter) {
+        write(period, locale, allDetailedSickNotes.stream(), csvWriter);
+    }
+
+    @Override
+    public void write(FilterPeriod period, Locale locale, Stream<SickDaysDetailedStatistics> allDetailedSickNotes, CSVWriter csvWriter) {
 
         final String[] csvHeader = {
             getTranslation(locale, "person.account.basedata.personnelNumber"),
@@ -60,7 +66,7 @@ class SickDaysDetailedStatisticsCsvExportService implements CsvExportService<Sic
 
         csvWriter.writeNext(csvHeader);
 
-        allDetailedSickNotes.forEach(detailedSickNote ->
+        allDetailedSickNotes.forEachOrdered(detailedSickNote ->
             detailedSickNote.getSickNotes().forEach(sickNote -> {
                 final String[] sickNoteCsvRow = new String[csvHeader.length];
                 sickNoteCsvRow[0] = detailedSickNote.getPersonalNumber();
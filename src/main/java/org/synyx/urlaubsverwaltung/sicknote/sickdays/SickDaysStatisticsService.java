@@ -14,6 +14,7 @@ import org.synyx.urlaubsverwaltung.person.PersonId;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 import org.synyx.urlaubsverwaltung.person.basedata.PersonBasedata;
 import org.synyx.urlaubsverwaltung.person.basedata.PersonBasedataService;
+import org.synyx.urlaubsverwaltung.search.PageStreamSupport;
 import org.synyx.urlaubsverwaltung.search.PageableSearchQuery;
 import org.synyx.urlaubsverwaltung.search.SortComparator;
 import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNote;
@@ -25,8 +26,10 @@ import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
+import static java.lang.Integer.MAX_VALUE;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
+import static org.synyx.urlaubsverwaltung.person.PersonService.BASEDATA_PERSONNEL_NUMBER;
 import static org.synyx.urlaubsverwaltung.person.Role.BOSS;
 import static org.synyx.urlaubsverwaltung.person.Role.DEPARTMENT_HEAD;
 import static org.synyx.urlaubsverwaltung.person.Role.OFFICE;
@@ -38,6 +41,10 @@ import static org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteStatus.ACTIV
 @Transactional
 public class SickDaysStatisticsService {
 
+    static final int STREAM_CHUNK_SIZE = 100;
+
+    private static final String PERSONAL_NUMBER = "personalNumber";
+
     private final SickNoteService sickNoteService;
     private final DepartmentService departmentService;
     private final PersonBasedataService personBasedataService;
@@ -69,32 +76,47 @@ public class SickDaysStatisticsService {
         final List<SickNote> sickNotes = getSickNotes(person, relevantMembers, from, to);
 
         final Map<Person, List<SickNote>> sickNotesByPerson = sickNotes.stream().collect(groupingBy(SickNote::getPerson));
-        for (Person member : relevantMembers) {
-            sickNotesByPerson.putIfAbsent(member, List.of());
-        }
 
         final Map<PersonId, PersonBasedata> basedataByPersonId = personBasedataService.getBasedataByPersonId(relevantPersonIds);
         final Map<PersonId, List<String>> departmentsByPersonId = departmentService.getDepartmentNamesByMembers(relevantMembers);
 
-        Stream<SickDaysDetailedStatistics> statisticsStream = sickNotesByPerson.entrySet()
-            .stream()
-            .map(toSickNoteDetailedStatistics(basedataByPersonId, departmentsByPersonId));
+        Stream<SickDaysDetailedStatistics> statisticsStream = relevantMembers.stream()
+            .map(member -> Map.entry(member, sickNotesByPerson.getOrDefault(member, List.of())))
+            .map(toSickNoteDetailedStatistics(basedataByPersonId, departmentsByPersonId))
+            .sorted(new SortComparator<>(SickDaysDetailedStatistics.class, pageable.getSort()));
 
         if (relevantMembersPage.getPageable().isUnpaged()) {
             // we don't have to restrict the statistics if persons page is paged and or sorted already.
-            // otherwise we have fetched ALL persons -> therefore skip and limit statistics content.
+            // otherwise we have fetched ALL persons -> therefore skip and limit the sorted statistics content.
             statisticsStream = statisticsStream
                 .skip((long) pageable.getPageNumber() * pageable.getPageSize())
                 .limit(pageable.getPageSize());
         }
 
-        final List<SickDaysDetailedStatistics> content = statisticsStream
-            .sorted(new SortComparator<>(SickDaysDetailedStatistics.class, pageable.getSort()))
-            .collect(toList());
+        final List<SickDaysDetailedStatistics> content = statisticsStream.collect(toList());
 
         return new PageImpl<>(content, pageable, relevantMembersPage.getTotalElements());
     }
 
+    /**
+     * Returns all sick notes detailed statistics that the person is allowed to access as lazy stream.
+     * Statistics are computed chunk by chunk while the stream is consumed, as long as the sort can be applied to
+     * the persons. Sorting by a statistics attribute requires all statistics to be computed upfront.
+     *
+     * @param person to ask for the statistics
+     * @param from   a specific date
+     * @param to     a specific date
+     * @param sort   the sort of the statistics
+     * @return stream of all {@link SickDaysDetailedStatistics} that the person can access
+     */
+    Stream<SickDaysDetailedStatistics> streamAll(Person person, LocalDate from, LocalDate to, Sort sort) {
+        if (!isSortByPersonAttribute(sort)) {
+            return getAll(person, from, to, new PageableSearchQuery(PageRequest.of(0, MAX_VALUE, sort), "")).getContent().stream();
+        }
+
+        return PageStreamSupport.stream(chunk -> getAll(person, from, to, new PageableSearchQuery(chunk, "")), STREAM_CHUNK_SIZE, sort);
+    }
+
     private Function<Map.Entry<Person, List<SickNote>>, SickDaysDetailedStatistics> toSickNoteDetailedStatistics(Map<PersonId, PersonBasedata> basedataForPersons, Map<PersonId, List<String>> departmentsForPersons) {
         return personListEntry ->
         {
@@ -116,22 +138,23 @@ public class SickDaysStatisticsService {
 
     private Page<Person> getMembersForPerson(Person person, PageableSearchQuery pageableSearchQuery) {
         final Pageable pageable = pageableSearchQuery.getPageable();
-        final boolean sortByPerson = isSortByPersonAttribute(pageable);
 
         if (person.hasRole(OFFICE) || person.hasRole(BOSS) && person.hasRole(SICK_NOTE_VIEW)) {
-            final PageableSearchQuery query = sortByPerson
+            // the personnel number is part of the persons basedata and can be sorted by the database as well
+            final PageableSearchQuery query = isSortByPersonOrBasedataAttribute(pageable.getSort())
                 ? new PageableSearchQuery(mapToPersonPageRequest(pageable), pageableSearchQuery.getQuery())
                 : new PageableSearchQuery(PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()), pageableSearchQuery.getQuery());
 
             return personService.getActivePersons(query);
         }
 
+        final boolean sortByPerson = isSortByPersonAttribute(pageable.getSort());
         final PageableSearchQuery query = new PageableSearchQuery(sortByPerson ? mapToPersonPageRequest(pageable) : Pageable.unpaged(), pageableSearchQuery.getQuery());
         return departmentService.getManagedMembersOfPerson(person, query);
     }
 
-    private boolean isSortByPersonAttribute(Pageable pageable) {
-        for (Sort.Order order : pageable.getSort()) {
+    private boolean isSortByPersonAttribute(Sort sort) {
+        for (Sort.Order order : sort) {
             if (!order.getProperty().startsWith("person.")) {
                 return false;
             }
@@ -139,12 +162,23 @@ public class SickDaysStatisticsService {
         return true;
     }
 
+    private boolean isSortByPersonOrBasedataAttribute(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!order.getProperty().startsWith("person.") && !order.getProperty().equals(PERSONAL_NUMBER)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private PageRequest mapToPersonPageRequest(Pageable statisticsPageRequest) {
         Sort personSort = Sort.unsorted();
 
         for (Sort.Order order : statisticsPageRequest.getSort()) {
             if (order.getProperty().startsWith("person.")) {
                 personSort = personSort.and(Sort.by(order.getDirection(), order.getProperty().replace("person.", "")));
+            } else if (order.getProperty().equals(PERSONAL_NUMBER)) {
+                personSort = personSort.and(Sort.by(order.getDirection(), BASEDATA_PERSONNEL_NUMBER));
             }
         }
 
@@ -1,9 +1,6 @@
 package org.synyx.urlaubsverwaltung.sicknote.sickdays;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.SortDefault;
@@ -16,7 +13,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.synyx.urlaubsverwaltung.csv.CSVFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 import org.synyx.urlaubsverwaltung.search.PageableSearchQuery;
@@ -27,8 +24,9 @@ import java.time.Clock;
 import java.time.LocalDate;
 import java.time.Year;
 import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
-import static java.lang.Integer.MAX_VALUE;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.time.temporal.TemporalAdjusters.lastDayOfYear;
 import static org.springframework.http.HttpStatus.OK;
@@ -60,12 +58,12 @@ class SickDaysStatisticsViewController {
 
     @PreAuthorize("hasAnyAuthority('OFFICE', 'SICK_NOTE_VIEW')")
     @GetMapping("/download")
-    public ResponseEntity<ByteArrayResource> downloadCSV(@RequestParam(value = "from", defaultValue = "") String from,
-                                                         @RequestParam(value = "to", defaultValue = "") String to,
-                                                         @RequestParam(value = "allElements", defaultValue = "false") boolean allElements,
-                                                         @RequestParam(value = "query", required = false, defaultValue = "") String query,
-                                                         @SortDefault(sort = "person.firstName", direction = Sort.Direction.ASC) Pageable pageable,
-                                                         Locale locale) {
+    public ResponseEntity<StreamingResponseBody> downloadCSV(@RequestParam(value = "from", defaultValue = "") String from,
+                                                             @RequestParam(value = "to", defaultValue = "") String to,
+                                                             @RequestParam(value = "allElements", defaultValue = "false") boolean allElements,
+                                                             @RequestParam(value = "query", required = false, defaultValue = "") String query,
+                                                             @SortDefault(sort = "person.firstName", direction = Sort.Direction.ASC) Pageable pageable,
+                                                             Locale locale) {
 
         final FilterPeriod period = toFilterPeriod(from, to, locale);
 
@@ -76,20 +74,15 @@ class SickDaysStatisticsViewController {
 
         final Person signedInUser = personService.getSignedInUser();
 
-        final Pageable adaptedPageable = allElements ? PageRequest.of(0, MAX_VALUE, pageable.getSort()) : pageable;
-        final String adaptedQuery = allElements ? "" : query;
-        final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(adaptedPageable, adaptedQuery);
-
-        final Page<SickDaysDetailedStatistics> sickDaysStatisticsPage =
-            sickDaysStatisticsService.getAll(signedInUser, period.getStartDate(), period.getEndDate(), pageableSearchQuery);
-
-        final CSVFile csvFile = sickDaysDetailedStatisticsCsvExportService.generateCSV(period, locale, sickDaysStatisticsPage.getContent());
+        final Supplier<Stream<SickDaysDetailedStatistics>> sickDaysStatistics = allElements
+            ? () -> sickDaysStatisticsService.streamAll(signedInUser, period.getStartDate(), period.getEndDate(), pageable.getSort())
+            : () -> sickDaysStatisticsService.getAll(signedInUser, period.getStartDate(), period.getEndDate(), new PageableSearchQuery(pageable, query)).getContent().stream();
 
         final HttpHeaders headers = new HttpHeaders();
         headers.setContentType(new MediaType("text", "csv", UTF_8));
-        headers.setContentDisposition(ContentDisposition.builder("attachment").filename(csvFile.fileName(), UTF_8).build());
+        headers.setContentDisposition(ContentDisposition.builder("attachment").filename(sickDaysDetailedStatisticsCsvExportService.fileName(period, locale), UTF_8).build());
 
-        return ResponseEntity.status(OK).headers(headers).body(csvFile.resource());
+        return ResponseEntity.status(OK).headers(headers).body(sickDaysDetailedStatisticsCsvExportService.streamingResource(period, locale, sickDaysStatistics));
     }
 
     private FilterPeriod toFilterPeriod(String startDateString, String endDateString, Locale locale) {
@@ -15,13 +15,17 @@ import java.util.List;
  */
 interface SickNoteRepository extends CrudRepository<SickNoteEntity, Long> {
 
-    @Query(
-        "SELECT x FROM SickNoteEntity x WHERE x.person = ?1 AND "
-            + "((x.startDate BETWEEN ?2 AND ?3) OR (x.endDate BETWEEN ?2 AND ?3) "
-            + "OR (x.startDate < ?2 and x.endDate > ?3)) "
-            + "ORDER BY x.startDate"
+    // NOTE: the overlap of the periods is checked with the daterange operator to use the gist index idx_sick_note_period
+    @Query(value = """
+        SELECT *
+        FROM sick_note
+        WHERE person_id = :#{#person.id}
+        AND daterange(start_date, end_date, '[]') && daterange(:startDate, :endDate, '[]')
+        ORDER BY start_date
+        """
+        , nativeQuery = true
     )
-    List<SickNoteEntity> findByPersonAndPeriod(Person person, LocalDate startDate, LocalDate endDate);
+    List<SickNoteEntity> findByPersonAndPeriod(@Param("person") Person person, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
     @Query("SELECT COUNT(DISTINCT x.person) FROM SickNoteEntity x WHERE YEAR(x.startDate) = ?1 OR YEAR(x.endDate) = ?1 AND x.status = 'ACTIVE'")
     Long findNumberOfPersonsWithMinimumOneSickNote(int year);
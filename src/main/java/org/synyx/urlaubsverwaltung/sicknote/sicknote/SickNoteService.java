@@ -28,6 +28,15 @@ public interface SickNoteService {
      */
     Optional<SickNote> getById(Long id);
 
+    /**
+     * Gets the sick notes with the given ids. The working time of the persons is not loaded,
+     * so the work days of the returned sick notes are not available.
+     *
+     * @param sickNoteIds to search the sick notes by
+     * @return sick notes matching the given ids, unknown ids are ignored
+     */
+    List<SickNote> findSickNotesByIds(Iterable<Long> sickNoteIds);
+
     /**
      * Get all the sick notes of the given person that are in the given period.
      *
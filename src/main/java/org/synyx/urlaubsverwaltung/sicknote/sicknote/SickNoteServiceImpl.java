@@ -18,6 +18,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.StreamSupport;
 
 import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.toList;
@@ -67,6 +68,13 @@ class SickNoteServiceImpl implements SickNoteService {
                 });
     }
 
+    @Override
+    public List<SickNote> findSickNotesByIds(Iterable<Long> sickNoteIds) {
+        return StreamSupport.stream(sickNoteRepository.findAllById(sickNoteIds).spliterator(), false)
+                .map(SickNoteServiceImpl::toSickNote)
+                .toList();
+    }
+
     @Override
     public List<SickNote> getByPersonAndPeriod(Person person, LocalDate from, LocalDate to) {
         final List<SickNoteEntity> entities = sickNoteRepository.findByPersonAndPeriod(person, from, to);
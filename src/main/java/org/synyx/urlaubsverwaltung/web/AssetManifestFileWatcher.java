@@ -0,0 +1,65 @@
+package org.synyx.urlaubsverwaltung.web;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.devtools.filewatch.FileSystemWatcher;
+import org.springframework.boot.devtools.system.DevToolsEnablementDeducer;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.synyx.urlaubsverwaltung.web.AssetManifestService.ASSETS_MANIFEST_FILE;
+
+/**
+ * Reloads the {@link AssetManifestService} when the manifest file changes, e.g. by 'npm run build:watch'.
+ * Only active when the spring boot devtools are enabled.
+ */
+class AssetManifestFileWatcher implements InitializingBean, DisposableBean {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private final AssetManifestService assetManifestService;
+    private final ResourceLoader resourceLoader;
+
+    private FileSystemWatcher fileSystemWatcher;
+
+    AssetManifestFileWatcher(AssetManifestService assetManifestService, ResourceLoader resourceLoader) {
+        this.assetManifestService = assetManifestService;
+        this.resourceLoader = resourceLoader;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!DevToolsEnablementDeducer.shouldEnable(Thread.currentThread())) {
+            return;
+        }
+
+        final File manifestFile;
+        try {
+            manifestFile = resourceLoader.getResource(ASSETS_MANIFEST_FILE).getFile();
+        } catch (IOException e) {
+            LOG.info("{} is not a file in the file system, changes will not be watched.", ASSETS_MANIFEST_FILE);
+            return;
+        }
+
+        fileSystemWatcher = new FileSystemWatcher(true, Duration.ofSeconds(1), Duration.ofMillis(400));
+        fileSystemWatcher.addSourceDirectory(manifestFile.getParentFile());
+        fileSystemWatcher.setTriggerFilter(file -> file.getName().equals(manifestFile.getName()));
+        fileSystemWatcher.addListener(changeSet -> assetManifestService.reload());
+        fileSystemWatcher.start();
+
+        LOG.info("watching {} for changes", manifestFile);
+    }
+
+    @Override
+    public void destroy() {
+        if (fileSystemWatcher != null) {
+            fileSystemWatcher.stop();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package org.synyx.urlaubsverwaltung.web;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+
+@Configuration
+@ConditionalOnClass(name = "org.springframework.boot.devtools.filewatch.FileSystemWatcher")
+class AssetManifestFileWatcherConfiguration {
+
+    @Bean
+    AssetManifestFileWatcher assetManifestFileWatcher(AssetManifestService assetManifestService, ResourceLoader resourceLoader) {
+        return new AssetManifestFileWatcher(assetManifestService, resourceLoader);
+    }
+}
@@ -2,6 +2,9 @@ package org.synyx.urlaubsverwaltung.web;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Service;
 
@@ -9,17 +12,30 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static java.lang.String.format;
-import static java.util.stream.Collectors.toMap;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.stream.Collectors.toUnmodifiableMap;
+import static org.slf4j.LoggerFactory.getLogger;
 import static org.springframework.util.StringUtils.hasText;
 
+/**
+ * Provides the hashed frontend assets of the {@value ASSETS_MANIFEST_FILE}.
+ * <p>
+ * The manifest is parsed once and the assets are cached per context path.
+ * Use {@link #reload()} to parse the manifest again on the next access.
+ */
 @Service
 public class AssetManifestService {
 
-    private static final String ASSETS_MANIFEST_FILE = "classpath:assets-manifest.json";
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    static final String ASSETS_MANIFEST_FILE = "classpath:assets-manifest.json";
 
     private final ResourceLoader resourceLoader;
+    private final AtomicReference<AssetManifest> assetManifest = new AtomicReference<>();
 
     public AssetManifestService(ResourceLoader resourceLoader) {
         this.resourceLoader = resourceLoader;
@@ -30,24 +46,48 @@ public class AssetManifestService {
     }
 
     public Map<String, Asset> getAssets(String contextPath) {
-        return readAssetManifest()
-            .entrySet()
-            .stream()
-            .collect(toMap(Map.Entry::getKey, entry -> withContext(entry.getValue(), contextPath)));
+        return getAssetManifest().getAssets(contextPath);
+    }
+
+    /**
+     * Discards the parsed manifest. It is read again on the next access.
+     */
+    public void reload() {
+        assetManifest.set(null);
+        LOG.info("discarded parsed {}", ASSETS_MANIFEST_FILE);
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    void parseAssetManifestOnStartup() {
+        try {
+            getAssetManifest();
+        } catch (IllegalStateException e) {
+            LOG.warn("could not parse {} on startup.", ASSETS_MANIFEST_FILE, e);
+        }
     }
 
     private Asset getAsset(String assetNameWithoutHash, String contextPath) {
 
-        final Map<String, Asset> assets = readAssetManifest();
+        final Map<String, Asset> assets = getAssets(contextPath);
 
         if (assets.containsKey(assetNameWithoutHash)) {
-            return withContext(assets.get(assetNameWithoutHash), contextPath);
+            return assets.get(assetNameWithoutHash);
         }
 
         throw new IllegalStateException(format("could not resolve given asset name=%s", assetNameWithoutHash));
     }
 
-    private Asset withContext(Asset asset, String contextPath) {
+    private AssetManifest getAssetManifest() {
+        final AssetManifest currentAssetManifest = assetManifest.get();
+        if (currentAssetManifest != null) {
+            return currentAssetManifest;
+        }
+
+        final AssetManifest parsedAssetManifest = new AssetManifest(readAssetManifest());
+        return assetManifest.compareAndSet(null, parsedAssetManifest) ? parsedAssetManifest : getAssetManifest();
+    }
+
+    private static Asset withContext(Asset asset, String contextPath) {
         final String assetUrl = withContext(asset.getUrl(), contextPath);
         final List<String> dependencies = asset.getDependencies().stream().map(url -> withContext(url, contextPath)).toList();
         return new Asset(assetUrl, dependencies);
@@ -63,8 +103,8 @@ public class AssetManifestService {
     private Map<String, Asset> readAssetManifest() {
         final InputStream manifest = getManifestFile();
         final ObjectMapper objectMapper = new ObjectMapper();
-        try {
-            return objectMapper.readValue(manifest, new TypeReference<>() {});
+        try (manifest) {
+            return Map.copyOf(objectMapper.readValue(manifest, new TypeReference<Map<String, Asset>>() {}));
         } catch (IOException e) {
             throw new IllegalStateException("could not parse manifest json file");
         }
@@ -78,4 +118,27 @@ public class AssetManifestService {
             throw new IllegalStateException(message);
         }
     }
+
+    /**
+     * Parsed manifest with the assets prefixed by the context path, computed once per context path.
+     */
+    private static final class AssetManifest {
+
+        private final Map<String, Asset> assets;
+        private final Map<String, Map<String, Asset>> assetsByContextPath = new ConcurrentHashMap<>();
+
+        private AssetManifest(Map<String, Asset> assets) {
+            this.assets = assets;
+        }
+
+        Map<String, Asset> getAssets(String contextPath) {
+            return assetsByContextPath.computeIfAbsent(contextPath == null ? "" : contextPath, this::withContextPath);
+        }
+
+        private Map<String, Asset> withContextPath(String contextPath) {
+            return assets.entrySet()
+                .stream()
+                .collect(toUnmodifiableMap(Map.Entry::getKey, entry -> withContext(entry.getValue(), contextPath)));
+        }
+    }
 }
@@ -9,12 +9,14 @@ import org.synyx.urlaubsverwaltung.publicholiday.PublicHoliday;
 import org.synyx.urlaubsverwaltung.publicholiday.PublicHolidaysService;
 
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
 
 import static java.math.RoundingMode.UNNECESSARY;
+import static java.time.temporal.ChronoUnit.DAYS;
 import static java.time.format.DateTimeFormatter.ofPattern;
 import static org.synyx.urlaubsverwaltung.util.DateAndTimeFormat.DD_MM_YYYY;
 
@@ -52,38 +54,82 @@ public class WorkDaysCountService {
                 + "' in period " + startDate.format(ofPattern(DD_MM_YYYY)) + " - " + endDate.format(ofPattern(DD_MM_YYYY)));
         }
 
-        final Map<LocalDate, WorkingTime> workingTimesByDate = toLocalDateWorkingTime(workingTimes);
+        // the working duration of a day is the product of the working duration of a public holiday (1, 0.5 or 0)
+        // and the day length of the working time (1, 0.5 or 0), therefore it is counted in quarter days.
+        long quarterDays = 0;
+        long countedDays = 0;
+        for (Map.Entry<DateRange, WorkingTime> workingTimeEntry : workingTimes.entrySet()) {
+            final LocalDate from = max(workingTimeEntry.getKey().startDate(), startDate);
+            final LocalDate to = min(workingTimeEntry.getKey().endDate(), endDate);
+            if (!from.isAfter(to)) {
+                quarterDays += quarterDays(from, to, workingTimeEntry.getValue());
+                countedDays += DAYS.between(from, to) + 1;
+            }
+        }
 
-        BigDecimal vacationDays = BigDecimal.ZERO;
-        LocalDate day = startDate;
-        while (!day.isAfter(endDate)) {
+        if (countedDays < DAYS.between(startDate, endDate) + 1) {
+            throw new WorkDaysCountException("No working time found for every day of user '" + person.getId()
+                + "' in period " + startDate.format(ofPattern(DD_MM_YYYY)) + " - " + endDate.format(ofPattern(DD_MM_YYYY)));
+        }
 
-            final WorkingTime workingTime = workingTimesByDate.get(day);
+        final BigDecimal vacationDays = BigDecimal.valueOf(quarterDays * 25, 2);
 
-            // value may be 1 for public holiday, 0 for not public holiday or 0.5 for Christmas Eve or New Year's Eve
-            final Optional<PublicHoliday> maybePublicHoliday = publicHolidaysService.getPublicHoliday(day, workingTime.getFederalState());
-            final BigDecimal duration = maybePublicHoliday.isPresent() ? maybePublicHoliday.get().getWorkingDuration() : BigDecimal.ONE;
+        // vacation days < 1 day --> must not be divided, else an ArithmeticException is thrown
+        if (vacationDays.compareTo(BigDecimal.ONE) < 0) {
+            return vacationDays.setScale(1, UNNECESSARY);
+        }
 
-            final BigDecimal workingDuration = workingTime.getDayLengthForWeekDay(day.getDayOfWeek()).getDuration();
+        return vacationDays.multiply(dayLength.getDuration()).setScale(1, UNNECESSARY);
+    }
 
-            final BigDecimal result = duration.multiply(workingDuration);
+    /**
+     * Counts the quarter days to work from the given start to end date with the given working time: the half days
+     * of the weekly pattern are summed up for the full weeks and the days left over, then the public holidays
+     * are subtracted.
+     */
+    private long quarterDays(LocalDate from, LocalDate to, WorkingTime workingTime) {
 
-            vacationDays = vacationDays.add(result);
+        final int[] halfDaysByDayOfWeek = new int[7];
+        int halfDaysOfWeek = 0;
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            halfDaysByDayOfWeek[dayOfWeek.ordinal()] = halfDays(workingTime.getDayLengthForWeekDay(dayOfWeek));
+            halfDaysOfWeek += halfDaysByDayOfWeek[dayOfWeek.ordinal()];
+        }
 
-            day = day.plusDays(1);
+        final long days = DAYS.between(from, to) + 1;
+        long halfDays = (days / 7) * halfDaysOfWeek;
+        final int firstDayOfWeek = from.getDayOfWeek().ordinal();
+        for (int i = 0; i < days % 7; i++) {
+            halfDays += halfDaysByDayOfWeek[(firstDayOfWeek + i) % 7];
         }
 
-        // vacation days < 1 day --> must not be divided, else an ArithmeticException is thrown
-        if (vacationDays.compareTo(BigDecimal.ONE) < 0) {
-            return vacationDays.setScale(1, UNNECESSARY);
+        long quarterDays = 2 * halfDays;
+
+        // only the first public holiday of a day is considered
+        final Set<LocalDate> publicHolidayDates = new HashSet<>();
+        for (PublicHoliday publicHoliday : publicHolidaysService.getPublicHolidays(from, to, workingTime.getFederalState())) {
+            if (publicHolidayDates.add(publicHoliday.date())) {
+                final int publicHolidayHalfDays = 2 - halfDays(publicHoliday.dayLength().getInverse());
+                quarterDays -= (long) publicHolidayHalfDays * halfDaysByDayOfWeek[publicHoliday.date().getDayOfWeek().ordinal()];
+            }
         }
 
-        return vacationDays.multiply(dayLength.getDuration()).setScale(1, UNNECESSARY);
+        return quarterDays;
+    }
+
+    private static int halfDays(DayLength dayLength) {
+        return switch (dayLength) {
+            case FULL -> 2;
+            case MORNING, NOON -> 1;
+            case ZERO -> 0;
+        };
+    }
+
+    private static LocalDate max(LocalDate localDate, LocalDate localDate2) {
+        return localDate.isBefore(localDate2) ? localDate2 : localDate;
     }
 
-    private Map<LocalDate, WorkingTime> toLocalDateWorkingTime(Map<DateRange, WorkingTime> workingTimes) {
-        final Map<LocalDate, WorkingTime> localDateWorkingTimeMap = new HashMap<>();
-        workingTimes.forEach((key, value) -> key.iterator().forEachRemaining(localDate -> localDateWorkingTimeMap.put(localDate, value)));
-        return localDateWorkingTimeMap;
+    private static LocalDate min(LocalDate localDate, LocalDate localDate2) {
+        return localDate.isBefore(localDate2) ? localDate : localDate2;
     }
 }
@@ -5,11 +5,15 @@ import org.synyx.urlaubsverwaltung.application.application.Application;
 import org.synyx.urlaubsverwaltung.period.DayLength;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 
+import static java.lang.Math.toIntExact;
+import static java.util.Collections.unmodifiableMap;
+
 /**
  * Provides information about the {@link DayLength} on a given {@link LocalDate} including publicHolidays.
  * For instance:
@@ -22,8 +26,75 @@ import java.util.Optional;
  * </ul>
  * <p>
  * Should be used in combination with a {@link Map} to keep relation to a {@link org.synyx.urlaubsverwaltung.person.Person} for example.
+ * <p>
+ * The days are stored as one byte per day and the full and half days are counted as prefix sums,
+ * so that the working time of a date range is calculated in constant time.
  */
-public record WorkingTimeCalendar(Map<LocalDate, WorkingDayInformation> workingDays) {
+public final class WorkingTimeCalendar {
+
+    private static final byte ABSENT = 0;
+    private static final WorkingDayInformation[] WORKING_DAY_INFORMATION = workingDayInformationByCode();
+
+    private final long firstEpochDay;
+    private final byte[] days;
+    private final int[] fullDaysBefore;
+    private final int[] halfDaysBefore;
+
+    /**
+     * @param workingDays the {@link WorkingDayInformation} by date, dates without an entry are unknown to the calendar
+     */
+    public WorkingTimeCalendar(Map<LocalDate, WorkingDayInformation> workingDays) {
+        final long minEpochDay = workingDays.keySet().stream().mapToLong(LocalDate::toEpochDay).min().orElse(0);
+        final long maxEpochDay = workingDays.keySet().stream().mapToLong(LocalDate::toEpochDay).max().orElse(-1);
+
+        this.firstEpochDay = minEpochDay;
+        this.days = new byte[toIntExact(maxEpochDay - minEpochDay + 1)];
+        workingDays.forEach((date, workingDayInformation) ->
+            days[toIntExact(date.toEpochDay() - minEpochDay)] = codeOf(workingDayInformation));
+
+        this.fullDaysBefore = new int[days.length + 1];
+        this.halfDaysBefore = new int[days.length + 1];
+        countDayLengths();
+    }
+
+    /**
+     * @param firstDate   the date of the first element of workingDays
+     * @param workingDays the {@link WorkingDayInformation} of consecutive days, {@code null} for unknown days
+     */
+    WorkingTimeCalendar(LocalDate firstDate, WorkingDayInformation[] workingDays) {
+        int first = 0;
+        while (first < workingDays.length && workingDays[first] == null) {
+            first++;
+        }
+        int last = workingDays.length - 1;
+        while (last >= first && workingDays[last] == null) {
+            last--;
+        }
+
+        this.firstEpochDay = firstDate.toEpochDay() + first;
+        this.days = new byte[last - first + 1];
+        for (int i = 0; i < days.length; i++) {
+            final WorkingDayInformation workingDayInformation = workingDays[first + i];
+            days[i] = workingDayInformation == null ? ABSENT : codeOf(workingDayInformation);
+        }
+
+        this.fullDaysBefore = new int[days.length + 1];
+        this.halfDaysBefore = new int[days.length + 1];
+        countDayLengths();
+    }
+
+    /**
+     * @return the {@link WorkingDayInformation} by date, ordered by date
+     */
+    public Map<LocalDate, WorkingDayInformation> workingDays() {
+        final Map<LocalDate, WorkingDayInformation> workingDays = new LinkedHashMap<>();
+        for (int i = 0; i < days.length; i++) {
+            if (days[i] != ABSENT) {
+                workingDays.put(LocalDate.ofEpochDay(firstEpochDay + i), WORKING_DAY_INFORMATION[days[i]]);
+            }
+        }
+        return unmodifiableMap(workingDays);
+    }
 
     /**
      * @param application
@@ -43,18 +114,15 @@ public record WorkingTimeCalendar(Map<LocalDate, WorkingDayInformation> workingD
         final Optional<DateRange> overlap = dateRange.overlap(applicationDateRange);
         if (overlap.isEmpty()) {
             return BigDecimal.ZERO;
-        } else {
-            BigDecimal workingTimeSum = BigDecimal.ZERO;
-            for (LocalDate localDate : overlap.get()) {
-                final BigDecimal workingTime = workingTime(localDate).orElse(BigDecimal.ZERO);
-                if (application.getDayLength().isHalfDay()) {
-                    workingTimeSum = workingTimeSum.add(workingTime.divide(BigDecimal.valueOf(2), 1, RoundingMode.CEILING));
-                } else {
-                    workingTimeSum = workingTimeSum.add(workingTime);
-                }
-            }
-            return workingTimeSum;
         }
+
+        final LocalDate from = overlap.get().startDate();
+        final LocalDate to = overlap.get().endDate();
+        if (application.getDayLength().isHalfDay()) {
+            // half of a full day is 0.5 and half of a half day is rounded up to 0.3
+            return BigDecimal.valueOf(5L * fullDays(from, to) + 3L * halfDays(from, to), 1);
+        }
+        return workingTime(from, to);
     }
 
     /**
@@ -79,10 +147,11 @@ public record WorkingTimeCalendar(Map<LocalDate, WorkingDayInformation> workingD
      * @return the {@linkplain DayLength} workingTime for the given date (e.g. DayLength.MORNING), or empty {@linkplain Optional} when there is no entry found.
      */
     public Optional<DayLength> workingTimeDayLength(LocalDate localDate) {
-        if (workingDays.containsKey(localDate)) {
-            return Optional.of(workingDays.get(localDate).dayLength());
+        final long index = localDate.toEpochDay() - firstEpochDay;
+        if (index < 0 || index >= days.length || days[(int) index] == ABSENT) {
+            return Optional.empty();
         }
-        return Optional.empty();
+        return Optional.of(WORKING_DAY_INFORMATION[days[(int) index]].dayLength());
     }
 
     /**
@@ -96,17 +165,85 @@ public record WorkingTimeCalendar(Map<LocalDate, WorkingDayInformation> workingD
             return BigDecimal.ZERO;
         }
 
-        BigDecimal sum = BigDecimal.ZERO;
+        final long halfDays = halfDays(from, to);
+        final long halfDayUnits = 2L * fullDays(from, to) + halfDays;
+        if (halfDays > 0) {
+            return BigDecimal.valueOf(halfDayUnits * 5, 1);
+        }
+        return BigDecimal.valueOf(halfDayUnits / 2);
+    }
+
+    private int fullDays(LocalDate from, LocalDate to) {
+        return fullDaysBefore[indexAfter(to)] - fullDaysBefore[indexOf(from)];
+    }
+
+    private int halfDays(LocalDate from, LocalDate to) {
+        return halfDaysBefore[indexAfter(to)] - halfDaysBefore[indexOf(from)];
+    }
+
+    private int indexOf(LocalDate date) {
+        return (int) Math.clamp(date.toEpochDay() - firstEpochDay, 0, days.length);
+    }
+
+    private int indexAfter(LocalDate date) {
+        return (int) Math.clamp(date.toEpochDay() - firstEpochDay + 1, 0, days.length);
+    }
+
+    private void countDayLengths() {
+        for (int i = 0; i < days.length; i++) {
+            final DayLength dayLength = days[i] == ABSENT ? DayLength.ZERO : WORKING_DAY_INFORMATION[days[i]].dayLength();
+            fullDaysBefore[i + 1] = fullDaysBefore[i] + (dayLength.isFull() ? 1 : 0);
+            halfDaysBefore[i + 1] = halfDaysBefore[i] + (dayLength.isHalfDay() ? 1 : 0);
+        }
+    }
 
-        for (Map.Entry<LocalDate, WorkingDayInformation> entry : workingDays.entrySet()) {
-            final LocalDate localDate = entry.getKey();
-            if (!localDate.isBefore(from) && !localDate.isAfter(to)) {
-                final DayLength dayLength = entry.getValue().dayLength();
-                sum = sum.add(dayLength.getDuration());
+    private static byte codeOf(WorkingDayInformation workingDayInformation) {
+        final int entryTypes = WorkingDayInformation.WorkingTimeCalendarEntryType.values().length;
+        final int morning = workingDayInformation.morning() == null ? entryTypes : workingDayInformation.morning().ordinal();
+        final int noon = workingDayInformation.noon() == null ? entryTypes : workingDayInformation.noon().ordinal();
+        return (byte) (1 + (workingDayInformation.dayLength().ordinal() * (entryTypes + 1) + morning) * (entryTypes + 1) + noon);
+    }
+
+    /**
+     * All possible {@link WorkingDayInformation} indexed by their code, so that a day is stored as a single byte.
+     * An entry type of {@code null} is encoded as an additional value after the last entry type.
+     */
+    private static WorkingDayInformation[] workingDayInformationByCode() {
+        final WorkingDayInformation.WorkingTimeCalendarEntryType[] entryTypes = Arrays.copyOf(WorkingDayInformation.WorkingTimeCalendarEntryType.values(), WorkingDayInformation.WorkingTimeCalendarEntryType.values().length + 1);
+        final DayLength[] dayLengths = DayLength.values();
+
+        final WorkingDayInformation[] workingDayInformation = new WorkingDayInformation[1 + dayLengths.length * entryTypes.length * entryTypes.length];
+        for (DayLength dayLength : dayLengths) {
+            for (WorkingDayInformation.WorkingTimeCalendarEntryType morning : entryTypes) {
+                for (WorkingDayInformation.WorkingTimeCalendarEntryType noon : entryTypes) {
+                    final WorkingDayInformation information = new WorkingDayInformation(dayLength, morning, noon);
+                    workingDayInformation[codeOf(information)] = information;
+                }
             }
         }
+        return workingDayInformation;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final WorkingTimeCalendar that = (WorkingTimeCalendar) o;
+        return (days.length == 0 || firstEpochDay == that.firstEpochDay) && Arrays.equals(days, that.days);
+    }
+
+    @Override
+    public int hashCode() {
+        return days.length == 0 ? 0 : 31 * Long.hashCode(firstEpochDay) + Arrays.hashCode(days);
+    }
 
-        return sum;
+    @Override
+    public String toString() {
+        return "WorkingTimeCalendar[workingDays=" + workingDays() + ']';
     }
 
     public record WorkingDayInformation(
@@ -15,12 +15,12 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.Year;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
 
+import static java.time.temporal.ChronoUnit.DAYS;
 import static java.time.temporal.TemporalAdjusters.lastDayOfYear;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toMap;
@@ -68,7 +68,7 @@ class WorkingTimeCalendarServiceImpl implements WorkingTimeCalendarService {
                 .filter(workingTime -> !workingTime.getValidFrom().isAfter(end))
                 .toList();
 
-            final Map<LocalDate, WorkingDayInformation> dayLengthByDate = new HashMap<>();
+            final WorkingDayInformation[] workingDays = new WorkingDayInformation[(int) Math.max(0, DAYS.between(start, end) + 1)];
 
             LocalDate nextEnd = end;
 
@@ -82,7 +82,7 @@ class WorkingTimeCalendarServiceImpl implements WorkingTimeCalendarService {
                 }
 
                 for (LocalDate date : workingTimeDateRange) {
-                    dayLengthByDate.put(date, getWorkDayLengthForWeekDay(date, workingTime, workingTimeSettings));
+                    workingDays[(int) DAYS.between(start, date)] = getWorkDayLengthForWeekDay(date, workingTime, workingTimeSettings);
                 }
 
                 if (workingTimeDateRange.startDate().equals(start)) {
@@ -92,7 +92,7 @@ class WorkingTimeCalendarServiceImpl implements WorkingTimeCalendarService {
                 nextEnd = workingTime.getValidFrom().minusDays(1);
             }
 
-            return Map.entry(person, new WorkingTimeCalendar(dayLengthByDate));
+            return Map.entry(person, new WorkingTimeCalendar(start, workingDays));
         }).collect(toMap(Map.Entry::getKey, Map.Entry::getValue));
     }
 
@@ -2,6 +2,7 @@ package org.synyx.urlaubsverwaltung.workingtime;
 
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.synyx.urlaubsverwaltung.CachedSupplier;
@@ -35,13 +36,15 @@ class WorkingTimeServiceImpl implements WorkingTimeService, WorkingTimeWriteServ
 
     private final WorkingTimeRepository workingTimeRepository;
     private final SettingsService settingsService;
+    private final ApplicationEventPublisher applicationEventPublisher;
     private final Clock clock;
 
     @Autowired
-    public WorkingTimeServiceImpl(WorkingTimeRepository workingTimeRepository,
-                                  SettingsService settingsService, Clock clock) {
+    public WorkingTimeServiceImpl(WorkingTimeRepository workingTimeRepository, SettingsService settingsService,
+                                  ApplicationEventPublisher applicationEventPublisher, Clock clock) {
         this.workingTimeRepository = workingTimeRepository;
         this.settingsService = settingsService;
+        this.applicationEventPublisher = applicationEventPublisher;
         this.clock = clock;
     }
 
@@ -74,6 +77,8 @@ class WorkingTimeServiceImpl implements WorkingTimeService, WorkingTimeWriteServ
 
         workingTimeRepository.save(workingTimeEntity);
         LOG.info("Created working time {} for person {}", workingTimeEntity, person);
+
+        applicationEventPublisher.publishEvent(new WorkingTimeUpdatedEvent(person));
     }
 
     @Override
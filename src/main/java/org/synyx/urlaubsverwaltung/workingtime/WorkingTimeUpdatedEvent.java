@@ -0,0 +1,10 @@
+package org.synyx.urlaubsverwaltung.workingtime;
+
+import org.synyx.urlaubsverwaltung.person.Person;
+
+/**
+ * Indicates that a working time of the person has been created or changed.
+ */
+public record WorkingTimeUpdatedEvent(Person person) {
+
+}
@@ -0,0 +1,79 @@
+package org.synyx.urlaubsverwaltung;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.nCopies;
+import static java.util.stream.Collectors.joining;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Records the SQL Hibernate generates for a repository call and returns its query plan, so that tests verify the
+ * indexes used by the actual query and not by a copy of it.
+ * <p>
+ * Hibernate must be configured with {@value #PROPERTY}.
+ */
+public class QueryPlanRecorder implements StatementInspector {
+
+    public static final String PROPERTY = "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.synyx.urlaubsverwaltung.QueryPlanRecorder";
+
+    private static final ThreadLocal<List<String>> recordedStatements = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        final List<String> statements = recordedStatements.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Returns the generic query plan of the single statement executed by the given repository call. Sequential scans
+     * are disabled, since they are always cheaper for the few rows of the test database and the query plan shows
+     * whether an index can be used at all. The plan is generic, so it does not depend on parameter values.
+     *
+     * @param entityManager  of the current transaction
+     * @param repositoryCall executing exactly one query
+     * @return the query plan of the executed query
+     */
+    public static String explain(EntityManager entityManager, Runnable repositoryCall) {
+
+        entityManager.flush();
+
+        final List<String> statements = new ArrayList<>();
+        recordedStatements.set(statements);
+        try {
+            repositoryCall.run();
+        } finally {
+            recordedStatements.remove();
+        }
+        assertThat(statements).hasSize(1);
+
+        final String sql = statements.get(0);
+        final StringBuilder preparedSql = new StringBuilder();
+        int parameterCount = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                preparedSql.append('$').append(++parameterCount);
+            } else {
+                preparedSql.append(c);
+            }
+        }
+
+        entityManager.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+        entityManager.createNativeQuery("SET LOCAL plan_cache_mode = force_generic_plan").executeUpdate();
+        entityManager.createNativeQuery("PREPARE recorded_query AS " + preparedSql).executeUpdate();
+        try {
+            final String parameters = parameterCount == 0 ? "" : "(" + String.join(", ", nCopies(parameterCount, "NULL")) + ")";
+            return ((List<?>) entityManager.createNativeQuery("EXPLAIN EXECUTE recorded_query" + parameters).getResultList()).stream()
+                .map(String::valueOf)
+                .collect(joining("\n"));
+        } finally {
+            entityManager.createNativeQuery("DEALLOCATE recorded_query").executeUpdate();
+        }
+    }
+}
@@ -29,6 +29,7 @@ import org.synyx.urlaubsverwaltung.person.PersonService;
 import org.synyx.urlaubsverwaltung.person.Role;
 import org.synyx.urlaubsverwaltung.publicholiday.PublicHoliday;
 import org.synyx.urlaubsverwaltung.publicholiday.PublicHolidaysService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTime;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeService;
 
 import java.time.Clock;
@@ -37,6 +38,7 @@ import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.ZoneId;
 import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -44,8 +46,11 @@ import java.util.stream.Stream;
 
 import static java.time.Month.DECEMBER;
 import static java.time.Month.JANUARY;
+import static java.time.Month.JUNE;
 import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.CoreMatchers.everyItem;
 import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.Matchers.contains;
@@ -55,7 +60,9 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mockingDetails;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -5179,6 +5186,66 @@ class AbsenceOverviewViewControllerTest {
             ));
     }
 
+    @Test
+    void ensureAbsenceOverviewOfAYearIndexesWorkingTimesAndAbsenceRecordsOnlyOnce() throws Exception {
+
+        final int numberOfPersons = 50;
+
+        final List<Person> persons = new ArrayList<>();
+        final List<WorkingTime> workingTimes = new ArrayList<>();
+        final List<AbsencePeriod.Record> records = new ArrayList<>();
+        for (long id = 1; id <= numberOfPersons; id++) {
+            final Person person = person("person-" + id);
+            person.setId(id);
+            person.setPermissions(List.of(USER, OFFICE));
+            persons.add(person);
+
+            workingTimes.add(spy(new WorkingTime(person, LocalDate.of(2021, JANUARY, 1), GERMANY_BADEN_WUERTTEMBERG, true)));
+            workingTimes.add(spy(new WorkingTime(person, LocalDate.of(2022, JUNE, 1), GERMANY_BADEN_WUERTTEMBERG, true)));
+
+            for (LocalDate date = LocalDate.of(2022, JANUARY, 3); date.getYear() == 2022; date = date.plusWeeks(1)) {
+                final AbsencePeriod.RecordMorningVacation morning = new AbsencePeriod.RecordMorningVacation(person, id, AbsencePeriod.AbsenceStatus.ALLOWED, "HOLIDAY", 42L, false);
+                records.add(spy(new AbsencePeriod.Record(date, person, morning)));
+            }
+        }
+
+        when(personService.getSignedInUser()).thenReturn(persons.getFirst());
+        when(departmentService.getNumberOfDepartments()).thenReturn(0L);
+        when(personService.getActivePersons()).thenReturn(persons);
+
+        final VacationType<?> vacationType = ProvidedVacationType.builder(new StaticMessageSource()).id(42L).color(ORANGE).category(VacationCategory.HOLIDAY).build();
+        when(vacationTypeService.getAllVacationTypes()).thenReturn(List.of(vacationType));
+
+        when(workingTimeService.getByPersons(persons)).thenReturn(workingTimes);
+        when(absenceService.getOpenAbsences(persons, LocalDate.of(2022, JANUARY, 1), LocalDate.of(2022, DECEMBER, 31)))
+            .thenReturn(List.of(new AbsencePeriod(records)));
+
+        perform(get("/web/absences")
+            .param("year", "2022")
+            .param("month", "")
+            .locale(Locale.GERMANY))
+            .andExpect(status().isOk())
+            .andExpect(model().attribute("absenceOverview", hasProperty("months", hasSize(12))))
+            .andExpect(model().attribute("absenceOverview", hasProperty("months", everyItem(hasProperty("persons", hasSize(numberOfPersons))))));
+
+        // the overview must not rescan working times and absence records for every day and person.
+        // every working time and record is touched a constant number of times, independent of days and persons.
+        for (WorkingTime workingTime : workingTimes) {
+            assertThat(invocationsOf(workingTime, "getPerson")).isLessThanOrEqualTo(1);
+            assertThat(invocationsOf(workingTime, "getValidFrom")).isLessThanOrEqualTo(20);
+        }
+        for (AbsencePeriod.Record record : records) {
+            assertThat(invocationsOf(record, "getPerson")).isLessThanOrEqualTo(1);
+            assertThat(invocationsOf(record, "getDate")).isLessThanOrEqualTo(1);
+        }
+    }
+
+    private static long invocationsOf(Object spy, String methodName) {
+        return mockingDetails(spy).getInvocations().stream()
+            .filter(invocation -> invocation.getMethod().getName().equals(methodName))
+            .count();
+    }
+
     private static Department department() {
         return department("superheroes");
     }
@@ -9,15 +9,21 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.synyx.urlaubsverwaltung.absence.DateRange;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.settings.Settings;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendar;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendarService;
 
 import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.Year;
 import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -53,10 +59,12 @@ class AccountInteractionServiceImplTest {
     private Clock clock;
     @Mock
     private SettingsService settingsService;
+    @Mock
+    private WorkingTimeCalendarService workingTimeCalendarService;
 
     @BeforeEach
     void setup() {
-        sut = new AccountInteractionServiceImpl(accountService, vacationDaysService, settingsService, clock);
+        sut = new AccountInteractionServiceImpl(accountService, vacationDaysService, settingsService, workingTimeCalendarService, clock);
     }
 
     static Stream<Arguments> accountCreationDateAndDays() {
@@ -321,6 +329,72 @@ class AccountInteractionServiceImplTest {
         verify(accountService).getHolidaysAccount(nextYear, person);
     }
 
+    @Test
+    void ensureCreatesAndUpdatesNextYearsHolidaysAccountsInBatch() {
+        when(clock.instant()).thenReturn(Instant.parse("2015-01-01T05:00:00Z"));
+        when(clock.getZone()).thenReturn(ZoneId.of("UTC"));
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1L);
+        final Person personWithNextYearAccount = new Person("niceguy", "Nice", "Guy", "niceguy@example.org");
+        personWithNextYearAccount.setId(2L);
+
+        final Account referenceAccount = new Account(person, of(2014, JANUARY, 1), of(2014, DECEMBER, 31), null,
+            of(2014, APRIL, 1), BigDecimal.valueOf(30), BigDecimal.valueOf(8), BigDecimal.valueOf(4), "comment");
+        referenceAccount.setId(1L);
+        final Account otherReferenceAccount = new Account(personWithNextYearAccount, of(2014, JANUARY, 1), of(2014, DECEMBER, 31), false,
+            null, BigDecimal.valueOf(25), ZERO, ZERO, "other comment");
+        otherReferenceAccount.setId(2L);
+        final List<Account> referenceAccounts = List.of(referenceAccount, otherReferenceAccount);
+
+        final Account nextYearAccount = new Account(personWithNextYearAccount, of(2015, JANUARY, 1), of(2015, DECEMBER, 31), true,
+            of(2015, APRIL, 1), BigDecimal.valueOf(28), TEN, TEN, "next year");
+        nextYearAccount.setId(3L);
+        when(accountService.getHolidaysAccount(2015, List.of(person, personWithNextYearAccount))).thenReturn(List.of(nextYearAccount));
+
+        final Map<Person, WorkingTimeCalendar> workingTimeCalendars = Map.of(
+            person, new WorkingTimeCalendar(Map.of()),
+            personWithNextYearAccount, new WorkingTimeCalendar(Map.of())
+        );
+        when(workingTimeCalendarService.getWorkingTimesByPersons(List.of(person, personWithNextYearAccount), Year.of(2014))).thenReturn(workingTimeCalendars);
+
+        final DateRange dateRange = new DateRange(of(2014, JANUARY, 1), of(2014, DECEMBER, 31));
+        when(vacationDaysService.getVacationDaysLeft(referenceAccounts, workingTimeCalendars, dateRange)).thenReturn(Map.of(
+            referenceAccount, new HolidayAccountVacationDays(referenceAccount, vacationDaysLeft(BigDecimal.valueOf(12)), vacationDaysLeft(BigDecimal.valueOf(12))),
+            otherReferenceAccount, new HolidayAccountVacationDays(otherReferenceAccount, vacationDaysLeft(BigDecimal.valueOf(7)), vacationDaysLeft(BigDecimal.valueOf(7)))
+        ));
+        when(accountService.saveAll(any())).then(returnsFirstArg());
+
+        final List<Account> accounts = sut.autoCreateOrUpdateNextYearsHolidaysAccounts(referenceAccounts);
+        assertThat(accounts).hasSize(2);
+        assertThat(accounts.get(0)).satisfies(createdAccount -> {
+            assertThat(createdAccount.getId()).isNull();
+            assertThat(createdAccount.getPerson()).isEqualTo(person);
+            assertThat(createdAccount.getValidFrom()).isEqualTo(of(2015, JANUARY, 1));
+            assertThat(createdAccount.getValidTo()).isEqualTo(of(2015, DECEMBER, 31));
+            assertThat(createdAccount.isDoRemainingVacationDaysExpireLocally()).isNull();
+            assertThat(createdAccount.getExpiryDateLocally()).isEqualTo(of(2015, APRIL, 1));
+            assertThat(createdAccount.getAnnualVacationDays()).isEqualTo(BigDecimal.valueOf(30));
+            assertThat(createdAccount.getActualVacationDays()).isEqualTo(BigDecimal.valueOf(30));
+            assertThat(createdAccount.getRemainingVacationDays()).isEqualTo(BigDecimal.valueOf(12));
+            assertThat(createdAccount.getRemainingVacationDaysNotExpiring()).isEqualTo(ZERO);
+            assertThat(createdAccount.getComment()).isEqualTo("comment");
+        });
+        assertThat(accounts.get(1)).isSameAs(nextYearAccount);
+        assertThat(nextYearAccount.getAnnualVacationDays()).isEqualTo(BigDecimal.valueOf(28));
+        assertThat(nextYearAccount.getRemainingVacationDays()).isEqualTo(BigDecimal.valueOf(7));
+        assertThat(nextYearAccount.getRemainingVacationDaysNotExpiring()).isEqualTo(BigDecimal.valueOf(7));
+
+        verify(accountService, never()).save(any());
+        verify(vacationDaysService, never()).calculateTotalLeftVacationDays(any());
+    }
+
+    @Test
+    void ensureCreatesNoNextYearsHolidaysAccountsInBatchWithoutReferenceAccounts() {
+        assertThat(sut.autoCreateOrUpdateNextYearsHolidaysAccounts(List.of())).isEmpty();
+        verify(accountService, never()).saveAll(any());
+    }
+
     @Test
     void createHolidaysAccount() {
         final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
@@ -369,4 +443,15 @@ class AccountInteractionServiceImplTest {
 
         verify(accountService).deleteAllByPerson(person);
     }
+
+    private static VacationDaysLeft vacationDaysLeft(BigDecimal vacationDays) {
+        return VacationDaysLeft.builder()
+            .withAnnualVacation(vacationDays)
+            .withRemainingVacation(ZERO)
+            .notExpiring(ZERO)
+            .forUsedVacationDaysBeforeExpiry(ZERO)
+            .forUsedVacationDaysAfterExpiry(ZERO)
+            .withVacationDaysUsedNextYear(ZERO)
+            .build();
+    }
 }
@@ -334,6 +334,66 @@ class AccountServiceImplTest {
         assertThat(actual.getComment()).isEqualTo("awesome comment");
     }
 
+    @Test
+    void ensureSaveAll() {
+
+        final Account account = new Account();
+        account.setValidFrom(LocalDate.of(2022, 1, 1));
+        account.setValidTo(LocalDate.of(2022, 12, 31));
+        account.setDoRemainingVacationDaysExpireLocally(true);
+        account.setAnnualVacationDays(BigDecimal.valueOf(30));
+        account.setActualVacationDays(BigDecimal.valueOf(20));
+        account.setRemainingVacationDays(BigDecimal.valueOf(10));
+        account.setRemainingVacationDaysNotExpiring(BigDecimal.valueOf(5));
+        account.setComment("awesome comment");
+
+        final Account otherAccount = new Account();
+        otherAccount.setId(2L);
+        otherAccount.setValidFrom(LocalDate.of(2023, 1, 1));
+        otherAccount.setValidTo(LocalDate.of(2023, 12, 31));
+        otherAccount.setAnnualVacationDays(BigDecimal.valueOf(25));
+        otherAccount.setActualVacationDays(BigDecimal.valueOf(25));
+        otherAccount.setRemainingVacationDays(ZERO);
+        otherAccount.setRemainingVacationDaysNotExpiring(ZERO);
+
+        when(accountRepository.saveAll(any())).thenAnswer(returnsFirstArg());
+
+        final Settings settings = new Settings();
+        when(settingsService.getSettings()).thenReturn(settings);
+
+        final List<Account> actual = sut.saveAll(List.of(account, otherAccount));
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<AccountEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(accountRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).satisfiesExactly(
+            entity -> {
+                assertThat(entity.getId()).isNull();
+                assertThat(entity.getYear()).isEqualTo(2022);
+                assertThat(entity.getActualVacationDays()).isEqualTo(BigDecimal.valueOf(20));
+                assertThat(entity.getRemainingVacationDays()).isEqualTo(BigDecimal.valueOf(10));
+                assertThat(entity.getComment()).isEqualTo("awesome comment");
+            },
+            entity -> {
+                assertThat(entity.getId()).isEqualTo(2L);
+                assertThat(entity.getYear()).isEqualTo(2023);
+            }
+        );
+
+        assertThat(actual).satisfiesExactly(
+            saved -> {
+                assertThat(saved.getYear()).isEqualTo(2022);
+                assertThat(saved.getExpiryDate()).isEqualTo(LocalDate.of(2022, APRIL, 1));
+                assertThat(saved.getAnnualVacationDays()).isEqualTo(BigDecimal.valueOf(30));
+                assertThat(saved.getRemainingVacationDaysNotExpiring()).isEqualTo(BigDecimal.valueOf(5));
+            },
+            saved -> {
+                assertThat(saved.getId()).isEqualTo(2L);
+                assertThat(saved.getExpiryDate()).isEqualTo(LocalDate.of(2023, APRIL, 1));
+            }
+        );
+    }
+
     @Test
     void ensureToCalculateGlobalExpiryDateAfterSaveOnMapping() {
 
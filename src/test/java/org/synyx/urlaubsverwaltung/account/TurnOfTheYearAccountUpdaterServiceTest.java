@@ -1,5 +1,7 @@
 package org.synyx.urlaubsverwaltung.account;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,15 +17,12 @@ import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.Year;
 import java.util.List;
-import java.util.Optional;
 
-import static java.util.Arrays.asList;
 import static java.util.Locale.GERMAN;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.TestDataCreator.createHolidaysAccount;
@@ -49,17 +48,25 @@ class TurnOfTheYearAccountUpdaterServiceTest {
     @Mock
     private VacationDaysReminderService vacationDaysReminderService;
 
+    private MeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
-        sut = new TurnOfTheYearAccountUpdaterService(personService, accountService, accountInteractionService, vacationDaysReminderService, mailService, clock);
+        final AccountProperties accountProperties = new AccountProperties();
+        accountProperties.getUpdate().setBatchSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new TurnOfTheYearAccountUpdaterService(personService, accountService, accountInteractionService, vacationDaysReminderService, mailService, accountProperties, meterRegistry, clock);
     }
 
     @Test
     void ensureUpdatesHolidaysAccountsOfAllActivePersons() {
 
         final Person user1 = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        user1.setId(1L);
         final Person user2 = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        user2.setId(2L);
         final Person user3 = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        user3.setId(3L);
 
         final Account account1 = createHolidaysAccount(user1, LAST_YEAR);
         account1.setId(1L);
@@ -68,37 +75,31 @@ class TurnOfTheYearAccountUpdaterServiceTest {
         final Account account3 = createHolidaysAccount(user3, LAST_YEAR);
         account3.setId(3L);
 
-        when(personService.getActivePersons()).thenReturn(asList(user1, user2, user3));
-        when(accountService.getHolidaysAccount(LAST_YEAR, user1)).thenReturn(Optional.of(account1));
-        when(accountService.getHolidaysAccount(LAST_YEAR, user2)).thenReturn(Optional.of(account2));
-        when(accountService.getHolidaysAccount(LAST_YEAR, user3)).thenReturn(Optional.of(account3));
+        when(personService.getActivePersons()).thenReturn(List.of(user1, user2, user3));
+        when(accountService.getHolidaysAccount(LAST_YEAR, List.of(user1, user2))).thenReturn(List.of(account1, account2));
+        when(accountService.getHolidaysAccount(LAST_YEAR, List.of(user3))).thenReturn(List.of(account3));
 
         final Account newAccount = mock(Account.class);
+        when(newAccount.getPerson()).thenReturn(user1);
         when(newAccount.getRemainingVacationDays()).thenReturn(BigDecimal.TEN);
-        when(accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccount(any(Account.class)))
-            .thenReturn(newAccount);
+        when(accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccounts(List.of(account1, account2)))
+            .thenReturn(List.of(newAccount, newAccount));
+        when(accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccounts(List.of(account3)))
+            .thenReturn(List.of(newAccount));
 
         final Person office = new Person("muster", "Muster", "Marlene", "muster@example.org");
         when(personService.getActivePersonsByRole(OFFICE)).thenReturn(List.of(office));
 
         sut.updateAccountsForNextPeriod();
 
-        verify(personService).getActivePersons();
-
-        verify(accountService, times(3))
-            .getHolidaysAccount(anyInt(), any(Person.class));
-        verify(accountService).getHolidaysAccount(LAST_YEAR, user1);
-        verify(accountService).getHolidaysAccount(LAST_YEAR, user2);
-        verify(accountService).getHolidaysAccount(LAST_YEAR, user3);
-
-        verify(accountInteractionService, times(3))
-            .autoCreateOrUpdateNextYearsHolidaysAccount(any(Account.class));
-        verify(accountInteractionService).autoCreateOrUpdateNextYearsHolidaysAccount(account1);
-        verify(accountInteractionService).autoCreateOrUpdateNextYearsHolidaysAccount(account2);
-        verify(accountInteractionService).autoCreateOrUpdateNextYearsHolidaysAccount(account3);
+        verify(accountService, never()).getHolidaysAccount(LAST_YEAR, user1);
+        verify(accountInteractionService, never()).autoCreateOrUpdateNextYearsHolidaysAccount(any(Account.class));
 
         verify(vacationDaysReminderService).remindForRemainingVacationDays();
 
+        assertThat(meterRegistry.counter("accounts.turn_of_the_year.persons.processed").count()).isEqualTo(3);
+        assertThat(meterRegistry.counter("accounts.turn_of_the_year.accounts.updated").count()).isEqualTo(3);
+
         final ArgumentCaptor<Mail> argument = ArgumentCaptor.forClass(Mail.class);
         verify(mailService).send(argument.capture());
         final Mail mail = argument.getValue();
@@ -107,4 +108,29 @@ class TurnOfTheYearAccountUpdaterServiceTest {
         assertThat(mail.getTemplateName()).isEqualTo("account_cron_updated_accounts_turn_of_the_year");
         assertThat(mail.getTemplateModel(GERMAN)).containsEntry("totalRemainingVacationDays", BigDecimal.valueOf(30));
     }
+
+    @Test
+    void ensureSkipsHolidaysAccountsWithoutAnnualVacationDays() {
+
+        final Person user = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        user.setId(1L);
+
+        final Account account = createHolidaysAccount(user, LAST_YEAR);
+        account.setId(1L);
+        account.setAnnualVacationDays(null);
+
+        when(personService.getActivePersons()).thenReturn(List.of(user));
+        when(accountService.getHolidaysAccount(LAST_YEAR, List.of(user))).thenReturn(List.of(account));
+        when(accountInteractionService.autoCreateOrUpdateNextYearsHolidaysAccounts(List.of())).thenReturn(List.of());
+        when(personService.getActivePersonsByRole(OFFICE)).thenReturn(List.of());
+
+        sut.updateAccountsForNextPeriod();
+
+        assertThat(meterRegistry.counter("accounts.turn_of_the_year.persons.processed").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("accounts.turn_of_the_year.accounts.updated").count()).isZero();
+
+        final ArgumentCaptor<Mail> argument = ArgumentCaptor.forClass(Mail.class);
+        verify(mailService).send(argument.capture());
+        assertThat(argument.getValue().getTemplateModel(GERMAN)).containsEntry("totalRemainingVacationDays", BigDecimal.ZERO);
+    }
 }
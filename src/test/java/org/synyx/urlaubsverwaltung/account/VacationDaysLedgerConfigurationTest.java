@@ -0,0 +1,55 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.CronTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.synyx.urlaubsverwaltung.config.ScheduleLocking;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.returnsSecondArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VacationDaysLedgerConfigurationTest {
+
+    private VacationDaysLedgerConfiguration sut;
+
+    @Mock
+    private VacationDaysLedgerService vacationDaysLedgerService;
+    @Mock
+    private ScheduleLocking scheduleLocking;
+    @Mock
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    @BeforeEach
+    void setUp() {
+        sut = new VacationDaysLedgerConfiguration(new AccountProperties(), vacationDaysLedgerService, scheduleLocking, taskScheduler);
+    }
+
+    @Test
+    void ensureCronTaskForReconciliationIsAdded() {
+
+        when(scheduleLocking.withLock(eq("ReconcileVacationDaysLedger"), any(Runnable.class))).thenAnswer(returnsSecondArg());
+
+        final ScheduledTaskRegistrar taskRegistrar = new ScheduledTaskRegistrar();
+        sut.configureTasks(taskRegistrar);
+
+        final List<CronTask> cronTaskList = taskRegistrar.getCronTaskList();
+        assertThat(cronTaskList).hasSize(1);
+
+        final CronTask reconciliationCronTask = cronTaskList.getFirst();
+        assertThat(reconciliationCronTask.getExpression()).isEqualTo("0 15 * * * *");
+        reconciliationCronTask.getRunnable().run();
+        verify(vacationDaysLedgerService).reconcile();
+    }
+}
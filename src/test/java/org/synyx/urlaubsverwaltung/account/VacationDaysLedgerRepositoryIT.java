@@ -0,0 +1,64 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import org.synyx.urlaubsverwaltung.TestContainersBase;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonService;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static java.math.BigDecimal.ONE;
+import static java.math.BigDecimal.TEN;
+import static java.math.BigDecimal.ZERO;
+import static java.time.temporal.ChronoUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class VacationDaysLedgerRepositoryIT extends TestContainersBase {
+
+    @Autowired
+    private VacationDaysLedgerRepository sut;
+
+    @Autowired
+    private PersonService personService;
+
+    @Test
+    void ensureUpsertInsertsAndUpdatesEntryOfPersonAndYear() {
+
+        final Person person = personService.create("muster", "Marlene", "Muster", "muster@example.org");
+        final Person otherPerson = personService.create("other", "Other", "Person", "other@example.org");
+        final Instant calculatedAt = Instant.parse("2022-06-01T06:00:00Z");
+
+        sut.upsert(ledgerEntry(person, 2022, LocalDate.of(2022, 4, 1), TEN, ONE, calculatedAt));
+        sut.upsert(ledgerEntry(otherPerson, 2022, LocalDate.of(2022, 4, 1), ONE, ONE, calculatedAt));
+        sut.upsert(ledgerEntry(person, 2022, null, BigDecimal.valueOf(11), ZERO, calculatedAt.plus(1, SECONDS)));
+
+        assertThat(sut.findByPerson(person)).satisfiesExactly(ledgerEntry -> {
+            assertThat(ledgerEntry.getId()).isNotNull();
+            assertThat(ledgerEntry.getYear()).isEqualTo(2022);
+            assertThat(ledgerEntry.getExpiryDate()).isNull();
+            assertThat(ledgerEntry.getUsedDaysBeforeExpiry()).isEqualByComparingTo(BigDecimal.valueOf(11));
+            assertThat(ledgerEntry.getUsedDaysAfterExpiry()).isEqualByComparingTo(ZERO);
+            assertThat(ledgerEntry.getCalculatedAt()).isEqualTo(calculatedAt.plus(1, SECONDS));
+        });
+        assertThat(sut.findByPerson(otherPerson)).hasSize(1);
+    }
+
+    private static VacationDaysLedgerEntity ledgerEntry(Person person, int year, LocalDate expiryDate, BigDecimal usedDaysBeforeExpiry,
+                                                        BigDecimal usedDaysAfterExpiry, Instant calculatedAt) {
+        final VacationDaysLedgerEntity ledgerEntry = new VacationDaysLedgerEntity();
+        ledgerEntry.setPerson(person);
+        ledgerEntry.setYear(year);
+        ledgerEntry.setExpiryDate(expiryDate);
+        ledgerEntry.setUsedDaysBeforeExpiry(usedDaysBeforeExpiry);
+        ledgerEntry.setUsedDaysAfterExpiry(usedDaysAfterExpiry);
+        ledgerEntry.setCalculatedAt(calculatedAt);
+        return ledgerEntry;
+    }
+}
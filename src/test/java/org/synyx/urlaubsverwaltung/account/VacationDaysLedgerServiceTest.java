@@ -0,0 +1,192 @@
+package org.synyx.urlaubsverwaltung.account;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.synyx.urlaubsverwaltung.application.application.Application;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationAllowedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationUpdatedEvent;
+import org.synyx.urlaubsverwaltung.application.vacationtype.ProvidedVacationType;
+import org.synyx.urlaubsverwaltung.application.vacationtype.VacationTypeUpdatedEvent;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonDeletedEvent;
+import org.synyx.urlaubsverwaltung.person.PersonService;
+import org.synyx.urlaubsverwaltung.settings.SettingsUpdatedEvent;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeUpdatedEvent;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VacationDaysLedgerServiceTest {
+
+    private VacationDaysLedgerService sut;
+
+    @Mock
+    private VacationDaysLedgerRepository vacationDaysLedgerRepository;
+    @Mock
+    private VacationDaysService vacationDaysService;
+    @Mock
+    private AccountService accountService;
+    @Mock
+    private PersonService personService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        final Clock clock = Clock.fixed(Instant.parse("2022-06-01T06:00:00Z"), ZoneId.of("UTC"));
+        sut = new VacationDaysLedgerService(vacationDaysLedgerRepository, vacationDaysService, accountService, personService,
+            new AccountProperties(), meterRegistry, clock);
+    }
+
+    @Test
+    void ensureUpdatesLedgerOfYearsOfApplication() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1L);
+
+        final VacationDaysLedgerEntity ledgerEntry2022 = ledgerEntry(1L, person, 2022);
+        final VacationDaysLedgerEntity ledgerEntry2021 = ledgerEntry(2L, person, 2021);
+        when(vacationDaysLedgerRepository.findByPerson(person)).thenReturn(List.of(ledgerEntry2022, ledgerEntry2021));
+
+        final Account account2022 = new Account();
+        final Account account2023 = new Account();
+        when(accountService.getHolidaysAccount(2022, person)).thenReturn(Optional.of(account2022));
+        when(accountService.getHolidaysAccount(2023, person)).thenReturn(Optional.of(account2023));
+        when(vacationDaysService.updateVacationDaysLedger(ledgerEntry2022, account2022)).thenReturn(true);
+        when(vacationDaysService.updateVacationDaysLedger(any(VacationDaysLedgerEntity.class), eq(account2023))).thenReturn(true);
+
+        sut.on(ApplicationAllowedEvent.of(application(person, LocalDate.of(2022, 12, 30), LocalDate.of(2023, 1, 2))));
+
+        // the new entry is inserted with an upsert, since it may be inserted concurrently
+        final ArgumentCaptor<VacationDaysLedgerEntity> captor = ArgumentCaptor.forClass(VacationDaysLedgerEntity.class);
+        verify(vacationDaysLedgerRepository).upsert(captor.capture());
+        assertThat(captor.getValue().getId()).isNull();
+        assertThat(captor.getValue().getPerson()).isEqualTo(person);
+        assertThat(captor.getValue().getYear()).isEqualTo(2023);
+
+        verify(vacationDaysLedgerRepository).saveAll(List.of(ledgerEntry2022));
+        verify(vacationDaysLedgerRepository, never()).deleteAll(any());
+    }
+
+    @Test
+    void ensureDeletesLedgerEntriesOfOtherYearsIfApplicationIsUpdated() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1L);
+
+        final VacationDaysLedgerEntity ledgerEntry2022 = ledgerEntry(1L, person, 2022);
+        final VacationDaysLedgerEntity ledgerEntry2021 = ledgerEntry(2L, person, 2021);
+        when(vacationDaysLedgerRepository.findByPerson(person)).thenReturn(List.of(ledgerEntry2022, ledgerEntry2021));
+
+        final Account account2022 = new Account();
+        when(accountService.getHolidaysAccount(2022, person)).thenReturn(Optional.of(account2022));
+        when(vacationDaysService.updateVacationDaysLedger(ledgerEntry2022, account2022)).thenReturn(false);
+
+        sut.on(ApplicationUpdatedEvent.of(application(person, LocalDate.of(2022, 5, 2), LocalDate.of(2022, 5, 6))));
+
+        verify(vacationDaysLedgerRepository).saveAll(List.of());
+        verify(vacationDaysLedgerRepository).deleteAll(List.of(ledgerEntry2021));
+    }
+
+    @Test
+    void ensureDeletesLedgerOfDeletedPerson() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1L);
+
+        sut.on(new PersonDeletedEvent(person));
+
+        verify(vacationDaysLedgerRepository).deleteByPerson(person);
+    }
+
+    @Test
+    void ensureDeletesLedgerOfPersonWithUpdatedWorkingTime() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1L);
+
+        sut.on(new WorkingTimeUpdatedEvent(person));
+
+        verify(vacationDaysLedgerRepository).deleteByPerson(person);
+    }
+
+    @Test
+    void ensureDeletesWholeLedgerIfSettingsAreUpdated() {
+
+        sut.on(SettingsUpdatedEvent.of());
+
+        verify(vacationDaysLedgerRepository).deleteAllInBatch();
+    }
+
+    @Test
+    void ensureDeletesWholeLedgerIfVacationTypeIsUpdated() {
+
+        sut.on(VacationTypeUpdatedEvent.of(mock(ProvidedVacationType.class)));
+
+        verify(vacationDaysLedgerRepository).deleteAllInBatch();
+    }
+
+    @Test
+    void ensureReconcileCorrectsLedgerOfPreviousCurrentAndNextYear() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1L);
+        when(personService.getActivePersons()).thenReturn(List.of(person));
+
+        final VacationDaysLedgerEntity ledgerEntry2022 = ledgerEntry(1L, person, 2022);
+        when(vacationDaysLedgerRepository.findByPersonInAndYear(List.of(person), 2021)).thenReturn(List.of());
+        when(vacationDaysLedgerRepository.findByPersonInAndYear(List.of(person), 2022)).thenReturn(List.of(ledgerEntry2022));
+        when(vacationDaysLedgerRepository.findByPersonInAndYear(List.of(person), 2023)).thenReturn(List.of());
+
+        final Account account2021 = new Account();
+        account2021.setPerson(person);
+        final Account account2022 = new Account();
+        account2022.setPerson(person);
+        when(accountService.getHolidaysAccount(2021, List.of(person))).thenReturn(List.of(account2021));
+        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of(account2022));
+        when(accountService.getHolidaysAccount(2023, List.of(person))).thenReturn(List.of());
+        when(vacationDaysService.updateVacationDaysLedger(any(VacationDaysLedgerEntity.class), eq(account2021))).thenReturn(false);
+        when(vacationDaysService.updateVacationDaysLedger(ledgerEntry2022, account2022)).thenReturn(true);
+
+        sut.reconcile();
+
+        verify(vacationDaysLedgerRepository).saveAll(List.of(ledgerEntry2022));
+        verify(vacationDaysLedgerRepository, never()).upsert(any());
+        assertThat(meterRegistry.get("accounts.vacation_days_ledger.corrected").counter().count()).isOne();
+    }
+
+    private static Application application(Person person, LocalDate startDate, LocalDate endDate) {
+        final Application application = new Application();
+        application.setPerson(person);
+        application.setStartDate(startDate);
+        application.setEndDate(endDate);
+        return application;
+    }
+
+    private static VacationDaysLedgerEntity ledgerEntry(Long id, Person person, int year) {
+        final VacationDaysLedgerEntity ledgerEntry = new VacationDaysLedgerEntity();
+        ledgerEntry.setId(id);
+        ledgerEntry.setPerson(person);
+        ledgerEntry.setYear(year);
+        return ledgerEntry;
+    }
+}
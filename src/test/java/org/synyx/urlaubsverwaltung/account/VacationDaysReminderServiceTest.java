@@ -1,22 +1,29 @@
 package org.synyx.urlaubsverwaltung.account;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.synyx.urlaubsverwaltung.absence.DateRange;
 import org.synyx.urlaubsverwaltung.mail.Mail;
 import org.synyx.urlaubsverwaltung.mail.MailService;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendar;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendarService;
 
 import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.Year;
 import java.time.ZoneId;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 import static java.math.BigDecimal.ONE;
 import static java.math.BigDecimal.TEN;
@@ -24,6 +31,9 @@ import static java.math.BigDecimal.ZERO;
 import static java.util.Locale.GERMAN;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -38,41 +48,47 @@ class VacationDaysReminderServiceTest {
     @Mock
     private VacationDaysService vacationDaysService;
     @Mock
+    private WorkingTimeCalendarService workingTimeCalendarService;
+    @Mock
     private MailService mailService;
 
-    final ArgumentCaptor<Mail> mailArgumentCaptor = ArgumentCaptor.forClass(Mail.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Captor
+    private ArgumentCaptor<List<Mail>> mailsArgumentCaptor;
 
     @Test
     void ensureNoReminderForZeroLeftVacationDays() {
 
         final Clock clock = Clock.fixed(Instant.parse("2022-10-31T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = sut(clock);
 
         final Person person = person();
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
-        final Account account = new Account();
+        final Account account = account(person);
         account.setExpiryDateLocally(LocalDate.of(2022, 4, 1));
-        when(accountService.getHolidaysAccount(2022, person)).thenReturn(Optional.of(account));
+        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of(account));
 
         sut.remindForCurrentlyLeftVacationDays();
 
-        verifyNoInteractions(mailService);
+        verifyNoInteractions(mailService, workingTimeCalendarService, vacationDaysService);
     }
 
     @Test
     void ensureNoReminderIfRemainingVacationDaysToNotExpire() {
 
         final Clock clock = Clock.fixed(Instant.parse("2022-10-31T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = sut(clock);
 
         final Person person = person();
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
-        final Account account = new Account();
+        final Account account = account(person);
         account.setDoRemainingVacationDaysExpireGlobally(true);
-        when(accountService.getHolidaysAccount(2022, person)).thenReturn(Optional.of(account));
-        when(vacationDaysService.calculateTotalLeftVacationDays(account)).thenReturn(ZERO);
+        account.setExpiryDateGlobally(LocalDate.of(2022, 4, 1));
+        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of(account));
+        mockVacationDaysLeft(account, vacationDaysLeft(ZERO, ZERO, ZERO));
 
         sut.remindForCurrentlyLeftVacationDays();
 
@@ -83,12 +99,12 @@ class VacationDaysReminderServiceTest {
     void ensureNoReminderIfAccountIsEmpty() {
 
         final Clock clock = Clock.fixed(Instant.parse("2022-10-31T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = sut(clock);
 
         final Person person = person();
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
-        when(accountService.getHolidaysAccount(2022, person)).thenReturn(Optional.empty());
+        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of());
 
         sut.remindForCurrentlyLeftVacationDays();
 
@@ -99,22 +115,23 @@ class VacationDaysReminderServiceTest {
     void ensureReminderForLeftVacationDays() {
 
         final Clock clock = Clock.fixed(Instant.parse("2022-10-31T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = sut(clock);
 
         final Person person = person();
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
-        final Account account = new Account();
+        final Account account = account(person);
         account.setDoRemainingVacationDaysExpireGlobally(true);
         account.setExpiryDateLocally(LocalDate.of(2022, 4, 1));
-        when(accountService.getHolidaysAccount(2022, person)).thenReturn(Optional.of(account));
-        when(vacationDaysService.calculateTotalLeftVacationDays(account)).thenReturn(TEN);
+        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of(account));
+        mockVacationDaysLeft(account, vacationDaysLeft(TEN, ZERO, ZERO));
 
         sut.remindForCurrentlyLeftVacationDays();
 
-        verify(mailService).send(mailArgumentCaptor.capture());
+        verify(mailService).send(mailsArgumentCaptor.capture());
 
-        final Mail capturedMail = mailArgumentCaptor.getValue();
+        assertThat(mailsArgumentCaptor.getValue()).hasSize(1);
+        final Mail capturedMail = mailsArgumentCaptor.getValue().getFirst();
         assertThat(capturedMail.getMailAddressRecipients()).contains(List.of(person));
         assertThat(capturedMail.getSubjectMessageKey()).isEqualTo("subject.account.remindForCurrentlyLeftVacationDays");
         assertThat(capturedMail.getTemplateName()).isEqualTo("account_cron_currently_left_vacation_days");
@@ -126,32 +143,57 @@ class VacationDaysReminderServiceTest {
         );
     }
 
+    @Test
+    void ensureRemindersForLeftVacationDaysAreSentTogether() {
+
+        final Clock clock = Clock.fixed(Instant.parse("2022-10-31T06:00:00Z"), ZoneId.of("UTC"));
+        final VacationDaysReminderService sut = sut(clock);
+
+        final List<Person> persons = List.of(person(1L), person(2L), person(3L));
+        when(personService.getActivePersons()).thenReturn(persons);
+
+        final List<Account> accounts = persons.stream().map(person -> {
+            final Account account = account(person);
+            account.setDoRemainingVacationDaysExpireLocally(true);
+            account.setExpiryDateLocally(LocalDate.of(2022, 4, 1));
+            return account;
+        }).toList();
+        when(accountService.getHolidaysAccount(2022, persons)).thenReturn(accounts);
+
+        final Map<Person, WorkingTimeCalendar> workingTimeCalendars = Map.of();
+        when(workingTimeCalendarService.getWorkingTimesByPersons(persons, Year.of(2022))).thenReturn(workingTimeCalendars);
+        final DateRange dateRange = new DateRange(LocalDate.of(2022, 1, 1), LocalDate.of(2022, 12, 31));
+        when(vacationDaysService.getVacationDaysLeft(accounts, workingTimeCalendars, dateRange)).thenReturn(Map.of(
+            accounts.get(0), new HolidayAccountVacationDays(accounts.get(0), vacationDaysLeft(TEN, ZERO, ZERO), vacationDaysLeft(TEN, ZERO, ZERO)),
+            accounts.get(1), new HolidayAccountVacationDays(accounts.get(1), vacationDaysLeft(ZERO, ZERO, ZERO), vacationDaysLeft(ZERO, ZERO, ZERO)),
+            accounts.get(2), new HolidayAccountVacationDays(accounts.get(2), vacationDaysLeft(ONE, ZERO, ZERO), vacationDaysLeft(ONE, ZERO, ZERO))
+        ));
+
+        sut.remindForCurrentlyLeftVacationDays();
+
+        verify(mailService).send(mailsArgumentCaptor.capture());
+        assertThat(mailsArgumentCaptor.getValue())
+            .extracting(mail -> mail.getTemplateModel(GERMAN).get("personId"))
+            .containsExactlyInAnyOrder(1L, 3L);
+
+        assertThat(meterRegistry.get("accounts.vacation_days_reminder.duration").tag("job", "currently_left_vacation_days").timer().count()).isOne();
+        assertThat(meterRegistry.get("accounts.vacation_days_reminder.persons").tag("job", "currently_left_vacation_days").summary().totalAmount()).isEqualTo(3);
+    }
+
     @Test
     void ensureNoReminderWithoutRemainingVacationDays() {
 
         final Clock clock = Clock.fixed(Instant.parse("2022-01-01T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = sut(clock);
 
         final Person person = person();
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
-        final Account account2022 = new Account();
+        final Account account2022 = account(person);
         account2022.setDoRemainingVacationDaysExpireLocally(true);
         account2022.setExpiryDateLocally(LocalDate.of(2022, 4, 1));
-        when(accountService.getHolidaysAccount(2022, person)).thenReturn(Optional.of(account2022));
-
-        final Account account2023 = new Account();
-        account2023.setDoRemainingVacationDaysExpireLocally(true);
-        account2023.setExpiryDateLocally(LocalDate.of(2023, 4, 1));
-        when(accountService.getHolidaysAccount(2023, person)).thenReturn(Optional.of(account2023));
-
-        final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder()
-            .withAnnualVacation(ZERO)
-            .withRemainingVacation(ZERO)
-            .forUsedVacationDaysBeforeExpiry(ZERO)
-            .forUsedVacationDaysAfterExpiry(ZERO)
-            .build();
-        when(vacationDaysService.getVacationDaysLeft(account2022, Optional.of(account2023))).thenReturn(vacationDaysLeft);
+        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of(account2022));
+        mockVacationDaysLeft(account2022, vacationDaysLeft(ZERO, ZERO, ZERO));
 
         sut.remindForRemainingVacationDays();
 
@@ -162,35 +204,23 @@ class VacationDaysReminderServiceTest {
     void ensureReminderForRemainingVacationDays() {
 
         final Clock clock = Clock.fixed(Instant.parse("2022-01-01T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = sut(clock);
 
         final Person person = person();
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
-        final Account account2022 = new Account();
+        final Account account2022 = account(person);
         account2022.setDoRemainingVacationDaysExpireLocally(true);
         account2022.setExpiryDateLocally(LocalDate.of(2022, 4, 1));
-        when(accountService.getHolidaysAccount(2022, person)).thenReturn(Optional.of(account2022));
-
-        final Account account2023 = new Account();
-        account2023.setDoRemainingVacationDaysExpireLocally(true);
-        account2023.setExpiryDateLocally(LocalDate.of(2023, 4, 1));
-        when(accountService.getHolidaysAccount(2023, person)).thenReturn(Optional.of(account2023));
-
-        final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder()
-            .withAnnualVacation(ZERO)
-            .withRemainingVacation(TEN)
-            .notExpiring(ZERO)
-            .forUsedVacationDaysBeforeExpiry(ZERO)
-            .forUsedVacationDaysAfterExpiry(ZERO)
-            .build();
-        when(vacationDaysService.getVacationDaysLeft(account2022, Optional.of(account2023))).thenReturn(vacationDaysLeft);
+        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of(account2022));
+        mockVacationDaysLeft(account2022, vacationDaysLeft(ZERO, TEN, ZERO));
 
         sut.remindForRemainingVacationDays();
 
-        verify(mailService).send(mailArgumentCaptor.capture());
+        verify(mailService).send(mailsArgumentCaptor.capture());
 
-        final Mail capturedMail = mailArgumentCaptor.getValue();
+        assertThat(mailsArgumentCaptor.getValue()).hasSize(1);
+        final Mail capturedMail = mailsArgumentCaptor.getValue().getFirst();
         assertThat(capturedMail.getMailAddressRecipients()).contains(List.of(person));
         assertThat(capturedMail.getSubjectMessageKey()).isEqualTo("subject.account.remindForRemainingVacationDays");
         assertThat(capturedMail.getTemplateName()).isEqualTo("account_cron_remind_remaining_vacation_days");
@@ -206,125 +236,103 @@ class VacationDaysReminderServiceTest {
     void ensureNoNotificationWhenExpireDateNotEqualOfAfter() {
 
         final Clock clock = Clock.fixed(Instant.parse("2022-03-31T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = sut(clock);
 
         final Person person = person();
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
-        final Account account2022 = new Account();
-        account2022.setPerson(person);
+        final Account account2022 = account(person);
+        account2022.setDoRemainingVacationDaysExpireLocally(true);
         account2022.setExpiryDateLocally(LocalDate.of(2022, 4, 1));
-        when(accountService.getHolidaysAccount(2022, person)).thenReturn(Optional.of(account2022));
+        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of(account2022));
 
         sut.notifyForExpiredRemainingVacationDays();
-        verifyNoInteractions(mailService);
+
+        verifyNoInteractions(mailService, vacationDaysService);
+        verify(accountService, never()).saveAll(any());
     }
 
     @Test
     void ensureNoNotificationWhenNotificationWasAlreadySent() {
 
         final Clock clock = Clock.fixed(Instant.parse("2022-04-02T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = sut(clock);
 
         final Person person = person();
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
-        final Account account2022 = new Account();
-        account2022.setPerson(person);
+        final Account account2022 = account(person);
+        account2022.setDoRemainingVacationDaysExpireLocally(true);
         account2022.setExpiryDateLocally(LocalDate.of(2022, 4, 2));
         account2022.setExpiryNotificationSentDate(LocalDate.of(2022, 4, 1));
-        when(accountService.getHolidaysAccount(2022, person)).thenReturn(Optional.of(account2022));
+        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of(account2022));
 
         sut.notifyForExpiredRemainingVacationDays();
 
-        verifyNoInteractions(mailService);
+        verifyNoInteractions(mailService, vacationDaysService);
+        verify(accountService, never()).saveAll(any());
     }
 
     @Test
     void ensureNoNotificationWithoutExpiredRemainingVacationDays() {
 
         final Clock clock = Clock.fixed(Instant.parse("2022-04-01T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = sut(clock);
 
         final Person person = person();
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
-        final Account account2022 = new Account();
+        final Account account2022 = account(person);
         account2022.setDoRemainingVacationDaysExpireLocally(true);
         account2022.setExpiryDateLocally(LocalDate.of(2022, 4, 1));
-        when(accountService.getHolidaysAccount(2022, person)).thenReturn(Optional.of(account2022));
-
-        final Account account2023 = new Account();
-        account2023.setDoRemainingVacationDaysExpireLocally(true);
-        account2023.setExpiryDateLocally(LocalDate.of(2023, 4, 1));
-        when(accountService.getHolidaysAccount(2023, person)).thenReturn(Optional.of(account2023));
-
-        final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder()
-            .withAnnualVacation(ZERO)
-            .withRemainingVacation(TEN)
-            .notExpiring(TEN)
-            .forUsedVacationDaysBeforeExpiry(ZERO)
-            .forUsedVacationDaysAfterExpiry(ZERO)
-            .build();
-        when(vacationDaysService.getVacationDaysLeft(account2022, Optional.of(account2023))).thenReturn(vacationDaysLeft);
+        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of(account2022));
+        mockVacationDaysLeft(account2022, vacationDaysLeft(ZERO, TEN, TEN));
 
         sut.notifyForExpiredRemainingVacationDays();
 
         verifyNoInteractions(mailService);
+        verify(accountService, never()).saveAll(any());
     }
 
     @Test
     void ensureNoNotificationWhenExpireIsDisabled() {
 
         final Clock clock = Clock.fixed(Instant.parse("2022-04-01T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = sut(clock);
 
         final Person person = person();
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
-        final Account account2022 = new Account();
+        final Account account2022 = account(person);
         account2022.setDoRemainingVacationDaysExpireLocally(false);
-        when(accountService.getHolidaysAccount(2022, person)).thenReturn(Optional.of(account2022));
+        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of(account2022));
 
         sut.notifyForExpiredRemainingVacationDays();
 
-        verifyNoInteractions(mailService);
+        verifyNoInteractions(mailService, vacationDaysService);
     }
 
     @Test
     void ensureNotificationForExpiredRemainingVacationDays() {
 
         final Clock clock = Clock.fixed(Instant.parse("2022-04-01T06:00:00Z"), ZoneId.of("UTC"));
-        final VacationDaysReminderService sut = new VacationDaysReminderService(personService, accountService, vacationDaysService, mailService, clock);
+        final VacationDaysReminderService sut = sut(clock);
 
         final Person person = person();
         when(personService.getActivePersons()).thenReturn(List.of(person));
 
-        final Account account2022 = new Account();
+        final Account account2022 = account(person);
         account2022.setDoRemainingVacationDaysExpireLocally(true);
         account2022.setExpiryDateLocally(LocalDate.of(2022, 4, 1));
-        when(accountService.getHolidaysAccount(2022, person)).thenReturn(Optional.of(account2022));
-
-        final Account account2023 = new Account();
-        account2023.setDoRemainingVacationDaysExpireLocally(true);
-        account2023.setExpiryDateLocally(LocalDate.of(2023, 4, 1));
-        when(accountService.getHolidaysAccount(2023, person)).thenReturn(Optional.of(account2023));
-
-        final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder()
-            .withAnnualVacation(TEN)
-            .withRemainingVacation(TEN)
-            .notExpiring(ONE)
-            .forUsedVacationDaysBeforeExpiry(ZERO)
-            .forUsedVacationDaysAfterExpiry(ZERO)
-            .build();
-        when(vacationDaysService.getVacationDaysLeft(account2022, Optional.of(account2023))).thenReturn(vacationDaysLeft);
-        when(vacationDaysService.calculateTotalLeftVacationDays(account2022)).thenReturn(BigDecimal.valueOf(11L));
+        when(accountService.getHolidaysAccount(2022, List.of(person))).thenReturn(List.of(account2022));
+        mockVacationDaysLeft(account2022, vacationDaysLeft(TEN, TEN, ONE));
 
         sut.notifyForExpiredRemainingVacationDays();
 
-        verify(mailService).send(mailArgumentCaptor.capture());
+        verify(mailService).send(mailsArgumentCaptor.capture());
 
-        final Mail capturedMail = mailArgumentCaptor.getValue();
+        assertThat(mailsArgumentCaptor.getValue()).hasSize(1);
+        final Mail capturedMail = mailsArgumentCaptor.getValue().getFirst();
         assertThat(capturedMail.getMailAddressRecipients()).contains(List.of(person));
         assertThat(capturedMail.getSubjectMessageKey()).isEqualTo("subject.account.notifyForExpiredRemainingVacationDays");
         assertThat(capturedMail.getTemplateName()).isEqualTo("account_cron_expired_remaining_vacation_days");
@@ -336,13 +344,91 @@ class VacationDaysReminderServiceTest {
             entry("remainingVacationDaysNotExpiring", ONE),
             entry("expiryDate", LocalDate.of(2022, 4, 1))
         );
+
+        verify(accountService).saveAll(List.of(account2022));
+        assertThat(account2022.getExpiryNotificationSentDate()).isEqualTo(LocalDate.of(2022, 4, 1));
+    }
+
+    @Test
+    void ensureAccountsAreOnlyMarkedAsNotifiedIfTheNotificationWasSent() {
+
+        final Clock clock = Clock.fixed(Instant.parse("2022-04-01T06:00:00Z"), ZoneId.of("UTC"));
+        final VacationDaysReminderService sut = sut(clock);
+
+        final Person person = person(1L);
+        final Person otherPerson = person(2L);
+        when(personService.getActivePersons()).thenReturn(List.of(person, otherPerson));
+
+        final Account account = account(person);
+        account.setDoRemainingVacationDaysExpireLocally(true);
+        account.setExpiryDateLocally(LocalDate.of(2022, 4, 1));
+        final Account otherAccount = account(otherPerson);
+        otherAccount.setDoRemainingVacationDaysExpireLocally(true);
+        otherAccount.setExpiryDateLocally(LocalDate.of(2022, 4, 1));
+        when(accountService.getHolidaysAccount(2022, List.of(person, otherPerson))).thenReturn(List.of(account, otherAccount));
+
+        final Map<Person, WorkingTimeCalendar> workingTimeCalendars = Map.of(
+            person, new WorkingTimeCalendar(Map.of()),
+            otherPerson, new WorkingTimeCalendar(Map.of())
+        );
+        when(workingTimeCalendarService.getWorkingTimesByPersons(List.of(person, otherPerson), Year.of(2022))).thenReturn(workingTimeCalendars);
+
+        final VacationDaysLeft vacationDaysLeft = vacationDaysLeft(TEN, TEN, ONE);
+        final DateRange dateRange = new DateRange(LocalDate.of(2022, 1, 1), LocalDate.of(2022, 12, 31));
+        when(vacationDaysService.getVacationDaysLeft(List.of(account, otherAccount), workingTimeCalendars, dateRange))
+            .thenReturn(Map.of(
+                account, new HolidayAccountVacationDays(account, vacationDaysLeft, vacationDaysLeft),
+                otherAccount, new HolidayAccountVacationDays(otherAccount, vacationDaysLeft, vacationDaysLeft)
+            ));
+
+        when(mailService.send(anyList())).thenAnswer(invocation -> List.of(invocation.<List<Mail>>getArgument(0).getFirst()));
+
+        sut.notifyForExpiredRemainingVacationDays();
+
+        verify(accountService).saveAll(List.of(otherAccount));
+        assertThat(account.getExpiryNotificationSentDate()).isNull();
+        assertThat(otherAccount.getExpiryNotificationSentDate()).isEqualTo(LocalDate.of(2022, 4, 1));
+    }
+
+    private VacationDaysReminderService sut(Clock clock) {
+        return new VacationDaysReminderService(personService, accountService, vacationDaysService, workingTimeCalendarService, mailService, meterRegistry, clock);
+    }
+
+    private void mockVacationDaysLeft(Account account, VacationDaysLeft vacationDaysLeft) {
+        final Map<Person, WorkingTimeCalendar> workingTimeCalendars = Map.of(account.getPerson(), new WorkingTimeCalendar(Map.of()));
+        when(workingTimeCalendarService.getWorkingTimesByPersons(List.of(account.getPerson()), Year.of(2022))).thenReturn(workingTimeCalendars);
+
+        final DateRange dateRange = new DateRange(LocalDate.of(2022, 1, 1), LocalDate.of(2022, 12, 31));
+        when(vacationDaysService.getVacationDaysLeft(List.of(account), workingTimeCalendars, dateRange))
+            .thenReturn(Map.of(account, new HolidayAccountVacationDays(account, vacationDaysLeft, vacationDaysLeft)));
+    }
+
+    private static VacationDaysLeft vacationDaysLeft(BigDecimal annualVacation, BigDecimal remainingVacation, BigDecimal notExpiring) {
+        return VacationDaysLeft.builder()
+            .withAnnualVacation(annualVacation)
+            .withRemainingVacation(remainingVacation)
+            .notExpiring(notExpiring)
+            .forUsedVacationDaysBeforeExpiry(ZERO)
+            .forUsedVacationDaysAfterExpiry(ZERO)
+            .build();
+    }
+
+    private static Account account(Person person) {
+        final Account account = new Account();
+        account.setId(person.getId());
+        account.setPerson(person);
+        return account;
     }
 
     private Person person() {
+        return person(42L);
+    }
+
+    private Person person(Long id) {
         final Person person = new Person();
         person.setFirstName("Marlene");
         person.setLastName("Muster");
-        person.setId(42L);
+        person.setId(id);
         return person;
     }
 }
@@ -17,6 +17,7 @@ import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.workingtime.WorkDaysCountService;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendar;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendarService;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendar.WorkingDayInformation;
 
 import java.math.BigDecimal;
@@ -27,6 +28,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 
 import static java.math.BigDecimal.TEN;
@@ -45,6 +47,7 @@ import static java.time.temporal.TemporalAdjusters.lastDayOfYear;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.TestDataCreator.createVacationType;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED;
@@ -66,10 +69,14 @@ class VacationDaysServiceTest {
     private ApplicationService applicationService;
     @Mock
     private WorkDaysCountService workDaysCountService;
+    @Mock
+    private WorkingTimeCalendarService workingTimeCalendarService;
+    @Mock
+    private VacationDaysLedgerRepository vacationDaysLedgerRepository;
 
     @BeforeEach
     void setUp() {
-        sut = new VacationDaysService(workDaysCountService, applicationService, Clock.systemUTC());
+        sut = new VacationDaysService(workDaysCountService, applicationService, vacationDaysLedgerRepository, workingTimeCalendarService, Clock.systemUTC());
     }
 
     @Test
@@ -294,6 +301,218 @@ class VacationDaysServiceTest {
         assertThat(vacationDaysLeft.getRemainingVacationDaysNotExpiring()).isEqualByComparingTo(ZERO);
     }
 
+    @Test
+    void ensureGetVacationDaysLeftUsesLedger() {
+
+        final Person person = anyPerson();
+
+        final Account account = anyAccount(person, Year.of(2022));
+        account.setRemainingVacationDays(new BigDecimal("6"));
+        account.setRemainingVacationDaysNotExpiring(new BigDecimal("2"));
+        account.setDoRemainingVacationDaysExpireLocally(true);
+
+        final Account accountNextYear = anyAccount(person, Year.of(2023));
+        accountNextYear.setAnnualVacationDays(new BigDecimal("12"));
+        accountNextYear.setActualVacationDays(new BigDecimal("12"));
+        accountNextYear.setRemainingVacationDays(new BigDecimal("20"));
+        accountNextYear.setRemainingVacationDaysNotExpiring(new BigDecimal("2"));
+        accountNextYear.setDoRemainingVacationDaysExpireLocally(true);
+
+        when(vacationDaysLedgerRepository.findByPersonAndYearIn(person, List.of(2022, 2023))).thenReturn(List.of(
+            ledgerEntry(person, 2022, LocalDate.of(2022, APRIL, 1), BigDecimal.valueOf(4), BigDecimal.valueOf(20)),
+            ledgerEntry(person, 2023, LocalDate.of(2023, APRIL, 1), BigDecimal.valueOf(4), BigDecimal.valueOf(20))
+        ));
+
+        final VacationDaysLeft vacationDaysLeft = sut.getVacationDaysLeft(account, Optional.of(accountNextYear));
+        assertThat(vacationDaysLeft.getVacationDaysUsedNextYear()).isEqualByComparingTo(new BigDecimal("12"));
+        assertThat(vacationDaysLeft.getVacationDays()).isEqualByComparingTo(ZERO);
+        assertThat(vacationDaysLeft.getRemainingVacationDays()).isEqualByComparingTo(ZERO);
+        assertThat(vacationDaysLeft.getRemainingVacationDaysNotExpiring()).isEqualByComparingTo(ZERO);
+
+        verifyNoInteractions(applicationService, workDaysCountService);
+    }
+
+    @Test
+    void ensureGetVacationDaysLeftOfMultipleAccountsUsesLedgerWithSingleQuery() {
+
+        final Person person = anyPerson();
+        final Account account = anyAccount(person, Year.of(2022));
+        account.setRemainingVacationDays(new BigDecimal("6"));
+        account.setRemainingVacationDaysNotExpiring(new BigDecimal("2"));
+        account.setDoRemainingVacationDaysExpireLocally(true);
+
+        final Account accountNextYear = anyAccount(person, Year.of(2023));
+        accountNextYear.setAnnualVacationDays(new BigDecimal("12"));
+        accountNextYear.setActualVacationDays(new BigDecimal("12"));
+        accountNextYear.setRemainingVacationDays(new BigDecimal("20"));
+        accountNextYear.setRemainingVacationDaysNotExpiring(new BigDecimal("2"));
+        accountNextYear.setDoRemainingVacationDaysExpireLocally(true);
+
+        final Person other = new Person("other", "Other", "Olaf", "other@example.org");
+        other.setId(2L);
+        final Account otherAccount = anyAccount(other, Year.of(2022));
+        otherAccount.setDoRemainingVacationDaysExpireLocally(false);
+
+        when(vacationDaysLedgerRepository.findByPersonInAndYearIn(List.of(person, other), Set.of(2022, 2023))).thenReturn(List.of(
+            ledgerEntry(person, 2022, LocalDate.of(2022, APRIL, 1), BigDecimal.valueOf(4), BigDecimal.valueOf(20)),
+            ledgerEntry(person, 2023, LocalDate.of(2023, APRIL, 1), BigDecimal.valueOf(4), BigDecimal.valueOf(20)),
+            ledgerEntry(other, 2022, null, BigDecimal.valueOf(10), ZERO)
+        ));
+
+        final Map<Account, VacationDaysLeft> vacationDaysLeftByAccount = sut.getVacationDaysLeft(List.of(account, otherAccount), List.of(accountNextYear));
+        assertThat(vacationDaysLeftByAccount).hasSize(2);
+
+        final VacationDaysLeft vacationDaysLeft = vacationDaysLeftByAccount.get(account);
+        assertThat(vacationDaysLeft.getVacationDaysUsedNextYear()).isEqualByComparingTo(new BigDecimal("12"));
+        assertThat(vacationDaysLeft.getVacationDays()).isEqualByComparingTo(ZERO);
+        assertThat(vacationDaysLeft.getRemainingVacationDays()).isEqualByComparingTo(ZERO);
+
+        final VacationDaysLeft otherVacationDaysLeft = vacationDaysLeftByAccount.get(otherAccount);
+        assertThat(otherVacationDaysLeft.getVacationDaysUsedNextYear()).isEqualByComparingTo(ZERO);
+        assertThat(otherVacationDaysLeft.getVacationDays()).isEqualByComparingTo(new BigDecimal("20"));
+
+        verifyNoInteractions(applicationService, workDaysCountService);
+    }
+
+    @Test
+    void ensureGetVacationDaysLeftOfMultipleAccountsCalculatesAccountsWithoutLedgerEntryTogether() {
+
+        final Person person = anyPerson();
+        final Account account = anyAccount(person, Year.of(2022));
+        account.setDoRemainingVacationDaysExpireLocally(true);
+
+        final Account accountNextYear = anyAccount(person, Year.of(2023));
+        accountNextYear.setActualVacationDays(ZERO);
+        accountNextYear.setRemainingVacationDays(new BigDecimal("5"));
+        accountNextYear.setDoRemainingVacationDaysExpireLocally(true);
+
+        final Person other = new Person("other", "Other", "Olaf", "other@example.org");
+        other.setId(2L);
+        final Account otherAccount = anyAccount(other, Year.of(2022));
+        otherAccount.setDoRemainingVacationDaysExpireLocally(false);
+
+        // the ledger entry of the person is calculated for another expiry date
+        when(vacationDaysLedgerRepository.findByPersonInAndYearIn(List.of(person, other), Set.of(2022, 2023))).thenReturn(List.of(
+            ledgerEntry(person, 2022, LocalDate.of(2022, MARCH, 1), BigDecimal.valueOf(4), ZERO)
+        ));
+
+        final LocalDate firstDayOf2022 = LocalDate.of(2022, JANUARY, 1);
+        final LocalDate lastDayOf2022 = LocalDate.of(2022, DECEMBER, 31);
+        final LocalDate firstDayOf2023 = LocalDate.of(2023, JANUARY, 1);
+        final LocalDate lastDayOf2023 = LocalDate.of(2023, DECEMBER, 31);
+        when(workingTimeCalendarService.getWorkingTimesByPersons(List.of(person, other), Year.of(2022))).thenReturn(Map.of(
+            person, new WorkingTimeCalendar(workingTimeMondayToFriday(firstDayOf2022, lastDayOf2022)),
+            other, new WorkingTimeCalendar(workingTimeMondayToFriday(firstDayOf2022, lastDayOf2022))
+        ));
+        when(workingTimeCalendarService.getWorkingTimesByPersons(List.of(person), Year.of(2023))).thenReturn(Map.of(
+            person, new WorkingTimeCalendar(workingTimeMondayToFriday(firstDayOf2023, lastDayOf2023))
+        ));
+
+        final Application application = anyApplication(person);
+        application.setStartDate(LocalDate.of(2022, MARCH, 28));
+        application.setEndDate(LocalDate.of(2022, APRIL, 8));
+        final Application otherApplication = anyApplication(other);
+        otherApplication.setStartDate(LocalDate.of(2022, MARCH, 28));
+        otherApplication.setEndDate(LocalDate.of(2022, APRIL, 8));
+        when(applicationService.getForStatesAndPerson(activeStatuses(), List.of(person, other), firstDayOf2022, lastDayOf2022))
+            .thenReturn(List.of(application, otherApplication));
+
+        final Application applicationNextYear = anyApplication(person);
+        applicationNextYear.setStartDate(LocalDate.of(2023, JANUARY, 2));
+        applicationNextYear.setEndDate(LocalDate.of(2023, JANUARY, 4));
+        when(applicationService.getForStatesAndPerson(activeStatuses(), List.of(person), firstDayOf2023, lastDayOf2023))
+            .thenReturn(List.of(applicationNextYear));
+
+        final Map<Account, VacationDaysLeft> vacationDaysLeftByAccount = sut.getVacationDaysLeft(List.of(account, otherAccount), List.of(accountNextYear));
+        assertThat(vacationDaysLeftByAccount).hasSize(2);
+
+        // 30 annual vacation days - 3 days used of the remaining vacation days of next year - 4 days before and 6 days after expiry
+        final VacationDaysLeft vacationDaysLeft = vacationDaysLeftByAccount.get(account);
+        assertThat(vacationDaysLeft.getVacationDays()).isEqualByComparingTo(new BigDecimal("17"));
+        assertThat(vacationDaysLeft.getVacationDaysUsedNextYear()).isEqualByComparingTo(new BigDecimal("3"));
+
+        final VacationDaysLeft otherVacationDaysLeft = vacationDaysLeftByAccount.get(otherAccount);
+        assertThat(otherVacationDaysLeft.getVacationDays()).isEqualByComparingTo(new BigDecimal("20"));
+        assertThat(otherVacationDaysLeft.getVacationDaysUsedNextYear()).isEqualByComparingTo(ZERO);
+
+        verifyNoInteractions(workDaysCountService);
+    }
+
+    @Test
+    void ensureGetVacationDaysLeftOfNoAccountsDoesNotQuery() {
+        assertThat(sut.getVacationDaysLeft(List.of(), List.of())).isEmpty();
+        verifyNoInteractions(vacationDaysLedgerRepository);
+    }
+
+    @Test
+    void ensureGetVacationDaysLeftIgnoresLedgerEntryOfOtherExpiryDate() {
+
+        final Person person = anyPerson();
+
+        final Application application = anyApplication(person);
+        application.setStartDate(LocalDate.of(2022, JANUARY, 3));
+        application.setEndDate(LocalDate.of(2022, JANUARY, 7));
+        application.setStatus(ALLOWED);
+        when(workDaysCountService.getWorkDaysCount(application.getDayLength(), application.getStartDate(), application.getEndDate(), person)).thenReturn(BigDecimal.valueOf(4L));
+        when(applicationService.getApplicationsForACertainPeriodAndPersonAndVacationCategory(LocalDate.of(2022, 1, 1), LocalDate.of(2022, 12, 31), person, activeStatuses(), HOLIDAY))
+            .thenReturn(List.of(application));
+
+        final Account account = anyAccount(person, Year.of(2022));
+        account.setDoRemainingVacationDaysExpireLocally(false);
+
+        when(vacationDaysLedgerRepository.findByPersonAndYearIn(person, List.of(2022)))
+            .thenReturn(List.of(ledgerEntry(person, 2022, LocalDate.of(2022, APRIL, 1), BigDecimal.valueOf(10), ZERO)));
+
+        final VacationDaysLeft vacationDaysLeft = sut.getVacationDaysLeft(account, Optional.empty());
+        assertThat(vacationDaysLeft.getVacationDays()).isEqualByComparingTo(new BigDecimal(26L));
+    }
+
+    @Test
+    void ensureUpdateVacationDaysLedger() {
+
+        final Person person = anyPerson();
+
+        final Application application = anyApplication(person);
+        application.setStartDate(LocalDate.of(2022, JANUARY, 3));
+        application.setEndDate(LocalDate.of(2022, JANUARY, 7));
+        application.setStatus(ALLOWED);
+        when(workDaysCountService.getWorkDaysCount(application.getDayLength(), application.getStartDate(), application.getEndDate(), person)).thenReturn(BigDecimal.valueOf(4L));
+        when(applicationService.getApplicationsForACertainPeriodAndPersonAndVacationCategory(LocalDate.of(2022, 1, 1), LocalDate.of(2022, 3, 31), person, activeStatuses(), HOLIDAY))
+            .thenReturn(List.of(application));
+        when(applicationService.getApplicationsForACertainPeriodAndPersonAndVacationCategory(LocalDate.of(2022, 4, 1), LocalDate.of(2022, 12, 31), person, activeStatuses(), HOLIDAY))
+            .thenReturn(List.of());
+
+        final Account account = anyAccount(person, Year.of(2022));
+        account.setDoRemainingVacationDaysExpireLocally(true);
+
+        final VacationDaysLedgerEntity ledgerEntry = new VacationDaysLedgerEntity();
+        ledgerEntry.setPerson(person);
+        ledgerEntry.setYear(2022);
+
+        assertThat(sut.updateVacationDaysLedger(ledgerEntry, account)).isTrue();
+        assertThat(ledgerEntry.getExpiryDate()).isEqualTo(LocalDate.of(2022, APRIL, 1));
+        assertThat(ledgerEntry.getUsedDaysBeforeExpiry()).isEqualByComparingTo(BigDecimal.valueOf(4));
+        assertThat(ledgerEntry.getUsedDaysAfterExpiry()).isEqualByComparingTo(ZERO);
+        assertThat(ledgerEntry.getCalculatedAt()).isNotNull();
+    }
+
+    @Test
+    void ensureUpdateVacationDaysLedgerReturnsFalseIfUpToDate() {
+
+        final Person person = anyPerson();
+
+        when(applicationService.getApplicationsForACertainPeriodAndPersonAndVacationCategory(LocalDate.of(2022, 1, 1), LocalDate.of(2022, 12, 31), person, activeStatuses(), HOLIDAY))
+            .thenReturn(List.of());
+
+        final Account account = anyAccount(person, Year.of(2022));
+        account.setDoRemainingVacationDaysExpireLocally(false);
+
+        final VacationDaysLedgerEntity ledgerEntry = ledgerEntry(person, 2022, null, ZERO, ZERO);
+        ledgerEntry.setId(1L);
+
+        assertThat(sut.updateVacationDaysLedger(ledgerEntry, account)).isFalse();
+    }
+
     @Test
     void testGetVacationDaysUsedOfZeroRemainingVacationDays() {
 
@@ -749,6 +968,16 @@ class VacationDaysServiceTest {
         return account;
     }
 
+    private static VacationDaysLedgerEntity ledgerEntry(Person person, int year, LocalDate expiryDate, BigDecimal usedBeforeExpiry, BigDecimal usedAfterExpiry) {
+        final VacationDaysLedgerEntity ledgerEntry = new VacationDaysLedgerEntity();
+        ledgerEntry.setPerson(person);
+        ledgerEntry.setYear(year);
+        ledgerEntry.setExpiryDate(expiryDate);
+        ledgerEntry.setUsedDaysBeforeExpiry(usedBeforeExpiry);
+        ledgerEntry.setUsedDaysAfterExpiry(usedAfterExpiry);
+        return ledgerEntry;
+    }
+
     private static Application anyApplication(Person person) {
         final Application application = new Application();
         application.setId(1L);
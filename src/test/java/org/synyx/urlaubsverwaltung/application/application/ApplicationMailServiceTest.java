@@ -1274,9 +1274,10 @@ class ApplicationMailServiceTest {
 
         sut.sendRemindForUpcomingApplicationsReminderNotification(List.of(application, application));
 
-        final ArgumentCaptor<Mail> argument = ArgumentCaptor.forClass(Mail.class);
-        verify(mailService, times(2)).send(argument.capture());
-        final List<Mail> mails = argument.getAllValues();
+        @SuppressWarnings("unchecked") final ArgumentCaptor<List<Mail>> argument = ArgumentCaptor.forClass(List.class);
+        verify(mailService).send(argument.capture());
+        final List<Mail> mails = argument.getValue();
+        assertThat(mails).hasSize(2);
         assertThat(mails.get(0).getMailAddressRecipients()).hasValue(List.of(person));
         assertThat(mails.get(0).getSubjectMessageKey()).isEqualTo("subject.application.remind.upcoming");
         assertThat(mails.get(0).getTemplateName()).isEqualTo("application_cron_remind_for_upcoming_application_to_applicant");
@@ -1,14 +1,19 @@
 package org.synyx.urlaubsverwaltung.application.application;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import org.synyx.urlaubsverwaltung.QueryPlanRecorder;
 import org.synyx.urlaubsverwaltung.TestContainersBase;
 import org.synyx.urlaubsverwaltung.application.vacationtype.VacationCategory;
 import org.synyx.urlaubsverwaltung.application.vacationtype.VacationTypeEntity;
 import org.synyx.urlaubsverwaltung.application.vacationtype.VacationTypeService;
 import org.synyx.urlaubsverwaltung.application.vacationtype.VacationTypeServiceImpl;
+import org.synyx.urlaubsverwaltung.department.Department;
+import org.synyx.urlaubsverwaltung.department.DepartmentService;
 import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
@@ -22,6 +27,7 @@ import static java.time.ZoneOffset.UTC;
 import static java.time.temporal.TemporalAdjusters.firstDayOfMonth;
 import static java.time.temporal.TemporalAdjusters.lastDayOfMonth;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.synyx.urlaubsverwaltung.QueryPlanRecorder.explain;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED_CANCELLATION_REQUESTED;
 import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.CANCELLED;
@@ -38,10 +44,16 @@ import static org.synyx.urlaubsverwaltung.period.DayLength.MORNING;
 import static org.synyx.urlaubsverwaltung.period.DayLength.NOON;
 
 
-@SpringBootTest
+@SpringBootTest(properties = QueryPlanRecorder.PROPERTY)
 @Transactional
 class ApplicationRepositoryIT extends TestContainersBase {
 
+    private static final LocalDate START = LocalDate.of(2022, 3, 1);
+    private static final LocalDate END = LocalDate.of(2022, 3, 31);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Autowired
     private ApplicationRepository sut;
 
@@ -49,6 +61,8 @@ class ApplicationRepositoryIT extends TestContainersBase {
     private PersonService personService;
     @Autowired
     private VacationTypeService vacationTypeService;
+    @Autowired
+    private DepartmentService departmentService;
 
     @Test
     void ensureApplicationForLeaveForStatusAndPersonAndWithinDateRange() {
@@ -664,6 +678,135 @@ class ApplicationRepositoryIT extends TestContainersBase {
         assertThat(applicationsByHolidayReplacement).contains(application);
     }
 
+    @Test
+    void ensureFindsApplicationsOfDepartmentColleaguesWithinDateRange() {
+
+        final Person person = personService.create("person", "Paul", "Person", "person@example.org");
+        final Person colleague = personService.create("colleague", "Carla", "Colleague", "colleague@example.org");
+        final Person otherColleague = personService.create("otherColleague", "Otto", "Colleague", "other.colleague@example.org");
+        final Person stranger = personService.create("stranger", "Stefan", "Stranger", "stranger@example.org");
+        final VacationTypeEntity vacationType = getVacationType(HOLIDAY);
+
+        departmentService.create(department("admins", List.of(person, colleague)));
+        departmentService.create(department("marketing", List.of(person, colleague, otherColleague)));
+        departmentService.create(department("sales", List.of(stranger)));
+
+        final LocalDate start = LocalDate.of(2022, 10, 1);
+        final LocalDate end = LocalDate.of(2022, 10, 31);
+
+        final ApplicationEntity colleagueApplication = sut.save(applicationEntity(colleague, vacationType, start.minusDays(2), start, FULL));
+        final ApplicationEntity otherColleagueApplication = sut.save(applicationEntity(otherColleague, vacationType, end, end.plusDays(2), FULL));
+
+        // applications that should not be found
+        sut.save(applicationEntity(person, vacationType, start, end, FULL));
+        sut.save(applicationEntity(stranger, vacationType, start, end, FULL));
+        sut.save(applicationEntity(colleague, vacationType, end.plusDays(1), end.plusDays(2), FULL));
+        final ApplicationEntity rejectedApplication = applicationEntity(otherColleague, vacationType, start, end, FULL);
+        rejectedApplication.setStatus(REJECTED);
+        sut.save(rejectedApplication);
+
+        final List<ApplicationEntity> applications = sut.findByStatusInAndDepartmentColleaguesOfPersonAndEndDateIsGreaterThanEqualAndStartDateIsLessThanEqual(List.of(WAITING, ALLOWED), person, start, end);
+        assertThat(applications).containsExactlyInAnyOrder(colleagueApplication, otherColleagueApplication);
+    }
+
+    private static Department department(String name, List<Person> members) {
+        final Department department = new Department();
+        department.setName(name);
+        department.setMembers(members);
+        return department;
+    }
+
+    @Test
+    void ensureGetApplicationsForACertainTimeAndStateReturnsOverlappingApplicationsOfState() {
+
+        final Person max = personService.create("muster", "Max", "Mustermann", "mustermann@example.org");
+        final Person marlene = personService.create("person2", "Marlene", "Musterfrau", "musterfrau@example.org");
+        final VacationTypeEntity vacationType = getVacationType(HOLIDAY);
+
+        final LocalDate askedStartDate = LocalDate.of(2022, 3, 1);
+        final LocalDate askedEndDate = LocalDate.of(2022, 3, 31);
+
+        // application for leave that should not be found
+        sut.save(applicationEntity(max, vacationType, askedStartDate.minusDays(3), askedStartDate.minusDays(1), FULL));
+        sut.save(applicationEntity(max, vacationType, askedEndDate.plusDays(1), askedEndDate.plusDays(3), FULL));
+        final ApplicationEntity appOfOtherState = applicationEntity(max, vacationType, askedStartDate.plusDays(1), askedStartDate.plusDays(2), FULL);
+        appOfOtherState.setStatus(ALLOWED);
+        sut.save(appOfOtherState);
+
+        // application for leave that should be found
+        final ApplicationEntity appEndingAtPeriodStart = sut.save(applicationEntity(max, vacationType, askedStartDate.minusDays(2), askedStartDate, FULL));
+        final ApplicationEntity appSpanningPeriod = sut.save(applicationEntity(marlene, vacationType, askedStartDate.minusDays(1), askedEndDate.plusDays(1), FULL));
+        final ApplicationEntity appInBetween = sut.save(applicationEntity(marlene, vacationType, askedStartDate.plusDays(10), askedStartDate.plusDays(12), FULL));
+        final ApplicationEntity appStartingAtPeriodEnd = sut.save(applicationEntity(max, vacationType, askedEndDate, askedEndDate.plusDays(2), FULL));
+
+        final List<ApplicationEntity> actual = sut.getApplicationsForACertainTimeAndState(askedStartDate, askedEndDate, WAITING);
+        assertThat(actual).containsExactly(appEndingAtPeriodStart, appSpanningPeriod, appInBetween, appStartingAtPeriodEnd);
+    }
+
+    @Test
+    void ensureGetApplicationsForACertainTimeAndPersonReturnsOverlappingApplicationsOfPerson() {
+
+        final Person max = personService.create("muster", "Max", "Mustermann", "mustermann@example.org");
+        final Person marlene = personService.create("person2", "Marlene", "Musterfrau", "musterfrau@example.org");
+        final VacationTypeEntity vacationType = getVacationType(HOLIDAY);
+
+        final LocalDate askedStartDate = LocalDate.of(2022, 3, 1);
+        final LocalDate askedEndDate = LocalDate.of(2022, 3, 31);
+
+        // application for leave that should not be found
+        sut.save(applicationEntity(max, vacationType, askedStartDate.minusDays(3), askedStartDate.minusDays(1), FULL));
+        sut.save(applicationEntity(marlene, vacationType, askedStartDate.plusDays(1), askedStartDate.plusDays(2), FULL));
+
+        // application for leave that should be found
+        final ApplicationEntity appSpanningPeriod = sut.save(applicationEntity(max, vacationType, askedStartDate.minusDays(1), askedEndDate.plusDays(1), FULL));
+        final ApplicationEntity appStartingAtPeriodEnd = sut.save(applicationEntity(max, vacationType, askedEndDate, askedEndDate, FULL));
+
+        final List<ApplicationEntity> actual = sut.getApplicationsForACertainTimeAndPerson(askedStartDate, askedEndDate, max);
+        assertThat(actual).containsExactly(appSpanningPeriod, appStartingAtPeriodEnd);
+    }
+
+    @Test
+    void ensurePeriodOverlapOfApplicationsWithStatusUsesIndex() {
+
+        final String plan = explain(entityManager, () -> sut.getApplicationsForACertainTimeAndState(START, END, WAITING));
+
+        assertThat(plan)
+            .doesNotContain("Seq Scan")
+            .containsAnyOf("idx_application_period", "idx_application_status_end_date");
+    }
+
+    @Test
+    void ensurePeriodOverlapOfApplicationsOfPersonUsesIndex() {
+
+        final Person max = personService.create("muster", "Max", "Mustermann", "mustermann@example.org");
+
+        final String plan = explain(entityManager, () -> sut.getApplicationsForACertainTimeAndPerson(START, END, max));
+
+        assertThat(plan)
+            .doesNotContain("Seq Scan")
+            .containsAnyOf("idx_application_period", "idx_application_person_status_end_date");
+    }
+
+    @Test
+    void ensurePeriodOfPersonsAndStatusesUsesCompositeIndex() {
+
+        final Person max = personService.create("muster", "Max", "Mustermann", "mustermann@example.org");
+        final Person marlene = personService.create("person2", "Marlene", "Musterfrau", "musterfrau@example.org");
+
+        final String plan = explain(entityManager, () ->
+            sut.findByStatusInAndPersonInAndEndDateIsGreaterThanEqualAndStartDateIsLessThanEqual(List.of(WAITING, ALLOWED), List.of(max, marlene), START, END));
+
+        assertThat(plan).contains("idx_application_person_status_end_date");
+    }
+
+    @Test
+    void ensurePeriodOfStatusesUsesStatusIndex() {
+
+        final String plan = explain(entityManager, () -> sut.findByStatusInAndEndDateGreaterThanEqual(List.of(WAITING, ALLOWED), START));
+
+        assertThat(plan).contains("idx_application_status_end_date");
+    }
+
     private VacationTypeEntity getVacationType(VacationCategory category) {
         final List<VacationTypeEntity> vacationTypeEntities = vacationTypeService.getAllVacationTypes().stream()
             .map(VacationTypeServiceImpl::convert)
@@ -314,6 +314,27 @@ class ApplicationServiceImplTest {
         assertThat(result).isEqualTo(List.of(application));
     }
 
+    @Test
+    void getForStatesOfDepartmentColleagues() {
+
+        final Application application = new Application();
+        application.setId(1L);
+
+        final ApplicationEntity applicationEntity = new ApplicationEntity();
+        applicationEntity.setId(1L);
+        applicationEntity.setVacationType(new VacationTypeEntity());
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final LocalDate start = LocalDate.of(2022, 10, 1);
+        final LocalDate end = LocalDate.of(2022, 10, 31);
+
+        when(applicationRepository.findByStatusInAndDepartmentColleaguesOfPersonAndEndDateIsGreaterThanEqualAndStartDateIsLessThanEqual(List.of(WAITING), person, start, end))
+            .thenReturn(List.of(applicationEntity));
+
+        final List<Application> result = sut.getForStatesOfDepartmentColleagues(List.of(WAITING), person, start, end);
+        assertThat(result).isEqualTo(List.of(application));
+    }
+
     @Test
     void ensureReturnsCorrectTotalOvertimeReductionForPerson() {
 
@@ -215,6 +215,41 @@ class ApplicationForLeaveExportServiceTest {
         assertThat(applicationForLeaveExport.getApplicationForLeaves()).containsExactly(app);
     }
 
+    @Test
+    void getAllSortByPersonalNumber() {
+
+        final Person office = new Person();
+        office.setId(1L);
+        office.setPermissions(List.of(OFFICE));
+
+        final Person user = new Person();
+        user.setId(2L);
+        user.setPermissions(List.of(USER));
+        final List<Person> personsForExport = List.of(user);
+        final PersonId userId = new PersonId(user.getId());
+
+        final PageRequest exportPageRequest = PageRequest.of(2, 10, Sort.Direction.ASC, "personalNumber");
+        final PageableSearchQuery exportSearchQuery = new PageableSearchQuery(exportPageRequest, "");
+
+        // personnel number is sorted by the database, so only the persons of the requested page are loaded
+        final PageRequest personPageRequest = PageRequest.of(2, 10, Sort.Direction.ASC, "basedata.personnelNumber");
+        final PageableSearchQuery personSearchQuery = new PageableSearchQuery(personPageRequest, "");
+
+        when(personService.getActivePersons(personSearchQuery)).thenReturn(new PageImpl<>(personsForExport, personPageRequest, 21));
+
+        final PersonBasedata personBasedata = new PersonBasedata(userId, "personnelNumber", "");
+        when(personBasedataService.getBasedataByPersonId(List.of(user.getId()))).thenReturn(Map.of(userId, personBasedata));
+
+        final LocalDate from = LocalDate.of(2023, 1, 1);
+        final LocalDate to = LocalDate.of(2023, 1, 31);
+        final Page<ApplicationForLeaveExport> export = sut.getAll(office, from, to, exportSearchQuery);
+
+        assertThat(export.getContent())
+            .extracting(ApplicationForLeaveExport::getPersonalNumber)
+            .containsExactly("personnelNumber");
+        assertThat(export.getTotalElements()).isEqualTo(21);
+    }
+
     @Test
     void getAllSortByNonPersonQuery() {
 
@@ -26,12 +26,22 @@ import org.synyx.urlaubsverwaltung.person.basedata.PersonBasedataService;
 import org.synyx.urlaubsverwaltung.search.PageableSearchQuery;
 import org.synyx.urlaubsverwaltung.web.FilterPeriod;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.application.statistics.ApplicationForLeaveStatisticsService.STREAM_CHUNK_SIZE;
 import static org.synyx.urlaubsverwaltung.person.Role.OFFICE;
 import static org.synyx.urlaubsverwaltung.person.Role.USER;
 
@@ -50,10 +60,12 @@ class ApplicationForLeaveStatisticsServiceTest {
     private ApplicationForLeaveStatisticsBuilder applicationForLeaveStatisticsBuilder;
     @Mock
     private VacationTypeService vacationTypeService;
+    @Mock
+    private ApplicationForLeaveStatisticsSortKeyService sortKeyService;
 
     @BeforeEach
     void setUp() {
-        sut = new ApplicationForLeaveStatisticsService(personService, personBasedataService, departmentService, applicationForLeaveStatisticsBuilder, vacationTypeService);
+        sut = new ApplicationForLeaveStatisticsService(personService, personBasedataService, departmentService, applicationForLeaveStatisticsBuilder, vacationTypeService, sortKeyService);
     }
 
     @ParameterizedTest
@@ -174,7 +186,7 @@ class ApplicationForLeaveStatisticsServiceTest {
 
     @ParameterizedTest
     @EnumSource(value = Role.class, names = {"BOSS", "OFFICE"})
-    void ensureAllActivePersonsAreRequestedWhenSortedByStatisticsAttributeByRole(Role role) {
+    void ensureStatisticsAreComputedForPageOfSortKeysWhenSortedByStatisticsAttributeByRole(Role role) {
 
         final LocalDate startDate = LocalDate.parse("2018-01-01");
         final LocalDate endDate = LocalDate.parse("2018-12-31");
@@ -188,30 +200,39 @@ class ApplicationForLeaveStatisticsServiceTest {
         anyPerson.setId(2L);
         anyPerson.setPermissions(List.of(USER));
 
-        // unsorted PageRequest for persons expected since sut is called with sorting attribute for statistics.
-        final PageRequest activePersonsPageRequest = PageRequest.of(0, 10);
-        final PageableSearchQuery activePersonsPageableSearchQuery = new PageableSearchQuery(activePersonsPageRequest, "");
-        when(personService.getActivePersons(activePersonsPageableSearchQuery)).thenReturn(new PageImpl<>(List.of(anyPerson)));
+        final Person otherPerson = new Person();
+        otherPerson.setId(3L);
+        otherPerson.setPermissions(List.of(USER));
+
+        // all active persons are candidates for the page sorted by the sort keys of the statistics
+        final PageableSearchQuery activePersonsPageableSearchQuery = new PageableSearchQuery(PageRequest.of(0, Integer.MAX_VALUE), "");
+        when(personService.getActivePersons(activePersonsPageableSearchQuery)).thenReturn(new PageImpl<>(List.of(anyPerson, otherPerson)));
+
+        final PageRequest pageRequest = PageRequest.of(0, 10, Sort.Direction.ASC, "person.firstName", "leftVacationDaysForYear");
+        when(sortKeyService.getPersonsSortedBySortKeys(List.of(anyPerson, otherPerson), filterPeriod, pageRequest))
+            .thenReturn(new PageImpl<>(List.of(otherPerson, anyPerson), pageRequest, 2));
 
         final VacationType<?> vacationType = ProvidedVacationType.builder(new StaticMessageSource()).build();
-//        final VacationType<?> vacationType = new VacationType(1L, true, HOLIDAY, "message_key", true, true, YELLOW, false);
         final List<VacationType<?>> vacationTypes = List.of(vacationType);
         when(vacationTypeService.getActiveVacationTypes()).thenReturn(vacationTypes);
 
-        when(applicationForLeaveStatisticsBuilder.build(List.of(anyPerson), startDate, endDate, vacationTypes))
-            .thenReturn(Map.of(anyPerson, new ApplicationForLeaveStatistics(anyPerson, vacationTypes)));
+        when(applicationForLeaveStatisticsBuilder.build(List.of(otherPerson, anyPerson), startDate, endDate, vacationTypes))
+            .thenReturn(Map.of(
+                anyPerson, new ApplicationForLeaveStatistics(anyPerson, vacationTypes),
+                otherPerson, new ApplicationForLeaveStatistics(otherPerson, vacationTypes)
+            ));
 
-        final PageRequest pageRequest = PageRequest.of(0, 10, Sort.Direction.ASC, "person.firstName", "leftVacationDaysForYear");
         final PageableSearchQuery statisticsPageableSearchQuery = new PageableSearchQuery(pageRequest, "");
-
         final Page<ApplicationForLeaveStatistics> statisticsPage = sut.getStatistics(personWithRole, filterPeriod, statisticsPageableSearchQuery);
 
-        assertThat(statisticsPage.getContent()).hasSize(1);
-        assertThat(statisticsPage.getContent().get(0).getPerson()).isEqualTo(anyPerson);
+        assertThat(statisticsPage.getContent())
+            .extracting(ApplicationForLeaveStatistics::getPerson)
+            .containsExactly(otherPerson, anyPerson);
+        assertThat(statisticsPage.getTotalElements()).isEqualTo(2);
     }
 
     @Test
-    void ensureAllActivePersonsAreRequestedWhenSortedByStatisticsAttributeByNotBossOrOffice() {
+    void ensureStatisticsAreComputedForPageOfSortKeysWhenSortedByStatisticsAttributeByNotBossOrOffice() {
 
         final LocalDate startDate = LocalDate.parse("2018-01-01");
         final LocalDate endDate = LocalDate.parse("2018-12-31");
@@ -233,24 +254,147 @@ class ApplicationForLeaveStatisticsServiceTest {
         when(departmentService.getManagedMembersOfPerson(notBossOrOfficePerson, new PageableSearchQuery(Pageable.unpaged(), "")))
             .thenReturn(new PageImpl<>(List.of(departmentMember, departmentMemberTwo)));
 
+        final PageRequest pageRequest = PageRequest.of(1, 1, Sort.Direction.DESC, "leftVacationDaysForYear");
+        when(sortKeyService.getPersonsSortedBySortKeys(List.of(departmentMember, departmentMemberTwo), filterPeriod, pageRequest))
+            .thenReturn(new PageImpl<>(List.of(departmentMember), pageRequest, 2));
+
         final VacationType<?> vacationType = ProvidedVacationType.builder(new StaticMessageSource()).build();
-//        final VacationType<?> vacationType = new VacationType(1L, true, HOLIDAY, "message_key", true, true, YELLOW, false);
         final List<VacationType<?>> vacationTypes = List.of(vacationType);
         when(vacationTypeService.getActiveVacationTypes()).thenReturn(vacationTypes);
 
-        when(applicationForLeaveStatisticsBuilder.build(List.of(departmentMember, departmentMemberTwo), startDate, endDate, vacationTypes))
-            .thenReturn(Map.of(
-                departmentMember, new ApplicationForLeaveStatistics(departmentMember, vacationTypes),
-                departmentMemberTwo, new ApplicationForLeaveStatistics(departmentMemberTwo, vacationTypes)
-            ));
+        // statistics are only computed for the persons of the requested page
+        when(applicationForLeaveStatisticsBuilder.build(List.of(departmentMember), startDate, endDate, vacationTypes))
+            .thenReturn(Map.of(departmentMember, new ApplicationForLeaveStatistics(departmentMember, vacationTypes)));
 
-        final PageRequest pageRequest = PageRequest.of(0, 10, Sort.Direction.ASC, "person.firstName", "leftVacationDaysForYear");
         final PageableSearchQuery statisticsPageableSearchQuery = new PageableSearchQuery(pageRequest, "");
-
         final Page<ApplicationForLeaveStatistics> statisticsPage = sut.getStatistics(notBossOrOfficePerson, filterPeriod, statisticsPageableSearchQuery);
 
-        assertThat(statisticsPage.getContent()).hasSize(2);
-        assertThat(statisticsPage.getContent().get(0).getPerson()).isEqualTo(departmentMember);
-        assertThat(statisticsPage.getContent().get(1).getPerson()).isEqualTo(departmentMemberTwo);
+        assertThat(statisticsPage.getContent())
+            .extracting(ApplicationForLeaveStatistics::getPerson)
+            .containsExactly(departmentMember);
+        assertThat(statisticsPage.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void streamStatisticsComputesStatisticsChunkByChunk() {
+
+        final LocalDate startDate = LocalDate.parse("2018-01-01");
+        final LocalDate endDate = LocalDate.parse("2018-12-31");
+        final FilterPeriod filterPeriod = new FilterPeriod(startDate, endDate);
+
+        final Person office = new Person();
+        office.setId(1L);
+        office.setPermissions(List.of(USER, OFFICE));
+
+        final Person personOne = new Person();
+        personOne.setId(2L);
+        final Person personTwo = new Person();
+        personTwo.setId(3L);
+
+        final Sort personSort = Sort.by("firstName");
+        final PageRequest firstChunk = PageRequest.of(0, STREAM_CHUNK_SIZE, personSort);
+        final PageRequest secondChunk = PageRequest.of(1, STREAM_CHUNK_SIZE, personSort);
+        when(personService.getActivePersons(new PageableSearchQuery(firstChunk, "")))
+            .thenReturn(new PageImpl<>(List.of(personOne), firstChunk, STREAM_CHUNK_SIZE + 1));
+        when(personService.getActivePersons(new PageableSearchQuery(secondChunk, "")))
+            .thenReturn(new PageImpl<>(List.of(personTwo), secondChunk, STREAM_CHUNK_SIZE + 1));
+
+        final List<VacationType<?>> vacationTypes = List.of(ProvidedVacationType.builder(new StaticMessageSource()).build());
+        when(vacationTypeService.getActiveVacationTypes()).thenReturn(vacationTypes);
+        when(applicationForLeaveStatisticsBuilder.build(List.of(personOne), startDate, endDate, vacationTypes))
+            .thenReturn(Map.of(personOne, new ApplicationForLeaveStatistics(personOne, vacationTypes)));
+        when(applicationForLeaveStatisticsBuilder.build(List.of(personTwo), startDate, endDate, vacationTypes))
+            .thenReturn(Map.of(personTwo, new ApplicationForLeaveStatistics(personTwo, vacationTypes)));
+
+        final Stream<ApplicationForLeaveStatistics> statistics = sut.streamStatistics(office, filterPeriod, Sort.by("person.firstName"));
+        verify(personService, never()).getActivePersons(new PageableSearchQuery(secondChunk, ""));
+
+        assertThat(statistics)
+            .extracting(ApplicationForLeaveStatistics::getPerson)
+            .containsExactly(personOne, personTwo);
+    }
+
+    @Test
+    void streamStatisticsContinuesAfterChunkWithoutStatistics() {
+
+        final LocalDate startDate = LocalDate.parse("2018-01-01");
+        final LocalDate endDate = LocalDate.parse("2018-12-31");
+        final FilterPeriod filterPeriod = new FilterPeriod(startDate, endDate);
+
+        final Person office = new Person();
+        office.setId(1L);
+        office.setPermissions(List.of(USER, OFFICE));
+
+        final Person personOne = new Person();
+        personOne.setId(2L);
+        final Person personWithoutAccount = new Person();
+        personWithoutAccount.setId(3L);
+        final Person personThree = new Person();
+        personThree.setId(4L);
+
+        final Sort personSort = Sort.by("firstName");
+        final PageRequest firstChunk = PageRequest.of(0, STREAM_CHUNK_SIZE, personSort);
+        final PageRequest secondChunk = PageRequest.of(1, STREAM_CHUNK_SIZE, personSort);
+        final PageRequest thirdChunk = PageRequest.of(2, STREAM_CHUNK_SIZE, personSort);
+        final long total = 2L * STREAM_CHUNK_SIZE + 1;
+        when(personService.getActivePersons(new PageableSearchQuery(firstChunk, "")))
+            .thenReturn(new PageImpl<>(List.of(personOne), firstChunk, total));
+        when(personService.getActivePersons(new PageableSearchQuery(secondChunk, "")))
+            .thenReturn(new PageImpl<>(List.of(personWithoutAccount), secondChunk, total));
+        when(personService.getActivePersons(new PageableSearchQuery(thirdChunk, "")))
+            .thenReturn(new PageImpl<>(List.of(personThree), thirdChunk, total));
+
+        final List<VacationType<?>> vacationTypes = List.of(ProvidedVacationType.builder(new StaticMessageSource()).build());
+        when(vacationTypeService.getActiveVacationTypes()).thenReturn(vacationTypes);
+        when(applicationForLeaveStatisticsBuilder.build(List.of(personOne), startDate, endDate, vacationTypes))
+            .thenReturn(Map.of(personOne, new ApplicationForLeaveStatistics(personOne, vacationTypes)));
+        when(applicationForLeaveStatisticsBuilder.build(List.of(personWithoutAccount), startDate, endDate, vacationTypes))
+            .thenReturn(Map.of());
+        when(applicationForLeaveStatisticsBuilder.build(List.of(personThree), startDate, endDate, vacationTypes))
+            .thenReturn(Map.of(personThree, new ApplicationForLeaveStatistics(personThree, vacationTypes)));
+
+        final Stream<ApplicationForLeaveStatistics> statistics = sut.streamStatistics(office, filterPeriod, Sort.by("person.firstName"));
+
+        assertThat(statistics)
+            .extracting(ApplicationForLeaveStatistics::getPerson)
+            .containsExactly(personOne, personThree);
+    }
+
+    @Test
+    void streamStatisticsSortedByStatisticsAttributeComputesStatisticsOncePerPerson() {
+
+        final LocalDate startDate = LocalDate.parse("2018-01-01");
+        final LocalDate endDate = LocalDate.parse("2018-12-31");
+        final FilterPeriod filterPeriod = new FilterPeriod(startDate, endDate);
+
+        final Person office = new Person();
+        office.setId(1L);
+        office.setPermissions(List.of(USER, OFFICE));
+
+        final List<Person> persons = new ArrayList<>();
+        for (long id = 2; id < STREAM_CHUNK_SIZE * 2L + 2; id++) {
+            final Person person = new Person();
+            person.setId(id);
+            persons.add(person);
+        }
+        when(personService.getActivePersons(new PageableSearchQuery(PageRequest.of(0, Integer.MAX_VALUE), ""))).thenReturn(new PageImpl<>(persons));
+
+        final List<VacationType<?>> vacationTypes = List.of(ProvidedVacationType.builder(new StaticMessageSource()).build());
+        when(vacationTypeService.getActiveVacationTypes()).thenReturn(vacationTypes);
+
+        final Map<Person, ApplicationForLeaveStatistics> statisticsByPerson = new HashMap<>();
+        persons.forEach(person -> {
+            final ApplicationForLeaveStatistics statistics = new ApplicationForLeaveStatistics(person, vacationTypes);
+            statistics.setLeftVacationDaysForYear(BigDecimal.valueOf(person.getId() % 3));
+            statisticsByPerson.put(person, statistics);
+        });
+        when(applicationForLeaveStatisticsBuilder.build(persons, startDate, endDate, vacationTypes)).thenReturn(statisticsByPerson);
+
+        final List<ApplicationForLeaveStatistics> statistics = sut.streamStatistics(office, filterPeriod, Sort.by("leftVacationDaysForYear")).toList();
+
+        assertThat(statistics).hasSize(persons.size());
+        assertThat(statistics).extracting(ApplicationForLeaveStatistics::getLeftVacationDaysForYear).isSorted();
+        verify(applicationForLeaveStatisticsBuilder).build(anyList(), any(), any(), any());
+        verifyNoInteractions(sortKeyService);
     }
 }
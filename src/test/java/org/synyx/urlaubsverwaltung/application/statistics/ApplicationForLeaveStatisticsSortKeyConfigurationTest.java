@@ -0,0 +1,49 @@
+package org.synyx.urlaubsverwaltung.application.statistics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.synyx.urlaubsverwaltung.application.ApplicationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ApplicationForLeaveStatisticsSortKeyConfigurationTest {
+
+    @Mock
+    private ApplicationForLeaveStatisticsSortKeyService sortKeyService;
+    @Mock
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    @Test
+    void refreshesSortKeysWithGivenInterval() {
+
+        final ApplicationProperties properties = new ApplicationProperties();
+        properties.getStatistics().setSortKeyRefreshInterval(Duration.ofSeconds(10));
+
+        final ApplicationForLeaveStatisticsSortKeyConfiguration sut = new ApplicationForLeaveStatisticsSortKeyConfiguration(properties, sortKeyService, taskScheduler);
+
+        final ScheduledTaskRegistrar taskRegistrar = new ScheduledTaskRegistrar();
+        sut.configureTasks(taskRegistrar);
+
+        final List<FixedDelayTask> fixedDelayTaskList = taskRegistrar.getFixedDelayTaskList();
+        assertThat(fixedDelayTaskList).hasSize(1);
+
+        final FixedDelayTask fixedDelayTask = fixedDelayTaskList.get(0);
+        assertThat(fixedDelayTask.getIntervalDuration()).isEqualTo(Duration.ofSeconds(10));
+
+        verifyNoInteractions(sortKeyService);
+
+        fixedDelayTask.getRunnable().run();
+        verify(sortKeyService).refreshSortKeys();
+    }
+}
@@ -0,0 +1,113 @@
+package org.synyx.urlaubsverwaltung.application.statistics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import org.synyx.urlaubsverwaltung.TestContainersBase;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonService;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class ApplicationForLeaveStatisticsSortKeyRepositoryIT extends TestContainersBase {
+
+    private static final LocalDate START_DATE = LocalDate.of(2022, 1, 1);
+    private static final LocalDate END_DATE = LocalDate.of(2022, 12, 31);
+
+    @Autowired
+    private ApplicationForLeaveStatisticsSortKeyRepository sut;
+
+    @Autowired
+    private PersonService personService;
+
+    @Test
+    void ensureUniqueConstraintOfPeriodAndPerson() {
+
+        final Person person = personService.create("muster", "Marlene", "Muster", "muster@example.org");
+
+        sut.save(sortKey(person, START_DATE, END_DATE, BigDecimal.ONE, Instant.parse("2022-06-01T06:00:00Z")));
+
+        final ApplicationForLeaveStatisticsSortKeyEntity sortKey = sortKey(person, START_DATE, END_DATE, BigDecimal.TEN, Instant.parse("2022-06-01T06:00:00Z"));
+        assertThatThrownBy(() -> sut.saveAndFlush(sortKey))
+            .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void ensureFindPageOfPeriodAndPersonsSortedBySortKeyAndPerson() {
+
+        final Person marlene = personService.create("marlene", "Marlene", "Muster", "marlene@example.org");
+        final Person peter = personService.create("peter", "Peter", "Muster", "peter@example.org");
+        final Person bettina = personService.create("bettina", "Bettina", "Muster", "bettina@example.org");
+        final Person notRequested = personService.create("xenia", "Xenia", "Muster", "xenia@example.org");
+
+        final Instant computedAt = Instant.parse("2022-06-01T06:00:00Z");
+        sut.save(sortKey(marlene, START_DATE, END_DATE, BigDecimal.ONE, computedAt));
+        sut.save(sortKey(peter, START_DATE, END_DATE, BigDecimal.TEN, computedAt));
+        sut.save(sortKey(bettina, START_DATE, END_DATE, BigDecimal.ONE, computedAt));
+        sut.save(sortKey(notRequested, START_DATE, END_DATE, BigDecimal.TEN, computedAt));
+        sut.save(sortKey(peter, START_DATE, LocalDate.of(2022, 6, 30), BigDecimal.ZERO, computedAt));
+
+        final PageRequest pageRequest = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "leftVacationDaysForYear").and(Sort.by("person.firstName")));
+        final Page<ApplicationForLeaveStatisticsSortKeyEntity> sortKeyPage = sut.findByPeriodStartAndPeriodEndAndPersonInAndComputedAtGreaterThanEqual(START_DATE, END_DATE, List.of(marlene, peter, bettina), computedAt, pageRequest);
+
+        assertThat(sortKeyPage.getContent())
+            .extracting(ApplicationForLeaveStatisticsSortKeyEntity::getPerson)
+            .containsExactly(peter, bettina);
+        assertThat(sortKeyPage.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void ensureCountsValidSortKeysOfPeriodAndPersons() {
+
+        final Person marlene = personService.create("marlene", "Marlene", "Muster", "marlene@example.org");
+        final Person peter = personService.create("peter", "Peter", "Muster", "peter@example.org");
+        final Person bettina = personService.create("bettina", "Bettina", "Muster", "bettina@example.org");
+
+        sut.save(sortKey(marlene, START_DATE, END_DATE, BigDecimal.ONE, Instant.parse("2022-06-01T05:45:00Z")));
+        sut.save(sortKey(peter, START_DATE, END_DATE, BigDecimal.ONE, Instant.parse("2022-06-01T05:44:59Z")));
+        sut.save(sortKey(bettina, START_DATE, LocalDate.of(2022, 6, 30), BigDecimal.ONE, Instant.parse("2022-06-01T06:00:00Z")));
+
+        final long validSortKeys = sut.countByPeriodStartAndPeriodEndAndPersonInAndComputedAtGreaterThanEqual(START_DATE, END_DATE,
+            List.of(marlene, peter, bettina), Instant.parse("2022-06-01T05:45:00Z"));
+
+        assertThat(validSortKeys).isEqualTo(1);
+    }
+
+    @Test
+    void ensureFindIdsByComputedAtBefore() {
+
+        final Person marlene = personService.create("marlene", "Marlene", "Muster", "marlene@example.org");
+        final Person peter = personService.create("peter", "Peter", "Muster", "peter@example.org");
+
+        final ApplicationForLeaveStatisticsSortKeyEntity expired = sut.save(sortKey(marlene, START_DATE, END_DATE, BigDecimal.ONE, Instant.parse("2022-06-01T05:44:59Z")));
+        sut.save(sortKey(peter, START_DATE, END_DATE, BigDecimal.ONE, Instant.parse("2022-06-01T05:45:00Z")));
+
+        assertThat(sut.findIdsByComputedAtBefore(Instant.parse("2022-06-01T05:45:00Z"))).containsExactly(expired.getId());
+    }
+
+    private static ApplicationForLeaveStatisticsSortKeyEntity sortKey(Person person, LocalDate periodStart, LocalDate periodEnd, BigDecimal leftVacationDaysForYear, Instant computedAt) {
+        final ApplicationForLeaveStatisticsSortKeyEntity sortKey = new ApplicationForLeaveStatisticsSortKeyEntity();
+        sortKey.setPerson(person);
+        sortKey.setPeriodStart(periodStart);
+        sortKey.setPeriodEnd(periodEnd);
+        sortKey.setTotalAllowedVacationDays(BigDecimal.ZERO);
+        sortKey.setTotalWaitingVacationDays(BigDecimal.ZERO);
+        sortKey.setLeftVacationDaysForPeriod(BigDecimal.ZERO);
+        sortKey.setLeftVacationDaysForYear(leftVacationDaysForYear);
+        sortKey.setComputedAt(computedAt);
+        return sortKey;
+    }
+}
@@ -0,0 +1,290 @@
+package org.synyx.urlaubsverwaltung.application.statistics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.synyx.urlaubsverwaltung.application.ApplicationProperties;
+import org.synyx.urlaubsverwaltung.application.application.Application;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationAllowedEvent;
+import org.synyx.urlaubsverwaltung.application.vacationtype.ProvidedVacationType;
+import org.synyx.urlaubsverwaltung.application.vacationtype.VacationType;
+import org.synyx.urlaubsverwaltung.application.vacationtype.VacationTypeService;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonDeletedEvent;
+import org.synyx.urlaubsverwaltung.web.FilterPeriod;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import static java.math.BigDecimal.ZERO;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ApplicationForLeaveStatisticsSortKeyServiceTest {
+
+    private static final LocalDate START_DATE = LocalDate.of(2022, 1, 1);
+    private static final LocalDate END_DATE = LocalDate.of(2022, 12, 31);
+    private static final Instant NOW = Instant.parse("2022-06-01T06:00:00Z");
+    private static final Instant VALID_SINCE = Instant.parse("2022-06-01T05:45:00Z");
+
+    private ApplicationForLeaveStatisticsSortKeyService sut;
+
+    @Mock
+    private ApplicationForLeaveStatisticsSortKeyRepository sortKeyRepository;
+    @Mock
+    private ApplicationForLeaveStatisticsBuilder applicationForLeaveStatisticsBuilder;
+    @Mock
+    private VacationTypeService vacationTypeService;
+
+    @BeforeEach
+    void setUp() {
+        final Clock clock = Clock.fixed(NOW, ZoneId.of("UTC"));
+        sut = new ApplicationForLeaveStatisticsSortKeyService(sortKeyRepository, applicationForLeaveStatisticsBuilder, vacationTypeService,
+            new ApplicationProperties(), clock);
+    }
+
+    @Test
+    void ensureReturnsPageOfPersonsSortedBySortKeysIfAllSortKeysAreValid() {
+
+        final Person personOne = person(1L);
+        final Person personTwo = person(2L);
+        final List<Person> persons = List.of(personOne, personTwo);
+
+        when(sortKeyRepository.countByPeriodStartAndPeriodEndAndPersonInAndComputedAtGreaterThanEqual(START_DATE, END_DATE, persons, VALID_SINCE)).thenReturn(2L);
+
+        // unknown properties are ignored and the id of the person is used as last sort criteria
+        final PageRequest sortKeyPageRequest = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "leftVacationDaysForYear").and(Sort.by("person.id")));
+        when(sortKeyRepository.findByPeriodStartAndPeriodEndAndPersonInAndComputedAtGreaterThanEqual(START_DATE, END_DATE, persons, VALID_SINCE, sortKeyPageRequest))
+            .thenReturn(new PageImpl<>(List.of(sortKey(personTwo), sortKey(personOne)), sortKeyPageRequest, 2));
+
+        final PageRequest pageRequest = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "leftVacationDaysForYear").and(Sort.by("unknown")));
+        final Page<Person> personPage = sut.getPersonsSortedBySortKeys(persons, new FilterPeriod(START_DATE, END_DATE), pageRequest);
+
+        assertThat(personPage.getContent()).containsExactly(personTwo, personOne);
+        assertThat(personPage.getTotalElements()).isEqualTo(2);
+        verifyNoInteractions(applicationForLeaveStatisticsBuilder);
+        verify(sortKeyRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void ensureSortsInMemoryWithoutWritingSortKeysIfSortKeyIsMissing() {
+
+        final Person personOne = person(1L);
+        final Person personTwo = person(2L);
+        final Person personThree = person(3L);
+        final List<Person> persons = List.of(personOne, personTwo, personThree);
+
+        when(sortKeyRepository.countByPeriodStartAndPeriodEndAndPersonInAndComputedAtGreaterThanEqual(START_DATE, END_DATE, persons, VALID_SINCE)).thenReturn(2L);
+
+        final VacationType<?> vacationType = ProvidedVacationType.builder(new StaticMessageSource()).build();
+        final List<VacationType<?>> vacationTypes = List.of(vacationType);
+        when(vacationTypeService.getActiveVacationTypes()).thenReturn(vacationTypes);
+        when(applicationForLeaveStatisticsBuilder.build(persons, START_DATE, END_DATE, vacationTypes)).thenReturn(Map.of(
+            personOne, statistics(personOne, vacationTypes, 1),
+            personTwo, statistics(personTwo, vacationTypes, 5),
+            personThree, statistics(personThree, vacationTypes, 5)
+        ));
+
+        final PageRequest pageRequest = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "leftVacationDaysForYear"));
+        final Page<Person> personPage = sut.getPersonsSortedBySortKeys(persons, new FilterPeriod(START_DATE, END_DATE), pageRequest);
+
+        assertThat(personPage.getContent()).containsExactly(personTwo, personThree);
+        assertThat(personPage.getTotalElements()).isEqualTo(3);
+        verify(sortKeyRepository, never()).saveAll(any());
+        verify(sortKeyRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void ensureRefreshComputesRequestedSortKeys() {
+
+        final Person personWithSortKey = person(1L);
+        final Person personWithoutSortKey = person(2L);
+        final List<Person> persons = List.of(personWithSortKey, personWithoutSortKey);
+
+        final VacationType<?> vacationType = ProvidedVacationType.builder(new StaticMessageSource()).build();
+        final List<VacationType<?>> vacationTypes = List.of(vacationType);
+        when(vacationTypeService.getActiveVacationTypes()).thenReturn(vacationTypes);
+
+        // request the sort keys
+        when(sortKeyRepository.countByPeriodStartAndPeriodEndAndPersonInAndComputedAtGreaterThanEqual(START_DATE, END_DATE, persons, VALID_SINCE)).thenReturn(1L);
+        when(applicationForLeaveStatisticsBuilder.build(persons, START_DATE, END_DATE, vacationTypes)).thenReturn(Map.of());
+        sut.getPersonsSortedBySortKeys(persons, new FilterPeriod(START_DATE, END_DATE), PageRequest.of(0, 10, Sort.by("leftVacationDaysForYear")));
+
+        when(sortKeyRepository.findIdsByComputedAtBefore(VALID_SINCE)).thenReturn(List.of());
+        when(sortKeyRepository.findByPeriodStartAndPeriodEndAndPersonIn(START_DATE, END_DATE, persons)).thenReturn(List.of(sortKey(personWithSortKey)));
+
+        final ApplicationForLeaveStatistics statistics = new ApplicationForLeaveStatistics(personWithoutSortKey, vacationTypes);
+        statistics.addAllowedVacationDays(vacationType, BigDecimal.valueOf(2));
+        statistics.addWaitingVacationDays(vacationType, BigDecimal.valueOf(3));
+        statistics.setLeftVacationDaysForPeriod(BigDecimal.valueOf(4));
+        statistics.setLeftVacationDaysForYear(BigDecimal.valueOf(5));
+        when(applicationForLeaveStatisticsBuilder.build(List.of(personWithoutSortKey), START_DATE, END_DATE, vacationTypes))
+            .thenReturn(Map.of(personWithoutSortKey, statistics));
+
+        sut.refreshSortKeys();
+
+        @SuppressWarnings("unchecked") final ArgumentCaptor<List<ApplicationForLeaveStatisticsSortKeyEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(sortKeyRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).satisfiesExactly(sortKey -> {
+            assertThat(sortKey.getId()).isNull();
+            assertThat(sortKey.getPerson()).isEqualTo(personWithoutSortKey);
+            assertThat(sortKey.getPeriodStart()).isEqualTo(START_DATE);
+            assertThat(sortKey.getPeriodEnd()).isEqualTo(END_DATE);
+            assertThat(sortKey.getTotalAllowedVacationDays()).isEqualByComparingTo("2");
+            assertThat(sortKey.getTotalWaitingVacationDays()).isEqualByComparingTo("3");
+            assertThat(sortKey.getLeftVacationDaysForPeriod()).isEqualByComparingTo("4");
+            assertThat(sortKey.getLeftVacationDaysForYear()).isEqualByComparingTo("5");
+            assertThat(sortKey.getComputedAt()).isEqualTo(NOW);
+        });
+        verify(sortKeyRepository, never()).deleteAllByIdInBatch(any());
+
+        // requests are handled once
+        sut.refreshSortKeys();
+        verify(sortKeyRepository).saveAll(any());
+    }
+
+    @Test
+    void ensureRefreshDeletesExpiredSortKeys() {
+
+        when(sortKeyRepository.findIdsByComputedAtBefore(VALID_SINCE)).thenReturn(List.of(42L, 43L));
+
+        sut.refreshSortKeys();
+
+        verify(sortKeyRepository).deleteAllByIdInBatch(List.of(42L, 43L));
+        verifyNoInteractions(applicationForLeaveStatisticsBuilder);
+    }
+
+    @Test
+    void ensureRefreshComputesSortKeysWithoutVacationDaysForPersonsWithoutStatistics() {
+
+        final Person person = person(1L);
+
+        final List<VacationType<?>> vacationTypes = List.of(ProvidedVacationType.builder(new StaticMessageSource()).build());
+        when(vacationTypeService.getActiveVacationTypes()).thenReturn(vacationTypes);
+        when(applicationForLeaveStatisticsBuilder.build(List.of(person), START_DATE, END_DATE, vacationTypes)).thenReturn(Map.of());
+
+        when(sortKeyRepository.countByPeriodStartAndPeriodEndAndPersonInAndComputedAtGreaterThanEqual(START_DATE, END_DATE, List.of(person), VALID_SINCE)).thenReturn(0L);
+        sut.getPersonsSortedBySortKeys(List.of(person), new FilterPeriod(START_DATE, END_DATE), PageRequest.of(0, 10));
+
+        when(sortKeyRepository.findByPeriodStartAndPeriodEndAndPersonIn(START_DATE, END_DATE, List.of(person))).thenReturn(List.of());
+
+        sut.refreshSortKeys();
+
+        @SuppressWarnings("unchecked") final ArgumentCaptor<List<ApplicationForLeaveStatisticsSortKeyEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(sortKeyRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).satisfiesExactly(sortKey -> {
+            assertThat(sortKey.getPerson()).isEqualTo(person);
+            assertThat(sortKey.getTotalAllowedVacationDays()).isEqualByComparingTo(ZERO);
+            assertThat(sortKey.getTotalWaitingVacationDays()).isEqualByComparingTo(ZERO);
+            assertThat(sortKey.getLeftVacationDaysForPeriod()).isEqualByComparingTo(ZERO);
+            assertThat(sortKey.getLeftVacationDaysForYear()).isEqualByComparingTo(ZERO);
+        });
+    }
+
+    @Test
+    void ensureRefreshSavesOnlyMissingSortKeysIfSortKeysHaveBeenComputedConcurrently() {
+
+        final Person personOne = person(1L);
+        final Person personTwo = person(2L);
+        final List<Person> persons = List.of(personOne, personTwo);
+
+        final List<VacationType<?>> vacationTypes = List.of(ProvidedVacationType.builder(new StaticMessageSource()).build());
+        when(vacationTypeService.getActiveVacationTypes()).thenReturn(vacationTypes);
+        when(applicationForLeaveStatisticsBuilder.build(persons, START_DATE, END_DATE, vacationTypes)).thenReturn(Map.of(
+            personOne, new ApplicationForLeaveStatistics(personOne, vacationTypes),
+            personTwo, new ApplicationForLeaveStatistics(personTwo, vacationTypes)
+        ));
+
+        when(sortKeyRepository.countByPeriodStartAndPeriodEndAndPersonInAndComputedAtGreaterThanEqual(START_DATE, END_DATE, persons, VALID_SINCE)).thenReturn(0L);
+        sut.getPersonsSortedBySortKeys(persons, new FilterPeriod(START_DATE, END_DATE), PageRequest.of(0, 10));
+
+        when(sortKeyRepository.findByPeriodStartAndPeriodEndAndPersonIn(START_DATE, END_DATE, persons))
+            .thenReturn(List.of())
+            .thenReturn(List.of(sortKey(personOne)));
+        when(sortKeyRepository.saveAll(any()))
+            .thenThrow(new DataIntegrityViolationException("duplicate key"))
+            .thenReturn(List.of());
+
+        sut.refreshSortKeys();
+
+        @SuppressWarnings("unchecked") final ArgumentCaptor<List<ApplicationForLeaveStatisticsSortKeyEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(sortKeyRepository, times(2)).saveAll(captor.capture());
+        assertThat(captor.getAllValues().get(1)).satisfiesExactly(sortKey -> {
+            assertThat(sortKey.getId()).isNull();
+            assertThat(sortKey.getPerson()).isEqualTo(personTwo);
+        });
+    }
+
+    @Test
+    void ensureReturnsEmptyPageWithoutPersons() {
+
+        final PageRequest pageRequest = PageRequest.of(0, 10, Sort.by("leftVacationDaysForYear"));
+        final Page<Person> personPage = sut.getPersonsSortedBySortKeys(List.of(), new FilterPeriod(START_DATE, END_DATE), pageRequest);
+
+        assertThat(personPage).isEmpty();
+        verifyNoInteractions(sortKeyRepository, applicationForLeaveStatisticsBuilder);
+    }
+
+    @Test
+    void ensureDeletesSortKeysOfPersonOnApplicationChange() {
+
+        final Person person = person(1L);
+        final Application application = new Application();
+        application.setPerson(person);
+
+        sut.on(ApplicationAllowedEvent.of(application));
+
+        verify(sortKeyRepository).deleteByPerson(person);
+    }
+
+    @Test
+    void ensureDeletesSortKeysOfDeletedPerson() {
+
+        final Person person = person(1L);
+
+        sut.on(new PersonDeletedEvent(person));
+
+        verify(sortKeyRepository).deleteByPerson(person);
+    }
+
+    private static Person person(Long id) {
+        final Person person = new Person();
+        person.setId(id);
+        return person;
+    }
+
+    private static ApplicationForLeaveStatistics statistics(Person person, List<VacationType<?>> vacationTypes, long leftVacationDaysForYear) {
+        final ApplicationForLeaveStatistics statistics = new ApplicationForLeaveStatistics(person, vacationTypes);
+        statistics.setLeftVacationDaysForYear(BigDecimal.valueOf(leftVacationDaysForYear));
+        return statistics;
+    }
+
+    private static ApplicationForLeaveStatisticsSortKeyEntity sortKey(Person person) {
+        final ApplicationForLeaveStatisticsSortKeyEntity sortKey = new ApplicationForLeaveStatisticsSortKeyEntity();
+        sortKey.setId(person.getId());
+        sortKey.setPerson(person);
+        sortKey.setPeriodStart(START_DATE);
+        sortKey.setPeriodEnd(END_DATE);
+        return sortKey;
+    }
+}
@@ -6,22 +6,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
 import org.springframework.context.support.StaticMessageSource;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.synyx.urlaubsverwaltung.application.vacationtype.ProvidedVacationType;
 import org.synyx.urlaubsverwaltung.application.vacationtype.VacationType;
 import org.synyx.urlaubsverwaltung.application.vacationtype.VacationTypeService;
-import org.synyx.urlaubsverwaltung.csv.CSVFile;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonId;
 import org.synyx.urlaubsverwaltung.person.PersonService;
@@ -36,8 +37,11 @@ import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static java.util.Locale.JAPANESE;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.aMapWithSize;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.hasItems;
@@ -47,11 +51,14 @@ import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 import static org.springframework.test.web.servlet.setup.MockMvcBuilders.standaloneSetup;
@@ -71,6 +78,8 @@ class ApplicationForLeaveStatisticsViewControllerTest {
     private VacationTypeService vacationTypeService;
     @Mock
     private MessageSource messageSource;
+    @Captor
+    private ArgumentCaptor<Supplier<Stream<ApplicationForLeaveStatistics>>> statisticsCaptor;
 
     private static final Clock clock = Clock.systemUTC();
 
@@ -333,16 +342,12 @@ class ApplicationForLeaveStatisticsViewControllerTest {
 
         final Locale locale = JAPANESE;
 
-        when(applicationForLeaveStatisticsCsvExportService.generateCSV(any(FilterPeriod.class), eq(locale), any()))
-            .thenReturn(new CSVFile("filename.csv", new ByteArrayResource(new byte[]{})));
+        when(applicationForLeaveStatisticsCsvExportService.fileName(any(FilterPeriod.class), eq(locale))).thenReturn("filename.csv");
 
         final Person signedInUser = new Person();
         signedInUser.setId(1L);
         when(personService.getSignedInUser()).thenReturn(signedInUser);
 
-        when(applicationForLeaveStatisticsService.getStatistics(eq(signedInUser), any(FilterPeriod.class), eq(defaultPersonSearchQuery())))
-            .thenReturn(new PageImpl<>(List.of()));
-
         perform(get("/web/application/statistics/download")
             .locale(locale)
             .param("from", givenDate)
@@ -351,6 +356,36 @@ class ApplicationForLeaveStatisticsViewControllerTest {
             .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"));
     }
 
+    @Test
+    void ensureToDownloadCSVStatisticsStreamsCsv() throws Exception {
+
+        final Locale locale = JAPANESE;
+
+        final Person signedInUser = new Person();
+        signedInUser.setId(1L);
+        when(personService.getSignedInUser()).thenReturn(signedInUser);
+
+        final LocalDate startDate = LocalDate.parse("2019-01-01");
+        final LocalDate endDate = LocalDate.parse("2019-08-01");
+        final FilterPeriod filterPeriod = new FilterPeriod(startDate, endDate);
+
+        when(applicationForLeaveStatisticsCsvExportService.fileName(filterPeriod, locale)).thenReturn("csv-file-name");
+        when(applicationForLeaveStatisticsCsvExportService.streamingResource(eq(filterPeriod), eq(locale), any()))
+            .thenReturn(outputStream -> outputStream.write("csv-resource".getBytes()));
+
+        final MvcResult mvcResult = perform(get("/web/application/statistics/download")
+            .locale(locale)
+            .param("from", "01.01.2019")
+            .param("to", "01.08.2019"))
+            .andExpect(status().isOk())
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk())
+            .andExpect(content().string("csv-resource"));
+    }
+
     @Test
     void ensureToDownloadCSVStatisticsForSelectionWithDefaultValues() throws Exception {
 
@@ -365,20 +400,20 @@ class ApplicationForLeaveStatisticsViewControllerTest {
         final FilterPeriod filterPeriod = new FilterPeriod(startDate, endDate);
 
         final VacationType<?> vacationType = ProvidedVacationType.builder(new StaticMessageSource()).build();
-//        final VacationType<?> vacationType = new VacationType(1L, true, HOLIDAY, "message_key_holiday", true, true, YELLOW, false);
 
         final ApplicationForLeaveStatistics statistics = new ApplicationForLeaveStatistics(signedInUser, List.of(vacationType));
         when(applicationForLeaveStatisticsService.getStatistics(signedInUser, filterPeriod, defaultPersonSearchQuery())).thenReturn(new PageImpl<>(List.of(statistics)));
 
-        final CSVFile csvFile = new CSVFile("csv-file-name", new ByteArrayResource("csv-resource".getBytes()));
-        when(applicationForLeaveStatisticsCsvExportService.generateCSV(filterPeriod, locale, List.of(statistics))).thenReturn(csvFile);
+        when(applicationForLeaveStatisticsCsvExportService.fileName(filterPeriod, locale)).thenReturn("csv-file-name");
 
         perform(get("/web/application/statistics/download")
             .locale(locale)
             .param("from", "01.01.2019")
             .param("to", "01.08.2019"))
-            .andExpect(status().isOk())
-            .andExpect(content().string("csv-resource"));
+            .andExpect(status().isOk());
+
+        verify(applicationForLeaveStatisticsCsvExportService).streamingResource(eq(filterPeriod), eq(locale), statisticsCaptor.capture());
+        assertThat(statisticsCaptor.getValue().get()).containsExactly(statistics);
     }
 
     @Test
@@ -395,15 +430,13 @@ class ApplicationForLeaveStatisticsViewControllerTest {
         final FilterPeriod filterPeriod = new FilterPeriod(startDate, endDate);
 
         final VacationType<?> vacationType = ProvidedVacationType.builder(new StaticMessageSource()).build();
-//        final VacationType<?> vacationType = new VacationType(1L, true, HOLIDAY, "message_key_holiday", true, true, YELLOW, false);
 
         final ApplicationForLeaveStatistics statistics = new ApplicationForLeaveStatistics(signedInUser, List.of(vacationType));
         final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(PageRequest.of(2, 50, Sort.by(Sort.Direction.ASC, "person.firstName")), "");
         when(applicationForLeaveStatisticsService.getStatistics(signedInUser, filterPeriod, pageableSearchQuery))
             .thenReturn(new PageImpl<>(List.of(statistics)));
 
-        final CSVFile csvFile = new CSVFile("csv-file-name", new ByteArrayResource("csv-resource".getBytes()));
-        when(applicationForLeaveStatisticsCsvExportService.generateCSV(filterPeriod, locale, List.of(statistics))).thenReturn(csvFile);
+        when(applicationForLeaveStatisticsCsvExportService.fileName(filterPeriod, locale)).thenReturn("csv-file-name");
 
         perform(get("/web/application/statistics/download")
             .locale(locale)
@@ -411,8 +444,10 @@ class ApplicationForLeaveStatisticsViewControllerTest {
             .param("to", "01.08.2019")
             .param("page", "2")
             .param("size", "50"))
-            .andExpect(status().isOk())
-            .andExpect(content().string("csv-resource"));
+            .andExpect(status().isOk());
+
+        verify(applicationForLeaveStatisticsCsvExportService).streamingResource(eq(filterPeriod), eq(locale), statisticsCaptor.capture());
+        assertThat(statisticsCaptor.getValue().get()).containsExactly(statistics);
     }
 
     @Test
@@ -429,23 +464,22 @@ class ApplicationForLeaveStatisticsViewControllerTest {
         final FilterPeriod filterPeriod = new FilterPeriod(startDate, endDate);
 
         final VacationType<?> vacationType = ProvidedVacationType.builder(new StaticMessageSource()).build();
-//        final VacationType<?> vacationType = new VacationType(1L, true, HOLIDAY, "message_key_holiday", true, true, YELLOW, false);
 
         final ApplicationForLeaveStatistics statistics = new ApplicationForLeaveStatistics(signedInUser, List.of(vacationType));
-        final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(PageRequest.of(0, Integer.MAX_VALUE, Sort.by(Sort.Direction.ASC, "person.firstName")), "");
-        when(applicationForLeaveStatisticsService.getStatistics(signedInUser, filterPeriod, pageableSearchQuery))
-            .thenReturn(new PageImpl<>(List.of(statistics)));
+        when(applicationForLeaveStatisticsService.streamStatistics(signedInUser, filterPeriod, Sort.by(Sort.Direction.ASC, "person.firstName")))
+            .thenReturn(Stream.of(statistics));
 
-        final CSVFile csvFile = new CSVFile("csv-file-name", new ByteArrayResource("csv-resource".getBytes()));
-        when(applicationForLeaveStatisticsCsvExportService.generateCSV(filterPeriod, locale, List.of(statistics))).thenReturn(csvFile);
+        when(applicationForLeaveStatisticsCsvExportService.fileName(filterPeriod, locale)).thenReturn("csv-file-name");
 
         perform(get("/web/application/statistics/download")
             .locale(locale)
             .param("from", "01.01.2019")
             .param("to", "01.08.2019")
             .param("allElements", "true"))
-            .andExpect(status().isOk())
-            .andExpect(content().string("csv-resource"));
+            .andExpect(status().isOk());
+
+        verify(applicationForLeaveStatisticsCsvExportService).streamingResource(eq(filterPeriod), eq(locale), statisticsCaptor.capture());
+        assertThat(statisticsCaptor.getValue().get()).containsExactly(statistics);
     }
 
     @Test
@@ -462,15 +496,12 @@ class ApplicationForLeaveStatisticsViewControllerTest {
         final FilterPeriod filterPeriod = new FilterPeriod(startDate, endDate);
 
         final VacationType<?> vacationType = ProvidedVacationType.builder(new StaticMessageSource()).build();
-//        final VacationType<?> vacationType = new VacationType(1L, true, HOLIDAY, "message_key_holiday", true, true, YELLOW, false);
 
         final ApplicationForLeaveStatistics statistics = new ApplicationForLeaveStatistics(signedInUser, List.of(vacationType));
-        final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(PageRequest.of(0, Integer.MAX_VALUE, Sort.by(Sort.Direction.ASC, "person.firstName")), "");
-        when(applicationForLeaveStatisticsService.getStatistics(signedInUser, filterPeriod, pageableSearchQuery))
-            .thenReturn(new PageImpl<>(List.of(statistics)));
+        when(applicationForLeaveStatisticsService.streamStatistics(signedInUser, filterPeriod, Sort.by(Sort.Direction.ASC, "person.firstName")))
+            .thenReturn(Stream.of(statistics));
 
-        final CSVFile csvFile = new CSVFile("csv-file-name", new ByteArrayResource("csv-resource".getBytes()));
-        when(applicationForLeaveStatisticsCsvExportService.generateCSV(filterPeriod, locale, List.of(statistics))).thenReturn(csvFile);
+        when(applicationForLeaveStatisticsCsvExportService.fileName(filterPeriod, locale)).thenReturn("csv-file-name");
 
         perform(get("/web/application/statistics/download")
             .locale(locale)
@@ -480,8 +511,10 @@ class ApplicationForLeaveStatisticsViewControllerTest {
             .param("page", "2")
             .param("size", "50")
             .param("query", "hans"))
-            .andExpect(status().isOk())
-            .andExpect(content().string("csv-resource"));
+            .andExpect(status().isOk());
+
+        verify(applicationForLeaveStatisticsCsvExportService).streamingResource(eq(filterPeriod), eq(locale), statisticsCaptor.capture());
+        assertThat(statisticsCaptor.getValue().get()).containsExactly(statistics);
     }
 
     private static PageableSearchQuery defaultPersonSearchQuery() {
@@ -0,0 +1,168 @@
+package org.synyx.urlaubsverwaltung.calendar;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.synyx.urlaubsverwaltung.calendar.CalendarFeedCache.CalendarFeed;
+import org.synyx.urlaubsverwaltung.calendar.CalendarFeedCache.CalendarFeedKey;
+import org.synyx.urlaubsverwaltung.calendar.CalendarFeedCache.CalendarFeedVersion;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+import static java.time.ZoneOffset.UTC;
+import static java.util.Locale.GERMAN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.calendar.CalendarFeedCache.CalendarFeedType.COMPANY;
+import static org.synyx.urlaubsverwaltung.calendar.CalendarFeedCache.CalendarFeedType.PERSON;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarFeedCacheTest {
+
+    private CalendarFeedCache sut;
+
+    @Mock
+    private Clock clock;
+    @Mock
+    private Supplier<ICalFeed> feedSupplier;
+
+    private final ICalFeed iCalFeed = outputStream -> outputStream.write("calendar".getBytes());
+    private final Instant now = Instant.parse("2022-08-01T10:15:30.123Z");
+
+    @BeforeEach
+    void setUp() {
+        final CalendarProperties calendarProperties = new CalendarProperties();
+        calendarProperties.setFeedCacheTimeToLive(Duration.ofMinutes(10));
+        sut = new CalendarFeedCache(calendarProperties, clock);
+    }
+
+    @Test
+    void ensureNoVersionForUnknownFeed() {
+        assertThat(sut.getVersion(new CalendarFeedKey(PERSON, 1L, 1L, "secret", GERMAN))).isEmpty();
+    }
+
+    @Test
+    void ensureFeedKeepsItsVersion() {
+        when(clock.instant()).thenReturn(now);
+        when(clock.getZone()).thenReturn(UTC);
+        when(feedSupplier.get()).thenReturn(iCalFeed);
+
+        final CalendarFeedKey key = new CalendarFeedKey(PERSON, 1L, 1L, "secret", GERMAN);
+        final CalendarFeed feed = sut.getFeed(key, feedSupplier);
+        sut.register(key, feed);
+        final CalendarFeed feedAgain = sut.getFeed(key, feedSupplier);
+
+        assertThat(feed.iCalFeed()).isSameAs(iCalFeed);
+        assertThat(feed.version().eTag()).startsWith("\"").endsWith("\"");
+        assertThat(feed.version().lastModified()).isEqualTo(Instant.parse("2022-08-01T10:15:30Z"));
+        assertThat(feedAgain.version()).isEqualTo(feed.version());
+        assertThat(sut.getVersion(key)).hasValue(feed.version());
+    }
+
+    @Test
+    void ensureNoVersionUntilFeedIsRegistered() {
+        when(clock.instant()).thenReturn(now);
+        when(feedSupplier.get()).thenReturn(iCalFeed);
+
+        final CalendarFeedKey key = new CalendarFeedKey(PERSON, 1L, 1L, "secret", GERMAN);
+        sut.getFeed(key, feedSupplier);
+
+        assertThat(sut.getVersion(key)).isEmpty();
+    }
+
+    @Test
+    void ensureVersionIsKeptPerKey() {
+        when(clock.instant()).thenReturn(now);
+        when(clock.getZone()).thenReturn(UTC);
+        when(feedSupplier.get()).thenReturn(iCalFeed);
+
+        final CalendarFeedKey key = new CalendarFeedKey(COMPANY, null, 1L, "secret", GERMAN);
+        sut.register(key, sut.getFeed(key, feedSupplier));
+
+        assertThat(sut.getVersion(key)).isPresent();
+        assertThat(sut.getVersion(new CalendarFeedKey(COMPANY, null, 1L, "other-secret", GERMAN))).isEmpty();
+    }
+
+    @Test
+    void ensureVersionExpiresAfterTimeToLive() {
+        when(clock.instant()).thenReturn(now, now.plus(Duration.ofMinutes(11)));
+        when(feedSupplier.get()).thenReturn(iCalFeed);
+
+        final CalendarFeedKey key = new CalendarFeedKey(PERSON, 1L, 1L, "secret", GERMAN);
+        sut.register(key, sut.getFeed(key, feedSupplier));
+
+        assertThat(sut.getVersion(key)).isEmpty();
+    }
+
+    @Test
+    void ensureVersionExpiresAtTheEndOfTheDay() {
+        final Instant lastMinuteOfDay = Instant.parse("2022-08-01T23:59:10Z");
+        when(clock.instant()).thenReturn(lastMinuteOfDay, lastMinuteOfDay.plus(Duration.ofMinutes(1)));
+        when(clock.getZone()).thenReturn(UTC);
+        when(feedSupplier.get()).thenReturn(iCalFeed);
+
+        final CalendarFeedKey key = new CalendarFeedKey(PERSON, 1L, 1L, "secret", GERMAN);
+        sut.register(key, sut.getFeed(key, feedSupplier));
+
+        assertThat(sut.getVersion(key)).isEmpty();
+    }
+
+    @Test
+    void ensureNewVersionAfterEviction() {
+        when(clock.instant()).thenReturn(now);
+        when(feedSupplier.get()).thenReturn(iCalFeed);
+
+        final CalendarFeedKey key = new CalendarFeedKey(PERSON, 1L, 1L, "secret", GERMAN);
+        final CalendarFeed feed = sut.getFeed(key, feedSupplier);
+        sut.register(key, feed);
+
+        sut.evictAll();
+        assertThat(sut.getVersion(key)).isEmpty();
+
+        final CalendarFeedVersion newVersion = sut.getFeed(key, feedSupplier).version();
+        assertThat(newVersion.eTag()).isNotEqualTo(feed.version().eTag());
+    }
+
+    @Test
+    void ensureNoVersionForFeedPreparedDuringEviction() {
+        when(clock.instant()).thenReturn(now);
+        when(feedSupplier.get()).thenAnswer(invocation -> {
+            sut.evictAll();
+            return iCalFeed;
+        });
+
+        final CalendarFeedKey key = new CalendarFeedKey(PERSON, 1L, 1L, "secret", GERMAN);
+        sut.register(key, sut.getFeed(key, feedSupplier));
+
+        assertThat(sut.getVersion(key)).isEmpty();
+    }
+
+    @Test
+    void ensureNoVersionForFeedWrittenDuringEviction() {
+        when(clock.instant()).thenReturn(now);
+        when(feedSupplier.get()).thenReturn(iCalFeed);
+
+        final CalendarFeedKey key = new CalendarFeedKey(PERSON, 1L, 1L, "secret", GERMAN);
+        final CalendarFeed feed = sut.getFeed(key, feedSupplier);
+        sut.evictAll();
+        sut.register(key, feed);
+
+        assertThat(sut.getVersion(key)).isEmpty();
+    }
+
+    @Test
+    void ensureNoVersionWhenFeedCannotBePrepared() {
+        when(feedSupplier.get()).thenThrow(new IllegalArgumentException());
+
+        final CalendarFeedKey key = new CalendarFeedKey(PERSON, 1L, 1L, "wrong-secret", GERMAN);
+        assertThatThrownBy(() -> sut.getFeed(key, feedSupplier)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(sut.getVersion(key)).isEmpty();
+    }
+}
@@ -6,7 +6,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
-import org.springframework.core.io.ByteArrayResource;
 import org.synyx.urlaubsverwaltung.absence.Absence;
 import org.synyx.urlaubsverwaltung.absence.AbsenceService;
 import org.synyx.urlaubsverwaltung.absence.AbsenceTimeConfiguration;
@@ -53,6 +52,8 @@ class CompanyCalendarServiceTest {
     private PersonService personService;
     @Mock
     private MessageSource messageSource;
+    @Mock
+    private CalendarFeedCache calendarFeedCache;
 
     private static LocalDate toDateTime(String input) {
         return LocalDate.parse(input, ofPattern("yyyy-MM-dd"));
@@ -61,7 +62,7 @@ class CompanyCalendarServiceTest {
     @BeforeEach
     void setUp() {
 
-        sut = new CompanyCalendarService(absenceService, companyCalendarRepository, iCalService, personService, messageSource, Clock.systemUTC());
+        sut = new CompanyCalendarService(absenceService, companyCalendarRepository, iCalService, personService, messageSource, Clock.systemUTC(), calendarFeedCache);
     }
 
     @Test
@@ -80,11 +81,11 @@ class CompanyCalendarServiceTest {
         when(companyCalendarRepository.findBySecretAndPerson("secret", person)).thenReturn(Optional.of(companyCalendar));
 
         when(messageSource.getMessage(eq("calendar.company.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender der Firma");
-        final ByteArrayResource iCal = new ByteArrayResource(new byte[]{}, "calendar.ics");
-        when(iCalService.getCalendar("Abwesenheitskalender der Firma", absences, person)).thenReturn(iCal);
+        final ICalFeed iCalFeed = outputStream -> {};
+        when(iCalService.getCalendarFeed("Abwesenheitskalender der Firma", absences, person)).thenReturn(iCalFeed);
 
-        final ByteArrayResource calendar = sut.getCalendarForAll(10L, "secret", GERMAN);
-        assertThat(calendar).isEqualTo(iCal);
+        final ICalFeed calendar = sut.getCalendarForAll(10L, "secret", GERMAN);
+        assertThat(calendar).isSameAs(iCalFeed);
     }
 
     @Test
@@ -135,6 +136,7 @@ class CompanyCalendarServiceTest {
         sut.deleteCalendarForPerson(1);
 
         verify(companyCalendarRepository).deleteByPerson(person);
+        verify(calendarFeedCache).evictAll();
     }
 
     @Test
@@ -215,6 +217,7 @@ class CompanyCalendarServiceTest {
 
         assertThat(actualCalendarForPerson.getPerson()).isEqualTo(person);
         assertThat(actualCalendarForPerson.getSecret()).isNotBlank();
+        verify(calendarFeedCache).evictAll();
     }
 
     @Test
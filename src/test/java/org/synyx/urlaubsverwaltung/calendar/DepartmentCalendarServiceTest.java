@@ -6,7 +6,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
-import org.springframework.core.io.ByteArrayResource;
 import org.synyx.urlaubsverwaltung.absence.Absence;
 import org.synyx.urlaubsverwaltung.absence.AbsenceService;
 import org.synyx.urlaubsverwaltung.absence.AbsenceTimeConfiguration;
@@ -58,12 +57,14 @@ class DepartmentCalendarServiceTest {
     private ICalService iCalService;
     @Mock
     private MessageSource messageSource;
+    @Mock
+    private CalendarFeedCache calendarFeedCache;
 
     @BeforeEach
     void setUp() {
 
         sut = new DepartmentCalendarService(absenceService, departmentService, personService,
-            departmentCalendarRepository, iCalService, messageSource, Clock.systemUTC());
+            departmentCalendarRepository, iCalService, messageSource, Clock.systemUTC(), calendarFeedCache);
     }
 
     @Test
@@ -116,11 +117,11 @@ class DepartmentCalendarServiceTest {
         when(absenceService.getOpenAbsencesSince(eq(List.of(person)), any(LocalDate.class))).thenReturn(fullDayAbsences);
 
         when(messageSource.getMessage(eq("calendar.department.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender der Abteilung DepartmentName");
-        final ByteArrayResource iCal = new ByteArrayResource(new byte[]{}, "calendar");
-        when(iCalService.getCalendar("Abwesenheitskalender der Abteilung DepartmentName", fullDayAbsences, person)).thenReturn(iCal);
+        final ICalFeed iCalFeed = outputStream -> {};
+        when(iCalService.getCalendarFeed("Abwesenheitskalender der Abteilung DepartmentName", fullDayAbsences, person)).thenReturn(iCalFeed);
 
-        final ByteArrayResource calendar = sut.getCalendarForDepartment(1L, 10L, "secret", GERMAN);
-        assertThat(calendar).isEqualTo(iCal);
+        final ICalFeed calendar = sut.getCalendarForDepartment(1L, 10L, "secret", GERMAN);
+        assertThat(calendar).isSameAs(iCalFeed);
     }
 
     @Test
@@ -272,7 +273,7 @@ class DepartmentCalendarServiceTest {
 
         final Clock clock = Clock.fixed(Instant.parse("2019-04-15T10:00:00.00Z"), ZoneId.of("UTC"));
         final DepartmentCalendarService sut = new DepartmentCalendarService(absenceService, departmentService, personService,
-            departmentCalendarRepository, iCalService, messageSource, clock);
+            departmentCalendarRepository, iCalService, messageSource, clock, calendarFeedCache);
 
         final Department department = createDepartment("DepartmentName");
         department.setId(1L);
@@ -304,7 +305,7 @@ class DepartmentCalendarServiceTest {
 
         final Clock clock = Clock.fixed(Instant.parse("2019-06-15T10:00:00.00Z"), ZoneId.of("UTC"));
         final DepartmentCalendarService sut = new DepartmentCalendarService(absenceService, departmentService, personService,
-            departmentCalendarRepository, iCalService, messageSource, clock);
+            departmentCalendarRepository, iCalService, messageSource, clock, calendarFeedCache);
 
         final Department department = createDepartment("DepartmentName");
         department.setId(1L);
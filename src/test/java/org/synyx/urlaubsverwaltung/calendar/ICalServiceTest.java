@@ -11,6 +11,8 @@ import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.period.Period;
 import org.synyx.urlaubsverwaltung.person.Person;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -41,7 +43,7 @@ class ICalServiceTest {
     @Test
     void ensureToGetCalendarForPersonAndNoAbsenceFound() {
 
-        final ByteArrayResource calendar = sut.getCalendar("Abwesenheitskalender", List.of(), null);
+        final ByteArrayResource calendar = calendar("Abwesenheitskalender", List.of(), null);
         assertThat(convertCalendar(calendar))
             .isEqualToIgnoringNewLines("""
                 BEGIN:VCALENDAR
@@ -63,7 +65,7 @@ class ICalServiceTest {
 
         final Absence fullDayAbsence = absence(person, toDateTime("2019-03-26"), toDateTime("2019-03-26"), FULL);
 
-        final ByteArrayResource calendar = sut.getCalendar("Abwesenheitskalender", List.of(fullDayAbsence), person);
+        final ByteArrayResource calendar = calendar("Abwesenheitskalender", List.of(fullDayAbsence), person);
         assertThat(convertCalendar(calendar))
             .isEqualToIgnoringNewLines("""
                 BEGIN:VCALENDAR
@@ -95,7 +97,7 @@ class ICalServiceTest {
 
         final Absence morningAbsence = absence(person, toDateTime("2019-04-26"), toDateTime("2019-04-26"), MORNING);
 
-        final ByteArrayResource calendar = sut.getCalendar("Abwesenheitskalender", List.of(morningAbsence), person);
+        final ByteArrayResource calendar = calendar("Abwesenheitskalender", List.of(morningAbsence), person);
         assertThat(convertCalendar(calendar))
             .isEqualToIgnoringNewLines("""
                 BEGIN:VCALENDAR
@@ -127,7 +129,7 @@ class ICalServiceTest {
 
         final Absence manyFullDayAbsence = absence(person, toDateTime("2019-03-26"), toDateTime("2019-04-01"), FULL);
 
-        final ByteArrayResource calendar = sut.getCalendar("Abwesenheitskalender", List.of(manyFullDayAbsence), person);
+        final ByteArrayResource calendar = calendar("Abwesenheitskalender", List.of(manyFullDayAbsence), person);
 
         assertThat(convertCalendar(calendar))
             .isEqualToIgnoringNewLines("""
@@ -161,7 +163,7 @@ class ICalServiceTest {
 
         final Absence noonAbsence = absence(person, toDateTime("2019-05-26"), toDateTime("2019-05-26"), NOON);
 
-        final ByteArrayResource calendar = sut.getCalendar("Abwesenheitskalender", List.of(noonAbsence), person);
+        final ByteArrayResource calendar = calendar("Abwesenheitskalender", List.of(noonAbsence), person);
         assertThat(convertCalendar(calendar))
             .isEqualToIgnoringNewLines("""
                 BEGIN:VCALENDAR
@@ -196,7 +198,7 @@ class ICalServiceTest {
         final CalendarProperties calendarProperties = new CalendarProperties();
         calendarProperties.setOrganizer("no-reply@example.org");
         final ICalService sut = new ICalService(calendarProperties);
-        final ByteArrayResource calendar = sut.getCalendar("Abwesenheitskalender", List.of(noonAbsence), person);
+        final ByteArrayResource calendar = calendar("Abwesenheitskalender", List.of(noonAbsence), person);
         assertThat(convertCalendar(calendar))
             .isEqualToIgnoringNewLines("""
                 BEGIN:VCALENDAR
@@ -220,6 +222,31 @@ class ICalServiceTest {
                 """);
     }
 
+    @Test
+    void ensureCalendarFeedStreamsAllEventsWithoutClosingTheStream() throws IOException {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1L);
+
+        final List<Absence> absences = List.of(
+            absence(person, toDateTime("2019-03-26"), toDateTime("2019-03-26"), FULL),
+            absence(person, toDateTime("2019-04-01"), toDateTime("2019-04-05"), FULL),
+            absence(person, toDateTime("2019-04-10"), toDateTime("2019-04-10"), MORNING)
+        );
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                throw new IllegalStateException("stream must not be closed");
+            }
+        };
+        sut.getCalendarFeed("Abwesenheitskalender", absences, person).writeTo(outputStream);
+
+        final String calendar = outputStream.toString(UTF_8);
+        assertThat(calendar).startsWith("BEGIN:VCALENDAR\r\n").endsWith("END:VCALENDAR\r\n");
+        assertThat(calendar.split("BEGIN:VEVENT", -1)).hasSize(4);
+    }
+
     @Test
     void cancelSingleAppointment() {
 
@@ -425,4 +452,14 @@ class ICalServiceTest {
         return new String(calendar.getByteArray(), UTF_8)
             .replaceAll("(?m)^DTSTAMP.*", "DTSTAMP:<removedByConversionMethod>");
     }
+
+    private ByteArrayResource calendar(String title, List<Absence> absences, Person recipient) {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            sut.getCalendarFeed(title, absences, recipient).writeTo(outputStream);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return new ByteArrayResource(outputStream.toByteArray());
+    }
 }
@@ -6,26 +6,32 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.synyx.urlaubsverwaltung.calendar.CalendarFeedCache.CalendarFeedKey;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Clock;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
 import static java.util.Locale.GERMAN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.setup.MockMvcBuilders.standaloneSetup;
+import static org.synyx.urlaubsverwaltung.calendar.CalendarFeedCache.CalendarFeedType.PERSON;
 
 
 @ExtendWith(MockitoExtension.class)
@@ -40,15 +46,18 @@ class ICalViewControllerTest {
     @Mock
     private CompanyCalendarService companyCalendarService;
 
+    private CalendarFeedCache calendarFeedCache;
+
     @BeforeEach
     void setUp() {
-        sut = new ICalViewController(personCalendarService, departmentCalendarService, companyCalendarService);
+        calendarFeedCache = new CalendarFeedCache(new CalendarProperties(), Clock.systemUTC());
+        sut = new ICalViewController(personCalendarService, departmentCalendarService, companyCalendarService, calendarFeedCache);
     }
 
     @Test
     void getCalendarForPerson() throws Exception {
 
-        when(personCalendarService.getCalendarForPerson(1L, "secret", GERMAN)).thenReturn(new ByteArrayResource("iCal string".getBytes()));
+        when(personCalendarService.getCalendarForPerson(1L, "secret", GERMAN)).thenReturn(outputStream -> outputStream.write("iCal string".getBytes()));
 
         perform(get("/web/persons/1/calendar")
             .locale(GERMAN)
@@ -59,6 +68,83 @@ class ICalViewControllerTest {
             .andExpect(content().string(containsString("iCal string")));
     }
 
+    @Test
+    void getCalendarForPersonHasSameETagAsLongAsNothingChanged() throws Exception {
+
+        when(personCalendarService.getCalendarForPerson(1L, "secret", GERMAN)).thenReturn(outputStream -> outputStream.write("iCal string".getBytes()));
+
+        final String eTag = perform(get("/web/persons/1/calendar")
+            .locale(GERMAN)
+            .param("secret", "secret"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("ETag"))
+            .andExpect(header().exists("Last-Modified"))
+            .andReturn().getResponse().getHeader("ETag");
+
+        perform(get("/web/persons/1/calendar")
+            .locale(GERMAN)
+            .param("secret", "secret"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", eTag))
+            .andExpect(content().string(containsString("iCal string")));
+    }
+
+    @Test
+    void getCalendarForPersonIsNotModifiedForMatchingETagWithoutGeneratingTheFeed() throws Exception {
+
+        when(personCalendarService.getCalendarForPerson(1L, "secret", GERMAN)).thenReturn(outputStream -> outputStream.write("iCal string".getBytes()));
+
+        final String eTag = perform(get("/web/persons/1/calendar")
+            .locale(GERMAN)
+            .param("secret", "secret"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+
+        perform(get("/web/persons/1/calendar")
+            .locale(GERMAN)
+            .param("secret", "secret")
+            .header("If-None-Match", eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        verify(personCalendarService, times(1)).getCalendarForPerson(1L, "secret", GERMAN);
+    }
+
+    @Test
+    void getCalendarForPersonIsGeneratedAgainAfterChanges() throws Exception {
+
+        when(personCalendarService.getCalendarForPerson(1L, "secret", GERMAN)).thenReturn(outputStream -> outputStream.write("iCal string".getBytes()));
+
+        final String eTag = perform(get("/web/persons/1/calendar")
+            .locale(GERMAN)
+            .param("secret", "secret"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+
+        calendarFeedCache.evictAll();
+
+        perform(get("/web/persons/1/calendar")
+            .locale(GERMAN)
+            .param("secret", "secret")
+            .header("If-None-Match", eTag))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("iCal string")));
+    }
+
+    @Test
+    void getCalendarForPersonRegistersNoVersionIfWritingFails() {
+
+        when(personCalendarService.getCalendarForPerson(1L, "secret", GERMAN)).thenReturn(outputStream -> {
+            throw new IOException("connection reset");
+        });
+
+        assertThatThrownBy(() -> perform(get("/web/persons/1/calendar")
+            .locale(GERMAN)
+            .param("secret", "secret")));
+
+        assertThat(calendarFeedCache.getVersion(new CalendarFeedKey(PERSON, 1L, 1L, "secret", GERMAN))).isEmpty();
+    }
+
     @Test
     void getCalendarForPersonWithBadRequest() throws Exception {
 
@@ -84,7 +170,7 @@ class ICalViewControllerTest {
     @Test
     void getCalendarForDepartment() throws Exception {
 
-        when(departmentCalendarService.getCalendarForDepartment(1L, 2L, "secret", GERMAN)).thenReturn(new ByteArrayResource("calendar department".getBytes()));
+        when(departmentCalendarService.getCalendarForDepartment(1L, 2L, "secret", GERMAN)).thenReturn(outputStream -> outputStream.write("calendar department".getBytes()));
 
         perform(get("/web/departments/1/persons/2/calendar")
             .locale(GERMAN)
@@ -120,7 +206,7 @@ class ICalViewControllerTest {
     @Test
     void getCalendarForAll() throws Exception {
 
-        when(companyCalendarService.getCalendarForAll(2L, "secret", GERMAN)).thenReturn(new ByteArrayResource("calendar all".getBytes()));
+        when(companyCalendarService.getCalendarForAll(2L, "secret", GERMAN)).thenReturn(outputStream -> outputStream.write("calendar all".getBytes()));
 
         perform(get("/web/company/persons/2/calendar")
             .locale(GERMAN)
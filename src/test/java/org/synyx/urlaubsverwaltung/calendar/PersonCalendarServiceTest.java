@@ -6,7 +6,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
-import org.springframework.core.io.ByteArrayResource;
 import org.synyx.urlaubsverwaltung.absence.Absence;
 import org.synyx.urlaubsverwaltung.absence.AbsenceService;
 import org.synyx.urlaubsverwaltung.absence.AbsenceTimeConfiguration;
@@ -51,6 +50,8 @@ class PersonCalendarServiceTest {
     private ICalService iCalService;
     @Mock
     private MessageSource messageSource;
+    @Mock
+    private CalendarFeedCache calendarFeedCache;
 
     private static LocalDate toDateTime(String input) {
         return LocalDate.parse(input, ofPattern("yyyy-MM-dd"));
@@ -59,7 +60,7 @@ class PersonCalendarServiceTest {
     @BeforeEach
     void setUp() {
 
-        sut = new PersonCalendarService(absenceService, personService, personCalendarRepository, iCalService, messageSource, Clock.systemUTC());
+        sut = new PersonCalendarService(absenceService, personService, personCalendarRepository, iCalService, messageSource, Clock.systemUTC(), calendarFeedCache);
     }
 
     @Test
@@ -78,11 +79,11 @@ class PersonCalendarServiceTest {
         when(absenceService.getOpenAbsencesSince(eq(List.of(person)), any(LocalDate.class))).thenReturn(fullDayAbsences);
 
         when(messageSource.getMessage(eq("calendar.person.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender von Marlene Muster");
-        final ByteArrayResource iCal = new ByteArrayResource(new byte[]{}, "calendar.ics");
-        when(iCalService.getCalendar("Abwesenheitskalender von Marlene Muster", fullDayAbsences, person)).thenReturn(iCal);
+        final ICalFeed iCalFeed = outputStream -> {};
+        when(iCalService.getCalendarFeed("Abwesenheitskalender von Marlene Muster", fullDayAbsences, person)).thenReturn(iCalFeed);
 
-        final ByteArrayResource calendar = sut.getCalendarForPerson(1L, "secret", GERMAN);
-        assertThat(calendar).isEqualTo(iCal);
+        final ICalFeed calendar = sut.getCalendarForPerson(1L, "secret", GERMAN);
+        assertThat(calendar).isSameAs(iCalFeed);
     }
 
     @Test
@@ -101,11 +102,11 @@ class PersonCalendarServiceTest {
         when(absenceService.getOpenAbsencesSince(eq(List.of(person)), any(LocalDate.class))).thenReturn(morningAbsences);
 
         when(messageSource.getMessage(eq("calendar.person.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender von Marlene Muster");
-        final ByteArrayResource iCal = new ByteArrayResource(new byte[]{}, "calendar.ics");
-        when(iCalService.getCalendar("Abwesenheitskalender von Marlene Muster", morningAbsences, person)).thenReturn(iCal);
+        final ICalFeed iCalFeed = outputStream -> {};
+        when(iCalService.getCalendarFeed("Abwesenheitskalender von Marlene Muster", morningAbsences, person)).thenReturn(iCalFeed);
 
-        final ByteArrayResource calendar = sut.getCalendarForPerson(1L, "secret", GERMAN);
-        assertThat(calendar).isEqualTo(iCal);
+        final ICalFeed calendar = sut.getCalendarForPerson(1L, "secret", GERMAN);
+        assertThat(calendar).isSameAs(iCalFeed);
     }
 
     @Test
@@ -124,11 +125,11 @@ class PersonCalendarServiceTest {
         when(absenceService.getOpenAbsencesSince(eq(List.of(person)), any(LocalDate.class))).thenReturn(manyFullDayAbsences);
 
         when(messageSource.getMessage(eq("calendar.person.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender von Marlene Muster");
-        final ByteArrayResource iCal = new ByteArrayResource(new byte[]{}, "calendar.ics");
-        when(iCalService.getCalendar("Abwesenheitskalender von Marlene Muster", manyFullDayAbsences, person)).thenReturn(iCal);
+        final ICalFeed iCalFeed = outputStream -> {};
+        when(iCalService.getCalendarFeed("Abwesenheitskalender von Marlene Muster", manyFullDayAbsences, person)).thenReturn(iCalFeed);
 
-        final ByteArrayResource calendar = sut.getCalendarForPerson(1L, "secret", GERMAN);
-        assertThat(calendar).isEqualTo(iCal);
+        final ICalFeed calendar = sut.getCalendarForPerson(1L, "secret", GERMAN);
+        assertThat(calendar).isSameAs(iCalFeed);
     }
 
     @Test
@@ -147,11 +148,11 @@ class PersonCalendarServiceTest {
         when(absenceService.getOpenAbsencesSince(eq(List.of(person)), any(LocalDate.class))).thenReturn(noonAbsences);
 
         when(messageSource.getMessage(eq("calendar.person.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender von Marlene Muster");
-        final ByteArrayResource iCal = new ByteArrayResource(new byte[]{}, "calendar.ics");
-        when(iCalService.getCalendar("Abwesenheitskalender von Marlene Muster", noonAbsences, person)).thenReturn(iCal);
+        final ICalFeed iCalFeed = outputStream -> {};
+        when(iCalService.getCalendarFeed("Abwesenheitskalender von Marlene Muster", noonAbsences, person)).thenReturn(iCalFeed);
 
-        final ByteArrayResource calendar = sut.getCalendarForPerson(1L, "secret", GERMAN);
-        assertThat(calendar).isEqualTo(iCal);
+        final ICalFeed calendar = sut.getCalendarForPerson(1L, "secret", GERMAN);
+        assertThat(calendar).isSameAs(iCalFeed);
     }
 
     @Test
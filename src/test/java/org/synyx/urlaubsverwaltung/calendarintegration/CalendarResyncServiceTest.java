@@ -0,0 +1,234 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.synyx.urlaubsverwaltung.absence.Absence;
+import org.synyx.urlaubsverwaltung.absence.AbsenceTimeConfiguration;
+import org.synyx.urlaubsverwaltung.absence.TimeSettings;
+import org.synyx.urlaubsverwaltung.application.application.Application;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationService;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.period.DayLength;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.settings.Settings;
+import org.synyx.urlaubsverwaltung.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNote;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteService;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteStatus;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static java.time.ZoneOffset.UTC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentCaptor.forClass;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED;
+import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.CANCELLED;
+import static org.synyx.urlaubsverwaltung.calendarintegration.AbsenceMappingType.SICKNOTE;
+import static org.synyx.urlaubsverwaltung.calendarintegration.AbsenceMappingType.VACATION;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarResyncServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2022, 12, 1);
+
+    @Mock
+    private SettingsService settingsService;
+    @Mock
+    private CalendarSettingsService calendarSettingsService;
+    @Mock
+    private CalendarProviderService calendarProviderService;
+    @Mock
+    private AbsenceMappingRepository absenceMappingRepository;
+    @Mock
+    private ApplicationService applicationService;
+    @Mock
+    private SickNoteService sickNoteService;
+    @Mock
+    private CalendarProvider calendarProvider;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CalendarResyncService sut;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        final Clock clock = Clock.fixed(Instant.parse("2022-12-01T10:00:00Z"), UTC);
+        sut = new CalendarResyncService(settingsService, calendarSettingsService, calendarProviderService, absenceMappingRepository,
+            applicationService, sickNoteService, new CalendarSyncExecutor(absenceMappingRepository), new CalendarSyncProperties(), meterRegistry, clock);
+    }
+
+    @Test
+    void ensureResyncAppliesOnlyTheDifferences() {
+
+        when(calendarProviderService.getCalendarProvider()).thenReturn(Optional.of(calendarProvider));
+        when(settingsService.getSettings()).thenReturn(new Settings());
+        final CalendarSettings calendarSettings = new CalendarSettings();
+        when(calendarSettingsService.getCalendarSettings()).thenReturn(calendarSettings);
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final Application notSynced = application(1L, person, ALLOWED);
+        final Application unchanged = application(2L, person, ALLOWED);
+        final Application changed = application(3L, person, ALLOWED);
+        when(applicationService.getForStatesSince(ApplicationStatus.activeStatuses(), TODAY)).thenReturn(List.of(notSynced, unchanged, changed));
+        when(sickNoteService.getForStatesSince(SickNoteStatus.activeStatuses(), TODAY)).thenReturn(List.of());
+
+        final AbsenceMapping unchangedMapping = absenceMapping(11L, 2L, VACATION, "unchangedEventId", AbsenceFingerprint.of(absence(unchanged)));
+        final AbsenceMapping changedMapping = absenceMapping(12L, 3L, VACATION, "changedEventId", "outdated");
+        final AbsenceMapping pastMapping = absenceMapping(13L, 4L, VACATION, "pastEventId", "fingerprint");
+        final AbsenceMapping cancelledMapping = absenceMapping(14L, 5L, VACATION, "cancelledEventId", "fingerprint");
+        final AbsenceMapping deletedSickNoteMapping = absenceMapping(15L, 6L, SICKNOTE, "deletedEventId", "fingerprint");
+        when(absenceMappingRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(50)))
+            .thenReturn(List.of(unchangedMapping, changedMapping, pastMapping, cancelledMapping, deletedSickNoteMapping));
+
+        final Application past = application(4L, person, ALLOWED);
+        final Application cancelled = application(5L, person, CANCELLED);
+        when(applicationService.findApplicationsByIds(List.of(4L, 5L))).thenReturn(List.of(past, cancelled));
+        when(sickNoteService.findSickNotesByIds(List.of(6L))).thenReturn(List.<SickNote>of());
+
+        when(calendarProvider.sync(anyList(), eq(calendarSettings))).thenReturn(List.of(
+            Optional.of("changedEventId"), Optional.of("cancelledEventId"), Optional.of("deletedEventId"), Optional.of("addedEventId")
+        ));
+
+        sut.resync();
+
+        @SuppressWarnings("unchecked") final ArgumentCaptor<List<CalendarSyncOperation>> operationsCaptor = forClass(List.class);
+        verify(calendarProvider).sync(operationsCaptor.capture(), eq(calendarSettings));
+        assertThat(operationsCaptor.getValue()).satisfiesExactly(
+            update -> assertThat(update).isInstanceOfSatisfying(CalendarSyncOperation.Update.class, operation -> assertThat(operation.eventId()).isEqualTo("changedEventId")),
+            delete -> assertThat(delete).isEqualTo(new CalendarSyncOperation.Delete("cancelledEventId")),
+            delete -> assertThat(delete).isEqualTo(new CalendarSyncOperation.Delete("deletedEventId")),
+            add -> assertThat(add).isInstanceOf(CalendarSyncOperation.Add.class)
+        );
+
+        assertThat(changedMapping.getEventFingerprint()).isEqualTo(AbsenceFingerprint.of(absence(changed)));
+        verify(absenceMappingRepository).save(changedMapping);
+        verify(absenceMappingRepository).delete(cancelledMapping);
+        verify(absenceMappingRepository).delete(deletedSickNoteMapping);
+        verify(absenceMappingRepository, never()).delete(pastMapping);
+
+        final ArgumentCaptor<AbsenceMapping> addedMappingCaptor = forClass(AbsenceMapping.class);
+        verify(absenceMappingRepository, times(2)).save(addedMappingCaptor.capture());
+        assertThat(addedMappingCaptor.getAllValues()).anySatisfy(absenceMapping -> {
+            assertThat(absenceMapping.getAbsenceId()).isEqualTo(1L);
+            assertThat(absenceMapping.getAbsenceMappingType()).isEqualTo(VACATION);
+            assertThat(absenceMapping.getEventId()).isEqualTo("addedEventId");
+            assertThat(absenceMapping.getEventFingerprint()).isEqualTo(AbsenceFingerprint.of(absence(notSynced)));
+        });
+
+        assertThat(driftCount("add", "found")).isEqualTo(1);
+        assertThat(driftCount("update", "found")).isEqualTo(1);
+        assertThat(driftCount("delete", "found")).isEqualTo(2);
+        assertThat(driftCount("add", "fixed")).isEqualTo(1);
+        assertThat(driftCount("update", "fixed")).isEqualTo(1);
+        assertThat(driftCount("delete", "fixed")).isEqualTo(2);
+    }
+
+    @Test
+    void ensureResyncOnlyRecordsFingerprintOfMappingsWithoutFingerprint() {
+
+        when(calendarProviderService.getCalendarProvider()).thenReturn(Optional.of(calendarProvider));
+        when(settingsService.getSettings()).thenReturn(new Settings());
+
+        final Application syncedBeforeFingerprints = application(1L, new Person("muster", "Muster", "Marlene", "muster@example.org"), ALLOWED);
+        when(applicationService.getForStatesSince(ApplicationStatus.activeStatuses(), TODAY)).thenReturn(List.of(syncedBeforeFingerprints));
+        when(sickNoteService.getForStatesSince(SickNoteStatus.activeStatuses(), TODAY)).thenReturn(List.of());
+
+        final AbsenceMapping mappingWithoutFingerprint = absenceMapping(11L, 1L, VACATION, "eventId", null);
+        when(absenceMappingRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(50))).thenReturn(List.of(mappingWithoutFingerprint));
+
+        sut.resync();
+
+        assertThat(mappingWithoutFingerprint.getEventFingerprint()).isEqualTo(AbsenceFingerprint.of(absence(syncedBeforeFingerprints)));
+        verify(absenceMappingRepository).saveAll(List.of(mappingWithoutFingerprint));
+        verifyNoInteractions(calendarProvider);
+        assertThat(driftCount("update", "found")).isZero();
+    }
+
+    @Test
+    void ensureResyncCountsOnlySyncedDifferencesAsFixed() {
+
+        when(calendarProviderService.getCalendarProvider()).thenReturn(Optional.of(calendarProvider));
+        when(settingsService.getSettings()).thenReturn(new Settings());
+        final CalendarSettings calendarSettings = new CalendarSettings();
+        when(calendarSettingsService.getCalendarSettings()).thenReturn(calendarSettings);
+
+        final Application notSynced = application(1L, new Person("muster", "Muster", "Marlene", "muster@example.org"), ALLOWED);
+        when(applicationService.getForStatesSince(ApplicationStatus.activeStatuses(), TODAY)).thenReturn(List.of(notSynced));
+        when(sickNoteService.getForStatesSince(SickNoteStatus.activeStatuses(), TODAY)).thenReturn(List.of());
+        when(absenceMappingRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(50))).thenReturn(List.of());
+        when(calendarProvider.sync(anyList(), eq(calendarSettings))).thenReturn(List.of(Optional.empty()));
+
+        sut.resync();
+
+        verify(absenceMappingRepository, never()).save(any());
+        assertThat(driftCount("add", "found")).isEqualTo(1);
+        assertThat(driftCount("add", "fixed")).isZero();
+    }
+
+    @Test
+    void ensureResyncDoesNothingIfCalendarIsInSync() {
+
+        when(calendarProviderService.getCalendarProvider()).thenReturn(Optional.of(calendarProvider));
+        when(settingsService.getSettings()).thenReturn(new Settings());
+        when(applicationService.getForStatesSince(ApplicationStatus.activeStatuses(), TODAY)).thenReturn(List.of());
+        when(sickNoteService.getForStatesSince(SickNoteStatus.activeStatuses(), TODAY)).thenReturn(List.of());
+        when(absenceMappingRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(50))).thenReturn(List.of());
+
+        sut.resync();
+
+        verifyNoInteractions(calendarProvider);
+    }
+
+    @Test
+    void ensureResyncDoesNothingWithoutCalendarProvider() {
+
+        when(calendarProviderService.getCalendarProvider()).thenReturn(Optional.empty());
+
+        sut.resync();
+
+        verifyNoInteractions(applicationService, sickNoteService, absenceMappingRepository);
+    }
+
+    private double driftCount(String operation, String outcome) {
+        return meterRegistry.get("calendar.resync.drift").tag("operation", operation).tag("outcome", outcome).counter().count();
+    }
+
+    private static Application application(Long id, Person person, ApplicationStatus status) {
+        final Application application = new Application();
+        application.setId(id);
+        application.setPerson(person);
+        application.setStartDate(TODAY.plusDays(id));
+        application.setEndDate(TODAY.plusDays(id + 2));
+        application.setDayLength(DayLength.FULL);
+        application.setStatus(status);
+        return application;
+    }
+
+    private static Absence absence(Application application) {
+        return new Absence(application.getPerson(), application.getPeriod(), new AbsenceTimeConfiguration(new TimeSettings()));
+    }
+
+    private static AbsenceMapping absenceMapping(Long id, Long absenceId, AbsenceMappingType absenceMappingType, String eventId, String eventFingerprint) {
+        final AbsenceMapping absenceMapping = new AbsenceMapping(absenceId, absenceMappingType, eventId, eventFingerprint);
+        absenceMapping.setId(id);
+        return absenceMapping;
+    }
+}
@@ -0,0 +1,94 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.CronTask;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.synyx.urlaubsverwaltung.config.ScheduleLocking;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarSyncConfigurationTest {
+
+    private CalendarSyncConfiguration sut;
+
+    @Mock
+    private CalendarSyncService calendarSyncService;
+    @Mock
+    private CalendarResyncService calendarResyncService;
+    @Mock
+    private ScheduleLocking scheduleLocking;
+    @Mock
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    private CalendarSyncProperties calendarSyncProperties;
+
+    @BeforeEach
+    void setUp() {
+        calendarSyncProperties = new CalendarSyncProperties();
+        sut = new CalendarSyncConfiguration(calendarSyncProperties, calendarSyncService, calendarResyncService, scheduleLocking, taskScheduler);
+    }
+
+    @Test
+    void ensureFixedDelayTaskForCalendarSyncIsAdded() {
+
+        when(scheduleLocking.withLock(eq("CalendarSync"), any(Runnable.class), any(Duration.class), any(Duration.class)))
+            .thenAnswer(invocation -> invocation.getArgument(1));
+
+        final ScheduledTaskRegistrar taskRegistrar = new ScheduledTaskRegistrar();
+        sut.configureTasks(taskRegistrar);
+
+        final List<FixedDelayTask> fixedDelayTaskList = taskRegistrar.getFixedDelayTaskList();
+        assertThat(fixedDelayTaskList).hasSize(1);
+
+        final FixedDelayTask calendarSyncTask = fixedDelayTaskList.getFirst();
+        assertThat(calendarSyncTask.getIntervalDuration()).isEqualTo(Duration.ofSeconds(30));
+        calendarSyncTask.getRunnable().run();
+        verify(calendarSyncService).flush();
+    }
+
+    @Test
+    void ensureCronTaskForResyncIsAdded() {
+
+        when(scheduleLocking.withLock(eq("CalendarSync"), any(Runnable.class), any(Duration.class), any(Duration.class)))
+            .thenAnswer(invocation -> invocation.getArgument(1));
+
+        final ScheduledTaskRegistrar taskRegistrar = new ScheduledTaskRegistrar();
+        sut.configureTasks(taskRegistrar);
+
+        final List<CronTask> cronTaskList = taskRegistrar.getCronTaskList();
+        assertThat(cronTaskList).hasSize(1);
+
+        final CronTask resyncTask = cronTaskList.getFirst();
+        assertThat(resyncTask.getExpression()).isEqualTo("0 30 2 * * *");
+        resyncTask.getRunnable().run();
+        verify(calendarResyncService).resync();
+    }
+
+    @Test
+    void ensureNoCronTaskForResyncIfDisabled() {
+
+        calendarSyncProperties.getResync().setEnabled(false);
+        when(scheduleLocking.withLock(eq("CalendarSync"), any(Runnable.class), any(Duration.class), any(Duration.class)))
+            .thenAnswer(invocation -> invocation.getArgument(1));
+
+        final ScheduledTaskRegistrar taskRegistrar = new ScheduledTaskRegistrar();
+        sut.configureTasks(taskRegistrar);
+
+        assertThat(taskRegistrar.getCronTaskList()).isEmpty();
+        assertThat(taskRegistrar.getFixedDelayTaskList()).hasSize(1);
+    }
+}
@@ -6,35 +6,51 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.synyx.urlaubsverwaltung.absence.Absence;
 import org.synyx.urlaubsverwaltung.application.application.Application;
 import org.synyx.urlaubsverwaltung.application.application.ApplicationAppliedEvent;
-import org.synyx.urlaubsverwaltung.application.application.ApplicationRejectedEvent;
-import org.synyx.urlaubsverwaltung.application.application.ApplicationUpdatedEvent;
+import org.synyx.urlaubsverwaltung.application.application.ApplicationService;
 import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.settings.Settings;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNote;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteService;
+import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteToApplicationConvertedEvent;
 
+import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static java.time.ZoneOffset.UTC;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentCaptor.forClass;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.ALLOWED;
+import static org.synyx.urlaubsverwaltung.application.application.ApplicationStatus.REJECTED;
+import static org.synyx.urlaubsverwaltung.calendarintegration.AbsenceMappingType.SICKNOTE;
 import static org.synyx.urlaubsverwaltung.calendarintegration.AbsenceMappingType.VACATION;
+import static org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteStatus.ACTIVE;
 
 @ExtendWith(MockitoExtension.class)
 class CalendarSyncServiceTest {
 
+    private static final Instant NOW = Instant.parse("2022-12-01T10:00:00Z");
+
     @Mock
     private SettingsService settingsService;
     @Mock
@@ -43,109 +59,224 @@ class CalendarSyncServiceTest {
     private CalendarProviderService calendarProviderService;
     @Mock
     private AbsenceMappingRepository absenceMappingRepository;
+    @Mock
+    private CalendarSyncQueueRepository calendarSyncQueueRepository;
+    @Mock
+    private ApplicationService applicationService;
+    @Mock
+    private SickNoteService sickNoteService;
+    @Mock
+    private CalendarProvider calendarProvider;
 
     private CalendarSyncService sut;
 
     @BeforeEach
     void setUp() {
-        sut = new CalendarSyncService(settingsService, calendarSettingsService, calendarProviderService, absenceMappingRepository);
+        sut = new CalendarSyncService(settingsService, calendarSettingsService, calendarProviderService, absenceMappingRepository,
+            calendarSyncQueueRepository, new CalendarSyncExecutor(absenceMappingRepository), applicationService, sickNoteService, new CalendarSyncProperties(), Clock.fixed(NOW, UTC));
     }
 
     @Test
-    void ensureToCreateCalendarEventOnApplicationAppliedEvent() {
+    void ensureToEnqueueApplicationOnApplicationAppliedEvent() {
 
-        final LocalDate now = LocalDate.now();
+        when(calendarProviderService.getCalendarProvider()).thenReturn(Optional.of(calendarProvider));
 
         final Application application = new Application();
         application.setId(1L);
-        application.setStartDate(now);
-        application.setEndDate(now.plusDays(2));
-        application.setDayLength(DayLength.FULL);
-        application.setPerson(new Person());
 
-        final ApplicationAppliedEvent event = new ApplicationAppliedEvent(UUID.randomUUID(), Instant.now(), application);
+        sut.consumeApplicationAppliedEvent(new ApplicationAppliedEvent(UUID.randomUUID(), Instant.now(), application));
 
-        final GoogleCalendarSyncProvider googleCalendarSyncProvider = mock(GoogleCalendarSyncProvider.class);
-        when(calendarProviderService.getCalendarProvider()).thenReturn(Optional.of(googleCalendarSyncProvider));
-        when(googleCalendarSyncProvider.add(any(Absence.class), any(CalendarSettings.class))).thenReturn(Optional.of("eventId"));
-        when(settingsService.getSettings()).thenReturn(new Settings());
-        when(calendarSettingsService.getCalendarSettings()).thenReturn(new CalendarSettings());
+        final ArgumentCaptor<CalendarSyncQueueEntity> captor = forClass(CalendarSyncQueueEntity.class);
+        verify(calendarSyncQueueRepository).save(captor.capture());
+        final CalendarSyncQueueEntity queued = captor.getValue();
+        assertThat(queued.getAbsenceId()).isEqualTo(1L);
+        assertThat(queued.getAbsenceMappingType()).isEqualTo(VACATION);
+        assertThat(queued.getEnqueuedAt()).isEqualTo(NOW);
+        verifyNoInteractions(calendarProvider);
+    }
 
-        sut.consumeApplicationAppliedEvent(event);
+    @Test
+    void ensureToEnqueueSickNoteAndApplicationOnSickNoteToApplicationConvertedEvent() {
 
-        final ArgumentCaptor<AbsenceMapping> absenceMappingArgumentCaptor = forClass(AbsenceMapping.class);
-        verify(absenceMappingRepository).save(absenceMappingArgumentCaptor.capture());
-        final AbsenceMapping absenceMapping = absenceMappingArgumentCaptor.getValue();
-        assertThat(absenceMapping.getEventId()).isEqualTo("eventId");
-        assertThat(absenceMapping.getAbsenceId()).isEqualTo(1L);
-        assertThat(absenceMapping.getAbsenceMappingType()).isEqualTo(VACATION);
+        when(calendarProviderService.getCalendarProvider()).thenReturn(Optional.of(calendarProvider));
+
+        final SickNote sickNote = SickNote.builder().id(2L).build();
+        final Application application = new Application();
+        application.setId(1L);
+
+        sut.consumeSickNoteToApplicationConvertedEvent(SickNoteToApplicationConvertedEvent.of(sickNote, application));
+
+        final ArgumentCaptor<CalendarSyncQueueEntity> captor = forClass(CalendarSyncQueueEntity.class);
+        verify(calendarSyncQueueRepository, times(2)).save(captor.capture());
+        assertThat(captor.getAllValues())
+            .extracting(CalendarSyncQueueEntity::getAbsenceId, CalendarSyncQueueEntity::getAbsenceMappingType)
+            .containsExactly(tuple(2L, SICKNOTE), tuple(1L, VACATION));
     }
 
     @Test
-    void ensureToCreateCalendarEventOnApplicationUpdatedEvent() {
+    void ensureNothingIsEnqueuedWithoutCalendarProvider() {
 
-        final LocalDate now = LocalDate.of(2022, 12, 10);
+        when(calendarProviderService.getCalendarProvider()).thenReturn(Optional.empty());
 
         final Application application = new Application();
         application.setId(1L);
-        application.setStartDate(now);
-        application.setEndDate(now.plusDays(2));
-        application.setDayLength(DayLength.FULL);
+
+        sut.consumeApplicationAppliedEvent(new ApplicationAppliedEvent(UUID.randomUUID(), Instant.now(), application));
+
+        verifyNoInteractions(calendarSyncQueueRepository);
+    }
+
+    @Test
+    void ensureFlushAddsEventOnceForMultipleChangesOfActiveApplicationWithoutMapping() {
+
+        when(calendarProviderService.getCalendarProvider()).thenReturn(Optional.of(calendarProvider));
+        when(settingsService.getSettings()).thenReturn(new Settings());
+        final CalendarSettings calendarSettings = new CalendarSettings();
+        when(calendarSettingsService.getCalendarSettings()).thenReturn(calendarSettings);
+
+        final List<CalendarSyncQueueEntity> queued = List.of(
+            new CalendarSyncQueueEntity(1L, VACATION, NOW),
+            new CalendarSyncQueueEntity(1L, VACATION, NOW)
+        );
+        when(calendarSyncQueueRepository.findByOrderByIdAsc(Limit.of(50))).thenReturn(queued);
 
         final Person person = new Person();
         person.setFirstName("first");
         person.setLastName("last");
-        application.setPerson(person);
+        final Application application = application(1L, person);
+        application.setStatus(ALLOWED);
+        when(applicationService.getApplicationById(1L)).thenReturn(Optional.of(application));
+        when(absenceMappingRepository.findAbsenceMappingByAbsenceIdAndAbsenceMappingType(1L, VACATION)).thenReturn(Optional.empty());
+        when(calendarProvider.sync(anyList(), eq(calendarSettings))).thenReturn(List.of(Optional.of("eventId")));
+
+        sut.flush();
+
+        @SuppressWarnings("unchecked") final ArgumentCaptor<List<CalendarSyncOperation>> operationsCaptor = forClass(List.class);
+        verify(calendarProvider).sync(operationsCaptor.capture(), eq(calendarSettings));
+        assertThat(operationsCaptor.getValue()).singleElement()
+            .isInstanceOfSatisfying(CalendarSyncOperation.Add.class, add -> {
+                final Absence absence = add.absence();
+                assertThat(absence.getPerson()).isEqualTo(person);
+                assertThat(absence.getEventSubject()).isEqualTo("first last abwesend");
+                assertThat(absence.getStartDate()).isEqualTo(ZonedDateTime.of(2022, 12, 10, 0, 0, 0, 0, ZoneId.of("Europe/Berlin")));
+                assertThat(absence.getEndDate()).isEqualTo(ZonedDateTime.of(2022, 12, 13, 0, 0, 0, 0, ZoneId.of("Europe/Berlin")));
+            });
+
+        final ArgumentCaptor<AbsenceMapping> absenceMappingArgumentCaptor = forClass(AbsenceMapping.class);
+        verify(absenceMappingRepository).save(absenceMappingArgumentCaptor.capture());
+        final AbsenceMapping absenceMapping = absenceMappingArgumentCaptor.getValue();
+        assertThat(absenceMapping.getEventId()).isEqualTo("eventId");
+        assertThat(absenceMapping.getAbsenceId()).isEqualTo(1L);
+        assertThat(absenceMapping.getAbsenceMappingType()).isEqualTo(VACATION);
+        assertThat(absenceMapping.getEventFingerprint()).isNotNull();
 
-        final ApplicationUpdatedEvent event = new ApplicationUpdatedEvent(UUID.randomUUID(), Instant.now(), application);
+        verify(calendarSyncQueueRepository).deleteAll(queued);
+    }
+
+    @Test
+    void ensureFlushUpdatesEventOfActiveSickNoteWithMapping() {
 
-        when(absenceMappingRepository.findAbsenceMappingByAbsenceIdAndAbsenceMappingType(1L, VACATION)).thenReturn(Optional.of(new AbsenceMapping(1L, VACATION, "eventId")));
-        final GoogleCalendarSyncProvider googleCalendarSyncProvider = mock(GoogleCalendarSyncProvider.class);
-        when(calendarProviderService.getCalendarProvider()).thenReturn(Optional.of(googleCalendarSyncProvider));
+        when(calendarProviderService.getCalendarProvider()).thenReturn(Optional.of(calendarProvider));
         when(settingsService.getSettings()).thenReturn(new Settings());
         final CalendarSettings calendarSettings = new CalendarSettings();
         when(calendarSettingsService.getCalendarSettings()).thenReturn(calendarSettings);
 
-        sut.consumeApplicationUpdatedEvent(event);
+        final List<CalendarSyncQueueEntity> queued = List.of(new CalendarSyncQueueEntity(2L, SICKNOTE, NOW));
+        when(calendarSyncQueueRepository.findByOrderByIdAsc(Limit.of(50))).thenReturn(queued);
 
-        final ArgumentCaptor<Absence> absenceArgumentCaptor = forClass(Absence.class);
-        verify(googleCalendarSyncProvider).update(absenceArgumentCaptor.capture(), eq("eventId"), eq(calendarSettings));
-        final Absence absence = absenceArgumentCaptor.getValue();
-        assertThat(absence.getPerson()).isEqualTo(person);
-        assertThat(absence.getEventSubject()).isEqualTo("first last abwesend");
-        assertThat(absence.getStartDate()).isEqualTo(ZonedDateTime.of(2022, 12, 10, 0, 0, 0, 0, ZoneId.of("Europe/Berlin")));
-        assertThat(absence.getEndDate()).isEqualTo(ZonedDateTime.of(2022, 12, 13, 0, 0, 0, 0, ZoneId.of("Europe/Berlin")));
+        final SickNote sickNote = SickNote.builder()
+            .id(2L)
+            .person(new Person())
+            .startDate(LocalDate.of(2022, 12, 10))
+            .endDate(LocalDate.of(2022, 12, 12))
+            .dayLength(DayLength.FULL)
+            .status(ACTIVE)
+            .build();
+        when(sickNoteService.getById(2L)).thenReturn(Optional.of(sickNote));
+        when(absenceMappingRepository.findAbsenceMappingByAbsenceIdAndAbsenceMappingType(2L, SICKNOTE)).thenReturn(Optional.of(new AbsenceMapping(2L, SICKNOTE, "eventId")));
+        when(calendarProvider.sync(anyList(), eq(calendarSettings))).thenReturn(List.of(Optional.of("eventId")));
+
+        sut.flush();
+
+        @SuppressWarnings("unchecked") final ArgumentCaptor<List<CalendarSyncOperation>> operationsCaptor = forClass(List.class);
+        verify(calendarProvider).sync(operationsCaptor.capture(), eq(calendarSettings));
+        assertThat(operationsCaptor.getValue()).singleElement()
+            .isInstanceOfSatisfying(CalendarSyncOperation.Update.class, update -> assertThat(update.eventId()).isEqualTo("eventId"));
+
+        final ArgumentCaptor<AbsenceMapping> absenceMappingArgumentCaptor = forClass(AbsenceMapping.class);
+        verify(absenceMappingRepository).save(absenceMappingArgumentCaptor.capture());
+        assertThat(absenceMappingArgumentCaptor.getValue().getEventId()).isEqualTo("eventId");
+        assertThat(absenceMappingArgumentCaptor.getValue().getEventFingerprint()).isNotNull();
+        verify(absenceMappingRepository, never()).delete(any());
+        verify(calendarSyncQueueRepository).deleteAll(queued);
     }
 
     @Test
-    void ensureToCreateCalendarEventOnApplicationRejectedEvent() {
+    void ensureFlushDeletesEventOfInactiveApplication() {
 
-        final LocalDate now = LocalDate.of(2022, 12, 10);
+        when(calendarProviderService.getCalendarProvider()).thenReturn(Optional.of(calendarProvider));
+        when(settingsService.getSettings()).thenReturn(new Settings());
+        final CalendarSettings calendarSettings = new CalendarSettings();
+        when(calendarSettingsService.getCalendarSettings()).thenReturn(calendarSettings);
 
-        final Application application = new Application();
-        application.setId(1L);
-        application.setStartDate(now);
-        application.setEndDate(now.plusDays(2));
-        application.setDayLength(DayLength.FULL);
+        final List<CalendarSyncQueueEntity> queued = List.of(new CalendarSyncQueueEntity(1L, VACATION, NOW));
+        when(calendarSyncQueueRepository.findByOrderByIdAsc(Limit.of(50))).thenReturn(queued);
 
-        final Person person = new Person();
-        person.setFirstName("first");
-        person.setLastName("last");
-        application.setPerson(person);
+        final Application application = application(1L, new Person());
+        application.setStatus(REJECTED);
+        when(applicationService.getApplicationById(1L)).thenReturn(Optional.of(application));
+        final AbsenceMapping absenceMapping = new AbsenceMapping(1L, VACATION, "eventId");
+        when(absenceMappingRepository.findAbsenceMappingByAbsenceIdAndAbsenceMappingType(1L, VACATION)).thenReturn(Optional.of(absenceMapping));
+        when(calendarProvider.sync(List.of(new CalendarSyncOperation.Delete("eventId")), calendarSettings)).thenReturn(List.of(Optional.of("eventId")));
 
-        final ApplicationRejectedEvent event = new ApplicationRejectedEvent(UUID.randomUUID(), Instant.now(), application);
+        sut.flush();
 
-        when(absenceMappingRepository.findAbsenceMappingByAbsenceIdAndAbsenceMappingType(1L, VACATION)).thenReturn(Optional.of(new AbsenceMapping(1L, VACATION, "eventId")));
+        verify(absenceMappingRepository).delete(absenceMapping);
+        verify(calendarSyncQueueRepository).deleteAll(queued);
+    }
 
+    @Test
+    void ensureFlushKeepsMappingsIfSyncFailed() {
+
+        when(calendarProviderService.getCalendarProvider()).thenReturn(Optional.of(calendarProvider));
+        when(settingsService.getSettings()).thenReturn(new Settings());
         final CalendarSettings calendarSettings = new CalendarSettings();
         when(calendarSettingsService.getCalendarSettings()).thenReturn(calendarSettings);
 
-        final GoogleCalendarSyncProvider googleCalendarSyncProvider = mock(GoogleCalendarSyncProvider.class);
-        when(calendarProviderService.getCalendarProvider()).thenReturn(Optional.of(googleCalendarSyncProvider));
-        when(googleCalendarSyncProvider.delete("eventId", calendarSettings)).thenReturn(Optional.of("eventId"));
+        final List<CalendarSyncQueueEntity> queued = List.of(new CalendarSyncQueueEntity(1L, VACATION, NOW));
+        when(calendarSyncQueueRepository.findByOrderByIdAsc(Limit.of(50))).thenReturn(queued);
+
+        when(applicationService.getApplicationById(1L)).thenReturn(Optional.empty());
+        final AbsenceMapping absenceMapping = new AbsenceMapping(1L, VACATION, "eventId");
+        when(absenceMappingRepository.findAbsenceMappingByAbsenceIdAndAbsenceMappingType(1L, VACATION)).thenReturn(Optional.of(absenceMapping));
+        when(calendarProvider.sync(List.of(new CalendarSyncOperation.Delete("eventId")), calendarSettings)).thenReturn(List.of(Optional.empty()));
+
+        sut.flush();
+
+        verify(absenceMappingRepository, never()).delete(any());
+        verify(calendarSyncQueueRepository).deleteAll(queued);
+    }
+
+    @Test
+    void ensureFlushDiscardsQueueWithoutCalendarProvider() {
+
+        when(calendarProviderService.getCalendarProvider()).thenReturn(Optional.empty());
 
-        sut.consumeApplicationRejectedEvent(event);
+        sut.flush();
+
+        verify(calendarSyncQueueRepository).deleteAll();
+        verify(calendarSyncQueueRepository, never()).findByOrderByIdAsc(any());
+    }
 
-        verify(absenceMappingRepository).deleteByEventId("eventId");
+    private static Application application(Long id, Person person) {
+        final LocalDate startDate = LocalDate.of(2022, 12, 10);
+
+        final Application application = new Application();
+        application.setId(id);
+        application.setStartDate(startDate);
+        application.setEndDate(startDate.plusDays(2));
+        application.setDayLength(DayLength.FULL);
+        application.setPerson(person);
+        return application;
     }
 }
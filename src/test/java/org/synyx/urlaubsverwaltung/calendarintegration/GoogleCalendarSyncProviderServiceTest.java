@@ -1,5 +1,11 @@
 package org.synyx.urlaubsverwaltung.calendarintegration;
 
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
 import com.google.api.services.calendar.Calendar;
 import com.google.api.services.calendar.model.Event;
 import org.junit.jupiter.api.Test;
@@ -16,12 +22,15 @@ import org.synyx.urlaubsverwaltung.person.Person;
 
 import java.io.IOException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
@@ -39,7 +48,7 @@ class GoogleCalendarSyncProviderServiceTest {
     void ensureAddAbsence() throws IOException {
 
         final CalendarSettings calendarSettings = prepareCalendarSettings();
-        final GoogleCalendarSyncProvider sut = new GoogleCalendarSyncProvider(googleCalendarClientProvider);
+        final GoogleCalendarSyncProvider sut = new GoogleCalendarSyncProvider(googleCalendarClientProvider, new CalendarSyncProperties());
 
         final Person person = new Person("testUser", "Hans", "Wurst", "testUser@mail.test");
         final Period period = new Period(LocalDate.parse("2022-08-25"), LocalDate.parse("2022-08-26"), FULL);
@@ -72,7 +81,7 @@ class GoogleCalendarSyncProviderServiceTest {
     void ensureUpdateAbsence() throws IOException {
 
         final CalendarSettings calendarSettings = prepareCalendarSettings();
-        final GoogleCalendarSyncProvider sut = new GoogleCalendarSyncProvider(googleCalendarClientProvider);
+        final GoogleCalendarSyncProvider sut = new GoogleCalendarSyncProvider(googleCalendarClientProvider, new CalendarSyncProperties());
 
         final Person person = new Person("testUser", "Hans", "Wurst", "testUser@mail.test");
         final AbsenceTimeConfiguration config = new AbsenceTimeConfiguration(new TimeSettings());
@@ -82,13 +91,8 @@ class GoogleCalendarSyncProviderServiceTest {
         final Calendar.Events events = mock(Calendar.Events.class);
         when(calendarClient.events()).thenReturn(events);
 
-        final Calendar.Events.Get get = mock(Calendar.Events.Get.class);
-        when(events.get("CALENDAR_ID", "eventId")).thenReturn(get);
-        final Event event = new Event();
-        when(get.execute()).thenReturn(event);
-
         final Calendar.Events.Patch patch = mock(Calendar.Events.Patch.class);
-        when(events.patch("CALENDAR_ID", "eventId", event)).thenReturn(patch);
+        when(events.patch(eq("CALENDAR_ID"), eq("eventId"), any())).thenReturn(patch);
 
         final Period updatedPeriod = new Period(LocalDate.parse("2022-08-26"), LocalDate.parse("2022-08-27"), FULL);
         final Absence absenceUpdate = new Absence(person, updatedPeriod, config);
@@ -100,13 +104,15 @@ class GoogleCalendarSyncProviderServiceTest {
         assertThat(capturedEvent.getEnd().getDate()).hasToString("2022-08-28");
         assertThat(capturedEvent.getSummary()).isEqualTo("Wurst Hans abwesend");
         assertThat(capturedEvent.getAttendees()).hasSize(1);
+
+        verify(events, never()).get(any(), any());
     }
 
     @Test
     void ensureDeleteAbsence() throws IOException {
 
         final CalendarSettings calendarSettings = prepareCalendarSettings();
-        final GoogleCalendarSyncProvider sut = new GoogleCalendarSyncProvider(googleCalendarClientProvider);
+        final GoogleCalendarSyncProvider sut = new GoogleCalendarSyncProvider(googleCalendarClientProvider, new CalendarSyncProperties());
 
         final Calendar calendarClient = mock(Calendar.class);
         when(googleCalendarClientProvider.getCalendarClient(calendarSettings.getGoogleCalendarSettings())).thenReturn(Optional.of(calendarClient));
@@ -121,6 +127,87 @@ class GoogleCalendarSyncProviderServiceTest {
         verify(events).delete("CALENDAR_ID", "eventId");
     }
 
+    @Test
+    void ensureSyncSendsOperationsInBatchRequests() throws IOException {
+
+        final CalendarSettings calendarSettings = prepareCalendarSettings();
+        final CalendarSyncProperties calendarSyncProperties = new CalendarSyncProperties();
+        calendarSyncProperties.setBatchSize(3);
+        final GoogleCalendarSyncProvider sut = new GoogleCalendarSyncProvider(googleCalendarClientProvider, calendarSyncProperties);
+
+        final String boundary = "batch_boundary";
+        final String batchResponse = String.join("\r\n",
+            "--" + boundary,
+            "Content-Type: application/http",
+            "",
+            "HTTP/1.1 200 OK",
+            "Content-Type: application/json; charset=UTF-8",
+            "",
+            "{\"id\": \"addedEventId\"}",
+            "--" + boundary,
+            "Content-Type: application/http",
+            "",
+            "HTTP/1.1 404 Not Found",
+            "Content-Type: application/json; charset=UTF-8",
+            "",
+            "{\"error\": {\"code\": 404, \"message\": \"Not Found\"}}",
+            "--" + boundary,
+            "Content-Type: application/http",
+            "",
+            "HTTP/1.1 204 No Content",
+            "",
+            "",
+            "--" + boundary + "--",
+            "");
+
+        final List<String> requestUrls = new ArrayList<>();
+        final MockHttpTransport transport = new MockHttpTransport() {
+            @Override
+            public LowLevelHttpRequest buildRequest(String method, String url) {
+                requestUrls.add(url);
+                return new MockLowLevelHttpRequest(url) {
+                    @Override
+                    public LowLevelHttpResponse execute() {
+                        return new MockLowLevelHttpResponse()
+                            .setContentType("multipart/mixed; boundary=" + boundary)
+                            .setContent(batchResponse);
+                    }
+                };
+            }
+        };
+
+        final Calendar calendarClient = new Calendar.Builder(transport, GsonFactory.getDefaultInstance(), null)
+            .setRootUrl("http://localhost:8080/")
+            .setApplicationName("Urlaubsverwaltung")
+            .build();
+        when(googleCalendarClientProvider.getCalendarClient(calendarSettings.getGoogleCalendarSettings())).thenReturn(Optional.of(calendarClient));
+
+        final Person person = new Person("testUser", "Hans", "Wurst", "testUser@mail.test");
+        final Period period = new Period(LocalDate.parse("2022-08-25"), LocalDate.parse("2022-08-26"), FULL);
+        final Absence absence = new Absence(person, period, new AbsenceTimeConfiguration(new TimeSettings()));
+
+        final List<Optional<String>> eventIds = sut.sync(List.of(
+            new CalendarSyncOperation.Add(absence),
+            new CalendarSyncOperation.Update(absence, "unknownEventId"),
+            new CalendarSyncOperation.Delete("deletedEventId")
+        ), calendarSettings);
+
+        assertThat(eventIds).containsExactly(Optional.of("addedEventId"), Optional.empty(), Optional.of("deletedEventId"));
+        assertThat(requestUrls).containsExactly("http://localhost:8080/batch/calendar/v3");
+    }
+
+    @Test
+    void ensureSyncReturnsNoEventIdsWithoutCalendarClient() {
+
+        final CalendarSettings calendarSettings = prepareCalendarSettings();
+        final GoogleCalendarSyncProvider sut = new GoogleCalendarSyncProvider(googleCalendarClientProvider, new CalendarSyncProperties());
+
+        when(googleCalendarClientProvider.getCalendarClient(calendarSettings.getGoogleCalendarSettings())).thenReturn(Optional.empty());
+
+        final List<Optional<String>> eventIds = sut.sync(List.of(new CalendarSyncOperation.Delete("eventId")), calendarSettings);
+        assertThat(eventIds).containsExactly(Optional.empty());
+    }
+
     private CalendarSettings prepareCalendarSettings() {
 
         final GoogleCalendarSettings googleCalendarSettings = new GoogleCalendarSettings();
@@ -8,9 +8,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.io.ByteArrayResource;
 import org.synyx.urlaubsverwaltung.web.FilterPeriod;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Locale.JAPANESE;
@@ -84,4 +89,64 @@ class CsvExportServiceTest {
         final ByteArrayResource aLotOfData = sut.resource(period, JAPANESE, List.of("A lot of data"));
         assertThat(new String(aLotOfData.getByteArray(), UTF_8)).contains("A lot of data");
     }
+
+    @Test
+    void ensureStreamingResourceIsWrittenWithSameContentAsResource() throws IOException {
+
+        final CsvExportService<String> sut = new CsvExportService<>() {
+            @Override
+            public void write(FilterPeriod period, Locale locale, List<String> data, CSVWriter csvWriter) {
+                data.forEach(value -> csvWriter.writeNext(new String[]{value, value}));
+            }
+
+            @Override
+            public String fileName(FilterPeriod period, Locale locale) {
+                return "someFileName.csv";
+            }
+        };
+
+        final FilterPeriod period = new FilterPeriod(LocalDate.of(2022, 10, 2), LocalDate.of(2022, 10, 3));
+        final ByteArrayResource resource = sut.resource(period, JAPANESE, List.of("A lot of data", "Next data"));
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        sut.streamingResource(period, JAPANESE, () -> Stream.of("A lot of data", "Next data")).writeTo(outputStream);
+
+        assertThat(outputStream.toByteArray())
+            .startsWith((byte) 239, (byte) 187, (byte) 191)
+            .isEqualTo(resource.getByteArray());
+    }
+
+    @Test
+    void ensureStreamingResourceConsumesAndClosesTheStream() throws IOException {
+
+        final List<String> written = new ArrayList<>();
+        final CsvExportService<String> sut = new CsvExportService<>() {
+            @Override
+            public void write(FilterPeriod period, Locale locale, List<String> data, CSVWriter csvWriter) {
+                throw new IllegalStateException("list should not be written");
+            }
+
+            @Override
+            public void write(FilterPeriod period, Locale locale, Stream<String> data, CSVWriter csvWriter) {
+                data.forEachOrdered(value -> {
+                    written.add(value);
+                    csvWriter.writeNext(new String[]{value});
+                });
+            }
+
+            @Override
+            public String fileName(FilterPeriod period, Locale locale) {
+                return "someFileName.csv";
+            }
+        };
+
+        final AtomicBoolean closed = new AtomicBoolean(false);
+        final FilterPeriod period = new FilterPeriod(LocalDate.of(2022, 10, 2), LocalDate.of(2022, 10, 3));
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        sut.streamingResource(period, JAPANESE, () -> Stream.of("A lot of data", "Next data").onClose(() -> closed.set(true))).writeTo(outputStream);
+
+        assertThat(written).containsExactly("A lot of data", "Next data");
+        assertThat(closed).isTrue();
+        assertThat(new String(outputStream.toByteArray(), UTF_8)).contains("A lot of data\nNext data");
+    }
 }
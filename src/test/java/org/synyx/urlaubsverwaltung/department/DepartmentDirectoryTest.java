@@ -0,0 +1,216 @@
+package org.synyx.urlaubsverwaltung.department;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.Role;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.person.Role.DEPARTMENT_HEAD;
+import static org.synyx.urlaubsverwaltung.person.Role.SECOND_STAGE_AUTHORITY;
+import static org.synyx.urlaubsverwaltung.person.Role.USER;
+
+@ExtendWith(MockitoExtension.class)
+class DepartmentDirectoryTest {
+
+    private DepartmentDirectory sut;
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+    @Mock
+    private Clock clock;
+
+    private final Instant now = Instant.parse("2022-08-01T10:15:30Z");
+
+    @BeforeEach
+    void setUp() {
+        final DepartmentProperties departmentProperties = new DepartmentProperties();
+        departmentProperties.setDirectoryTimeToLive(Duration.ofMinutes(1));
+        sut = new DepartmentDirectory(departmentRepository, departmentProperties, clock);
+    }
+
+    @Test
+    void ensureDepartmentHeadManagesMembersButNotSecondStageAuthoritiesOfTheDepartment() {
+        when(clock.instant()).thenReturn(now);
+
+        final Person departmentHead = person(1, DEPARTMENT_HEAD);
+        final Person secondStageAuthority = person(2, SECOND_STAGE_AUTHORITY);
+        final Person member = person(3, USER);
+        final Person otherMember = person(4, USER);
+
+        final DepartmentEntity department = department(1, List.of(departmentHead, secondStageAuthority, member), List.of(departmentHead), List.of(secondStageAuthority));
+        final DepartmentEntity otherDepartment = department(2, List.of(otherMember), List.of(), List.of());
+        when(departmentRepository.findAll()).thenReturn(List.of(department, otherDepartment));
+
+        assertThat(sut.isManagedByDepartmentHead(departmentHead, member)).isTrue();
+        assertThat(sut.isManagedByDepartmentHead(departmentHead, departmentHead)).isTrue();
+        assertThat(sut.isManagedByDepartmentHead(departmentHead, secondStageAuthority)).isFalse();
+        assertThat(sut.isManagedByDepartmentHead(departmentHead, otherMember)).isFalse();
+        assertThat(sut.isManagedBySecondStageAuthority(secondStageAuthority, departmentHead)).isTrue();
+        assertThat(sut.isManagedBySecondStageAuthority(secondStageAuthority, otherMember)).isFalse();
+        assertThat(sut.isManagedBySecondStageAuthority(departmentHead, member)).isFalse();
+    }
+
+    @Test
+    void ensureMembersOfManagedDepartmentsConsiderTheRolesOfThePerson() {
+        when(clock.instant()).thenReturn(now);
+
+        final Person person = person(1, DEPARTMENT_HEAD);
+        final Person member = person(2, USER);
+        final Person otherMember = person(3, USER);
+
+        final DepartmentEntity department = department(1, List.of(member), List.of(person), List.of());
+        final DepartmentEntity otherDepartment = department(2, List.of(member, otherMember), List.of(), List.of(person));
+        when(departmentRepository.findAll()).thenReturn(List.of(department, otherDepartment));
+
+        assertThat(sut.getMembersOfManagedDepartments(person)).containsExactly(member);
+
+        person.setPermissions(List.of(USER, DEPARTMENT_HEAD, SECOND_STAGE_AUTHORITY));
+        assertThat(sut.getMembersOfManagedDepartments(person)).containsExactly(member, otherMember);
+    }
+
+    @Test
+    void ensureMembersOfManagedDepartmentsAreEmptyWithoutLoadingForPersonWithoutRole() {
+        assertThat(sut.getMembersOfManagedDepartments(person(1, USER))).isEmpty();
+        verifyNoInteractions(departmentRepository);
+    }
+
+    @Test
+    void ensureColleaguesAreMembersOfTheDepartmentsOfThePersonWithoutThePerson() {
+        when(clock.instant()).thenReturn(now);
+
+        final Person person = person(1, DEPARTMENT_HEAD);
+        final Person colleague = person(2, USER);
+        final Person otherColleague = person(3, USER);
+        final Person managedMember = person(4, USER);
+
+        final DepartmentEntity department = department(1, List.of(person, colleague), List.of(), List.of());
+        final DepartmentEntity otherDepartment = department(2, List.of(colleague, otherColleague, person), List.of(), List.of());
+        final DepartmentEntity managedDepartment = department(3, List.of(managedMember), List.of(person), List.of());
+        when(departmentRepository.findAll()).thenReturn(List.of(department, otherDepartment, managedDepartment));
+
+        assertThat(sut.getColleaguesOf(person)).containsExactly(colleague, otherColleague);
+        assertThat(sut.getColleaguesOf(managedMember)).isEmpty();
+    }
+
+    @Test
+    void ensureColleaguesAreKeptUntilEviction() {
+        when(clock.instant()).thenReturn(now);
+
+        final Person person = person(1, USER);
+        final Person colleague = person(2, USER);
+        when(departmentRepository.findAll())
+            .thenReturn(List.of(department(1, List.of(person, colleague), List.of(), List.of())))
+            .thenReturn(List.of(department(1, List.of(person), List.of(), List.of())));
+
+        final List<Person> colleagues = sut.getColleaguesOf(person);
+        assertThat(colleagues).containsExactly(colleague);
+        assertThat(sut.getColleaguesOf(person)).isSameAs(colleagues);
+
+        sut.evict();
+
+        assertThat(sut.getColleaguesOf(person)).isEmpty();
+        verify(departmentRepository, times(2)).findAll();
+    }
+
+    @Test
+    void ensureHasDepartments() {
+        when(clock.instant()).thenReturn(now);
+        when(departmentRepository.findAll())
+            .thenReturn(List.of(department(1, List.of(), List.of(), List.of())))
+            .thenReturn(List.of());
+
+        assertThat(sut.hasDepartments()).isTrue();
+
+        sut.evict();
+
+        assertThat(sut.hasDepartments()).isFalse();
+    }
+
+    @Test
+    void ensureDepartmentMatchConsidersManagedDepartmentsOnlyForPrivilegedPersons() {
+        when(clock.instant()).thenReturn(now);
+
+        final Person departmentHead = person(1, DEPARTMENT_HEAD);
+        final Person member = person(2, USER);
+
+        final DepartmentEntity department = department(1, List.of(member), List.of(departmentHead), List.of());
+        when(departmentRepository.findAll()).thenReturn(List.of(department));
+
+        assertThat(sut.hasDepartmentMatch(departmentHead, member)).isTrue();
+        assertThat(sut.hasDepartmentMatch(member, departmentHead)).isTrue();
+
+        departmentHead.setPermissions(List.of(USER));
+        assertThat(sut.hasDepartmentMatch(departmentHead, member)).isFalse();
+    }
+
+    @Test
+    void ensureMembershipsAreLoadedOnceAndReloadedAfterEviction() {
+        when(clock.instant()).thenReturn(now);
+
+        final Person departmentHead = person(1, DEPARTMENT_HEAD);
+        final Person member = person(2, USER);
+        when(departmentRepository.findAll())
+            .thenReturn(List.of(department(1, List.of(member), List.of(departmentHead), List.of())))
+            .thenReturn(List.of(department(1, List.of(), List.of(departmentHead), List.of())));
+
+        assertThat(sut.isManagedByDepartmentHead(departmentHead, member)).isTrue();
+        assertThat(sut.hasDepartmentMatch(departmentHead, member)).isTrue();
+        verify(departmentRepository).findAll();
+
+        sut.evict();
+
+        assertThat(sut.isManagedByDepartmentHead(departmentHead, member)).isFalse();
+        verify(departmentRepository, times(2)).findAll();
+    }
+
+    @Test
+    void ensureMembershipsAreReloadedAfterTimeToLive() {
+        when(clock.instant()).thenReturn(now, now.plus(Duration.ofSeconds(59)), now.plus(Duration.ofMinutes(1)));
+
+        final Person departmentHead = person(1, DEPARTMENT_HEAD);
+        final Person member = person(2, USER);
+        when(departmentRepository.findAll()).thenReturn(List.of(department(1, List.of(member), List.of(departmentHead), List.of())));
+
+        sut.isManagedByDepartmentHead(departmentHead, member);
+        sut.isManagedByDepartmentHead(departmentHead, member);
+        verify(departmentRepository).findAll();
+
+        sut.isManagedByDepartmentHead(departmentHead, member);
+        verify(departmentRepository, times(2)).findAll();
+    }
+
+    private static Person person(long id, Role role) {
+        final Person person = new Person();
+        person.setId(id);
+        person.setPermissions(List.of(USER, role));
+        return person;
+    }
+
+    private static DepartmentEntity department(long id, List<Person> members, List<Person> departmentHeads, List<Person> secondStageAuthorities) {
+        final DepartmentEntity department = new DepartmentEntity();
+        department.setId(id);
+        department.setMembers(members.stream().map(DepartmentDirectoryTest::member).toList());
+        department.setDepartmentHeads(departmentHeads);
+        department.setSecondStageAuthorities(secondStageAuthorities);
+        return department;
+    }
+
+    private static DepartmentMemberEmbeddable member(Person person) {
+        final DepartmentMemberEmbeddable member = new DepartmentMemberEmbeddable();
+        member.setPerson(person);
+        return member;
+    }
+}
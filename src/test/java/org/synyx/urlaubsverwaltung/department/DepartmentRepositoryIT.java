@@ -3,6 +3,9 @@ package org.synyx.urlaubsverwaltung.department;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 import org.synyx.urlaubsverwaltung.TestContainersBase;
 import org.synyx.urlaubsverwaltung.person.Person;
@@ -14,6 +17,7 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.synyx.urlaubsverwaltung.person.Role.DEPARTMENT_HEAD;
+import static org.synyx.urlaubsverwaltung.person.Role.INACTIVE;
 import static org.synyx.urlaubsverwaltung.person.Role.SECOND_STAGE_AUTHORITY;
 import static org.synyx.urlaubsverwaltung.person.Role.USER;
 
@@ -60,4 +64,109 @@ class DepartmentRepositoryIT extends TestContainersBase {
         final List<DepartmentEntity> departments = sut.findByDepartmentHeadsOrSecondStageAuthorities(savedPerson, savedPerson);
         assertThat(departments).containsOnly(savedDepartmentA, savedDepartmentB);
     }
+
+    @Test
+    void ensureFindMembersOfManagedDepartmentsReturnsDistinctActiveMembersPageWithTotal() {
+
+        final Person departmentHead = personService.create("head", "Marlene", "Muster", "head@example.org", List.of(), List.of(USER, DEPARTMENT_HEAD, SECOND_STAGE_AUTHORITY));
+        final Person bettina = personService.create("bettina", "Bettina", "Muster", "bettina@example.org", List.of(), List.of(USER));
+        final Person peter = personService.create("peter", "Peter", "Muster", "peter@example.org", List.of(), List.of(USER));
+        final Person xenia = personService.create("xenia", "Xenia", "Muster", "xenia@example.org", List.of(), List.of(USER));
+        final Person inactive = personService.create("inactive", "Anna", "Muster", "inactive@example.org", List.of(), List.of(INACTIVE));
+        final Person notManaged = personService.create("other", "Alfred", "Muster", "other@example.org", List.of(), List.of(USER));
+
+        sut.save(department("departmentA", List.of(bettina, peter, inactive), List.of(departmentHead), List.of()));
+        sut.save(department("departmentB", List.of(peter, xenia), List.of(), List.of(departmentHead)));
+        sut.save(department("departmentC", List.of(notManaged), List.of(), List.of()));
+
+        final PageRequest pageRequest = PageRequest.of(0, 2, Sort.by("firstName").and(Sort.by("id")));
+
+        final Page<Person> firstPage = sut.findMembersOfManagedDepartmentsByPermissionsNotContainingAndNiceNameContainingIgnoreCase(departmentHead, true, true, INACTIVE, "", pageRequest);
+        assertThat(firstPage.getContent()).containsExactly(bettina, peter);
+        assertThat(firstPage.getTotalElements()).isEqualTo(3);
+
+        final Page<Person> secondPage = sut.findMembersOfManagedDepartmentsByPermissionsNotContainingAndNiceNameContainingIgnoreCase(departmentHead, true, true, INACTIVE, "", pageRequest.next());
+        assertThat(secondPage.getContent()).containsExactly(xenia);
+        assertThat(secondPage.getTotalElements()).isEqualTo(3);
+
+        final Page<Person> asDepartmentHeadOnly = sut.findMembersOfManagedDepartmentsByPermissionsNotContainingAndNiceNameContainingIgnoreCase(departmentHead, true, false, INACTIVE, "", pageRequest);
+        assertThat(asDepartmentHeadOnly.getContent()).containsExactly(bettina, peter);
+        assertThat(asDepartmentHeadOnly.getTotalElements()).isEqualTo(2);
+
+        final Page<Person> inactiveMembers = sut.findMembersOfManagedDepartmentsByPermissionsContainingAndNiceNameContainingIgnoreCase(departmentHead, true, true, INACTIVE, "", pageRequest);
+        assertThat(inactiveMembers.getContent()).containsExactly(inactive);
+    }
+
+    @Test
+    void ensureFindMembersOfManagedDepartmentsFiltersByNiceName() {
+
+        final Person departmentHead = personService.create("head", "Marlene", "Muster", "head@example.org", List.of(), List.of(USER, DEPARTMENT_HEAD));
+        final Person bettina = personService.create("bettina", "Bettina", "Schmidt", "bettina@example.org", List.of(), List.of(USER));
+        final Person peter = personService.create("peter", "Peter", "Muster", "peter@example.org", List.of(), List.of(USER));
+
+        sut.save(department("departmentA", List.of(bettina, peter), List.of(departmentHead), List.of()));
+
+        final PageRequest pageRequest = PageRequest.of(0, 10, Sort.by("firstName"));
+
+        assertThat(sut.findMembersOfManagedDepartmentsByPermissionsNotContainingAndNiceNameContainingIgnoreCase(departmentHead, true, false, INACTIVE, "SCHMI", pageRequest))
+            .containsExactly(bettina);
+        assertThat(sut.findMembersOfManagedDepartmentsByPermissionsNotContainingAndNiceNameContainingIgnoreCase(departmentHead, true, false, INACTIVE, "ter mu", pageRequest))
+            .containsExactly(peter);
+    }
+
+    @Test
+    void ensureFindMembersOfDepartmentReturnsFilteredPageWithTotal() {
+
+        final Person bettina = personService.create("bettina", "Bettina", "Muster", "bettina@example.org", List.of(), List.of(USER));
+        final Person peter = personService.create("peter", "Peter", "Muster", "peter@example.org", List.of(), List.of(USER));
+        final Person xenia = personService.create("xenia", "Xenia", "Schmidt", "xenia@example.org", List.of(), List.of(USER));
+        final Person inactive = personService.create("inactive", "Anna", "Muster", "inactive@example.org", List.of(), List.of(INACTIVE));
+        final Person otherDepartmentMember = personService.create("other", "Alfred", "Muster", "other@example.org", List.of(), List.of(USER));
+
+        final DepartmentEntity departmentA = sut.save(department("departmentA", List.of(bettina, peter, xenia, inactive), List.of(), List.of()));
+        sut.save(department("departmentB", List.of(otherDepartmentMember), List.of(), List.of()));
+
+        final PageRequest pageRequest = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "firstName").and(Sort.by("id")));
+
+        final Page<Person> activeMembers = sut.findMembersOfDepartmentByPermissionsNotContainingAndNiceNameContainingIgnoreCase(departmentA.getId(), INACTIVE, "muster", pageRequest);
+        assertThat(activeMembers.getContent()).containsExactly(peter);
+        assertThat(activeMembers.getTotalElements()).isEqualTo(2);
+
+        final Page<Person> inactiveMembers = sut.findMembersOfDepartmentByPermissionsContainingAndNiceNameContainingIgnoreCase(departmentA.getId(), INACTIVE, "", pageRequest);
+        assertThat(inactiveMembers.getContent()).containsExactly(inactive);
+        assertThat(inactiveMembers.getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void ensureExistsByIdAndDepartmentHeadsOrSecondStageAuthorities() {
+
+        final Person departmentHead = personService.create("head", "Marlene", "Muster", "head@example.org", List.of(), List.of(USER, DEPARTMENT_HEAD));
+        final Person secondStageAuthority = personService.create("ssa", "Peter", "Muster", "ssa@example.org", List.of(), List.of(USER, SECOND_STAGE_AUTHORITY));
+
+        final DepartmentEntity departmentA = sut.save(department("departmentA", List.of(), List.of(departmentHead), List.of(secondStageAuthority)));
+        final DepartmentEntity departmentB = sut.save(department("departmentB", List.of(), List.of(), List.of()));
+
+        assertThat(sut.existsByIdAndDepartmentHeads(departmentA.getId(), departmentHead)).isTrue();
+        assertThat(sut.existsByIdAndDepartmentHeads(departmentA.getId(), secondStageAuthority)).isFalse();
+        assertThat(sut.existsByIdAndDepartmentHeads(departmentB.getId(), departmentHead)).isFalse();
+        assertThat(sut.existsByIdAndSecondStageAuthorities(departmentA.getId(), secondStageAuthority)).isTrue();
+        assertThat(sut.existsByIdAndSecondStageAuthorities(departmentB.getId(), secondStageAuthority)).isFalse();
+    }
+
+    private static DepartmentEntity department(String name, List<Person> members, List<Person> departmentHeads, List<Person> secondStageAuthorities) {
+        final DepartmentEntity department = new DepartmentEntity();
+        department.setName(name);
+        department.setCreatedAt(LocalDate.of(2022, 10, 2));
+        department.setMembers(members.stream().map(DepartmentRepositoryIT::departmentMember).toList());
+        department.setDepartmentHeads(departmentHeads);
+        department.setSecondStageAuthorities(secondStageAuthorities);
+        return department;
+    }
+
+    private static DepartmentMemberEmbeddable departmentMember(Person person) {
+        final DepartmentMemberEmbeddable departmentMember = new DepartmentMemberEmbeddable();
+        departmentMember.setAccessionDate(Instant.now());
+        departmentMember.setPerson(person);
+        return departmentMember;
+    }
 }
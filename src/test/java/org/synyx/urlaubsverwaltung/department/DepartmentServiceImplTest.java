@@ -10,7 +10,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.synyx.urlaubsverwaltung.application.application.Application;
 import org.synyx.urlaubsverwaltung.application.application.ApplicationService;
@@ -28,7 +30,6 @@ import java.time.Month;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Consumer;
 import java.util.stream.IntStream;
 
 import static java.time.Month.DECEMBER;
@@ -37,6 +38,7 @@ import static java.time.temporal.ChronoUnit.DAYS;
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
@@ -72,115 +74,101 @@ class DepartmentServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        sut = new DepartmentServiceImpl(departmentRepository, applicationService, applicationEventPublisher, clock);
+        final DepartmentDirectory departmentDirectory = new DepartmentDirectory(departmentRepository, new DepartmentProperties(), clock);
+        sut = new DepartmentServiceImpl(departmentRepository, departmentDirectory, applicationService, applicationEventPublisher, clock);
     }
 
     @Test
-    void ensureGetManagedMembersOfPersonReturnsPageOfDistinctActivePersonsForDepartmentHeadAndSecondStageAuthority() {
+    void ensureGetManagedMembersOfPersonReturnsPageOfActiveMembersForDepartmentHeadAndSecondStageAuthority() {
 
         final Person person = new Person();
         person.setId(1L);
         person.setPermissions(List.of(DEPARTMENT_HEAD, SECOND_STAGE_AUTHORITY));
 
-        final Person max = new Person();
-        max.setId(2L);
-        max.setFirstName("Max");
-        max.setLastName("Mustermann");
-        final DepartmentMemberEmbeddable maxMember = new DepartmentMemberEmbeddable();
-        maxMember.setPerson(max);
-
         final Person jane = new Person();
         jane.setId(3L);
         jane.setFirstName("Jane");
-        jane.setLastName("Doe");
-        final DepartmentMemberEmbeddable janeMember = new DepartmentMemberEmbeddable();
-        janeMember.setPerson(jane);
 
-        final DepartmentEntity admins = new DepartmentEntity();
-        admins.setName("admins");
-        admins.setMembers(List.of(maxMember, janeMember));
-
-        final DepartmentEntity developers = new DepartmentEntity();
-        developers.setName("developers");
-        developers.setMembers(List.of(janeMember));
+        final Person max = new Person();
+        max.setId(2L);
+        max.setFirstName("Max");
 
-        when(departmentRepository.findByDepartmentHeadsOrSecondStageAuthorities(person, person)).thenReturn(List.of(admins, developers));
+        final PageRequest expectedPageRequest = PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "firstName").and(Sort.by("id")));
+        when(departmentRepository.findMembersOfManagedDepartmentsByPermissionsNotContainingAndNiceNameContainingIgnoreCase(person, true, true, INACTIVE, "", expectedPageRequest))
+            .thenReturn(new PageImpl<>(List.of(jane, max), expectedPageRequest, 2));
 
         final Page<Person> actual = sut.getManagedMembersOfPerson(person, defaultPersonSearchQuery());
 
         assertThat(actual.getContent()).containsExactly(jane, max);
+        assertThat(actual.getTotalElements()).isEqualTo(2);
     }
 
     @Test
-    void ensureGetManagedMembersOfPersonReturnsPageOfDistinctActivePersonsForDepartmentHead() {
+    void ensureGetManagedMembersOfPersonReturnsPageOfActiveMembersForDepartmentHead() {
 
         final Person person = new Person();
         person.setId(1L);
         person.setPermissions(List.of(DEPARTMENT_HEAD));
 
-        final Person max = new Person();
-        max.setId(2L);
-        max.setFirstName("Max");
-        max.setLastName("Mustermann");
-        final DepartmentMemberEmbeddable maxMember = new DepartmentMemberEmbeddable();
-        maxMember.setPerson(max);
-
         final Person jane = new Person();
         jane.setId(3L);
         jane.setFirstName("Jane");
-        jane.setLastName("Doe");
-        final DepartmentMemberEmbeddable janeMember = new DepartmentMemberEmbeddable();
-        janeMember.setPerson(jane);
-
-        final DepartmentEntity admins = new DepartmentEntity();
-        admins.setName("admins");
-        admins.setMembers(List.of(maxMember, janeMember));
 
-        final DepartmentEntity developers = new DepartmentEntity();
-        developers.setName("developers");
-        developers.setMembers(List.of(janeMember));
+        final Person max = new Person();
+        max.setId(2L);
+        max.setFirstName("Max");
 
-        when(departmentRepository.findByDepartmentHeads(person)).thenReturn(List.of(admins, developers));
+        final PageRequest expectedPageRequest = PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "firstName").and(Sort.by("id")));
+        when(departmentRepository.findMembersOfManagedDepartmentsByPermissionsNotContainingAndNiceNameContainingIgnoreCase(person, true, false, INACTIVE, "", expectedPageRequest))
+            .thenReturn(new PageImpl<>(List.of(jane, max), expectedPageRequest, 2));
 
         final Page<Person> actual = sut.getManagedMembersOfPerson(person, defaultPersonSearchQuery());
 
         assertThat(actual.getContent()).containsExactly(jane, max);
+        assertThat(actual.getTotalElements()).isEqualTo(2);
     }
 
     @Test
-    void ensureGetManagedMembersOfPersonReturnsPageOfDistinctActivePersonsForSecondStageAuthority() {
+    void ensureGetManagedMembersOfPersonReturnsPageOfActiveMembersForSecondStageAuthority() {
 
         final Person person = new Person();
         person.setId(1L);
         person.setPermissions(List.of(SECOND_STAGE_AUTHORITY));
 
-        final Person max = new Person();
-        max.setId(2L);
-        max.setFirstName("Max");
-        max.setLastName("Mustermann");
-        final DepartmentMemberEmbeddable maxMember = new DepartmentMemberEmbeddable();
-        maxMember.setPerson(max);
-
         final Person jane = new Person();
         jane.setId(3L);
         jane.setFirstName("Jane");
-        jane.setLastName("Doe");
-        final DepartmentMemberEmbeddable janeMember = new DepartmentMemberEmbeddable();
-        janeMember.setPerson(jane);
 
-        final DepartmentEntity admins = new DepartmentEntity();
-        admins.setName("admins");
-        admins.setMembers(List.of(maxMember, janeMember));
-
-        final DepartmentEntity developers = new DepartmentEntity();
-        developers.setName("developers");
-        developers.setMembers(List.of(janeMember));
+        final Person max = new Person();
+        max.setId(2L);
+        max.setFirstName("Max");
 
-        when(departmentRepository.findBySecondStageAuthorities(person)).thenReturn(List.of(admins, developers));
+        final PageRequest expectedPageRequest = PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "firstName").and(Sort.by("id")));
+        when(departmentRepository.findMembersOfManagedDepartmentsByPermissionsNotContainingAndNiceNameContainingIgnoreCase(person, false, true, INACTIVE, "", expectedPageRequest))
+            .thenReturn(new PageImpl<>(List.of(jane, max), expectedPageRequest, 2));
 
         final Page<Person> actual = sut.getManagedMembersOfPerson(person, defaultPersonSearchQuery());
 
         assertThat(actual.getContent()).containsExactly(jane, max);
+        assertThat(actual.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void ensureGetManagedMembersOfPersonDoesNotAddIdSortToUnpagedPageable() {
+
+        final Person person = new Person();
+        person.setId(1L);
+        person.setPermissions(List.of(DEPARTMENT_HEAD));
+
+        final Person max = new Person();
+        max.setId(2L);
+
+        when(departmentRepository.findMembersOfManagedDepartmentsByPermissionsNotContainingAndNiceNameContainingIgnoreCase(person, true, false, INACTIVE, "", Pageable.unpaged()))
+            .thenReturn(new PageImpl<>(List.of(max)));
+
+        final Page<Person> actual = sut.getManagedMembersOfPerson(person, new PageableSearchQuery(Pageable.unpaged(), ""));
+
+        assertThat(actual.getContent()).containsExactly(max);
     }
 
     @Test
@@ -196,7 +184,6 @@ class DepartmentServiceImplTest {
         verifyNoInteractions(departmentRepository);
     }
 
-
     @Test
     void ensureGetManagedActiveMembersOfPersonReturnsDistinctActivePersonsForDepartmentHeadAndSecondStageAuthority() {
 
@@ -226,7 +213,10 @@ class DepartmentServiceImplTest {
         developers.setName("developers");
         developers.setMembers(List.of(janeMember));
 
-        when(departmentRepository.findByDepartmentHeadsOrSecondStageAuthorities(person, person)).thenReturn(List.of(admins, developers));
+        admins.setDepartmentHeads(List.of(person));
+        developers.setSecondStageAuthorities(List.of(person));
+
+        when(departmentRepository.findAll()).thenReturn(List.of(admins, developers));
 
         final List<Person> actual = sut.getManagedActiveMembersOfPerson(person);
 
@@ -262,7 +252,10 @@ class DepartmentServiceImplTest {
         developers.setName("developers");
         developers.setMembers(List.of(janeMember));
 
-        when(departmentRepository.findByDepartmentHeads(person)).thenReturn(List.of(admins, developers));
+        admins.setDepartmentHeads(List.of(person));
+        developers.setDepartmentHeads(List.of(person));
+
+        when(departmentRepository.findAll()).thenReturn(List.of(admins, developers));
 
         final List<Person> actual = sut.getManagedActiveMembersOfPerson(person);
 
@@ -298,7 +291,10 @@ class DepartmentServiceImplTest {
         developers.setName("developers");
         developers.setMembers(List.of(janeMember));
 
-        when(departmentRepository.findBySecondStageAuthorities(person)).thenReturn(List.of(admins, developers));
+        admins.setSecondStageAuthorities(List.of(person));
+        developers.setSecondStageAuthorities(List.of(person));
+
+        when(departmentRepository.findAll()).thenReturn(List.of(admins, developers));
 
         final List<Person> actual = sut.getManagedActiveMembersOfPerson(person);
 
@@ -319,138 +315,78 @@ class DepartmentServiceImplTest {
     }
 
     @Test
-    void ensureGetManagedInactiveMembersOfPersonReturnsDistinctInactivePersonsForDepartmentHeadAndSecondStageAuthority() {
+    void ensureGetManagedInactiveMembersOfPersonReturnsPageOfInactiveMembersForDepartmentHeadAndSecondStageAuthority() {
 
         final Person person = new Person();
         person.setId(1L);
         person.setPermissions(List.of(DEPARTMENT_HEAD, SECOND_STAGE_AUTHORITY));
 
-        final Person max = new Person();
-        max.setId(2L);
-        max.setFirstName("Max");
-        max.setLastName("Mustermann");
-        max.setPermissions(List.of(INACTIVE));
-        final DepartmentMemberEmbeddable maxMember = new DepartmentMemberEmbeddable();
-        maxMember.setPerson(max);
-
         final Person jane = new Person();
         jane.setId(3L);
         jane.setFirstName("Jane");
-        jane.setLastName("Doe");
-        final DepartmentMemberEmbeddable janeMember = new DepartmentMemberEmbeddable();
-        janeMember.setPerson(jane);
 
-        final Person john = new Person();
-        john.setId(4L);
-        john.setFirstName("John");
-        john.setLastName("Doe");
-        john.setPermissions(List.of(INACTIVE));
-        final DepartmentMemberEmbeddable johnMember = new DepartmentMemberEmbeddable();
-        johnMember.setPerson(john);
-
-        final DepartmentEntity admins = new DepartmentEntity();
-        admins.setName("admins");
-        admins.setMembers(List.of(maxMember, janeMember, johnMember));
-
-        final DepartmentEntity developers = new DepartmentEntity();
-        developers.setName("developers");
-        developers.setMembers(List.of(janeMember, johnMember));
+        final Person max = new Person();
+        max.setId(2L);
+        max.setFirstName("Max");
 
-        when(departmentRepository.findByDepartmentHeadsOrSecondStageAuthorities(person, person)).thenReturn(List.of(admins, developers));
+        final PageRequest expectedPageRequest = PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "firstName").and(Sort.by("id")));
+        when(departmentRepository.findMembersOfManagedDepartmentsByPermissionsContainingAndNiceNameContainingIgnoreCase(person, true, true, INACTIVE, "", expectedPageRequest))
+            .thenReturn(new PageImpl<>(List.of(jane, max), expectedPageRequest, 2));
 
         final Page<Person> actual = sut.getManagedInactiveMembersOfPerson(person, defaultPersonSearchQuery());
 
-        assertThat(actual.getContent()).containsExactly(john, max);
+        assertThat(actual.getContent()).containsExactly(jane, max);
+        assertThat(actual.getTotalElements()).isEqualTo(2);
     }
 
     @Test
-    void ensureGetManagedInactiveMembersOfPersonReturnsDistinctInactivePersonsForDepartmentHead() {
+    void ensureGetManagedInactiveMembersOfPersonReturnsPageOfInactiveMembersForDepartmentHead() {
 
         final Person person = new Person();
         person.setId(1L);
         person.setPermissions(List.of(DEPARTMENT_HEAD));
 
-        final Person max = new Person();
-        max.setId(2L);
-        max.setFirstName("Max");
-        max.setLastName("Mustermann");
-        max.setPermissions(List.of(INACTIVE));
-        final DepartmentMemberEmbeddable maxMember = new DepartmentMemberEmbeddable();
-        maxMember.setPerson(max);
-
         final Person jane = new Person();
         jane.setId(3L);
         jane.setFirstName("Jane");
-        jane.setLastName("Doe");
-        final DepartmentMemberEmbeddable janeMember = new DepartmentMemberEmbeddable();
-        janeMember.setPerson(jane);
-
-        final Person john = new Person();
-        john.setId(4L);
-        john.setFirstName("John");
-        john.setLastName("Doe");
-        john.setPermissions(List.of(INACTIVE));
-        final DepartmentMemberEmbeddable johnMember = new DepartmentMemberEmbeddable();
-        johnMember.setPerson(john);
-
-        final DepartmentEntity admins = new DepartmentEntity();
-        admins.setName("admins");
-        admins.setMembers(List.of(maxMember, janeMember, johnMember));
 
-        final DepartmentEntity developers = new DepartmentEntity();
-        developers.setName("developers");
-        developers.setMembers(List.of(janeMember, johnMember));
+        final Person max = new Person();
+        max.setId(2L);
+        max.setFirstName("Max");
 
-        when(departmentRepository.findByDepartmentHeads(person)).thenReturn(List.of(admins, developers));
+        final PageRequest expectedPageRequest = PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "firstName").and(Sort.by("id")));
+        when(departmentRepository.findMembersOfManagedDepartmentsByPermissionsContainingAndNiceNameContainingIgnoreCase(person, true, false, INACTIVE, "", expectedPageRequest))
+            .thenReturn(new PageImpl<>(List.of(jane, max), expectedPageRequest, 2));
 
         final Page<Person> actual = sut.getManagedInactiveMembersOfPerson(person, defaultPersonSearchQuery());
 
-        assertThat(actual.getContent()).containsExactly(john, max);
+        assertThat(actual.getContent()).containsExactly(jane, max);
+        assertThat(actual.getTotalElements()).isEqualTo(2);
     }
 
     @Test
-    void ensureGetManagedInactiveMembersOfPersonReturnsDistinctInactivePersonsForSecondStageAuthority() {
+    void ensureGetManagedInactiveMembersOfPersonReturnsPageOfInactiveMembersForSecondStageAuthority() {
 
         final Person person = new Person();
         person.setId(1L);
         person.setPermissions(List.of(SECOND_STAGE_AUTHORITY));
 
-        final Person max = new Person();
-        max.setId(2L);
-        max.setFirstName("Max");
-        max.setLastName("Mustermann");
-        max.setPermissions(List.of(INACTIVE));
-        final DepartmentMemberEmbeddable maxMember = new DepartmentMemberEmbeddable();
-        maxMember.setPerson(max);
-
         final Person jane = new Person();
         jane.setId(3L);
         jane.setFirstName("Jane");
-        jane.setLastName("Doe");
-        final DepartmentMemberEmbeddable janeMember = new DepartmentMemberEmbeddable();
-        janeMember.setPerson(jane);
-
-        final Person john = new Person();
-        john.setId(4L);
-        john.setFirstName("John");
-        john.setLastName("Doe");
-        john.setPermissions(List.of(INACTIVE));
-        final DepartmentMemberEmbeddable johnMember = new DepartmentMemberEmbeddable();
-        johnMember.setPerson(john);
 
-        final DepartmentEntity admins = new DepartmentEntity();
-        admins.setName("admins");
-        admins.setMembers(List.of(maxMember, janeMember, johnMember));
-
-        final DepartmentEntity developers = new DepartmentEntity();
-        developers.setName("developers");
-        developers.setMembers(List.of(janeMember, johnMember));
+        final Person max = new Person();
+        max.setId(2L);
+        max.setFirstName("Max");
 
-        when(departmentRepository.findBySecondStageAuthorities(person)).thenReturn(List.of(admins, developers));
+        final PageRequest expectedPageRequest = PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "firstName").and(Sort.by("id")));
+        when(departmentRepository.findMembersOfManagedDepartmentsByPermissionsContainingAndNiceNameContainingIgnoreCase(person, false, true, INACTIVE, "", expectedPageRequest))
+            .thenReturn(new PageImpl<>(List.of(jane, max), expectedPageRequest, 2));
 
         final Page<Person> actual = sut.getManagedInactiveMembersOfPerson(person, defaultPersonSearchQuery());
 
-        assertThat(actual.getContent()).containsExactly(john, max);
+        assertThat(actual.getContent()).containsExactly(jane, max);
+        assertThat(actual.getTotalElements()).isEqualTo(2);
     }
 
     @Test
@@ -473,14 +409,9 @@ class DepartmentServiceImplTest {
         person.setId(1L);
         person.setPermissions(List.of(DEPARTMENT_HEAD));
 
-        final List<DepartmentMemberEmbeddable> activeMembers =
-            anyDepartmentMembers(14, 1, p -> p.setPermissions(List.of(USER)));
-
-        final DepartmentEntity departmentEntity = new DepartmentEntity();
-        departmentEntity.setId(1L);
-        departmentEntity.setMembers(activeMembers);
-
-        when(departmentRepository.findByDepartmentHeads(person)).thenReturn(List.of(departmentEntity));
+        final PageRequest expectedPageRequest = PageRequest.of(1, 10, Sort.by("id"));
+        when(departmentRepository.findMembersOfManagedDepartmentsByPermissionsNotContainingAndNiceNameContainingIgnoreCase(person, true, false, INACTIVE, "", expectedPageRequest))
+            .thenReturn(new PageImpl<>(anyPersons(4, 11), expectedPageRequest, 14));
 
         final PageRequest pageRequest = PageRequest.of(1, 10);
         final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(pageRequest, "");
@@ -499,14 +430,9 @@ class DepartmentServiceImplTest {
         person.setId(1L);
         person.setPermissions(List.of(DEPARTMENT_HEAD));
 
-        final List<DepartmentMemberEmbeddable> inactiveMembers =
-            anyDepartmentMembers(14, 1, p -> p.setPermissions(List.of(INACTIVE)));
-
-        final DepartmentEntity departmentEntity = new DepartmentEntity();
-        departmentEntity.setId(1L);
-        departmentEntity.setMembers(inactiveMembers);
-
-        when(departmentRepository.findByDepartmentHeads(person)).thenReturn(List.of(departmentEntity));
+        final PageRequest expectedPageRequest = PageRequest.of(1, 10, Sort.by("id"));
+        when(departmentRepository.findMembersOfManagedDepartmentsByPermissionsContainingAndNiceNameContainingIgnoreCase(person, true, false, INACTIVE, "", expectedPageRequest))
+            .thenReturn(new PageImpl<>(anyPersons(4, 11), expectedPageRequest, 14));
 
         final PageRequest pageRequest = PageRequest.of(1, 10);
         final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(pageRequest, "");
@@ -529,11 +455,11 @@ class DepartmentServiceImplTest {
         final Person member = new Person();
         member.setId(2L);
 
-        final DepartmentEntity departmentEntity = new DepartmentEntity();
-        departmentEntity.setId(1L);
-        departmentEntity.setMembers(List.of(departmentMemberEmbeddable(member)));
+        when(departmentRepository.existsById(1L)).thenReturn(true);
 
-        when(departmentRepository.findById(1L)).thenReturn(Optional.of(departmentEntity));
+        final PageRequest expectedPageRequest = PageRequest.of(0, 10, Sort.by("id"));
+        when(departmentRepository.findMembersOfDepartmentByPermissionsNotContainingAndNiceNameContainingIgnoreCase(1L, INACTIVE, "", expectedPageRequest))
+            .thenReturn(new PageImpl<>(List.of(member), expectedPageRequest, 1));
 
         final PageRequest pageRequest = PageRequest.of(0, 10);
         final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(pageRequest, "");
@@ -542,115 +468,76 @@ class DepartmentServiceImplTest {
 
         assertThat(actual.getTotalPages()).isEqualTo(1);
         assertThat(actual.getPageable().getPageNumber()).isZero();
-        assertThat(actual.getContent()).hasSize(1);
+        assertThat(actual.getContent()).containsExactly(member);
     }
 
     @Test
-    void ensureGetManagedInactiveMembersOfPersonAndDepartmentForDepartmentHead() {
+    void ensureGetManagedMembersOfPersonAndDepartmentForDepartmentHead() {
 
         final Person departmentHead = new Person();
         departmentHead.setId(1L);
         departmentHead.setPermissions(List.of(DEPARTMENT_HEAD));
 
-        final Person inactiveMember = new Person();
-        inactiveMember.setId(2L);
-        inactiveMember.setPermissions(List.of(INACTIVE));
+        final Person member = new Person();
+        member.setId(2L);
 
-        final DepartmentEntity departmentEntity = new DepartmentEntity();
-        departmentEntity.setId(1L);
-        departmentEntity.setMembers(List.of(departmentMemberEmbeddable(inactiveMember)));
-        departmentEntity.setDepartmentHeads(List.of(departmentHead));
+        when(departmentRepository.existsById(1L)).thenReturn(true);
+        when(departmentRepository.existsByIdAndDepartmentHeads(1L, departmentHead)).thenReturn(true);
 
-        when(departmentRepository.findById(1L)).thenReturn(Optional.of(departmentEntity));
+        final PageRequest expectedPageRequest = PageRequest.of(0, 10, Sort.by("lastName").and(Sort.by("id")));
+        when(departmentRepository.findMembersOfDepartmentByPermissionsNotContainingAndNiceNameContainingIgnoreCase(1L, INACTIVE, "", expectedPageRequest))
+            .thenReturn(new PageImpl<>(List.of(member), expectedPageRequest, 1));
 
-        final PageRequest pageRequest = PageRequest.of(0, 10);
+        final PageRequest pageRequest = PageRequest.of(0, 10, Sort.by("lastName"));
         final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(pageRequest, "");
 
-        final Page<Person> actual = sut.getManagedInactiveMembersOfPersonAndDepartment(departmentHead, 1L, pageableSearchQuery);
+        final Page<Person> actual = sut.getManagedMembersOfPersonAndDepartment(departmentHead, 1L, pageableSearchQuery);
 
         assertThat(actual.getTotalPages()).isEqualTo(1);
-        assertThat(actual.getPageable().getPageNumber()).isZero();
-        assertThat(actual.getContent()).hasSize(1);
+        assertThat(actual.getContent()).containsExactly(member);
     }
 
     @Test
-    void ensureGetManagedInactiveMembersOfPersonAndDepartmentForSecondStageAuthority() {
+    void ensureGetManagedMembersOfPersonAndDepartmentForSecondStageAuthority() {
 
         final Person secondStageAuthority = new Person();
         secondStageAuthority.setId(1L);
         secondStageAuthority.setPermissions(List.of(SECOND_STAGE_AUTHORITY));
 
-        final Person inactiveMember = new Person();
-        inactiveMember.setId(2L);
-        inactiveMember.setPermissions(List.of(INACTIVE));
+        final Person member = new Person();
+        member.setId(2L);
 
-        final DepartmentEntity departmentEntity = new DepartmentEntity();
-        departmentEntity.setId(1L);
-        departmentEntity.setMembers(List.of(departmentMemberEmbeddable(inactiveMember)));
-        departmentEntity.setSecondStageAuthorities(List.of(secondStageAuthority));
+        when(departmentRepository.existsById(1L)).thenReturn(true);
+        when(departmentRepository.existsByIdAndSecondStageAuthorities(1L, secondStageAuthority)).thenReturn(true);
 
-        when(departmentRepository.findById(1L)).thenReturn(Optional.of(departmentEntity));
+        final PageRequest expectedPageRequest = PageRequest.of(0, 10, Sort.by("lastName").and(Sort.by("id")));
+        when(departmentRepository.findMembersOfDepartmentByPermissionsNotContainingAndNiceNameContainingIgnoreCase(1L, INACTIVE, "", expectedPageRequest))
+            .thenReturn(new PageImpl<>(List.of(member), expectedPageRequest, 1));
 
-        final PageRequest pageRequest = PageRequest.of(0, 10);
+        final PageRequest pageRequest = PageRequest.of(0, 10, Sort.by("lastName"));
         final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(pageRequest, "");
 
-        final Page<Person> actual = sut.getManagedInactiveMembersOfPersonAndDepartment(secondStageAuthority, 1L, pageableSearchQuery);
+        final Page<Person> actual = sut.getManagedMembersOfPersonAndDepartment(secondStageAuthority, 1L, pageableSearchQuery);
 
         assertThat(actual.getTotalPages()).isEqualTo(1);
-        assertThat(actual.getPageable().getPageNumber()).isZero();
-        assertThat(actual.getContent()).hasSize(1);
+        assertThat(actual.getContent()).containsExactly(member);
     }
 
     @Test
-    void ensureGetManagedInactiveMembersOfPersonAndDepartmentForMember() {
+    void ensureGetManagedMembersOfPersonAndDepartmentForMember() {
 
         final Person person = new Person();
         person.setId(1L);
         person.setPermissions(List.of(USER));
 
-        final Person inactiveMember = new Person();
-        inactiveMember.setId(2L);
-        inactiveMember.setPermissions(List.of(INACTIVE));
-
-        final DepartmentEntity departmentEntity = new DepartmentEntity();
-        departmentEntity.setId(1L);
-        departmentEntity.setMembers(List.of(departmentMemberEmbeddable(person), departmentMemberEmbeddable(inactiveMember)));
-
-        when(departmentRepository.findById(1L)).thenReturn(Optional.of(departmentEntity));
+        when(departmentRepository.existsById(1L)).thenReturn(true);
 
         final PageRequest pageRequest = PageRequest.of(0, 10);
         final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(pageRequest, "");
 
-        final Page<Person> actual = sut.getManagedInactiveMembersOfPersonAndDepartment(person, 1L, pageableSearchQuery);
-
-        assertThat(actual).isEqualTo(Page.empty());
-    }
-
-    @ParameterizedTest
-    @EnumSource(value = Role.class, names = {"BOSS", "OFFICE"})
-    void ensureGetManagedMembersOfPersonAndDepartmentReturnsPageSecond(Role role) {
-
-        final Person person = new Person();
-        person.setId(1L);
-        person.setPermissions(List.of(role));
-
-        final List<DepartmentMemberEmbeddable> activeMembers =
-            anyDepartmentMembers(14, 2, p -> p.setPermissions(List.of(USER)));
-
-        final DepartmentEntity departmentEntity = new DepartmentEntity();
-        departmentEntity.setId(1L);
-        departmentEntity.setMembers(activeMembers);
-
-        when(departmentRepository.findById(1L)).thenReturn(Optional.of(departmentEntity));
-
-        final PageRequest pageRequest = PageRequest.of(1, 10);
-        final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(pageRequest, "");
-
         final Page<Person> actual = sut.getManagedMembersOfPersonAndDepartment(person, 1L, pageableSearchQuery);
 
-        assertThat(actual.getTotalPages()).isEqualTo(2);
-        assertThat(actual.getPageable().getPageNumber()).isEqualTo(1);
-        assertThat(actual.getContent()).hasSize(4);
+        assertThat(actual).isEqualTo(Page.empty());
     }
 
     @Test
@@ -660,23 +547,16 @@ class DepartmentServiceImplTest {
         person.setId(1L);
         person.setPermissions(List.of(DEPARTMENT_HEAD));
 
-        final List<DepartmentMemberEmbeddable> activeMembers =
-            // do not start with personId=1 to exclude person from members list
-            anyDepartmentMembers(14, 2, p -> p.setPermissions(List.of(USER)));
-
-        final DepartmentEntity departmentEntity = new DepartmentEntity();
-        departmentEntity.setId(1L);
-        departmentEntity.setMembers(activeMembers);
+        when(departmentRepository.existsById(1L)).thenReturn(true);
         // person is not department head of THIS department
-        departmentEntity.setDepartmentHeads(List.of());
-
-        when(departmentRepository.findById(1L)).thenReturn(Optional.of(departmentEntity));
+        when(departmentRepository.existsByIdAndDepartmentHeads(1L, person)).thenReturn(false);
 
         final PageRequest pageRequest = PageRequest.of(1, 10);
         final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(pageRequest, "");
 
         final Page<Person> actual = sut.getManagedMembersOfPersonAndDepartment(person, 1L, pageableSearchQuery);
         assertThat(actual).isEqualTo(Page.empty());
+        verify(departmentRepository, never()).findMembersOfDepartmentByPermissionsNotContainingAndNiceNameContainingIgnoreCase(anyLong(), any(), any(), any());
     }
 
     @Test
@@ -686,47 +566,32 @@ class DepartmentServiceImplTest {
         person.setId(1L);
         person.setPermissions(List.of(SECOND_STAGE_AUTHORITY));
 
-        final List<DepartmentMemberEmbeddable> activeMembers =
-            // do not start with personId=1 to exclude person from members list
-            anyDepartmentMembers(14, 2, p -> p.setPermissions(List.of(USER)));
-
-        final DepartmentEntity departmentEntity = new DepartmentEntity();
-        departmentEntity.setId(1L);
-        departmentEntity.setMembers(activeMembers);
+        when(departmentRepository.existsById(1L)).thenReturn(true);
         // person is not second stage authority of THIS department
-        departmentEntity.setSecondStageAuthorities(List.of());
-
-        when(departmentRepository.findById(1L)).thenReturn(Optional.of(departmentEntity));
+        when(departmentRepository.existsByIdAndSecondStageAuthorities(1L, person)).thenReturn(false);
 
         final PageRequest pageRequest = PageRequest.of(1, 10);
         final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(pageRequest, "");
 
         final Page<Person> actual = sut.getManagedMembersOfPersonAndDepartment(person, 1L, pageableSearchQuery);
         assertThat(actual).isEqualTo(Page.empty());
+        verify(departmentRepository, never()).findMembersOfDepartmentByPermissionsNotContainingAndNiceNameContainingIgnoreCase(anyLong(), any(), any(), any());
     }
 
     @Test
-    void ensureGetManagedMembersOfPersonAndDepartmentReturnsEmptyPageWhenGivenUserIsNotAMember() {
+    void ensureGetManagedMembersOfPersonAndDepartmentThrowsWhenDepartmentDoesNotExist() {
 
         final Person person = new Person();
         person.setId(1L);
-        person.setPermissions(List.of(USER));
+        person.setPermissions(List.of(OFFICE));
 
-        final List<DepartmentMemberEmbeddable> activeMembers =
-            // do not start with personId=1 to exclude person from members list
-            anyDepartmentMembers(14, 2, p -> p.setPermissions(List.of(USER)));
+        when(departmentRepository.existsById(1L)).thenReturn(false);
 
-        final DepartmentEntity departmentEntity = new DepartmentEntity();
-        departmentEntity.setId(1L);
-        departmentEntity.setMembers(activeMembers);
-
-        when(departmentRepository.findById(1L)).thenReturn(Optional.of(departmentEntity));
-
-        final PageRequest pageRequest = PageRequest.of(1, 10);
-        final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(pageRequest, "");
+        final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(PageRequest.of(0, 10), "");
 
-        final Page<Person> actual = sut.getManagedMembersOfPersonAndDepartment(person, 1L, pageableSearchQuery);
-        assertThat(actual).isEqualTo(Page.empty());
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> sut.getManagedMembersOfPersonAndDepartment(person, 1L, pageableSearchQuery))
+            .withMessage("could not find department with id=1");
     }
 
     @ParameterizedTest
@@ -737,15 +602,14 @@ class DepartmentServiceImplTest {
         person.setId(1L);
         person.setPermissions(List.of(role));
 
-        final Person inactiveMember = new Person();
-        inactiveMember.setId(2L);
-        inactiveMember.setPermissions(List.of(INACTIVE));
+        final Person member = new Person();
+        member.setId(2L);
 
-        final DepartmentEntity departmentEntity = new DepartmentEntity();
-        departmentEntity.setId(1L);
-        departmentEntity.setMembers(List.of(departmentMemberEmbeddable(inactiveMember)));
+        when(departmentRepository.existsById(1L)).thenReturn(true);
 
-        when(departmentRepository.findById(1L)).thenReturn(Optional.of(departmentEntity));
+        final PageRequest expectedPageRequest = PageRequest.of(0, 10, Sort.by("id"));
+        when(departmentRepository.findMembersOfDepartmentByPermissionsContainingAndNiceNameContainingIgnoreCase(1L, INACTIVE, "", expectedPageRequest))
+            .thenReturn(new PageImpl<>(List.of(member), expectedPageRequest, 1));
 
         final PageRequest pageRequest = PageRequest.of(0, 10);
         final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(pageRequest, "");
@@ -754,11 +618,11 @@ class DepartmentServiceImplTest {
 
         assertThat(actual.getTotalPages()).isEqualTo(1);
         assertThat(actual.getPageable().getPageNumber()).isZero();
-        assertThat(actual.getContent()).hasSize(1);
+        assertThat(actual.getContent()).containsExactly(member);
     }
 
     @Test
-    void ensureGetManagedMembersOfPersonAndDepartmentForDepartmentHead() {
+    void ensureGetManagedInactiveMembersOfPersonAndDepartmentForDepartmentHead() {
 
         final Person departmentHead = new Person();
         departmentHead.setId(1L);
@@ -767,25 +631,24 @@ class DepartmentServiceImplTest {
         final Person member = new Person();
         member.setId(2L);
 
-        final DepartmentEntity departmentEntity = new DepartmentEntity();
-        departmentEntity.setId(1L);
-        departmentEntity.setMembers(List.of(departmentMemberEmbeddable(member)));
-        departmentEntity.setDepartmentHeads(List.of(departmentHead));
+        when(departmentRepository.existsById(1L)).thenReturn(true);
+        when(departmentRepository.existsByIdAndDepartmentHeads(1L, departmentHead)).thenReturn(true);
 
-        when(departmentRepository.findById(1L)).thenReturn(Optional.of(departmentEntity));
+        final PageRequest expectedPageRequest = PageRequest.of(0, 10, Sort.by("lastName").and(Sort.by("id")));
+        when(departmentRepository.findMembersOfDepartmentByPermissionsContainingAndNiceNameContainingIgnoreCase(1L, INACTIVE, "", expectedPageRequest))
+            .thenReturn(new PageImpl<>(List.of(member), expectedPageRequest, 1));
 
-        final PageRequest pageRequest = PageRequest.of(0, 10);
+        final PageRequest pageRequest = PageRequest.of(0, 10, Sort.by("lastName"));
         final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(pageRequest, "");
 
-        final Page<Person> actual = sut.getManagedMembersOfPersonAndDepartment(departmentHead, 1L, pageableSearchQuery);
+        final Page<Person> actual = sut.getManagedInactiveMembersOfPersonAndDepartment(departmentHead, 1L, pageableSearchQuery);
 
         assertThat(actual.getTotalPages()).isEqualTo(1);
-        assertThat(actual.getPageable().getPageNumber()).isZero();
-        assertThat(actual.getContent()).hasSize(1);
+        assertThat(actual.getContent()).containsExactly(member);
     }
 
     @Test
-    void ensureGetManagedMembersOfPersonAndDepartmentForSecondStageAuthority() {
+    void ensureGetManagedInactiveMembersOfPersonAndDepartmentForSecondStageAuthority() {
 
         final Person secondStageAuthority = new Person();
         secondStageAuthority.setId(1L);
@@ -794,71 +657,37 @@ class DepartmentServiceImplTest {
         final Person member = new Person();
         member.setId(2L);
 
-        final DepartmentEntity departmentEntity = new DepartmentEntity();
-        departmentEntity.setId(1L);
-        departmentEntity.setMembers(List.of(departmentMemberEmbeddable(member)));
-        departmentEntity.setSecondStageAuthorities(List.of(secondStageAuthority));
+        when(departmentRepository.existsById(1L)).thenReturn(true);
+        when(departmentRepository.existsByIdAndSecondStageAuthorities(1L, secondStageAuthority)).thenReturn(true);
 
-        when(departmentRepository.findById(1L)).thenReturn(Optional.of(departmentEntity));
+        final PageRequest expectedPageRequest = PageRequest.of(0, 10, Sort.by("lastName").and(Sort.by("id")));
+        when(departmentRepository.findMembersOfDepartmentByPermissionsContainingAndNiceNameContainingIgnoreCase(1L, INACTIVE, "", expectedPageRequest))
+            .thenReturn(new PageImpl<>(List.of(member), expectedPageRequest, 1));
 
-        final PageRequest pageRequest = PageRequest.of(0, 10);
+        final PageRequest pageRequest = PageRequest.of(0, 10, Sort.by("lastName"));
         final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(pageRequest, "");
 
-        final Page<Person> actual = sut.getManagedMembersOfPersonAndDepartment(secondStageAuthority, 1L, pageableSearchQuery);
+        final Page<Person> actual = sut.getManagedInactiveMembersOfPersonAndDepartment(secondStageAuthority, 1L, pageableSearchQuery);
 
         assertThat(actual.getTotalPages()).isEqualTo(1);
-        assertThat(actual.getPageable().getPageNumber()).isZero();
-        assertThat(actual.getContent()).hasSize(1);
+        assertThat(actual.getContent()).containsExactly(member);
     }
 
     @Test
-    void ensureGetManagedMembersOfPersonAndDepartmentForMember() {
+    void ensureGetManagedInactiveMembersOfPersonAndDepartmentForMember() {
 
         final Person person = new Person();
         person.setId(1L);
         person.setPermissions(List.of(USER));
 
-        final Person member = new Person();
-        member.setId(2L);
-
-        final DepartmentEntity departmentEntity = new DepartmentEntity();
-        departmentEntity.setId(1L);
-        departmentEntity.setMembers(List.of(departmentMemberEmbeddable(person), departmentMemberEmbeddable(member)));
-
-        when(departmentRepository.findById(1L)).thenReturn(Optional.of(departmentEntity));
+        when(departmentRepository.existsById(1L)).thenReturn(true);
 
         final PageRequest pageRequest = PageRequest.of(0, 10);
         final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(pageRequest, "");
 
-        final Page<Person> actual = sut.getManagedMembersOfPersonAndDepartment(person, 1L, pageableSearchQuery);
-
-        assertThat(actual).isEqualTo(Page.empty());
-    }
-
-    @Test
-    void ensureGetManagedInactiveMembersOfPersonAndDepartmentReturnsPageSecond() {
-
-        final Person person = new Person();
-        person.setId(1L);
-        person.setPermissions(List.of(BOSS));
-
-        final List<DepartmentMemberEmbeddable> inactiveMembers =
-            anyDepartmentMembers(14, 2, p -> p.setPermissions(List.of(INACTIVE)));
-
-        final DepartmentEntity departmentEntity = new DepartmentEntity();
-        departmentEntity.setId(1L);
-        departmentEntity.setMembers(inactiveMembers);
-
-        when(departmentRepository.findById(1L)).thenReturn(Optional.of(departmentEntity));
-
-        final PageRequest pageRequest = PageRequest.of(1, 10);
-        final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(pageRequest, "");
-
         final Page<Person> actual = sut.getManagedInactiveMembersOfPersonAndDepartment(person, 1L, pageableSearchQuery);
 
-        assertThat(actual.getTotalPages()).isEqualTo(2);
-        assertThat(actual.getPageable().getPageNumber()).isEqualTo(1);
-        assertThat(actual.getContent()).hasSize(4);
+        assertThat(actual).isEqualTo(Page.empty());
     }
 
     @Test
@@ -868,23 +697,16 @@ class DepartmentServiceImplTest {
         person.setId(1L);
         person.setPermissions(List.of(DEPARTMENT_HEAD));
 
-        final List<DepartmentMemberEmbeddable> inactiveMembers =
-            // do not start with personId=1 to exclude person from members list
-            anyDepartmentMembers(14, 2, p -> p.setPermissions(List.of(INACTIVE)));
-
-        final DepartmentEntity departmentEntity = new DepartmentEntity();
-        departmentEntity.setId(1L);
-        departmentEntity.setMembers(inactiveMembers);
+        when(departmentRepository.existsById(1L)).thenReturn(true);
         // person is not department head of THIS department
-        departmentEntity.setDepartmentHeads(List.of());
-
-        when(departmentRepository.findById(1L)).thenReturn(Optional.of(departmentEntity));
+        when(departmentRepository.existsByIdAndDepartmentHeads(1L, person)).thenReturn(false);
 
         final PageRequest pageRequest = PageRequest.of(1, 10);
         final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(pageRequest, "");
 
         final Page<Person> actual = sut.getManagedInactiveMembersOfPersonAndDepartment(person, 1L, pageableSearchQuery);
         assertThat(actual).isEqualTo(Page.empty());
+        verify(departmentRepository, never()).findMembersOfDepartmentByPermissionsContainingAndNiceNameContainingIgnoreCase(anyLong(), any(), any(), any());
     }
 
     @Test
@@ -894,47 +716,32 @@ class DepartmentServiceImplTest {
         person.setId(1L);
         person.setPermissions(List.of(SECOND_STAGE_AUTHORITY));
 
-        final List<DepartmentMemberEmbeddable> inactiveMembers =
-            // do not start with personId=1 to exclude person from members list
-            anyDepartmentMembers(14, 2, p -> p.setPermissions(List.of(INACTIVE)));
-
-        final DepartmentEntity departmentEntity = new DepartmentEntity();
-        departmentEntity.setId(1L);
-        departmentEntity.setMembers(inactiveMembers);
+        when(departmentRepository.existsById(1L)).thenReturn(true);
         // person is not second stage authority of THIS department
-        departmentEntity.setSecondStageAuthorities(List.of());
-
-        when(departmentRepository.findById(1L)).thenReturn(Optional.of(departmentEntity));
+        when(departmentRepository.existsByIdAndSecondStageAuthorities(1L, person)).thenReturn(false);
 
         final PageRequest pageRequest = PageRequest.of(1, 10);
         final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(pageRequest, "");
 
         final Page<Person> actual = sut.getManagedInactiveMembersOfPersonAndDepartment(person, 1L, pageableSearchQuery);
         assertThat(actual).isEqualTo(Page.empty());
+        verify(departmentRepository, never()).findMembersOfDepartmentByPermissionsContainingAndNiceNameContainingIgnoreCase(anyLong(), any(), any(), any());
     }
 
     @Test
-    void ensureGetManagedInactiveMembersOfPersonAndDepartmentReturnsEmptyPageWhenGivenUserIsNotAMember() {
+    void ensureGetManagedInactiveMembersOfPersonAndDepartmentThrowsWhenDepartmentDoesNotExist() {
 
         final Person person = new Person();
         person.setId(1L);
-        person.setPermissions(List.of(USER));
+        person.setPermissions(List.of(OFFICE));
 
-        final List<DepartmentMemberEmbeddable> inactiveMembers =
-            // do not start with personId=1 to exclude person from members list
-            anyDepartmentMembers(14, 2, p -> p.setPermissions(List.of(INACTIVE)));
+        when(departmentRepository.existsById(1L)).thenReturn(false);
 
-        final DepartmentEntity departmentEntity = new DepartmentEntity();
-        departmentEntity.setId(1L);
-        departmentEntity.setMembers(inactiveMembers);
+        final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(PageRequest.of(0, 10), "");
 
-        when(departmentRepository.findById(1L)).thenReturn(Optional.of(departmentEntity));
-
-        final PageRequest pageRequest = PageRequest.of(1, 10);
-        final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(pageRequest, "");
-
-        final Page<Person> actual = sut.getManagedInactiveMembersOfPersonAndDepartment(person, 1L, pageableSearchQuery);
-        assertThat(actual).isEqualTo(Page.empty());
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> sut.getManagedInactiveMembersOfPersonAndDepartment(person, 1L, pageableSearchQuery))
+            .withMessage("could not find department with id=1");
     }
 
     @Test
@@ -1017,6 +824,8 @@ class DepartmentServiceImplTest {
         final DepartmentEntity departmentEntityToUpdate = departmentEntityArgumentCaptor.getValue();
         assertThat(departmentEntityToUpdate.getId()).isEqualTo(42);
         assertThat(departmentEntityToUpdate.getName()).isEqualTo("department");
+
+        verify(applicationEventPublisher).publishEvent(new DepartmentUpdatedEvent(updatedDepartment));
     }
 
     @Test
@@ -1278,6 +1087,7 @@ class DepartmentServiceImplTest {
 
         verify(departmentRepository).existsById(0L);
         verify(departmentRepository).deleteById(0L);
+        verify(applicationEventPublisher).publishEvent(new DepartmentDeletedEvent(0L));
     }
 
     @Test
@@ -1404,7 +1214,9 @@ class DepartmentServiceImplTest {
         admins.setName("admins");
         admins.setMembers(List.of(marleneMember, maxMember, departmentHeadMember));
 
-        when(departmentRepository.findByDepartmentHeads(departmentHead)).thenReturn(List.of(admins));
+        admins.setDepartmentHeads(List.of(departmentHead));
+
+        when(departmentRepository.findAll()).thenReturn(List.of(admins));
 
         boolean isDepartmentHead = sut.isDepartmentHeadAllowedToManagePerson(departmentHead, marlenePerson);
         assertThat(isDepartmentHead).isTrue();
@@ -1426,8 +1238,9 @@ class DepartmentServiceImplTest {
 
         Person marketing1 = new Person("muster", "Muster", "Marlene", "muster@example.org");
 
-        when(departmentRepository.findByDepartmentHeads(departmentHead))
-            .thenReturn(List.of(admins));
+        admins.setDepartmentHeads(List.of(departmentHead));
+
+        when(departmentRepository.findAll()).thenReturn(List.of(admins));
 
         boolean isDepartmentHead = sut.isDepartmentHeadAllowedToManagePerson(departmentHead, marketing1);
         assertThat(isDepartmentHead).isFalse();
@@ -1452,89 +1265,58 @@ class DepartmentServiceImplTest {
     @Test
     void ensureReturnsEmptyListOfDepartmentApplicationsIfPersonIsNotAssignedToAnyDepartment() {
 
-        when(departmentRepository.count()).thenReturn(1L);
-
         final Person person = new Person();
         person.setPermissions(List.of(USER));
 
         final LocalDate date = LocalDate.now(UTC);
 
-        when(departmentRepository.findByMembersPerson(person)).thenReturn(emptyList());
+        final DepartmentEntity marketing = new DepartmentEntity();
+        marketing.setName("marketing");
+        marketing.setMembers(List.of(departmentMemberEmbeddable(new Person("muster", "Muster", "Marlene", "muster@example.org"))));
+
+        when(departmentRepository.findAll()).thenReturn(List.of(marketing));
 
         final List<Application> applications = sut.getApplicationsFromColleaguesOf(person, date, date);
         assertThat(applications).isEmpty();
 
-        verify(applicationService).getForStatesAndPerson(ApplicationStatus.activeStatuses(), List.of(), date, date);
+        verifyNoInteractions(applicationService);
     }
 
     @Test
     void ensureReturnsEmptyListOfDepartmentApplicationsIfNoMatchingApplicationsForLeave() {
 
-        when(departmentRepository.count()).thenReturn(1L);
-
         final Person person = new Person();
         person.setPermissions(List.of(USER));
 
-        final DepartmentMemberEmbeddable personMember = departmentMemberEmbeddable(person);
-
         final LocalDate date = LocalDate.now(UTC);
 
-        final Person admin1 = new Person("muster", "Muster", "Marlene", "muster@example.org");
-        final Person admin2 = new Person("muster", "Muster", "Marlene", "muster@example.org");
-
-        final DepartmentMemberEmbeddable admin1Member = departmentMemberEmbeddable(admin1);
-        final DepartmentMemberEmbeddable admin2Member = departmentMemberEmbeddable(admin2);
-
-        final Person marketing1Person = new Person("muster", "Muster", "Marlene", "muster@example.org");
-        final Person marketing2Person = new Person("muster", "Muster", "Marlene", "muster@example.org");
-        final Person marketing3Person = new Person("muster", "Muster", "Marlene", "muster@example.org");
-
-        final DepartmentMemberEmbeddable marketing1Member = departmentMemberEmbeddable(marketing1Person);
-        final DepartmentMemberEmbeddable marketing2Member = departmentMemberEmbeddable(marketing2Person);
-        final DepartmentMemberEmbeddable marketing3Member = departmentMemberEmbeddable(marketing3Person);
+        final Person colleague = new Person("muster", "Muster", "Marlene", "muster@example.org");
 
         final DepartmentEntity admins = new DepartmentEntity();
         admins.setName("admins");
-        admins.setMembers(List.of(admin1Member, admin2Member, personMember));
+        admins.setMembers(List.of(departmentMemberEmbeddable(person), departmentMemberEmbeddable(colleague)));
 
-        final DepartmentEntity marketing = new DepartmentEntity();
-        marketing.setName("marketing");
-        marketing.setMembers(List.of(marketing1Member, marketing2Member, marketing3Member, personMember));
-
-        when(departmentRepository.findByMembersPerson(person)).thenReturn(List.of(admins, marketing));
-        when(applicationService.getForStatesAndPerson(ApplicationStatus.activeStatuses(), List.of(admin1, admin2, marketing1Person, marketing2Person, marketing3Person), date, date))
+        when(departmentRepository.findAll()).thenReturn(List.of(admins));
+        when(applicationService.getForStatesOfDepartmentColleagues(ApplicationStatus.activeStatuses(), person, date, date))
             .thenReturn(emptyList());
 
         final List<Application> applications = sut.getApplicationsFromColleaguesOf(person, date, date);
         assertThat(applications).isEmpty();
     }
 
-
     @Test
     void ensureReturnsOnlyWaitingAndAllowedAndCancellationRequestDepartmentApplicationsForLeave() {
 
-        when(departmentRepository.count()).thenReturn(1L);
-
         final Person person = new Person();
         person.setPermissions(List.of(USER));
 
-        final DepartmentMemberEmbeddable personMember = departmentMemberEmbeddable(person);
-
         final LocalDate date = LocalDate.now(UTC);
 
-        final Person admin1 = new Person("shane", "shane", "shane", "shane@example.org");
-        final Person marketing1 = new Person("carl", "carl", "carl", "carl@example.org");
-
-        final DepartmentMemberEmbeddable admin1Member = departmentMemberEmbeddable(admin1);
-        final DepartmentMemberEmbeddable marketing1Member = departmentMemberEmbeddable(marketing1);
+        final Person colleague = new Person("muster", "Muster", "Marlene", "muster@example.org");
 
         final DepartmentEntity admins = new DepartmentEntity();
         admins.setName("admins");
-        admins.setMembers(List.of(admin1Member, personMember));
-
-        final DepartmentEntity marketing = new DepartmentEntity();
-        marketing.setName("marketing");
-        marketing.setMembers(List.of(marketing1Member, personMember));
+        admins.setMembers(List.of(departmentMemberEmbeddable(person), departmentMemberEmbeddable(colleague)));
 
         final Application waitingApplication = new Application();
         waitingApplication.setStatus(WAITING);
@@ -1548,8 +1330,8 @@ class DepartmentServiceImplTest {
         cancellationRequestApplication.setStatus(ALLOWED_CANCELLATION_REQUESTED);
         cancellationRequestApplication.setStartDate(LocalDate.of(2022, 9, 12));
 
-        when(departmentRepository.findByMembersPerson(person)).thenReturn(List.of(admins, marketing));
-        when(applicationService.getForStatesAndPerson(ApplicationStatus.activeStatuses(), List.of(admin1, marketing1), date, date))
+        when(departmentRepository.findAll()).thenReturn(List.of(admins));
+        when(applicationService.getForStatesOfDepartmentColleagues(ApplicationStatus.activeStatuses(), person, date, date))
             .thenReturn(List.of(waitingApplication, allowedApplication, cancellationRequestApplication));
 
         final List<Application> applications = sut.getApplicationsFromColleaguesOf(person, date, date);
@@ -1559,44 +1341,38 @@ class DepartmentServiceImplTest {
     @Test
     void ensuresApplicationsFromOthersInDepartmentAreSortedByStartDate() {
 
-        when(departmentRepository.count()).thenReturn(1L);
-
         final Person person = new Person();
         person.setPermissions(List.of(USER));
 
         final LocalDate date = LocalDate.now(UTC);
 
-        final Person marketingPerson = new Person("carl", "carl", "carl", "carl@example.org");
-        final DepartmentMemberEmbeddable memberEmbeddable = departmentMemberEmbeddable(marketingPerson);
+        final Person colleague = new Person("muster", "Muster", "Marlene", "muster@example.org");
 
         final DepartmentEntity marketing = new DepartmentEntity();
         marketing.setName("marketing");
-        marketing.setMembers(List.of(memberEmbeddable, departmentMemberEmbeddable(person)));
+        marketing.setMembers(List.of(departmentMemberEmbeddable(person), departmentMemberEmbeddable(colleague)));
 
-        final Application waitingApplication = new Application();
-        waitingApplication.setStatus(WAITING);
-        waitingApplication.setStartDate(LocalDate.of(2022, 10, 2));
+        final Application first = new Application();
+        first.setStartDate(LocalDate.of(2022, 9, 12));
 
-        final Application allowedApplication = new Application();
-        allowedApplication.setStatus(ALLOWED);
-        allowedApplication.setStartDate(LocalDate.of(2022, 11, 2));
+        final Application second = new Application();
+        second.setStartDate(LocalDate.of(2022, 10, 2));
 
-        final Application cancellationRequestApplication = new Application();
-        cancellationRequestApplication.setStatus(ALLOWED_CANCELLATION_REQUESTED);
-        cancellationRequestApplication.setStartDate(LocalDate.of(2022, 9, 12));
+        final Application third = new Application();
+        third.setStartDate(LocalDate.of(2022, 11, 2));
 
-        when(departmentRepository.findByMembersPerson(person)).thenReturn(List.of(marketing));
-        when(applicationService.getForStatesAndPerson(ApplicationStatus.activeStatuses(), List.of(marketingPerson), date, date))
-            .thenReturn(List.of(waitingApplication, allowedApplication, cancellationRequestApplication));
+        when(departmentRepository.findAll()).thenReturn(List.of(marketing));
+        when(applicationService.getForStatesOfDepartmentColleagues(ApplicationStatus.activeStatuses(), person, date, date))
+            .thenReturn(List.of(second, third, first));
 
         final List<Application> applications = sut.getApplicationsFromColleaguesOf(person, date, date);
-        assertThat(applications).containsExactly(cancellationRequestApplication, waitingApplication, allowedApplication);
+        assertThat(applications).containsExactly(first, second, third);
     }
 
     @Test
     void ensuresApplicationsFromOthersIfNoDepartmentIsAllApplicationsWithoutApplicationFromRequestedPerson() {
 
-        when(departmentRepository.count()).thenReturn(0L);
+        when(departmentRepository.findAll()).thenReturn(emptyList());
 
         final Person person = new Person();
         person.setId(1L);
@@ -1627,6 +1403,7 @@ class DepartmentServiceImplTest {
 
         final List<Application> applications = sut.getApplicationsFromColleaguesOf(person, date, date);
         assertThat(applications).containsExactly(cancellationRequestApplication, waitingApplication);
+        verify(applicationService, never()).getForStatesOfDepartmentColleagues(any(), any(), any(), any());
     }
 
     @Test
@@ -2267,8 +2044,7 @@ class DepartmentServiceImplTest {
         otherDepartmentEntity.setId(2L);
         otherDepartmentEntity.setMembers(List.of(otherMemberEmbeddable));
 
-        when(departmentRepository.findByMembersPerson(person)).thenReturn(List.of(departmentEntity));
-        when(departmentRepository.findByMembersPerson(otherPerson)).thenReturn(List.of(otherDepartmentEntity));
+        when(departmentRepository.findAll()).thenReturn(List.of(departmentEntity, otherDepartmentEntity));
 
         final boolean actual = sut.hasDepartmentMatch(person, otherPerson);
         assertThat(actual).isFalse();
@@ -2295,8 +2071,7 @@ class DepartmentServiceImplTest {
         departmentEntity.setId(1L);
         departmentEntity.setMembers(List.of(memberEmbeddable, otherMemberEmbeddable));
 
-        when(departmentRepository.findByMembersPerson(person)).thenReturn(List.of(departmentEntity));
-        when(departmentRepository.findByMembersPerson(otherPerson)).thenReturn(List.of(departmentEntity));
+        when(departmentRepository.findAll()).thenReturn(List.of(departmentEntity));
 
         final boolean actual = sut.hasDepartmentMatch(person, otherPerson);
         assertThat(actual).isTrue();
@@ -2321,11 +2096,7 @@ class DepartmentServiceImplTest {
         departmentEntity.setMembers(List.of(otherMemberEmbeddable));
         departmentEntity.setDepartmentHeads(List.of(person));
 
-        when(departmentRepository.findByDepartmentHeadsOrSecondStageAuthorities(person, person))
-            .thenReturn(List.of(departmentEntity));
-
-        when(departmentRepository.findByMembersPerson(person)).thenReturn(List.of());
-        when(departmentRepository.findByMembersPerson(otherPerson)).thenReturn(List.of(departmentEntity));
+        when(departmentRepository.findAll()).thenReturn(List.of(departmentEntity));
 
         final boolean actual = sut.hasDepartmentMatch(person, otherPerson);
         assertThat(actual).isTrue();
@@ -2350,11 +2121,7 @@ class DepartmentServiceImplTest {
         departmentEntity.setMembers(List.of(otherMemberEmbeddable));
         departmentEntity.setSecondStageAuthorities(List.of(person));
 
-        when(departmentRepository.findByDepartmentHeadsOrSecondStageAuthorities(person, person))
-            .thenReturn(List.of(departmentEntity));
-
-        when(departmentRepository.findByMembersPerson(person)).thenReturn(List.of());
-        when(departmentRepository.findByMembersPerson(otherPerson)).thenReturn(List.of(departmentEntity));
+        when(departmentRepository.findAll()).thenReturn(List.of(departmentEntity));
 
         final boolean actual = sut.hasDepartmentMatch(person, otherPerson);
         assertThat(actual).isTrue();
@@ -2379,11 +2146,7 @@ class DepartmentServiceImplTest {
         departmentEntity.setMembers(List.of(memberEmbeddable));
         departmentEntity.setDepartmentHeads(List.of(otherPerson));
 
-        when(departmentRepository.findByDepartmentHeadsOrSecondStageAuthorities(otherPerson, otherPerson))
-            .thenReturn(List.of(departmentEntity));
-
-        when(departmentRepository.findByMembersPerson(person)).thenReturn(List.of(departmentEntity));
-        when(departmentRepository.findByMembersPerson(otherPerson)).thenReturn(List.of());
+        when(departmentRepository.findAll()).thenReturn(List.of(departmentEntity));
 
         final boolean actual = sut.hasDepartmentMatch(person, otherPerson);
         assertThat(actual).isTrue();
@@ -2408,11 +2171,7 @@ class DepartmentServiceImplTest {
         departmentEntity.setMembers(List.of(memberEmbeddable));
         departmentEntity.setSecondStageAuthorities(List.of(otherPerson));
 
-        when(departmentRepository.findByDepartmentHeadsOrSecondStageAuthorities(otherPerson, otherPerson))
-            .thenReturn(List.of(departmentEntity));
-
-        when(departmentRepository.findByMembersPerson(person)).thenReturn(List.of(departmentEntity));
-        when(departmentRepository.findByMembersPerson(otherPerson)).thenReturn(List.of());
+        when(departmentRepository.findAll()).thenReturn(List.of(departmentEntity));
 
         final boolean actual = sut.hasDepartmentMatch(person, otherPerson);
         assertThat(actual).isTrue();
@@ -2437,19 +2196,6 @@ class DepartmentServiceImplTest {
         return IntStream.range(0, size).boxed().map(index -> anyPerson(personIds.get(index))).collect(toList());
     }
 
-    private static List<DepartmentMemberEmbeddable> anyDepartmentMembers(int size, int firstPersonId, Consumer<Person> personMutator) {
-        return anyPersons(size, firstPersonId).stream()
-            .map(DepartmentServiceImplTest::departmentMemberForPerson)
-            .peek(departmentMemberEmbeddable -> personMutator.accept(departmentMemberEmbeddable.getPerson()))
-            .collect(toList());
-    }
-
-    private static DepartmentMemberEmbeddable departmentMemberForPerson(Person person) {
-        final DepartmentMemberEmbeddable departmentMember = new DepartmentMemberEmbeddable();
-        departmentMember.setPerson(person);
-        return departmentMember;
-    }
-
     private DepartmentMemberEmbeddable departmentMemberEmbeddable(String username, String firstname, String lastname, String email) {
         final Person person = new Person(username, firstname, lastname, email);
 
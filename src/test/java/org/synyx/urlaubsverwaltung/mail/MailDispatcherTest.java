@@ -0,0 +1,106 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.IntStream;
+
+import static jakarta.mail.Session.getInstance;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class MailDispatcherTest {
+
+    private MailDispatcher sut;
+
+    @Mock
+    private JavaMailSender javaMailSender;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        final MailProperties mailProperties = new MailProperties();
+        mailProperties.getDispatch().setBatchSize(2);
+        mailProperties.getDispatch().setConcurrency(2);
+
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new MailDispatcher(javaMailSender, mailProperties, meterRegistry);
+    }
+
+    @Test
+    void ensureSendsMailsInBatches() {
+
+        final List<MimeMessage> mimeMessages = mimeMessages(5);
+
+        final List<MimeMessage> failed = sut.dispatch(mimeMessages);
+        assertThat(failed).isEmpty();
+
+        final ArgumentCaptor<MimeMessage[]> batchCaptor = ArgumentCaptor.forClass(MimeMessage[].class);
+        verify(javaMailSender, times(3)).send(batchCaptor.capture());
+        assertThat(batchCaptor.getAllValues())
+            .extracting(batch -> batch.length)
+            .containsExactlyInAnyOrder(2, 2, 1);
+        assertThat(batchCaptor.getAllValues().stream().flatMap(Arrays::stream))
+            .containsExactlyInAnyOrderElementsOf(mimeMessages);
+
+        assertThat(meterRegistry.get("mails.dispatch.mails").tag("outcome", "sent").counter().count()).isEqualTo(5);
+        assertThat(meterRegistry.get("mails.dispatch.mails").tag("outcome", "failed").counter().count()).isZero();
+        assertThat(meterRegistry.get("mails.dispatch.batch.duration").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void ensureReturnsFailedMailsOfBatch() {
+
+        final List<MimeMessage> mimeMessages = mimeMessages(2);
+        doThrow(new MailSendException(Map.<Object, Exception>of(mimeMessages.get(1), new IllegalStateException("rejected"))))
+            .when(javaMailSender).send(mimeMessages.toArray(MimeMessage[]::new));
+
+        final List<MimeMessage> failed = sut.dispatch(mimeMessages);
+        assertThat(failed).containsExactly(mimeMessages.get(1));
+
+        assertThat(meterRegistry.get("mails.dispatch.mails").tag("outcome", "sent").counter().count()).isOne();
+        assertThat(meterRegistry.get("mails.dispatch.mails").tag("outcome", "failed").counter().count()).isOne();
+    }
+
+    @Test
+    void ensureWholeBatchFailsIfMailServerIsNotAvailable() {
+
+        final List<MimeMessage> mimeMessages = mimeMessages(2);
+        doThrow(new MailSendException("Mail server connection failed"))
+            .when(javaMailSender).send(mimeMessages.toArray(MimeMessage[]::new));
+
+        final List<MimeMessage> failed = sut.dispatch(mimeMessages);
+        assertThat(failed).containsExactlyElementsOf(mimeMessages);
+
+        assertThat(meterRegistry.get("mails.dispatch.mails").tag("outcome", "failed").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void ensureSendsNothingWithoutMails() {
+        assertThat(sut.dispatch(List.of())).isEmpty();
+        verifyNoInteractions(javaMailSender);
+    }
+
+    private static List<MimeMessage> mimeMessages(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> new MimeMessage(getInstance(new Properties(), null)))
+            .toList();
+    }
+}
@@ -0,0 +1,79 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.synyx.urlaubsverwaltung.TestContainersBase;
+
+import java.util.List;
+
+import static com.icegreen.greenmail.util.ServerSetupTest.SMTP_IMAP;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"spring.mail.port=3025", "spring.mail.host=localhost", "uv.mail.outbox.enabled=true", "uv.mail.outbox.interval=1h"})
+class MailOutboxIT extends TestContainersBase {
+
+    private static final String FROM = "Urlaubsverwaltung <from@example.org>";
+    private static final String REPLY_TO = "Urlaubsverwaltung <no-reply@example.org>";
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(SMTP_IMAP);
+
+    @Autowired
+    private MailOutbox sut;
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        mailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void ensureEnqueuedMailsAreSentByRelay() throws MessagingException {
+
+        final OutgoingMail mail = new OutgoingMail("hans@example.org", "subject", "body", List.of(new MailAttachment("calendar.ics", new ByteArrayResource("calendar".getBytes()))));
+        final OutgoingMail otherMail = new OutgoingMail("franz@example.org", "other subject", "other body", List.of());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> sut.enqueue(FROM, REPLY_TO, List.of(mail, otherMail)));
+
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        assertThat(mailOutboxRepository.count()).isEqualTo(2);
+
+        sut.relay();
+
+        final MimeMessage[] receivedMessages = greenMail.getReceivedMessages();
+        assertThat(receivedMessages).hasSize(2);
+        assertThat(receivedMessages[0].getAllRecipients()).containsExactly(new InternetAddress("hans@example.org"));
+        assertThat(receivedMessages[0].getSubject()).isEqualTo("subject");
+        assertThat(receivedMessages[1].getAllRecipients()).containsExactly(new InternetAddress("franz@example.org"));
+        assertThat(mailOutboxRepository.count()).isZero();
+    }
+
+    @Test
+    void ensureMailsOfRolledBackTransactionAreNotSent() {
+
+        final OutgoingMail mail = new OutgoingMail("hans@example.org", "subject", "body", List.of());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            sut.enqueue(FROM, REPLY_TO, List.of(mail));
+            status.setRollbackOnly();
+        });
+
+        sut.relay();
+
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        assertThat(mailOutboxRepository.count()).isZero();
+    }
+}
@@ -0,0 +1,206 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.domain.Limit;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.mail.MailOutboxStatus.DEAD;
+import static org.synyx.urlaubsverwaltung.mail.MailOutboxStatus.PENDING;
+
+@ExtendWith(MockitoExtension.class)
+class MailOutboxTest {
+
+    private static final String FROM = "Urlaubsverwaltung <from@example.org>";
+    private static final String REPLY_TO = "Urlaubsverwaltung <no-reply@example.org>";
+
+    private MailOutbox sut;
+
+    @Mock
+    private MailOutboxRepository mailOutboxRepository;
+    @Mock
+    private MailSenderService mailSenderService;
+
+    private final Instant now = Instant.parse("2022-10-31T06:00:00Z");
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        final MailProperties mailProperties = new MailProperties();
+        mailProperties.getOutbox().setBatchSize(10);
+        mailProperties.getOutbox().setMaxAttempts(3);
+        mailProperties.getOutbox().setInitialBackoff(Duration.ofMinutes(1));
+        mailProperties.getOutbox().setMaxBackoff(Duration.ofMinutes(3));
+
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new MailOutbox(mailOutboxRepository, mailSenderService, mailProperties, meterRegistry, Clock.fixed(now, ZoneId.of("UTC")));
+    }
+
+    @Test
+    void ensureEnqueuesPendingMailsWithAttachments() {
+
+        final byte[] content = "calendar".getBytes();
+        final OutgoingMail mail = new OutgoingMail("hans@example.org", "subject", "body", List.of(new MailAttachment("calendar.ics", new ByteArrayResource(content))));
+        final OutgoingMail mailWithoutRecipient = new OutgoingMail(" ", "subject", "body", List.of());
+
+        sut.enqueue(FROM, REPLY_TO, List.of(mail, mailWithoutRecipient));
+
+        @SuppressWarnings("unchecked") final ArgumentCaptor<List<MailOutboxEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(mailOutboxRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).satisfiesExactly(entity -> {
+            assertThat(entity.getSender()).isEqualTo(FROM);
+            assertThat(entity.getReplyTo()).isEqualTo(REPLY_TO);
+            assertThat(entity.getRecipient()).isEqualTo("hans@example.org");
+            assertThat(entity.getSubject()).isEqualTo("subject");
+            assertThat(entity.getBody()).isEqualTo("body");
+            assertThat(entity.getStatus()).isEqualTo(PENDING);
+            assertThat(entity.getAttempts()).isZero();
+            assertThat(entity.getCreatedAt()).isEqualTo(now);
+            assertThat(entity.getNextAttemptAt()).isEqualTo(now);
+            assertThat(entity.getAttachments()).satisfiesExactly(attachment -> {
+                assertThat(attachment.getName()).isEqualTo("calendar.ics");
+                assertThat(attachment.getContent()).isEqualTo(content);
+            });
+        });
+
+        assertThat(meterRegistry.get("mails.outbox.enqueued").counter().count()).isOne();
+    }
+
+    @Test
+    void ensureRelayDeletesSentMails() {
+
+        final MailOutboxEntity first = entity(1L, "hans@example.org", 0);
+        final MailOutboxEntity second = entity(2L, "franz@example.org", 0);
+        when(mailOutboxRepository.findByStatusAndNextAttemptAtIsLessThanEqualOrderByIdAsc(PENDING, now, Limit.of(10)))
+            .thenReturn(List.of(first, second));
+        when(mailSenderService.sendEmails(eq(FROM), eq(REPLY_TO), any())).thenReturn(List.of());
+
+        sut.relay();
+
+        @SuppressWarnings("unchecked") final ArgumentCaptor<List<OutgoingMail>> mailsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(mailSenderService).sendEmails(eq(FROM), eq(REPLY_TO), mailsCaptor.capture());
+        assertThat(mailsCaptor.getValue())
+            .extracting(OutgoingMail::recipient)
+            .containsExactly("hans@example.org", "franz@example.org");
+
+        verify(mailOutboxRepository).deleteAll(List.of(first, second));
+        verify(mailOutboxRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void ensureRelayRetriesFailedMailsWithExponentialBackoff() {
+
+        final MailOutboxEntity sent = entity(1L, "hans@example.org", 0);
+        final MailOutboxEntity failedFirstTime = entity(2L, "franz@example.org", 0);
+        final MailOutboxEntity failedSecondTime = entity(3L, "fritz@example.org", 1);
+        when(mailOutboxRepository.findByStatusAndNextAttemptAtIsLessThanEqualOrderByIdAsc(PENDING, now, Limit.of(10)))
+            .thenReturn(List.of(sent, failedFirstTime, failedSecondTime));
+        when(mailSenderService.sendEmails(eq(FROM), eq(REPLY_TO), any())).thenAnswer(invocation -> {
+            final List<OutgoingMail> mails = invocation.getArgument(2);
+            return mails.subList(1, 3);
+        });
+
+        sut.relay();
+
+        verify(mailOutboxRepository).deleteAll(List.of(sent));
+        verify(mailOutboxRepository).saveAll(List.of(failedFirstTime, failedSecondTime));
+
+        assertThat(failedFirstTime.getStatus()).isEqualTo(PENDING);
+        assertThat(failedFirstTime.getAttempts()).isOne();
+        assertThat(failedFirstTime.getNextAttemptAt()).isEqualTo(now.plus(Duration.ofMinutes(1)));
+
+        assertThat(failedSecondTime.getStatus()).isEqualTo(PENDING);
+        assertThat(failedSecondTime.getAttempts()).isEqualTo(2);
+        assertThat(failedSecondTime.getNextAttemptAt()).isEqualTo(now.plus(Duration.ofMinutes(2)));
+
+        assertThat(meterRegistry.get("mails.outbox.retries").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void ensureRelayMarksMailAsDeadAfterMaxAttempts() {
+
+        final MailOutboxEntity failed = entity(1L, "hans@example.org", 2);
+        when(mailOutboxRepository.findByStatusAndNextAttemptAtIsLessThanEqualOrderByIdAsc(PENDING, now, Limit.of(10)))
+            .thenReturn(List.of(failed));
+        when(mailSenderService.sendEmails(eq(FROM), eq(REPLY_TO), any())).thenAnswer(invocation -> invocation.getArgument(2));
+
+        sut.relay();
+
+        verify(mailOutboxRepository).saveAll(List.of(failed));
+        assertThat(failed.getStatus()).isEqualTo(DEAD);
+        assertThat(failed.getAttempts()).isEqualTo(3);
+        assertThat(meterRegistry.get("mails.outbox.dead").counter().count()).isOne();
+    }
+
+    @Test
+    void ensureBackoffIsLimited() {
+
+        final MailProperties mailProperties = new MailProperties();
+        mailProperties.getOutbox().setMaxAttempts(10);
+        mailProperties.getOutbox().setInitialBackoff(Duration.ofMinutes(1));
+        mailProperties.getOutbox().setMaxBackoff(Duration.ofMinutes(3));
+        mailProperties.getOutbox().setBatchSize(10);
+        sut = new MailOutbox(mailOutboxRepository, mailSenderService, mailProperties, meterRegistry, Clock.fixed(now, ZoneId.of("UTC")));
+
+        final MailOutboxEntity failed = entity(1L, "hans@example.org", 4);
+        when(mailOutboxRepository.findByStatusAndNextAttemptAtIsLessThanEqualOrderByIdAsc(PENDING, now, Limit.of(10)))
+            .thenReturn(List.of(failed));
+        when(mailSenderService.sendEmails(eq(FROM), eq(REPLY_TO), any())).thenAnswer(invocation -> invocation.getArgument(2));
+
+        sut.relay();
+
+        assertThat(failed.getNextAttemptAt()).isEqualTo(now.plus(Duration.ofMinutes(3)));
+    }
+
+    @Test
+    void ensureRelayStopsAfterMaxRelayDuration() {
+
+        final MailProperties mailProperties = new MailProperties();
+        mailProperties.getOutbox().setBatchSize(1);
+        mailProperties.getOutbox().setMaxRelayDuration(Duration.ofMinutes(10));
+
+        final Clock clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(now, now, now.plus(Duration.ofMinutes(10)));
+        sut = new MailOutbox(mailOutboxRepository, mailSenderService, mailProperties, meterRegistry, clock);
+
+        when(mailOutboxRepository.findByStatusAndNextAttemptAtIsLessThanEqualOrderByIdAsc(PENDING, now, Limit.of(1)))
+            .thenReturn(List.of(entity(1L, "hans@example.org", 0)));
+        when(mailSenderService.sendEmails(eq(FROM), eq(REPLY_TO), any())).thenReturn(List.of());
+
+        sut.relay();
+
+        // the batch was full, but the remaining mails are left to the next run
+        verify(mailOutboxRepository).findByStatusAndNextAttemptAtIsLessThanEqualOrderByIdAsc(any(), any(), any());
+    }
+
+    private static MailOutboxEntity entity(long id, String recipient, int attempts) {
+        final MailOutboxEntity entity = new MailOutboxEntity();
+        entity.setId(id);
+        entity.setSender(FROM);
+        entity.setReplyTo(REPLY_TO);
+        entity.setRecipient(recipient);
+        entity.setSubject("subject");
+        entity.setBody("body");
+        entity.setStatus(PENDING);
+        entity.setAttempts(attempts);
+        return entity;
+    }
+}
@@ -0,0 +1,65 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.synyx.urlaubsverwaltung.TestContainersBase;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.icegreen.greenmail.util.ServerSetupTest.SMTP_IMAP;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"spring.mail.port=3025", "spring.mail.host=localhost", "uv.mail.dispatch.batch-size=2"})
+class MailSenderServiceIT extends TestContainersBase {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(SMTP_IMAP);
+
+    @Autowired
+    private MailSenderService sut;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void ensureSendsAllMailsInBatches() throws MessagingException {
+
+        final double sentBefore = meterRegistry.get("mails.dispatch.mails").tag("outcome", "sent").counter().count();
+        final long batchesBefore = meterRegistry.get("mails.dispatch.batch.duration").timer().count();
+
+        final List<OutgoingMail> mails = IntStream.rangeClosed(1, 5)
+            .mapToObj(i -> new OutgoingMail("person" + i + "@example.org", "subject " + i, "text " + i, List.of()))
+            .toList();
+
+        sut.sendEmails("Urlaubsverwaltung <from@example.org>", "Urlaubsverwaltung <no-reply@example.org>", mails);
+
+        final MimeMessage[] receivedMessages = greenMail.getReceivedMessages();
+        assertThat(receivedMessages).hasSize(5);
+
+        final List<String> recipients = Arrays.stream(receivedMessages)
+            .map(MailSenderServiceIT::recipient)
+            .toList();
+        assertThat(recipients).containsExactlyInAnyOrder(
+            "person1@example.org", "person2@example.org", "person3@example.org", "person4@example.org", "person5@example.org");
+        assertThat(receivedMessages[0].getFrom()).containsExactly(new InternetAddress("Urlaubsverwaltung <from@example.org>"));
+
+        assertThat(meterRegistry.get("mails.dispatch.mails").tag("outcome", "sent").counter().count() - sentBefore).isEqualTo(5);
+        assertThat(meterRegistry.get("mails.dispatch.batch.duration").timer().count() - batchesBefore).isEqualTo(3);
+    }
+
+    private static String recipient(MimeMessage message) {
+        try {
+            return ((InternetAddress) message.getAllRecipients()[0]).getAddress();
+        } catch (MessagingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
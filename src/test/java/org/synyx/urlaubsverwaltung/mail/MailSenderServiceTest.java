@@ -14,7 +14,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.simplejavamail.converter.EmailConverter;
 import org.springframework.core.io.ByteArrayResource;
-import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 
 import java.util.List;
@@ -22,7 +21,6 @@ import java.util.Properties;
 
 import static jakarta.mail.Session.getInstance;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentCaptor.forClass;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -34,43 +32,50 @@ class MailSenderServiceTest {
 
     @Mock
     private JavaMailSender javaMailSender;
+    @Mock
+    private MailDispatcher mailDispatcher;
 
     @BeforeEach
     void setUp() {
-        sut = new MailSenderService(javaMailSender);
+        sut = new MailSenderService(javaMailSender, mailDispatcher);
     }
 
     @Test
-    void sendEmail() {
-        final ArgumentCaptor<SimpleMailMessage> mailMessageArgumentCaptor = forClass(SimpleMailMessage.class);
+    void sendEmails() throws Exception {
+        @SuppressWarnings("unchecked") final ArgumentCaptor<List<MimeMessage>> mimeMessagesCaptor = ArgumentCaptor.forClass(List.class);
 
-        final String recipient = "hans@dampf.com";
-        final String subject = "subject";
-        final String body = "text";
         final String from = "from@example.org";
         final String replyTo = "replyTo@example.org";
 
-        sut.sendEmail(from, replyTo, recipient, subject, body);
-
-        verify(javaMailSender).send(mailMessageArgumentCaptor.capture());
-        final SimpleMailMessage mailMessage = mailMessageArgumentCaptor.getValue();
-        assertThat(mailMessage.getFrom()).contains(from);
-        assertThat(mailMessage.getTo()).containsExactly(recipient);
-        assertThat(mailMessage.getSubject()).isEqualTo(subject);
-        assertThat(mailMessage.getText()).isEqualTo(body);
-    }
-
-    @ParameterizedTest
-    @NullSource
-    @ValueSource(strings = {"", " "})
-    void doesNotSendMailForNullRecipients(final String recipient) {
-        sut.sendEmail("from@example.org", "replyTo@example.org", recipient, "subject", "text");
-        verifyNoInteractions(javaMailSender);
+        when(javaMailSender.createMimeMessage())
+            .thenReturn(new MimeMessage(getInstance(new Properties(), null)))
+            .thenReturn(new MimeMessage(getInstance(new Properties(), null)));
+
+        sut.sendEmails(from, replyTo, List.of(
+            new OutgoingMail("hans@dampf.com", "subject", "text", List.of()),
+            new OutgoingMail("franz@dampf.com", "other subject", "other text", List.of())
+        ));
+
+        verify(mailDispatcher).dispatch(mimeMessagesCaptor.capture());
+        final List<MimeMessage> mimeMessages = mimeMessagesCaptor.getValue();
+        assertThat(mimeMessages).hasSize(2);
+
+        final MimeMessage first = mimeMessages.get(0);
+        assertThat(first.getFrom()).containsExactly(new InternetAddress(from));
+        assertThat(first.getReplyTo()).containsExactly(new InternetAddress(replyTo));
+        assertThat(first.getAllRecipients()).containsExactly(new InternetAddress("hans@dampf.com"));
+        assertThat(first.getSubject()).isEqualTo("subject");
+        assertThat(readPlainContent(first)).hasToString("text");
+
+        final MimeMessage second = mimeMessages.get(1);
+        assertThat(second.getAllRecipients()).containsExactly(new InternetAddress("franz@dampf.com"));
+        assertThat(second.getSubject()).isEqualTo("other subject");
+        assertThat(readPlainContent(second)).hasToString("other text");
     }
 
     @Test
     void ensuresSendMailWithAttachment() throws Exception {
-        final ArgumentCaptor<MimeMessage> mailMessageArgumentCaptor = forClass(MimeMessage.class);
+        @SuppressWarnings("unchecked") final ArgumentCaptor<List<MimeMessage>> mimeMessagesCaptor = ArgumentCaptor.forClass(List.class);
 
         final String recipient = "hans@dampf.com";
         final String subject = "subject";
@@ -82,22 +87,37 @@ class MailSenderServiceTest {
         final MimeMessage msg = new MimeMessage(getInstance(new Properties(), null));
         when(javaMailSender.createMimeMessage()).thenReturn(msg);
 
-        sut.sendEmail(from, replyTo, recipient, subject, body, mailAttachments);
+        sut.sendEmails(from, replyTo, List.of(new OutgoingMail(recipient, subject, body, mailAttachments)));
 
-        verify(javaMailSender).send(mailMessageArgumentCaptor.capture());
-        final MimeMessage mailMessage = mailMessageArgumentCaptor.getValue();
+        verify(mailDispatcher).dispatch(mimeMessagesCaptor.capture());
+        final MimeMessage mailMessage = mimeMessagesCaptor.getValue().getFirst();
         assertThat(mailMessage.getFrom()).contains(new InternetAddress(from));
         assertThat(mailMessage.getAllRecipients()).containsExactly(new InternetAddress(recipient));
         assertThat(mailMessage.getSubject()).isEqualTo(subject);
         assertThat(readPlainContent(mailMessage)).hasToString(body);
     }
 
+    @Test
+    void ensureReturnsMailsThatCouldNotBeSent() {
+
+        final MimeMessage first = new MimeMessage(getInstance(new Properties(), null));
+        final MimeMessage second = new MimeMessage(getInstance(new Properties(), null));
+        when(javaMailSender.createMimeMessage()).thenReturn(first).thenReturn(second);
+        when(mailDispatcher.dispatch(List.of(first, second))).thenReturn(List.of(second));
+
+        final OutgoingMail mailToHans = new OutgoingMail("hans@dampf.com", "subject", "text", List.of());
+        final OutgoingMail mailToFranz = new OutgoingMail("franz@dampf.com", "subject", "text", List.of());
+
+        final List<OutgoingMail> failed = sut.sendEmails("from@example.org", "replyTo@example.org", List.of(mailToHans, mailToFranz));
+        assertThat(failed).containsExactly(mailToFranz);
+    }
+
     @ParameterizedTest
     @NullSource
     @ValueSource(strings = {"", " "})
-    void doesNotSendMailWithAttachmentToNullRecipients(final String recipient) {
-        sut.sendEmail("from@example.org", "replyTo@example.org", recipient, "subject", "text", List.of());
-        verifyNoInteractions(javaMailSender);
+    void doesNotSendMailForNullRecipients(final String recipient) {
+        sut.sendEmails("from@example.org", "replyTo@example.org", List.of(new OutgoingMail(recipient, "subject", "text", List.of())));
+        verifyNoInteractions(javaMailSender, mailDispatcher);
     }
 
     private String readPlainContent(MimeMessage message) {
@@ -0,0 +1,137 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.support.StaticMessageSource;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.user.UserSettingsService;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.StringTemplateResolver;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Locale.ENGLISH;
+import static java.util.Locale.GERMAN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.thymeleaf.templatemode.TemplateMode.TEXT;
+
+@ExtendWith(MockitoExtension.class)
+class MailServiceImplRenderingTest {
+
+    private static final String FROM = "Urlaubsverwaltung <from@example.org>";
+    private static final String REPLY_TO = "Urlaubsverwaltung <no-reply@example.org>";
+
+    private MailServiceImpl sut;
+
+    @Mock
+    private MailSenderService mailSenderService;
+    @Mock
+    private MailOutbox mailOutbox;
+    @Mock
+    private UserSettingsService userSettingsService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        final StaticMessageSource messageSource = new StaticMessageSource();
+        messageSource.addMessage("subject", GERMAN, "Betreff");
+        messageSource.addMessage("subject", ENGLISH, "Subject");
+        messageSource.addMessage("greeting", GERMAN, "Hallo {0}");
+        messageSource.addMessage("greeting", ENGLISH, "Hello {0}");
+
+        final StringTemplateResolver templateResolver = new StringTemplateResolver();
+        templateResolver.setTemplateMode(TEXT);
+
+        final SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+
+        final MailProperties mailProperties = new MailProperties();
+        mailProperties.setFrom("from@example.org");
+        mailProperties.setFromDisplayName("Urlaubsverwaltung");
+        mailProperties.setReplyTo("no-reply@example.org");
+        mailProperties.setReplyToDisplayName("Urlaubsverwaltung");
+        mailProperties.setApplicationUrl("https://localhost:8080");
+        mailProperties.getOutbox().setEnabled(false);
+
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new MailServiceImpl(messageSource, templateEngine, mailSenderService, mailOutbox, mailProperties, userSettingsService, meterRegistry);
+    }
+
+    @Test
+    void ensureRendersTemplateOnceForRecipientsWithSameLocale() {
+
+        final Person hans = person(1L, "Hans", "hans@example.org");
+        final Person franz = person(2L, "Franz", "franz@example.org");
+        when(userSettingsService.getEffectiveLocale(List.of(hans, franz))).thenReturn(Map.of(hans, GERMAN, franz, GERMAN));
+
+        sut.send(mail(List.of(hans, franz), "[(#{greeting(${recipient.niceName})})], [(${baseLinkURL})]web/person/[(${recipient.id})]"));
+
+        verify(mailSenderService).sendEmails(FROM, REPLY_TO, List.of(
+            new OutgoingMail("hans@example.org", "Betreff", "Hallo Hans Dampf, https://localhost:8080/web/person/1", List.of()),
+            new OutgoingMail("franz@example.org", "Betreff", "Hallo Franz Dampf, https://localhost:8080/web/person/2", List.of())
+        ));
+
+        assertThat(meterRegistry.get("mails.rendering.cache").tag("result", "miss").counter().count()).isOne();
+        assertThat(meterRegistry.get("mails.rendering.cache").tag("result", "hit").counter().count()).isOne();
+    }
+
+    @Test
+    void ensureRendersTemplateForEveryLocale() {
+
+        final Person hans = person(1L, "Hans", "hans@example.org");
+        final Person franz = person(2L, "Franz", "franz@example.org");
+        when(userSettingsService.getEffectiveLocale(List.of(hans, franz))).thenReturn(Map.of(hans, GERMAN, franz, ENGLISH));
+
+        sut.send(mail(List.of(hans, franz), "[(#{greeting(${recipient.niceName})})]"));
+
+        verify(mailSenderService).sendEmails(FROM, REPLY_TO, List.of(
+            new OutgoingMail("hans@example.org", "Betreff", "Hallo Hans Dampf", List.of()),
+            new OutgoingMail("franz@example.org", "Subject", "Hello Franz Dampf", List.of())
+        ));
+
+        assertThat(meterRegistry.get("mails.rendering.cache").tag("result", "miss").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("mails.rendering.cache").tag("result", "hit").counter().count()).isZero();
+    }
+
+    @Test
+    void ensureRendersTemplateForEveryRecipientIfItUsesOtherPropertiesOfTheRecipient() {
+
+        final Person hans = person(1L, "Hans", "hans@example.org");
+        final Person franz = person(2L, "Franz", "franz@example.org");
+        when(userSettingsService.getEffectiveLocale(List.of(hans, franz))).thenReturn(Map.of(hans, GERMAN, franz, GERMAN));
+
+        sut.send(mail(List.of(hans, franz), "[(${recipient.email})]"));
+
+        verify(mailSenderService).sendEmails(FROM, REPLY_TO, List.of(
+            new OutgoingMail("hans@example.org", "Betreff", "hans@example.org", List.of()),
+            new OutgoingMail("franz@example.org", "Betreff", "franz@example.org", List.of())
+        ));
+
+        assertThat(meterRegistry.get("mails.rendering.cache").tag("result", "miss").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("mails.rendering.cache").tag("result", "hit").counter().count()).isZero();
+    }
+
+    private static Mail mail(List<Person> recipients, String template) {
+        return Mail.builder()
+            .withRecipient(recipients)
+            .withSubject("subject")
+            .withTemplate(template, locale -> new HashMap<>())
+            .build();
+    }
+
+    private static Person person(long id, String firstName, String email) {
+        final Person person = new Person(firstName.toLowerCase(), "Dampf", firstName, email);
+        person.setId(id);
+        return person;
+    }
+}
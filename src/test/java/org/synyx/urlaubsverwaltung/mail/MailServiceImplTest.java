@@ -1,5 +1,6 @@
 package org.synyx.urlaubsverwaltung.mail;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,8 +20,12 @@ import java.util.HashMap;
 import java.util.List;
 
 import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
@@ -29,6 +34,8 @@ class MailServiceImplTest {
 
     private MailServiceImpl sut;
 
+    private final MailProperties.Outbox outbox = new MailProperties.Outbox();
+
     @Mock
     private MessageSource messageSource;
     @Mock
@@ -36,12 +43,15 @@ class MailServiceImplTest {
     @Mock
     private MailSenderService mailSenderService;
     @Mock
+    private MailOutbox mailOutbox;
+    @Mock
     private MailProperties mailProperties;
     @Mock
     private UserSettingsService userSettingsService;
 
     @BeforeEach
     void setUp() {
+        outbox.setEnabled(false);
         when(messageSource.getMessage(any(), any(), any())).thenReturn("subject");
         when(emailTemplateEngine.process(any(String.class), any(Context.class))).thenReturn("emailBody");
         when(mailProperties.getFrom()).thenReturn("from@example.org");
@@ -49,7 +59,8 @@ class MailServiceImplTest {
         when(mailProperties.getReplyTo()).thenReturn("no-reply@example.org");
         when(mailProperties.getReplyToDisplayName()).thenReturn("Urlaubsverwaltung");
         when(mailProperties.getApplicationUrl()).thenReturn("http://localhost:8080");
-        sut = new MailServiceImpl(messageSource, emailTemplateEngine, mailSenderService, mailProperties, userSettingsService);
+        when(mailProperties.getOutbox()).thenReturn(outbox);
+        sut = new MailServiceImpl(messageSource, emailTemplateEngine, mailSenderService, mailOutbox, mailProperties, userSettingsService, new SimpleMeterRegistry());
     }
 
     @Test
@@ -71,7 +82,9 @@ class MailServiceImplTest {
 
         sut.send(mail);
 
-        verify(mailSenderService).sendEmail("Urlaubsverwaltung <from@example.org>", "Urlaubsverwaltung <no-reply@example.org>", "hans@example.org", "subject", "emailBody");
+        verify(mailSenderService).sendEmails("Urlaubsverwaltung <from@example.org>", "Urlaubsverwaltung <no-reply@example.org>", List.of(
+            new OutgoingMail("hans@example.org", "subject", "emailBody", List.of())
+        ));
     }
 
     @Test
@@ -97,8 +110,10 @@ class MailServiceImplTest {
 
         sut.send(mail);
 
-        verify(mailSenderService).sendEmail("Urlaubsverwaltung <from@example.org>", "Urlaubsverwaltung <no-reply@example.org>", "hans@example.org", "subject", "emailBody");
-        verify(mailSenderService).sendEmail("Urlaubsverwaltung <from@example.org>", "Urlaubsverwaltung <no-reply@example.org>", "franz@example.org", "subject", "emailBody");
+        verify(mailSenderService).sendEmails("Urlaubsverwaltung <from@example.org>", "Urlaubsverwaltung <no-reply@example.org>", List.of(
+            new OutgoingMail("hans@example.org", "subject", "emailBody", List.of()),
+            new OutgoingMail("franz@example.org", "subject", "emailBody", List.of())
+        ));
     }
 
     @Test
@@ -127,8 +142,10 @@ class MailServiceImplTest {
 
         sut.send(mail);
 
-        verify(mailSenderService).sendEmail("Urlaubsverwaltung <from@example.org>", "Urlaubsverwaltung <no-reply@example.org>", "franz@example.org", "subject", "emailBody", List.of(new MailAttachment("fileName", iCal)));
-        verify(mailSenderService).sendEmail("Urlaubsverwaltung <from@example.org>", "Urlaubsverwaltung <no-reply@example.org>", "hans@example.org", "subject", "emailBody", List.of(new MailAttachment("fileName", iCal)));
+        verify(mailSenderService).sendEmails("Urlaubsverwaltung <from@example.org>", "Urlaubsverwaltung <no-reply@example.org>", List.of(
+            new OutgoingMail("hans@example.org", "subject", "emailBody", List.of(new MailAttachment("fileName", iCal))),
+            new OutgoingMail("franz@example.org", "subject", "emailBody", List.of(new MailAttachment("fileName", iCal)))
+        ));
     }
 
     @Test
@@ -157,8 +174,10 @@ class MailServiceImplTest {
 
         sut.send(mail);
 
-        verify(mailSenderService).sendEmail("Urlaubsverwaltung <from@example.org>", "Urlaubsverwaltung <no-reply@example.org>", "hans@example.org", "subject", "emailBody", List.of(new MailAttachment("fileName", iCal)));
-        verify(mailSenderService).sendEmail("Urlaubsverwaltung <from@example.org>", "Urlaubsverwaltung <no-reply@example.org>", "franz@example.org", "subject", "emailBody", List.of(new MailAttachment("fileName", iCal)));
+        verify(mailSenderService).sendEmails("Urlaubsverwaltung <from@example.org>", "Urlaubsverwaltung <no-reply@example.org>", List.of(
+            new OutgoingMail("hans@example.org", "subject", "emailBody", List.of(new MailAttachment("fileName", iCal))),
+            new OutgoingMail("franz@example.org", "subject", "emailBody", List.of(new MailAttachment("fileName", iCal)))
+        ));
     }
 
     @Test
@@ -180,10 +199,139 @@ class MailServiceImplTest {
 
         sut.send(mail);
 
-        verify(mailSenderService).sendEmail("Urlaubsverwaltung <from@example.org>", "Urlaubsverwaltung <no-reply@example.org>", "franz@example.org", "subject", "emailBody");
+        verify(mailSenderService).sendEmails("Urlaubsverwaltung <from@example.org>", "Urlaubsverwaltung <no-reply@example.org>", List.of(
+            new OutgoingMail("franz@example.org", "subject", "emailBody", List.of())
+        ));
+        verifyNoMoreInteractions(mailSenderService);
+    }
+
+    @Test
+    void sendMailsTogether() {
+
+        setupMockServletRequest();
+
+        final Person hans = new Person();
+        hans.setEmail("hans@example.org");
+
+        final Person franz = new Person();
+        franz.setEmail("franz@example.org");
+
+        final Mail mailToHans = Mail.builder()
+            .withRecipient(hans)
+            .withSubject("subject.overtime.created")
+            .withTemplate("overtime_office", locale -> new HashMap<>())
+            .build();
+
+        final Mail mailToFranz = Mail.builder()
+            .withRecipient(franz)
+            .withSubject("subject.overtime.created")
+            .withTemplate("overtime_office", locale -> new HashMap<>())
+            .build();
+
+        final List<Mail> failedMails = sut.send(List.of(mailToHans, mailToFranz));
+        assertThat(failedMails).isEmpty();
+
+        verify(mailSenderService).sendEmails("Urlaubsverwaltung <from@example.org>", "Urlaubsverwaltung <no-reply@example.org>", List.of(
+            new OutgoingMail("hans@example.org", "subject", "emailBody", List.of()),
+            new OutgoingMail("franz@example.org", "subject", "emailBody", List.of())
+        ));
         verifyNoMoreInteractions(mailSenderService);
     }
 
+    @Test
+    void sendMailsTogetherReturnsMailsThatCouldNotBeSent() {
+
+        setupMockServletRequest();
+
+        final Person hans = new Person();
+        hans.setEmail("hans@example.org");
+
+        final Person franz = new Person();
+        franz.setEmail("franz@example.org");
+
+        final Person withoutEmail = new Person();
+
+        final Mail mailToHans = Mail.builder()
+            .withRecipient(hans)
+            .withSubject("subject.overtime.created")
+            .withTemplate("overtime_office", locale -> new HashMap<>())
+            .build();
+
+        final Mail mailToFranz = Mail.builder()
+            .withRecipient(franz)
+            .withSubject("subject.overtime.created")
+            .withTemplate("overtime_office", locale -> new HashMap<>())
+            .build();
+
+        final Mail mailWithoutEmail = Mail.builder()
+            .withRecipient(withoutEmail)
+            .withSubject("subject.overtime.created")
+            .withTemplate("overtime_office", locale -> new HashMap<>())
+            .build();
+
+        when(mailSenderService.sendEmails(eq("Urlaubsverwaltung <from@example.org>"), eq("Urlaubsverwaltung <no-reply@example.org>"), anyList()))
+            .thenAnswer(invocation -> List.of(invocation.<List<OutgoingMail>>getArgument(2).get(1)));
+
+        final List<Mail> failedMails = sut.send(List.of(mailToHans, mailToFranz, mailWithoutEmail));
+        assertThat(failedMails).containsExactly(mailToFranz, mailWithoutEmail);
+    }
+
+    @Test
+    void sendMailsTogetherSkipsMailThatCannotBeRendered() {
+
+        setupMockServletRequest();
+
+        final Person hans = new Person();
+        hans.setEmail("hans@example.org");
+
+        final Person franz = new Person();
+        franz.setEmail("franz@example.org");
+
+        final Mail brokenMail = Mail.builder()
+            .withRecipient(hans)
+            .withSubject("subject.overtime.created")
+            .withTemplate("overtime_office", locale -> {
+                throw new IllegalStateException("broken model");
+            })
+            .build();
+
+        final Mail mailToFranz = Mail.builder()
+            .withRecipient(franz)
+            .withSubject("subject.overtime.created")
+            .withTemplate("overtime_office", locale -> new HashMap<>())
+            .build();
+
+        final List<Mail> failedMails = sut.send(List.of(brokenMail, mailToFranz));
+        assertThat(failedMails).containsExactly(brokenMail);
+
+        verify(mailSenderService).sendEmails("Urlaubsverwaltung <from@example.org>", "Urlaubsverwaltung <no-reply@example.org>", List.of(
+            new OutgoingMail("franz@example.org", "subject", "emailBody", List.of())
+        ));
+    }
+
+    @Test
+    void sendMailViaOutboxIfEnabled() {
+
+        outbox.setEnabled(true);
+        setupMockServletRequest();
+
+        final Person hans = new Person();
+        hans.setEmail("hans@example.org");
+
+        final Mail mail = Mail.builder()
+            .withRecipient(hans)
+            .withSubject("subject.overtime.created")
+            .withTemplate("overtime_office", locale -> new HashMap<>())
+            .build();
+
+        sut.send(mail);
+
+        verify(mailOutbox).enqueue("Urlaubsverwaltung <from@example.org>", "Urlaubsverwaltung <no-reply@example.org>", List.of(
+            new OutgoingMail("hans@example.org", "subject", "emailBody", List.of())
+        ));
+        verifyNoInteractions(mailSenderService);
+    }
+
     private void setupMockServletRequest() {
         final MockHttpServletRequest request = new MockHttpServletRequest();
         RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
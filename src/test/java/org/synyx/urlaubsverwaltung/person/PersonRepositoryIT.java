@@ -5,8 +5,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.transaction.annotation.Transactional;
 import org.synyx.urlaubsverwaltung.TestContainersBase;
+import org.synyx.urlaubsverwaltung.person.basedata.PersonBasedata;
+import org.synyx.urlaubsverwaltung.person.basedata.PersonBasedataService;
 
 import java.util.List;
 
@@ -26,6 +30,9 @@ class PersonRepositoryIT extends TestContainersBase {
     @Autowired
     private PersonService personService;
 
+    @Autowired
+    private PersonBasedataService personBasedataService;
+
     @Test
     void countPersonByPermissionsIsNot() {
 
@@ -152,6 +159,26 @@ class PersonRepositoryIT extends TestContainersBase {
         assertThat(actual.getContent()).containsExactly(peter, rosamund);
     }
 
+    @Test
+    void ensureFindByPermissionsNotContainingAndByNiceNameContainingIgnoreCaseJoiningBasedataSortedByPersonnelNumber() {
+
+        final Person xenia = personService.create("username_1", "xenia", "Basta", "xenia@example.org", List.of(), List.of(USER));
+        final Person mustafa = personService.create("username_3", "Mustafa", "Tunichtgut", "mustafa@example.org", List.of(), List.of(INACTIVE));
+        final Person peter = personService.create("username_2", "Peter", "Muster", "peter@example.org", List.of(), List.of(USER));
+        final Person rosamund = personService.create("username_4", "Rosamund", "Hatgoldimmund", "rosamund@example.org", List.of(), List.of(USER));
+
+        personBasedataService.update(new PersonBasedata(new PersonId(xenia.getId()), "3", ""));
+        personBasedataService.update(new PersonBasedata(new PersonId(mustafa.getId()), "1", ""));
+        personBasedataService.update(new PersonBasedata(new PersonId(rosamund.getId()), "2", ""));
+
+        final PageRequest pageRequest = PageRequest.of(0, 10, JpaSort.unsafe(Sort.Direction.ASC, "b.personnelNumber").and(Sort.by("id")));
+        final Page<Person> actual = sut.findByPermissionsNotContainingAndByNiceNameContainingIgnoreCaseJoiningBasedata(INACTIVE, "", pageRequest);
+
+        // peter has no basedata, nulls are sorted last by postgres in ascending order
+        assertThat(actual.getContent()).containsExactly(rosamund, xenia, peter);
+        assertThat(actual.getTotalElements()).isEqualTo(3);
+    }
+
     @Test
     void ensureFindByPermissionsContainingAndNiceNameContainingIgnoreCase() {
         personService.create("username_1", "xenia", "Basta", "xenia@example.org", List.of(), List.of(USER));
@@ -1,5 +1,6 @@
 package org.synyx.urlaubsverwaltung.person;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +14,7 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -67,7 +69,7 @@ class PersonServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        sut = new PersonServiceImpl(personRepository, accountInteractionService, workingTimeWriteService, applicationEventPublisher);
+        sut = new PersonServiceImpl(personRepository, accountInteractionService, workingTimeWriteService, applicationEventPublisher, new SignedInUserContext(new SimpleMeterRegistry()));
     }
 
     @AfterEach
@@ -279,6 +281,35 @@ class PersonServiceImplTest {
         verify(personRepository).findByEmailIgnoreCase(mailAddress);
     }
 
+    @Test
+    void ensureGetPersonByUsernameOrMailAddressPrefersUsername() {
+        final Person personWithMailAddress = new Person("other", "Muster", "Marlene", "foo@bar.test");
+        final Person personWithUsername = new Person("Foo", "Muster", "Max", "max@bar.test");
+        when(personRepository.findByUsernameIgnoreCaseOrEmailIgnoreCase("foo", "foo@bar.test")).thenReturn(List.of(personWithMailAddress, personWithUsername));
+
+        final Optional<Person> actual = sut.getPersonByUsernameOrMailAddress("foo", "foo@bar.test");
+        assertThat(actual).containsSame(personWithUsername);
+    }
+
+    @Test
+    void ensureGetPersonByUsernameOrMailAddressFallsBackToMailAddress() {
+        final Person personWithMailAddress = new Person("other", "Muster", "Marlene", "foo@bar.test");
+        when(personRepository.findByUsernameIgnoreCaseOrEmailIgnoreCase("foo", "foo@bar.test")).thenReturn(List.of(personWithMailAddress));
+
+        final Optional<Person> actual = sut.getPersonByUsernameOrMailAddress("foo", "foo@bar.test");
+        assertThat(actual).containsSame(personWithMailAddress);
+    }
+
+    @Test
+    void ensureGetPersonByUsernameOrMailAddressWithoutMailAddressFindsByUsernameOnly() {
+        final Person person = new Person("foo", "Muster", "Marlene", null);
+        when(personRepository.findByUsernameIgnoreCase("foo")).thenReturn(Optional.of(person));
+
+        final Optional<Person> actual = sut.getPersonByUsernameOrMailAddress("foo", null);
+        assertThat(actual).containsSame(person);
+        verify(personRepository, never()).findByUsernameIgnoreCaseOrEmailIgnoreCase(any(), any());
+    }
+
     @Test
     void ensureGetActivePersonsReturnsOnlyPersonsThatHaveNotInactiveRole() {
 
@@ -308,7 +339,23 @@ class PersonServiceImplTest {
         final PageRequest pageRequest = PageRequest.of(1, 100);
         final PageableSearchQuery personPageableSearchQuery = new PageableSearchQuery(pageRequest, "name-query");
 
-        when(personRepository.findByPermissionsNotContainingAndByNiceNameContainingIgnoreCase(INACTIVE, "name-query", pageRequest)).thenReturn(expected);
+        // id is used as last sort criteria for a stable order
+        final PageRequest pageRequestInternal = PageRequest.of(1, 100, Sort.by("id"));
+        when(personRepository.findByPermissionsNotContainingAndByNiceNameContainingIgnoreCase(INACTIVE, "name-query", pageRequestInternal)).thenReturn(expected);
+
+        final Page<Person> actual = sut.getActivePersons(personPageableSearchQuery);
+        assertThat(actual).isSameAs(expected);
+    }
+
+    @Test
+    void ensureGetActivePersonsPageSortedByBasedataJoinsBasedata() {
+
+        final Page<Person> expected = Page.empty();
+        final PageRequest pageRequest = PageRequest.of(1, 100, Sort.by(Sort.Direction.DESC, "basedata.personnelNumber"));
+        final PageableSearchQuery personPageableSearchQuery = new PageableSearchQuery(pageRequest, "name-query");
+
+        final PageRequest pageRequestInternal = PageRequest.of(1, 100, JpaSort.unsafe(Sort.Direction.DESC, "b.personnelNumber").and(Sort.by("id")));
+        when(personRepository.findByPermissionsNotContainingAndByNiceNameContainingIgnoreCaseJoiningBasedata(INACTIVE, "name-query", pageRequestInternal)).thenReturn(expected);
 
         final Page<Person> actual = sut.getActivePersons(personPageableSearchQuery);
         assertThat(actual).isSameAs(expected);
@@ -322,7 +369,7 @@ class PersonServiceImplTest {
         final PageableSearchQuery personPageableSearchQuery = new PageableSearchQuery(pageRequest, "name-query");
 
         // currently a hard coded pageRequest is used in implementation
-        final PageRequest pageRequestInternal = PageRequest.of(1, 100, Sort.Direction.ASC, "firstName", "lastName");
+        final PageRequest pageRequestInternal = PageRequest.of(1, 100, Sort.Direction.ASC, "firstName", "lastName", "id");
         when(personRepository.findByPermissionsContainingAndNiceNameContainingIgnoreCase(INACTIVE, "name-query", pageRequestInternal)).thenReturn(expected);
 
         final Page<Person> actual = sut.getInactivePersons(personPageableSearchQuery);
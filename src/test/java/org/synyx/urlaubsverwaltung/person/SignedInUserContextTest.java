@@ -0,0 +1,115 @@
+package org.synyx.urlaubsverwaltung.person;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SignedInUserContextTest {
+
+    private SignedInUserContext sut;
+
+    @Mock
+    private Function<String, Optional<Person>> loader;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new SignedInUserContext(meterRegistry);
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("muster", null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void ensureSignedInUserIsLoadedOncePerRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        when(loader.apply("muster")).thenReturn(Optional.of(person));
+
+        assertThat(sut.getPerson("muster", loader)).hasValue(person);
+        assertThat(sut.getPerson("muster", loader)).hasValue(person);
+        assertThat(sut.getPerson("muster", loader)).hasValue(person);
+
+        verify(loader).apply("muster");
+        assertThat(meterRegistry.get("persons.signed_in_user.lookups.saved").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void ensureSignedInUserIsLoadedAgainInNextRequest() {
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        when(loader.apply("muster")).thenReturn(Optional.of(person));
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        sut.getPerson("muster", loader);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        sut.getPerson("muster", loader);
+
+        verify(loader, times(2)).apply("muster");
+    }
+
+    @Test
+    void ensureSignedInUserIsLoadedAgainAfterEviction() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        when(loader.apply("muster")).thenReturn(Optional.of(person));
+
+        sut.getPerson("muster", loader);
+        sut.evict();
+        sut.getPerson("muster", loader);
+
+        verify(loader, times(2)).apply("muster");
+    }
+
+    @Test
+    void ensureOtherPersonsAreNotRemembered() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        final Person other = new Person("other", "Other", "Olaf", "other@example.org");
+        when(loader.apply("other")).thenReturn(Optional.of(other));
+
+        assertThat(sut.getPerson("other", loader)).hasValue(other);
+        assertThat(sut.getPerson("other", loader)).hasValue(other);
+
+        verify(loader, times(2)).apply("other");
+        assertThat(meterRegistry.get("persons.signed_in_user.lookups.saved").counter().count()).isZero();
+    }
+
+    @Test
+    void ensureSignedInUserIsLoadedEveryTimeOutsideOfRequest() {
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        when(loader.apply("muster")).thenReturn(Optional.of(person));
+
+        sut.getPerson("muster", loader);
+        sut.getPerson("muster", loader);
+
+        verify(loader, times(2)).apply("muster");
+    }
+}
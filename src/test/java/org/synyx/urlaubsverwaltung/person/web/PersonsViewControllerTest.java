@@ -38,6 +38,7 @@ import java.time.Year;
 import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static java.math.BigDecimal.ZERO;
@@ -49,6 +50,7 @@ import static java.time.Month.JANUARY;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.CoreMatchers.everyItem;
 import static org.hamcrest.CoreMatchers.hasItems;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.nullValue;
@@ -56,6 +58,11 @@ import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -629,7 +636,7 @@ class PersonsViewControllerTest {
         final PageImpl<Person> page = new PageImpl<>(List.of(wayne, wolf));
         when(personService.getActivePersons(defaultPersonSearchQuery())).thenReturn(page);
 
-        when(personBasedataService.getBasedataByPersonId(2)).thenReturn(Optional.of(new PersonBasedata(new PersonId(2L), "42", null)));
+        when(personBasedataService.getBasedataByPersonId(List.of(2L, 3L))).thenReturn(Map.of(new PersonId(2L), new PersonBasedata(new PersonId(2L), "42", null)));
 
         perform(get("/web/person"))
             .andExpect(
@@ -697,13 +704,13 @@ class PersonsViewControllerTest {
 
         final Account account = new Account(person, startDate, endDate, doExpire, expiryDate, valueOf(30), remainingVacationDays, ZERO, null);
         account.setActualVacationDays(valueOf(30));
-        when(accountService.getHolidaysAccount(currentYear, person)).thenReturn(Optional.of(account));
+        when(accountService.getHolidaysAccount(currentYear, List.of(person))).thenReturn(List.of(account));
 
         final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder()
             .withAnnualVacation(valueOf(30))
             .withRemainingVacation(valueOf(5))
             .build();
-        when(vacationDaysService.getVacationDaysLeft(account, Optional.empty())).thenReturn(vacationDaysLeft);
+        when(vacationDaysService.getVacationDaysLeft(List.of(account), List.of())).thenReturn(Map.of(account, vacationDaysLeft));
 
         perform(get("/web/person"))
             .andExpect(
@@ -746,13 +753,13 @@ class PersonsViewControllerTest {
 
         final Account account = new Account(person, startDate, endDate, true, expiryDate, valueOf(30), valueOf(5), ZERO, null);
         account.setActualVacationDays(valueOf(30));
-        when(accountService.getHolidaysAccount(currentYear, person)).thenReturn(Optional.of(account));
+        when(accountService.getHolidaysAccount(currentYear, List.of(person))).thenReturn(List.of(account));
 
         final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder()
             .withAnnualVacation(valueOf(30))
             .withRemainingVacation(valueOf(5))
             .build();
-        when(vacationDaysService.getVacationDaysLeft(account, Optional.empty())).thenReturn(vacationDaysLeft);
+        when(vacationDaysService.getVacationDaysLeft(List.of(account), List.of())).thenReturn(Map.of(account, vacationDaysLeft));
 
         perform(get("/web/person"))
             .andExpect(
@@ -772,6 +779,59 @@ class PersonsViewControllerTest {
             );
     }
 
+    @Test
+    void ensuresThatPersonDataIsLoadedInBulkForTheWholePage() throws Exception {
+
+        clock = Clock.fixed(Instant.parse("2022-03-31T06:00:00Z"), ZoneId.of("UTC"));
+        sut = new PersonsViewController(personService, accountService, vacationDaysService, departmentService, personBasedataService, clock);
+
+        final Person signedInUser = personWithRole(USER, OFFICE);
+        when(personService.getSignedInUser()).thenReturn(signedInUser);
+
+        final List<Person> persons = List.of(
+            new Person("batman", "Wayne", "Bruce", "batman@example.org"),
+            new Person("robin", "Grayson", "Dick", "robin@example.org"),
+            new Person("alfred", "Pennyworth", "Alfred", "alfred@example.org")
+        );
+        for (int i = 0; i < persons.size(); i++) {
+            persons.get(i).setId(i + 2L);
+            persons.get(i).setPermissions(List.of(USER));
+        }
+        when(personService.getActivePersons(defaultPersonSearchQuery())).thenReturn(new PageImpl<>(persons));
+
+        final List<Account> accounts = persons.stream().map(person -> {
+            final Account account = new Account(person, of(2022, JANUARY, 1), of(2022, DECEMBER, 31), true, of(2022, APRIL, 1), valueOf(30), valueOf(5), ZERO, null);
+            account.setActualVacationDays(valueOf(30));
+            return account;
+        }).toList();
+        when(accountService.getHolidaysAccount(2022, persons)).thenReturn(accounts);
+        when(accountService.getHolidaysAccount(2023, persons)).thenReturn(List.of());
+
+        final VacationDaysLeft vacationDaysLeft = VacationDaysLeft.builder()
+            .withAnnualVacation(valueOf(30))
+            .withRemainingVacation(valueOf(5))
+            .build();
+        when(vacationDaysService.getVacationDaysLeft(accounts, List.of()))
+            .thenReturn(Map.of(accounts.get(0), vacationDaysLeft, accounts.get(1), vacationDaysLeft, accounts.get(2), vacationDaysLeft));
+        when(personBasedataService.getBasedataByPersonId(List.of(2L, 3L, 4L))).thenReturn(Map.of());
+
+        perform(get("/web/person"))
+            .andExpect(
+                model().attribute("personsPagination",
+                    hasProperty("page",
+                        hasProperty("content", allOf(
+                            hasSize(3),
+                            everyItem(hasProperty("vacationDaysLeftRemaining", is(5.0d)))
+                        ))
+                    )
+                )
+            );
+
+        verify(accountService, never()).getHolidaysAccount(anyInt(), any(Person.class));
+        verify(vacationDaysService, never()).getVacationDaysLeft(any(Account.class), any());
+        verify(personBasedataService, never()).getBasedataByPersonId(anyLong());
+    }
+
     private ResultActions perform(MockHttpServletRequestBuilder builder) throws Exception {
         return standaloneSetup(sut)
             .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
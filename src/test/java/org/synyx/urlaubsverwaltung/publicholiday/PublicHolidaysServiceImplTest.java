@@ -12,6 +12,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.settings.Settings;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.settings.SettingsUpdatedEvent;
 
 import java.math.BigDecimal;
 import java.net.URL;
@@ -26,8 +27,11 @@ import static java.math.BigDecimal.ZERO;
 import static java.time.LocalDate.of;
 import static java.time.Month.AUGUST;
 import static java.time.Month.DECEMBER;
+import static java.time.Month.JANUARY;
 import static java.time.Month.MAY;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.workingtime.FederalState.GERMANY_BADEN_WUERTTEMBERG;
 import static org.synyx.urlaubsverwaltung.workingtime.FederalState.GERMANY_BAYERN_MUENCHEN;
@@ -36,7 +40,7 @@ import static org.synyx.urlaubsverwaltung.workingtime.FederalState.GERMANY_BERLI
 @ExtendWith(MockitoExtension.class)
 class PublicHolidaysServiceImplTest {
 
-    private PublicHolidaysService sut;
+    private PublicHolidaysServiceImpl sut;
 
     @Mock
     private SettingsService settingsService;
@@ -182,6 +186,65 @@ class PublicHolidaysServiceImplTest {
             .containsExactly(DayLength.NOON);
     }
 
+    @Test
+    void ensureGetPublicHolidaysReturnsPublicHolidaysOverTurnOfTheYearSortedByDate() {
+
+        when(settingsService.getSettings()).thenReturn(new Settings());
+
+        final List<PublicHoliday> publicHolidays = sut.getPublicHolidays(of(2019, DECEMBER, 24), of(2020, JANUARY, 6), GERMANY_BADEN_WUERTTEMBERG);
+        assertThat(publicHolidays)
+            .extracting(PublicHoliday::date)
+            .containsExactly(
+                of(2019, DECEMBER, 24),
+                of(2019, DECEMBER, 25),
+                of(2019, DECEMBER, 26),
+                of(2019, DECEMBER, 31),
+                of(2020, JANUARY, 1),
+                of(2020, JANUARY, 6)
+            );
+    }
+
+    @Test
+    void ensureIsPublicHolidayUsesIndexOfYear() {
+
+        when(settingsService.getSettings()).thenReturn(new Settings());
+
+        assertThat(sut.isPublicHoliday(of(2019, DECEMBER, 25), GERMANY_BADEN_WUERTTEMBERG)).isTrue();
+        assertThat(sut.isPublicHoliday(of(2019, DECEMBER, 27), GERMANY_BADEN_WUERTTEMBERG)).isFalse();
+        assertThat(sut.isPublicHoliday(of(2019, MAY, 30), GERMANY_BADEN_WUERTTEMBERG)).isTrue();
+
+        verify(settingsService).getSettings();
+    }
+
+    @Test
+    void ensureWorkingDurationOfGivenWorkingTimeSettingsIsUsedEvenIfIndexExists() {
+
+        when(settingsService.getSettings()).thenReturn(new Settings());
+        assertThat(sut.getPublicHoliday(of(2019, DECEMBER, 24), GERMANY_BADEN_WUERTTEMBERG))
+            .hasValueSatisfying(publicHoliday -> assertThat(publicHoliday.dayLength()).isEqualTo(DayLength.NOON));
+
+        final Settings settings = new Settings();
+        settings.getWorkingTimeSettings().setWorkingDurationForChristmasEve(DayLength.ZERO);
+        assertThat(sut.getPublicHoliday(of(2019, DECEMBER, 24), GERMANY_BADEN_WUERTTEMBERG, settings.getWorkingTimeSettings()))
+            .hasValueSatisfying(publicHoliday -> assertThat(publicHoliday.dayLength()).isEqualTo(DayLength.FULL));
+    }
+
+    @Test
+    void ensureIndexIsInvalidatedOnSettingsUpdate() {
+
+        final Settings settings = new Settings();
+        when(settingsService.getSettings()).thenReturn(settings);
+
+        assertThat(sut.isPublicHoliday(of(2019, DECEMBER, 25), GERMANY_BADEN_WUERTTEMBERG)).isTrue();
+        assertThat(sut.isPublicHoliday(of(2019, DECEMBER, 26), GERMANY_BADEN_WUERTTEMBERG)).isTrue();
+        verify(settingsService, times(1)).getSettings();
+
+        sut.on(SettingsUpdatedEvent.of());
+
+        assertThat(sut.isPublicHoliday(of(2019, DECEMBER, 25), GERMANY_BADEN_WUERTTEMBERG)).isTrue();
+        verify(settingsService, times(2)).getSettings();
+    }
+
     private HolidayManager getHolidayManager() {
         final ClassLoader cl = Thread.currentThread().getContextClassLoader();
         final URL url = cl.getResource("Holidays_de.xml");
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 import java.util.function.Function;
@@ -42,4 +43,35 @@ class PageStreamSupportTest {
 
         assertThat(stream).isEmpty();
     }
+
+    @Test
+    void ensureRequestsAllPagesWithGivenSort() {
+
+        final Sort sort = Sort.by("firstName");
+        final Function<Pageable, Page<String>> pageSupplier = pageable -> {
+            assertThat(pageable.getSort()).isEqualTo(sort);
+            return pageable.getPageNumber() == 0
+                ? new PageImpl<>(List.of("a"), pageable, 2)
+                : new PageImpl<>(List.of("b"), pageable, 2);
+        };
+
+        final Stream<String> stream = PageStreamSupport.stream(pageSupplier, 1, sort);
+
+        assertThat(stream).containsExactly("a", "b");
+    }
+
+    @Test
+    void ensureContinuesAfterPageWithoutContent() {
+
+        final Function<Pageable, Page<String>> pageSupplier = pageable -> switch (pageable.getPageNumber()) {
+            case 0 -> new PageImpl<>(List.of("a"), pageable, 3);
+            case 1 -> new PageImpl<>(List.of(), pageable, 3);
+            case 2 -> new PageImpl<>(List.of("c"), pageable, 3);
+            default -> throw new IllegalStateException("no further page expected");
+        };
+
+        final Stream<String> stream = PageStreamSupport.stream(pageSupplier, 1);
+
+        assertThat(stream).containsExactly("a", "c");
+    }
 }
@@ -0,0 +1,35 @@
+package org.synyx.urlaubsverwaltung.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.data.domain.Sort.Direction.DESC;
+import static org.synyx.urlaubsverwaltung.search.SortSupport.withIdTieBreaker;
+
+class SortSupportTest {
+
+    @Test
+    void ensureAddsIdAsLastSortCriteria() {
+        assertThat(withIdTieBreaker(Sort.by("firstName"), "id")).isEqualTo(Sort.by("firstName", "id"));
+    }
+
+    @Test
+    void ensureKeepsRequestedOrderOfId() {
+        final Sort sort = Sort.by(DESC, "id").and(Sort.by("firstName"));
+        assertThat(withIdTieBreaker(sort, "id")).isEqualTo(sort);
+    }
+
+    @Test
+    void ensureAddsIdOfGivenPropertyToPageRequest() {
+        final Pageable pageable = withIdTieBreaker(PageRequest.of(2, 10, Sort.by("person.firstName")), "person.id");
+        assertThat(pageable).isEqualTo(PageRequest.of(2, 10, Sort.by("person.firstName", "person.id")));
+    }
+
+    @Test
+    void ensureKeepsUnpagedRequest() {
+        assertThat(withIdTieBreaker(Pageable.unpaged(), "id")).isEqualTo(Pageable.unpaged());
+    }
+}
@@ -27,6 +27,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -70,14 +71,12 @@ class PersonOnSuccessfullyOidcLoginEventHandlerTest {
                     EMAIL, email
                 ));
 
-            when(personService.getPersonByUsername(uniqueID)).thenReturn(Optional.empty());
-            when(personService.getPersonByMailAddress(email)).thenReturn(Optional.empty());
+            when(personService.getPersonByUsernameOrMailAddress(uniqueID, email)).thenReturn(Optional.empty());
             when(personService.create(uniqueID, givenName, familyName, email)).thenReturn(new Person(uniqueID, familyName, givenName, email));
 
             sut.handle(event);
 
-            verify(personService).getPersonByUsername(uniqueID);
-            verify(personService).getPersonByMailAddress(email);
+            verify(personService).getPersonByUsernameOrMailAddress(uniqueID, email);
 
             verify(personService).create(uniqueID, givenName, familyName, email);
 
@@ -109,14 +108,12 @@ class PersonOnSuccessfullyOidcLoginEventHandlerTest {
                 EMAIL, email
             ));
 
-            final Person existingPerson = new Person(uniqueID, familyName, givenName, email);
+            final Person existingPerson = new Person(uniqueID, "old family name", "old given name", "old.mail@example.com");
 
-            when(personService.getPersonByUsername(uniqueID)).thenReturn(Optional.of(existingPerson));
+            when(personService.getPersonByUsernameOrMailAddress(uniqueID, email)).thenReturn(Optional.of(existingPerson));
 
             sut.handle(event);
 
-            verify(personService, never()).getPersonByMailAddress(email);
-
             final ArgumentCaptor<Person> personArgumentCaptor = ArgumentCaptor.forClass(Person.class);
             verify(personService).update(personArgumentCaptor.capture());
 
@@ -145,14 +142,10 @@ class PersonOnSuccessfullyOidcLoginEventHandlerTest {
             personForLogin.setUsername("idOfOtherIdentityProvider");
             personForLogin.setPermissions(List.of(USER));
             final Optional<Person> person = Optional.of(personForLogin);
-            when(personService.getPersonByUsername(uniqueID)).thenReturn(Optional.empty());
-            when(personService.getPersonByMailAddress(email)).thenReturn(person);
-
+            when(personService.getPersonByUsernameOrMailAddress(uniqueID, email)).thenReturn(person);
 
             sut.handle(event);
 
-            verify(personService).getPersonByMailAddress(email);
-
             final ArgumentCaptor<Person> personArgumentCaptor = ArgumentCaptor.forClass(Person.class);
             verify(personService).update(personArgumentCaptor.capture());
 
@@ -162,6 +155,53 @@ class PersonOnSuccessfullyOidcLoginEventHandlerTest {
             assertThat(update.getFirstName()).isEqualTo(givenName);
             assertThat(update.getEmail()).isEqualTo(email);
         }
+
+        @Test
+        void ensureNoUpdateIfClaimsAreUnchanged() {
+            final String uniqueID = "uniqueID";
+            final String givenName = "given name";
+            final String familyName = "family name";
+            final String email = "test.me@example.com";
+
+            final AuthenticationSuccessEvent event = getOidcUserAuthority(Map.of(
+                SUB, uniqueID,
+                GIVEN_NAME, givenName + " ",
+                FAMILY_NAME, familyName,
+                EMAIL, email
+            ));
+
+            final Person existingPerson = new Person(uniqueID, familyName, givenName, email);
+            when(personService.getPersonByUsernameOrMailAddress(uniqueID, email)).thenReturn(Optional.of(existingPerson));
+
+            sut.handle(event);
+
+            verify(personService, never()).update(any());
+            verify(personService, never()).create(any(), any(), any(), any());
+        }
+
+        @Test
+        void ensureUpdateIfOnlyEmailChanged() {
+            final String uniqueID = "uniqueID";
+            final String givenName = "given name";
+            final String familyName = "family name";
+            final String email = "test.me@example.com";
+
+            final AuthenticationSuccessEvent event = getOidcUserAuthority(Map.of(
+                SUB, uniqueID,
+                GIVEN_NAME, givenName,
+                FAMILY_NAME, familyName,
+                EMAIL, email
+            ));
+
+            final Person existingPerson = new Person(uniqueID, familyName, givenName, "old.mail@example.com");
+            when(personService.getPersonByUsernameOrMailAddress(uniqueID, email)).thenReturn(Optional.of(existingPerson));
+
+            sut.handle(event);
+
+            final ArgumentCaptor<Person> personArgumentCaptor = ArgumentCaptor.forClass(Person.class);
+            verify(personService).update(personArgumentCaptor.capture());
+            assertThat(personArgumentCaptor.getValue().getEmail()).isEqualTo(email);
+        }
     }
 
     @Nested
@@ -185,12 +225,10 @@ class PersonOnSuccessfullyOidcLoginEventHandlerTest {
                 )
             );
 
-            when(personService.getPersonByUsername(uniqueID)).thenReturn(Optional.of(new Person(uniqueID, familyName, givenName, email)));
+            when(personService.getPersonByUsernameOrMailAddress(uniqueID, email)).thenReturn(Optional.of(new Person(uniqueID, "old family name", "old given name", email)));
 
             sut.handle(event);
 
-            verify(personService, never()).getPersonByMailAddress(email);
-
             final ArgumentCaptor<Person> personArgumentCaptor = ArgumentCaptor.forClass(Person.class);
             verify(personService).update(personArgumentCaptor.capture());
 
@@ -223,12 +261,10 @@ class PersonOnSuccessfullyOidcLoginEventHandlerTest {
                 )
             );
 
-            when(personService.getPersonByUsername(uniqueID)).thenReturn(Optional.of(new Person(uniqueID, familyName, givenName, email)));
+            when(personService.getPersonByUsernameOrMailAddress(uniqueID, email)).thenReturn(Optional.of(new Person(uniqueID, "old family name", "old given name", email)));
 
             sut.handle(event);
 
-            verify(personService, never()).getPersonByMailAddress(email);
-
             final ArgumentCaptor<Person> personArgumentCaptor = ArgumentCaptor.forClass(Person.class);
             verify(personService).update(personArgumentCaptor.capture());
 
@@ -261,12 +297,10 @@ class PersonOnSuccessfullyOidcLoginEventHandlerTest {
                 )
             );
 
-            when(personService.getPersonByUsername(uniqueID)).thenReturn(Optional.of(new Person(uniqueID, familyName, givenName, email)));
+            when(personService.getPersonByUsernameOrMailAddress(uniqueID, email)).thenReturn(Optional.of(new Person(uniqueID, "old family name", "old given name", email)));
 
             sut.handle(event);
 
-            verify(personService, never()).getPersonByMailAddress(email);
-
             final ArgumentCaptor<Person> personArgumentCaptor = ArgumentCaptor.forClass(Person.class);
             verify(personService).update(personArgumentCaptor.capture());
 
@@ -311,12 +345,10 @@ class PersonOnSuccessfullyOidcLoginEventHandlerTest {
                 )
             );
 
-            when(personService.getPersonByUsername(uniqueID)).thenReturn(Optional.of(new Person(uniqueID, familyName, givenName, email)));
+            when(personService.getPersonByUsernameOrMailAddress(uniqueID, email)).thenReturn(Optional.of(new Person(uniqueID, "old family name", "old given name", email)));
 
             sut.handle(event);
 
-            verify(personService, never()).getPersonByMailAddress(email);
-
             final ArgumentCaptor<Person> personArgumentCaptor = ArgumentCaptor.forClass(Person.class);
             verify(personService).update(personArgumentCaptor.capture());
 
@@ -3,7 +3,6 @@ package org.synyx.urlaubsverwaltung.settings;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.web.servlet.ResultActions;
@@ -16,11 +15,13 @@ import org.synyx.urlaubsverwaltung.person.settings.AvatarSettings;
 import org.synyx.urlaubsverwaltung.sicknote.settings.SickNoteSettings;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeSettings;
 
+import java.util.function.Consumer;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.sameInstance;
-import static org.mockito.Mockito.verify;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -81,7 +82,10 @@ class SettingsAbsencesViewControllerTest {
         settings.setTimeSettings(timeSettings);
         settings.setAvatarSettings(avatarSettings);
 
-        when(settingsService.getSettings()).thenReturn(settings);
+        when(settingsService.update(any())).thenAnswer(invocation -> {
+            invocation.<Consumer<Settings>>getArgument(0).accept(settings);
+            return settings;
+        });
 
         perform(
             post("/web/settings/absences")
@@ -104,10 +108,7 @@ class SettingsAbsencesViewControllerTest {
             .andExpect(flash().attribute("success", true))
             .andExpect(redirectedUrl("/web/settings/absences"));
 
-        final ArgumentCaptor<Settings> settingsCaptor = ArgumentCaptor.forClass(Settings.class);
-        verify(settingsService).save(settingsCaptor.capture());
-
-        final Settings actualSettings = settingsCaptor.getValue();
+        final Settings actualSettings = settings;
         assertThat(actualSettings.getId()).isEqualTo(1337L);
         assertThat(actualSettings.getApplicationSettings()).satisfies(applicationSettings -> {
             assertThat(applicationSettings.getMaximumMonthsToApplyForLeaveInAdvance()).isEqualTo(1);
@@ -5,18 +5,19 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
-import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.synyx.urlaubsverwaltung.person.settings.AvatarSettings;
 
+import java.util.function.Consumer;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.is;
-import static org.mockito.Mockito.verify;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -61,7 +62,11 @@ class SettingsAvatarViewControllerTest {
     @ValueSource(booleans = {true, false})
     void ensureSaveSettings(boolean givenEnabled) throws Exception {
 
-        when(settingsService.getSettings()).thenReturn(new Settings());
+        final Settings settings = new Settings();
+        when(settingsService.update(any())).thenAnswer(invocation -> {
+            invocation.<Consumer<Settings>>getArgument(0).accept(settings);
+            return settings;
+        });
 
         perform(
             post("/web/settings/avatar")
@@ -71,11 +76,7 @@ class SettingsAvatarViewControllerTest {
             .andExpect(redirectedUrl("/web/settings/avatar"))
             .andExpect(flash().attribute("success", true));
 
-        final ArgumentCaptor<Settings> settingsArgumentCaptor = ArgumentCaptor.forClass(Settings.class);
-        verify(settingsService).save(settingsArgumentCaptor.capture());
-
-        final Settings savedSettings = settingsArgumentCaptor.getValue();
-        final AvatarSettings avatarSettings = savedSettings.getAvatarSettings();
+        final AvatarSettings avatarSettings = settings.getAvatarSettings();
         assertThat(avatarSettings.isGravatarEnabled()).isEqualTo(givenEnabled);
     }
 
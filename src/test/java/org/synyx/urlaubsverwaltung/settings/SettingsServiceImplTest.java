@@ -1,14 +1,29 @@
 package org.synyx.urlaubsverwaltung.settings;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.synyx.urlaubsverwaltung.overtime.OvertimeSettings;
+import org.synyx.urlaubsverwaltung.period.DayLength;
 
+import java.time.Clock;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -18,10 +33,15 @@ class SettingsServiceImplTest {
 
     @Mock
     private SettingsRepository settingsRepository;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
-        sut = new SettingsServiceImpl(settingsRepository);
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new SettingsServiceImpl(settingsRepository, applicationEventPublisher, Clock.systemUTC(), meterRegistry);
     }
 
     @Test
@@ -33,4 +53,211 @@ class SettingsServiceImplTest {
         final Settings actualSettings = sut.getSettings();
         assertThat(actualSettings).isEqualTo(settings);
     }
+
+    @Test
+    void ensureGetSettingsCreatesInitialSettings() {
+        when(settingsRepository.findById(1L)).thenReturn(Optional.empty());
+        when(settingsRepository.save(any(Settings.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        final Settings actualSettings = sut.getSettings();
+        assertThat(actualSettings.getId()).isOne();
+    }
+
+    @Test
+    void ensureGetSettingsReturnsSnapshot() {
+        final Settings settings = new Settings();
+        settings.setId(1L);
+        when(settingsRepository.findById(1L)).thenReturn(Optional.of(settings));
+
+        sut.getSettings();
+        sut.getSettings();
+        final Settings actualSettings = sut.getSettings();
+        assertThat(actualSettings).isEqualTo(settings);
+
+        verify(settingsRepository, times(1)).findById(1L);
+        assertThat(meterRegistry.find("settings.snapshot.hits").functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.find("settings.snapshot.age").gauge()).isNotNull();
+    }
+
+    @Test
+    void ensureChangesOfReturnedSettingsDoNotAffectSnapshot() {
+        final Settings settings = new Settings();
+        settings.setId(1L);
+        when(settingsRepository.findById(1L)).thenReturn(Optional.of(settings));
+
+        final OvertimeSettings overtimeSettings = new OvertimeSettings();
+        overtimeSettings.setOvertimeActive(true);
+        sut.getSettings().setOvertimeSettings(overtimeSettings);
+
+        assertThat(sut.getSettings().getOvertimeSettings().isOvertimeActive()).isFalse();
+    }
+
+    @Test
+    void ensureChangesOfNestedSettingsOfReturnedSettingsDoNotAffectSnapshot() {
+        final Settings settings = new Settings();
+        settings.setId(1L);
+        when(settingsRepository.findById(1L)).thenReturn(Optional.of(settings));
+
+        sut.getSettings().getOvertimeSettings().setOvertimeActive(true);
+        sut.getSettings().getWorkingTimeSettings().setMonday(DayLength.ZERO);
+
+        final Settings actualSettings = sut.getSettings();
+        assertThat(actualSettings.getOvertimeSettings().isOvertimeActive()).isFalse();
+        assertThat(actualSettings.getWorkingTimeSettings().getMonday()).isEqualTo(DayLength.FULL);
+        assertThat(settings.getOvertimeSettings().isOvertimeActive()).isFalse();
+    }
+
+    @Test
+    void ensureSavePublishesSettingsUpdatedEvent() {
+        final Settings settings = new Settings();
+        settings.setId(1L);
+        when(settingsRepository.save(settings)).thenReturn(settings);
+
+        final Settings savedSettings = sut.save(settings);
+        assertThat(savedSettings).isEqualTo(settings);
+
+        final ArgumentCaptor<SettingsUpdatedEvent> captor = ArgumentCaptor.forClass(SettingsUpdatedEvent.class);
+        verify(applicationEventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().id()).isNotNull();
+    }
+
+    @Test
+    void ensureSaveReplacesSnapshot() {
+        final Settings settings = new Settings();
+        settings.setId(1L);
+        settings.getOvertimeSettings().setOvertimeActive(true);
+        when(settingsRepository.save(settings)).thenReturn(settings);
+
+        sut.save(settings);
+
+        assertThat(sut.getSettings().getOvertimeSettings().isOvertimeActive()).isTrue();
+        verify(settingsRepository, never()).findById(1L);
+    }
+
+    @Test
+    void ensureSaveWithinTransactionReplacesSnapshotAfterCommit() {
+        final Settings settings = new Settings();
+        settings.setId(1L);
+        when(settingsRepository.findById(1L)).thenReturn(Optional.of(settings));
+        sut.getSettings();
+
+        final Settings changedSettings = new Settings();
+        changedSettings.setId(1L);
+        changedSettings.getOvertimeSettings().setOvertimeActive(true);
+        when(settingsRepository.save(changedSettings)).thenReturn(changedSettings);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            sut.save(changedSettings);
+
+            assertThat(sut.getSettings().getOvertimeSettings().isOvertimeActive()).isFalse();
+            verifyNoInteractions(applicationEventPublisher);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(sut.getSettings().getOvertimeSettings().isOvertimeActive()).isTrue();
+        verify(applicationEventPublisher).publishEvent(any(SettingsUpdatedEvent.class));
+    }
+
+    @Test
+    void ensureSaveDiscardsSnapshotOnOptimisticLockingFailure() {
+        final Settings settings = new Settings();
+        settings.setId(1L);
+        when(settingsRepository.findById(1L)).thenReturn(Optional.of(settings));
+        sut.getSettings();
+
+        final Settings staleSettings = sut.getSettings();
+        when(settingsRepository.save(staleSettings)).thenThrow(new ObjectOptimisticLockingFailureException(Settings.class, 1L));
+
+        assertThatThrownBy(() -> sut.save(staleSettings)).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        sut.getSettings();
+        verify(settingsRepository, times(2)).findById(1L);
+        verifyNoInteractions(applicationEventPublisher);
+    }
+
+    @Test
+    void ensureUpdateAppliesChangesToCurrentSettings() {
+        final Settings settings = new Settings();
+        settings.setId(1L);
+        when(settingsRepository.findById(1L)).thenReturn(Optional.of(settings));
+        when(settingsRepository.save(any(Settings.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        final Settings savedSettings = sut.update(changes -> changes.getOvertimeSettings().setOvertimeActive(true));
+
+        assertThat(savedSettings.getOvertimeSettings().isOvertimeActive()).isTrue();
+        assertThat(sut.getSettings().getOvertimeSettings().isOvertimeActive()).isTrue();
+    }
+
+    @Test
+    void ensureUpdateReappliesChangesToReloadedSettingsOnOptimisticLockingFailure() {
+        final Settings staleSettings = new Settings();
+        staleSettings.setId(1L);
+        staleSettings.setVersion(1L);
+
+        final Settings reloadedSettings = new Settings();
+        reloadedSettings.setId(1L);
+        reloadedSettings.setVersion(2L);
+        reloadedSettings.getAvatarSettings().setGravatarEnabled(true);
+
+        when(settingsRepository.findById(1L)).thenReturn(Optional.of(staleSettings), Optional.of(reloadedSettings));
+        when(settingsRepository.save(any(Settings.class)))
+            .thenThrow(new ObjectOptimisticLockingFailureException(Settings.class, 1L))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        final Settings savedSettings = sut.update(changes -> changes.getOvertimeSettings().setOvertimeActive(true));
+
+        assertThat(savedSettings.getVersion()).isEqualTo(2L);
+        assertThat(savedSettings.getOvertimeSettings().isOvertimeActive()).isTrue();
+        assertThat(savedSettings.getAvatarSettings().isGravatarEnabled()).isTrue();
+        verify(settingsRepository, times(2)).save(any(Settings.class));
+    }
+
+    @Test
+    void ensureRefreshSnapshotDoesNothingWithoutSnapshot() {
+        sut.refreshSnapshot();
+        verifyNoInteractions(settingsRepository);
+    }
+
+    @Test
+    void ensureRefreshSnapshotKeepsSnapshotOfSameVersion() {
+        final Settings settings = new Settings();
+        settings.setId(1L);
+        settings.setVersion(3);
+        when(settingsRepository.findById(1L)).thenReturn(Optional.of(settings));
+        when(settingsRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        sut.getSettings();
+        sut.refreshSnapshot();
+        sut.getSettings();
+
+        verify(settingsRepository, times(1)).findById(1L);
+        verifyNoInteractions(applicationEventPublisher);
+    }
+
+    @Test
+    void ensureRefreshSnapshotReloadsSettingsChangedByAnotherNode() {
+        final Settings settings = new Settings();
+        settings.setId(1L);
+        settings.setVersion(3);
+
+        final Settings changedSettings = new Settings();
+        changedSettings.setId(1L);
+        changedSettings.setVersion(4);
+        changedSettings.getOvertimeSettings().setOvertimeActive(true);
+
+        when(settingsRepository.findById(1L)).thenReturn(Optional.of(settings), Optional.of(changedSettings));
+        when(settingsRepository.findVersionById(1L)).thenReturn(Optional.of(4L));
+
+        sut.getSettings();
+        sut.refreshSnapshot();
+
+        final Settings actualSettings = sut.getSettings();
+        assertThat(actualSettings.getVersion()).isEqualTo(4);
+        assertThat(actualSettings.getOvertimeSettings().isOvertimeActive()).isTrue();
+        verify(applicationEventPublisher).publishEvent(any(SettingsUpdatedEvent.class));
+    }
 }
@@ -0,0 +1,48 @@
+package org.synyx.urlaubsverwaltung.settings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class SettingsSnapshotConfigurationTest {
+
+    @Mock
+    private SettingsServiceImpl settingsService;
+    @Mock
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    @Test
+    void refreshesSnapshotWithGivenInterval() {
+
+        final SettingsProperties properties = new SettingsProperties();
+        properties.setSnapshotRefreshInterval(Duration.ofSeconds(30));
+
+        final SettingsSnapshotConfiguration sut = new SettingsSnapshotConfiguration(properties, settingsService, taskScheduler);
+
+        final ScheduledTaskRegistrar taskRegistrar = new ScheduledTaskRegistrar();
+        sut.configureTasks(taskRegistrar);
+
+        final List<FixedDelayTask> fixedDelayTaskList = taskRegistrar.getFixedDelayTaskList();
+        assertThat(fixedDelayTaskList).hasSize(1);
+
+        final FixedDelayTask fixedDelayTask = fixedDelayTaskList.get(0);
+        assertThat(fixedDelayTask.getIntervalDuration()).isEqualTo(Duration.ofSeconds(30));
+
+        verifyNoInteractions(settingsService);
+
+        fixedDelayTask.getRunnable().run();
+        verify(settingsService).refreshSnapshot();
+    }
+}
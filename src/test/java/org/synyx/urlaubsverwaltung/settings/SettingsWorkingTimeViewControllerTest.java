@@ -3,7 +3,6 @@ package org.synyx.urlaubsverwaltung.settings;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.web.servlet.ResultActions;
@@ -21,12 +20,13 @@ import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeSettings;
 import java.time.DayOfWeek;
 import java.util.List;
 import java.util.TimeZone;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.sameInstance;
-import static org.mockito.Mockito.verify;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -95,7 +95,10 @@ class SettingsWorkingTimeViewControllerTest {
         settings.setSickNoteSettings(sickNoteSettings);
         settings.setAvatarSettings(avatarSettings);
 
-        when(settingsService.getSettings()).thenReturn(settings);
+        when(settingsService.update(any())).thenAnswer(invocation -> {
+            invocation.<Consumer<Settings>>getArgument(0).accept(settings);
+            return settings;
+        });
 
         perform(post("/web/settings/working-time")
             .param("id", "42")
@@ -124,10 +127,7 @@ class SettingsWorkingTimeViewControllerTest {
             .andExpect(flash().attribute("success", true));
 
 
-        final ArgumentCaptor<Settings> captor = ArgumentCaptor.forClass(Settings.class);
-        verify(settingsService).save(captor.capture());
-
-        final Settings actualSettings = captor.getValue();
+        final Settings actualSettings = settings;
         assertThat(actualSettings.getWorkingTimeSettings()).satisfies(persistedWorkingTimeSettings -> {
             assertThat(persistedWorkingTimeSettings.getMonday()).isEqualTo(MORNING);
             assertThat(persistedWorkingTimeSettings.getTuesday()).isEqualTo(MORNING);
@@ -25,8 +25,11 @@ import org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteService;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.person.Role.BOSS;
 import static org.synyx.urlaubsverwaltung.person.Role.DEPARTMENT_HEAD;
@@ -34,6 +37,7 @@ import static org.synyx.urlaubsverwaltung.person.Role.OFFICE;
 import static org.synyx.urlaubsverwaltung.person.Role.SECOND_STAGE_AUTHORITY;
 import static org.synyx.urlaubsverwaltung.person.Role.SICK_NOTE_VIEW;
 import static org.synyx.urlaubsverwaltung.person.Role.USER;
+import static org.synyx.urlaubsverwaltung.sicknote.sickdays.SickDaysStatisticsService.STREAM_CHUNK_SIZE;
 import static org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteStatus.ACTIVE;
 
 @ExtendWith(MockitoExtension.class)
@@ -259,6 +263,38 @@ class SickDaysStatisticsServiceTest {
         });
     }
 
+    @Test
+    void ensureSortByPersonnelNumberIsAppliedToPersonsPageAsOffice() {
+
+        final LocalDate startDate = LocalDate.parse("2022-01-01");
+        final LocalDate endDate = LocalDate.parse("2022-12-31");
+
+        final Person office = new Person();
+        office.setId(1L);
+        office.setPermissions(List.of(USER, OFFICE));
+
+        final Person personOne = new Person();
+        personOne.setId(2L);
+        final Person personTwo = new Person();
+        personTwo.setId(3L);
+
+        when(personService.getActivePersons(new PageableSearchQuery(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "basedata.personnelNumber")), "")))
+            .thenReturn(new PageImpl<>(List.of(personTwo, personOne), PageRequest.of(0, 10), 12));
+
+        when(personBasedataService.getBasedataByPersonId(List.of(personTwo.getId(), personOne.getId()))).thenReturn(Map.of(
+            new PersonId(personOne.getId()), new PersonBasedata(new PersonId(personOne.getId()), "1", ""),
+            new PersonId(personTwo.getId()), new PersonBasedata(new PersonId(personTwo.getId()), "2", "")
+        ));
+
+        final PageableSearchQuery pageableSearchQuery = new PageableSearchQuery(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "personalNumber")), "");
+        final Page<SickDaysDetailedStatistics> statisticsPage = sut.getAll(office, startDate, endDate, pageableSearchQuery);
+
+        assertThat(statisticsPage.getContent())
+            .extracting(SickDaysDetailedStatistics::getPersonalNumber)
+            .containsExactly("2", "1");
+        assertThat(statisticsPage.getTotalElements()).isEqualTo(12);
+    }
+
     @ParameterizedTest
     @EnumSource(value = Role.class, names = {"DEPARTMENT_HEAD", "SECOND_STAGE_AUTHORITY"})
     void ensureCreatesSickNoteDetailedStatisticsAsOfficeWithDepartmentRole(Role departmentRole) {
@@ -533,4 +569,58 @@ class SickDaysStatisticsServiceTest {
             assertThat(actual.getSickNotes()).isEmpty();
         });
     }
+
+    @Test
+    void ensureStreamAllComputesStatisticsChunkByChunk() {
+
+        final LocalDate startDate = LocalDate.parse("2022-01-01");
+        final LocalDate endDate = LocalDate.parse("2022-12-31");
+
+        final Person office = new Person();
+        office.setId(1L);
+        office.setPermissions(List.of(USER, OFFICE));
+
+        final Person personOne = new Person();
+        personOne.setId(2L);
+        final Person personTwo = new Person();
+        personTwo.setId(3L);
+
+        final Sort personSort = Sort.by("firstName");
+        final PageRequest firstChunk = PageRequest.of(0, STREAM_CHUNK_SIZE, personSort);
+        final PageRequest secondChunk = PageRequest.of(1, STREAM_CHUNK_SIZE, personSort);
+        when(personService.getActivePersons(new PageableSearchQuery(firstChunk, "")))
+            .thenReturn(new PageImpl<>(List.of(personOne), firstChunk, STREAM_CHUNK_SIZE + 1));
+        when(personService.getActivePersons(new PageableSearchQuery(secondChunk, "")))
+            .thenReturn(new PageImpl<>(List.of(personTwo), secondChunk, STREAM_CHUNK_SIZE + 1));
+
+        final Stream<SickDaysDetailedStatistics> statistics = sut.streamAll(office, startDate, endDate, Sort.by("person.firstName"));
+        verify(personService, never()).getActivePersons(new PageableSearchQuery(secondChunk, ""));
+
+        assertThat(statistics)
+            .extracting(SickDaysDetailedStatistics::getPerson)
+            .containsExactly(personOne, personTwo);
+    }
+
+    @Test
+    void ensureStreamAllComputesAllStatisticsAtOnceWhenSortedByPersonnelNumber() {
+
+        final LocalDate startDate = LocalDate.parse("2022-01-01");
+        final LocalDate endDate = LocalDate.parse("2022-12-31");
+
+        final Person office = new Person();
+        office.setId(1L);
+        office.setPermissions(List.of(USER, OFFICE));
+
+        final Person person = new Person();
+        person.setId(2L);
+
+        when(personService.getActivePersons(new PageableSearchQuery(PageRequest.of(0, Integer.MAX_VALUE, Sort.by("basedata.personnelNumber")), "")))
+            .thenReturn(new PageImpl<>(List.of(person)));
+
+        final Stream<SickDaysDetailedStatistics> statistics = sut.streamAll(office, startDate, endDate, Sort.by("personalNumber"));
+
+        assertThat(statistics)
+            .extracting(SickDaysDetailedStatistics::getPerson)
+            .containsExactly(person);
+    }
 }
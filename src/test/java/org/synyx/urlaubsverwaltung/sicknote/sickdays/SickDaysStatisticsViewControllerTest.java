@@ -3,16 +3,17 @@ package org.synyx.urlaubsverwaltung.sicknote.sickdays;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
-import org.synyx.urlaubsverwaltung.csv.CSVFile;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 import org.synyx.urlaubsverwaltung.search.PageableSearchQuery;
@@ -24,11 +25,20 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static java.util.Locale.JAPANESE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.setup.MockMvcBuilders.standaloneSetup;
 
@@ -45,6 +55,8 @@ class SickDaysStatisticsViewControllerTest {
     private SickDaysDetailedStatisticsCsvExportService sickDaysDetailedStatisticsCsvExportService;
     @Mock
     private DateFormatAware dateFormatAware;
+    @Captor
+    private ArgumentCaptor<Supplier<Stream<SickDaysDetailedStatistics>>> statisticsCaptor;
 
     private final static Clock clock = Clock.systemUTC();
 
@@ -87,17 +99,10 @@ class SickDaysStatisticsViewControllerTest {
         final LocalDate date = LocalDate.parse(dateString);
         final FilterPeriod filterPeriod = new FilterPeriod(date, date);
 
-        final PageableSearchQuery pageableSearchQuery =
-            new PageableSearchQuery(PageRequest.of(2, 50, Sort.by(Sort.Direction.ASC, "person.firstName")), "");
-
         when(dateFormatAware.parse(dateString, locale)).thenReturn(Optional.of(date));
         when(dateFormatAware.parse(dateString, locale)).thenReturn(Optional.of(date));
 
-        when(sickDaysStatisticsService.getAll(signedInUser, date, date, pageableSearchQuery))
-            .thenReturn(new PageImpl<>(List.of()));
-
-        when(sickDaysDetailedStatisticsCsvExportService.generateCSV(filterPeriod, locale, List.of()))
-            .thenReturn(new CSVFile("filename.csv", new ByteArrayResource(new byte[]{})));
+        when(sickDaysDetailedStatisticsCsvExportService.fileName(filterPeriod, locale)).thenReturn("filename.csv");
 
         perform(get("/web/sickdays/statistics/download")
             .locale(locale)
@@ -111,6 +116,38 @@ class SickDaysStatisticsViewControllerTest {
             .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"));
     }
 
+    @Test
+    void ensureThatDownloadCSVStreamsCSV() throws Exception {
+
+        final Locale locale = JAPANESE;
+
+        final Person signedInUser = new Person();
+        signedInUser.setId(1L);
+        when(personService.getSignedInUser()).thenReturn(signedInUser);
+
+        final String dateString = "2022-05-10";
+        final LocalDate date = LocalDate.parse(dateString);
+        final FilterPeriod filterPeriod = new FilterPeriod(date, date);
+        when(dateFormatAware.parse(dateString, locale)).thenReturn(Optional.of(date));
+
+        when(sickDaysDetailedStatisticsCsvExportService.fileName(filterPeriod, locale)).thenReturn("filename.csv");
+        when(sickDaysDetailedStatisticsCsvExportService.streamingResource(eq(filterPeriod), eq(locale), any()))
+            .thenReturn(outputStream -> outputStream.write("csv-resource".getBytes()));
+
+        final MvcResult mvcResult = perform(get("/web/sickdays/statistics/download")
+            .locale(locale)
+            .param("from", dateString)
+            .param("to", dateString)
+        )
+            .andExpect(status().isOk())
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        perform(asyncDispatch(mvcResult))
+            .andExpect(status().isOk())
+            .andExpect(content().string("csv-resource"));
+    }
+
     @Test
     void ensureThatDownloadCSVWritesCSVWithPagination() throws Exception {
 
@@ -132,11 +169,11 @@ class SickDaysStatisticsViewControllerTest {
         final String endString = "01.08.2019";
         when(dateFormatAware.parse(endString, locale)).thenReturn(Optional.of(endDate));
 
+        final SickDaysDetailedStatistics statistics = new SickDaysDetailedStatistics("42", signedInUser, List.of(), List.of());
         when(sickDaysStatisticsService.getAll(signedInUser, startDate, endDate, pageableSearchQuery))
-            .thenReturn(new PageImpl<>(List.of()));
+            .thenReturn(new PageImpl<>(List.of(statistics)));
 
-        when(sickDaysDetailedStatisticsCsvExportService.generateCSV(filterPeriod, locale, List.of()))
-            .thenReturn(new CSVFile("filename.csv", new ByteArrayResource(new byte[]{})));
+        when(sickDaysDetailedStatisticsCsvExportService.fileName(filterPeriod, locale)).thenReturn("filename.csv");
 
         perform(get("/web/sickdays/statistics/download")
             .locale(locale)
@@ -146,6 +183,9 @@ class SickDaysStatisticsViewControllerTest {
             .param("size", "50")
         )
             .andExpect(status().isOk());
+
+        verify(sickDaysDetailedStatisticsCsvExportService).streamingResource(eq(filterPeriod), eq(locale), statisticsCaptor.capture());
+        assertThat(statisticsCaptor.getValue().get()).containsExactly(statistics);
     }
 
     @Test
@@ -166,13 +206,11 @@ class SickDaysStatisticsViewControllerTest {
         final String endString = "01.08.2019";
         when(dateFormatAware.parse(endString, locale)).thenReturn(Optional.of(endDate));
 
-        final PageableSearchQuery pageableSearchQuery =
-            new PageableSearchQuery(PageRequest.of(0, Integer.MAX_VALUE, Sort.by(Sort.Direction.ASC, "person.firstName")), "");
-        when(sickDaysStatisticsService.getAll(signedInUser, startDate, endDate, pageableSearchQuery))
-            .thenReturn(new PageImpl<>(List.of()));
+        final SickDaysDetailedStatistics statistics = new SickDaysDetailedStatistics("42", signedInUser, List.of(), List.of());
+        when(sickDaysStatisticsService.streamAll(signedInUser, startDate, endDate, Sort.by(Sort.Direction.ASC, "person.firstName")))
+            .thenReturn(Stream.of(statistics));
 
-        when(sickDaysDetailedStatisticsCsvExportService.generateCSV(filterPeriod, locale, List.of()))
-            .thenReturn(new CSVFile("filename.csv", new ByteArrayResource(new byte[]{})));
+        when(sickDaysDetailedStatisticsCsvExportService.fileName(filterPeriod, locale)).thenReturn("filename.csv");
 
         perform(get("/web/sickdays/statistics/download")
             .locale(locale)
@@ -181,6 +219,9 @@ class SickDaysStatisticsViewControllerTest {
             .param("allElements", "true")
         )
             .andExpect(status().isOk());
+
+        verify(sickDaysDetailedStatisticsCsvExportService).streamingResource(eq(filterPeriod), eq(locale), statisticsCaptor.capture());
+        assertThat(statisticsCaptor.getValue().get()).containsExactly(statistics);
     }
 
     @Test
@@ -201,13 +242,11 @@ class SickDaysStatisticsViewControllerTest {
         final String endString = "01.08.2019";
         when(dateFormatAware.parse(endString, locale)).thenReturn(Optional.of(endDate));
 
-        final PageableSearchQuery pageableSearchQuery =
-            new PageableSearchQuery(PageRequest.of(0, Integer.MAX_VALUE, Sort.by(Sort.Direction.ASC, "person.firstName")), "");
-        when(sickDaysStatisticsService.getAll(signedInUser, startDate, endDate, pageableSearchQuery))
-            .thenReturn(new PageImpl<>(List.of()));
+        final SickDaysDetailedStatistics statistics = new SickDaysDetailedStatistics("42", signedInUser, List.of(), List.of());
+        when(sickDaysStatisticsService.streamAll(signedInUser, startDate, endDate, Sort.by(Sort.Direction.ASC, "person.firstName")))
+            .thenReturn(Stream.of(statistics));
 
-        when(sickDaysDetailedStatisticsCsvExportService.generateCSV(filterPeriod, locale, List.of()))
-            .thenReturn(new CSVFile("filename.csv", new ByteArrayResource(new byte[]{})));
+        when(sickDaysDetailedStatisticsCsvExportService.fileName(filterPeriod, locale)).thenReturn("filename.csv");
 
         perform(get("/web/sickdays/statistics/download")
             .locale(locale)
@@ -219,6 +258,9 @@ class SickDaysStatisticsViewControllerTest {
             .param("query", "hans")
         )
             .andExpect(status().isOk());
+
+        verify(sickDaysDetailedStatisticsCsvExportService).streamingResource(eq(filterPeriod), eq(locale), statisticsCaptor.capture());
+        assertThat(statisticsCaptor.getValue().get()).containsExactly(statistics);
     }
 
     private ResultActions perform(MockHttpServletRequestBuilder builder) throws Exception {
@@ -1,9 +1,12 @@
 package org.synyx.urlaubsverwaltung.sicknote.sicknote;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import org.synyx.urlaubsverwaltung.QueryPlanRecorder;
 import org.synyx.urlaubsverwaltung.TestContainersBase;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
@@ -15,13 +18,21 @@ import static java.time.ZoneOffset.UTC;
 import static java.time.temporal.TemporalAdjusters.firstDayOfMonth;
 import static java.time.temporal.TemporalAdjusters.lastDayOfMonth;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.synyx.urlaubsverwaltung.QueryPlanRecorder.explain;
 import static org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteStatus.ACTIVE;
 import static org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteStatus.CANCELLED;
+import static org.synyx.urlaubsverwaltung.sicknote.sicknote.SickNoteStatus.SUBMITTED;
 
-@SpringBootTest
+@SpringBootTest(properties = QueryPlanRecorder.PROPERTY)
 @Transactional
 class SickNoteRepositoryIT extends TestContainersBase {
 
+    private static final LocalDate START = LocalDate.of(2022, 3, 1);
+    private static final LocalDate END = LocalDate.of(2022, 3, 31);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Autowired
     private SickNoteRepository sickNoteRepository;
 
@@ -244,6 +255,62 @@ class SickNoteRepositoryIT extends TestContainersBase {
         assertThat(actualSickNotes).contains(noteStartingBeforePeriod, noteEndingAfterPeriod, noteInBetween, noteStartingAtPeriod, noteEndingAtPeriod);
     }
 
+    @Test
+    void ensureFindByPersonAndPeriodReturnsOverlappingSickNotesOfPerson() {
+
+        final Person max = personService.create("muster", "Max", "Mustermann", "mustermann@example.org");
+        final Person marlene = personService.create("person2", "Marlene", "Musterfrau", "musterfrau@example.org");
+
+        final LocalDate askedStartDate = LocalDate.of(2022, 3, 1);
+        final LocalDate askedEndDate = LocalDate.of(2022, 3, 31);
+
+        // sick notes that should not be found
+        sickNoteRepository.save(createSickNote(max, askedStartDate.minusDays(3), askedStartDate.minusDays(1), ACTIVE));
+        sickNoteRepository.save(createSickNote(max, askedEndDate.plusDays(1), askedEndDate.plusDays(3), ACTIVE));
+        sickNoteRepository.save(createSickNote(marlene, askedStartDate.plusDays(1), askedStartDate.plusDays(2), ACTIVE));
+
+        // sick notes that should be found
+        final SickNoteEntity noteEndingAtPeriodStart = sickNoteRepository.save(createSickNote(max, askedStartDate.minusDays(2), askedStartDate, ACTIVE));
+        final SickNoteEntity noteSpanningPeriod = sickNoteRepository.save(createSickNote(max, askedStartDate.minusDays(1), askedEndDate.plusDays(1), CANCELLED));
+        final SickNoteEntity noteInBetween = sickNoteRepository.save(createSickNote(max, askedStartDate.plusDays(10), askedStartDate.plusDays(12), ACTIVE));
+        final SickNoteEntity noteStartingAtPeriodEnd = sickNoteRepository.save(createSickNote(max, askedEndDate, askedEndDate.plusDays(2), ACTIVE));
+
+        final List<SickNoteEntity> actual = sickNoteRepository.findByPersonAndPeriod(max, askedStartDate, askedEndDate);
+        assertThat(actual).containsExactly(noteEndingAtPeriodStart, noteSpanningPeriod, noteInBetween, noteStartingAtPeriodEnd);
+    }
+
+    @Test
+    void ensurePeriodOverlapOfSickNotesOfPersonUsesIndex() {
+
+        final Person max = personService.create("muster", "Max", "Mustermann", "mustermann@example.org");
+
+        final String plan = explain(entityManager, () -> sickNoteRepository.findByPersonAndPeriod(max, START, END));
+
+        assertThat(plan)
+            .doesNotContain("Seq Scan")
+            .containsAnyOf("idx_sick_note_period", "idx_sick_note_person_status_end_date");
+    }
+
+    @Test
+    void ensurePeriodOfPersonsAndStatusesUsesCompositeIndex() {
+
+        final Person max = personService.create("muster", "Max", "Mustermann", "mustermann@example.org");
+        final Person marlene = personService.create("person2", "Marlene", "Musterfrau", "musterfrau@example.org");
+
+        final String plan = explain(entityManager, () ->
+            sickNoteRepository.findByStatusInAndPersonInAndEndDateIsGreaterThanEqualAndStartDateIsLessThanEqual(List.of(ACTIVE, SUBMITTED), List.of(max, marlene), START, END));
+
+        assertThat(plan).contains("idx_sick_note_person_status_end_date");
+    }
+
+    @Test
+    void ensurePeriodOfStatusesUsesStatusIndex() {
+
+        final String plan = explain(entityManager, () -> sickNoteRepository.findByStatusInAndEndDateGreaterThanEqual(List.of(ACTIVE, SUBMITTED), START));
+
+        assertThat(plan).contains("idx_sick_note_status_end_date");
+    }
+
     private SickNoteEntity createSickNote(Person person, LocalDate startDate, LocalDate endDate, SickNoteStatus active) {
         final SickNoteEntity sickNoteEntity = new SickNoteEntity();
         sickNoteEntity.setPerson(person);
@@ -32,6 +32,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
 import static org.synyx.urlaubsverwaltung.person.Role.USER;
@@ -170,6 +171,30 @@ class SickNoteServiceImplTest {
         assertThat(actual.getWorkDays()).isEqualTo(BigDecimal.valueOf(5));
     }
 
+    @Test
+    void findSickNotesByIds() {
+        final Person person = new Person();
+        person.setId(1L);
+
+        final SickNoteEntity entity = new SickNoteEntity();
+        entity.setId(1L);
+        entity.setPerson(person);
+        entity.setStartDate(LocalDate.now(fixedClock));
+        entity.setEndDate(LocalDate.now(fixedClock));
+        entity.setDayLength(DayLength.FULL);
+        entity.setStatus(ACTIVE);
+
+        when(sickNoteRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(entity));
+
+        final List<SickNote> actual = sut.findSickNotesByIds(List.of(1L, 2L));
+        assertThat(actual).singleElement().satisfies(sickNote -> {
+            assertThat(sickNote.getId()).isEqualTo(1L);
+            assertThat(sickNote.getPerson()).isSameAs(person);
+            assertThat(sickNote.getStatus()).isEqualTo(ACTIVE);
+        });
+        verifyNoInteractions(workingTimeCalendarService);
+    }
+
     @Test
     void getAllActiveByYear() {
         final Person person = new Person();
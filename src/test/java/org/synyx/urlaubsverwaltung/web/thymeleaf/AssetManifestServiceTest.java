@@ -4,14 +4,18 @@ import org.junit.jupiter.api.Test;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.synyx.urlaubsverwaltung.web.Asset;
 import org.synyx.urlaubsverwaltung.web.AssetManifestService;
 
 import java.io.IOException;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class AssetManifestServiceTest {
@@ -76,4 +80,53 @@ class AssetManifestServiceTest {
             .isThrownBy(() -> sut.getHashedAssetFilename("filename", ""))
             .withMessage("could not read classpath:assets-manifest.json. please ensure 'npm run build' has been executed.");
     }
+
+    @Test
+    void getHashedAssetFilenameWithContextPath() {
+
+        final ResourceLoader resourceLoader = mock(ResourceLoader.class);
+        final ClassPathResource manifest = new ClassPathResource("asset-manifest-service-manifest-file.json");
+        when(resourceLoader.getResource("classpath:assets-manifest.json")).thenReturn(manifest);
+
+        final AssetManifestService sut = new AssetManifestService(resourceLoader);
+
+        assertThat(sut.getHashedAssetFilename("file-one.js", "/context")).isEqualTo("/context/public-path/file-one.contenthash.min.js");
+        assertThat(sut.getHashedAssetFilename("file-one.js", "/")).isEqualTo("/public-path/file-one.contenthash.min.js");
+    }
+
+    @Test
+    void ensureManifestFileIsParsedOnlyOnce() {
+
+        final ResourceLoader resourceLoader = mock(ResourceLoader.class);
+        final ClassPathResource manifest = new ClassPathResource("asset-manifest-service-manifest-file.json");
+        when(resourceLoader.getResource("classpath:assets-manifest.json")).thenReturn(manifest);
+
+        final AssetManifestService sut = new AssetManifestService(resourceLoader);
+
+        sut.getHashedAssetFilename("file-one.js", "");
+        sut.getHashedAssetFilename("file-one.css", "");
+        final Map<String, Asset> assets = sut.getAssets("/context");
+        assertThat(assets).containsOnlyKeys("file-one.js", "file-one.css");
+        assertThat(sut.getAssets("/context")).isSameAs(assets);
+
+        verify(resourceLoader, times(1)).getResource("classpath:assets-manifest.json");
+    }
+
+    @Test
+    void ensureManifestFileIsParsedAgainAfterReload() {
+
+        final ResourceLoader resourceLoader = mock(ResourceLoader.class);
+        when(resourceLoader.getResource("classpath:assets-manifest.json"))
+            .thenReturn(new ClassPathResource("asset-manifest-service-manifest-file-empty.json"))
+            .thenReturn(new ClassPathResource("asset-manifest-service-manifest-file.json"));
+
+        final AssetManifestService sut = new AssetManifestService(resourceLoader);
+
+        assertThat(sut.getAssets("")).isEmpty();
+
+        sut.reload();
+
+        assertThat(sut.getAssets("")).containsOnlyKeys("file-one.js", "file-one.css");
+        verify(resourceLoader, times(2)).getResource("classpath:assets-manifest.json");
+    }
 }
@@ -31,6 +31,7 @@ import static java.time.Month.DECEMBER;
 import static java.time.Month.JANUARY;
 import static java.time.Month.NOVEMBER;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
@@ -415,6 +416,56 @@ class WorkDaysCountServiceTest {
         assertThat(workDaysCount).isEqualByComparingTo(BigDecimal.valueOf(2.5));
     }
 
+    @Test
+    void getWorkDaysOverOneYear() {
+
+        when(settingsService.getSettings()).thenReturn(new Settings());
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final LocalDate startDate = LocalDate.of(2022, JANUARY, 1);
+        final LocalDate endDate = LocalDate.of(2022, DECEMBER, 31);
+
+        final WorkingTime workingTime = createWorkingTime(person, startDate, MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY);
+        when(workingTimeService.getWorkingTimesByPersonAndDateRange(eq(person), any(DateRange.class))).thenReturn(Map.of(new DateRange(startDate, endDate), workingTime));
+
+        // 260 weekdays and 9 public holidays on weekdays in baden-wuerttemberg
+        final BigDecimal workDaysCount = sut.getWorkDaysCount(FULL, startDate, endDate, person);
+        assertThat(workDaysCount).isEqualByComparingTo(BigDecimal.valueOf(251));
+    }
+
+    @Test
+    void getWorkDaysWithHalfWorkingDayOnChristmasEveAndNewYearsEve() {
+
+        when(settingsService.getSettings()).thenReturn(new Settings());
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final LocalDate startDate = LocalDate.of(2021, DECEMBER, 24);
+        final LocalDate endDate = LocalDate.of(2021, DECEMBER, 31);
+
+        final WorkingTime workingTime = createWorkingTime(person, startDate, MONDAY, TUESDAY, WEDNESDAY, THURSDAY);
+        workingTime.setDayLengthForWeekDay(FRIDAY, MORNING);
+        when(workingTimeService.getWorkingTimesByPersonAndDateRange(eq(person), any(DateRange.class))).thenReturn(Map.of(new DateRange(startDate, endDate), workingTime));
+
+        // christmas eve and new years eve are fridays: half of the half working day is a work day
+        final BigDecimal workDaysCount = sut.getWorkDaysCount(FULL, startDate, endDate, person);
+        assertThat(workDaysCount).isEqualByComparingTo(BigDecimal.valueOf(4.5));
+    }
+
+    @Test
+    void getWorkDaysThrowsWhenWorkingTimesDoNotCoverThePeriod() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final LocalDate startDate = LocalDate.of(2022, JANUARY, 10);
+        final LocalDate endDate = LocalDate.of(2022, JANUARY, 23);
+
+        final WorkingTime workingTime = createWorkingTime(person, startDate, MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY);
+        when(workingTimeService.getWorkingTimesByPersonAndDateRange(eq(person), any(DateRange.class))).thenReturn(Map.of(new DateRange(LocalDate.of(2022, JANUARY, 17), endDate), workingTime));
+        when(settingsService.getSettings()).thenReturn(new Settings());
+
+        assertThatThrownBy(() -> sut.getWorkDaysCount(FULL, startDate, endDate, person))
+            .isInstanceOf(WorkDaysCountException.class);
+    }
+
 
     private HolidayManager getHolidayManager() {
         final ClassLoader cl = Thread.currentThread().getContextClassLoader();
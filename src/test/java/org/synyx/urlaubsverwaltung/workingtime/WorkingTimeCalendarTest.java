@@ -18,10 +18,12 @@ import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
 import static org.synyx.urlaubsverwaltung.period.DayLength.MORNING;
 import static org.synyx.urlaubsverwaltung.period.DayLength.NOON;
 import static org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendar.WorkingDayInformation.WorkingTimeCalendarEntryType.NO_WORKDAY;
+import static org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendar.WorkingDayInformation.WorkingTimeCalendarEntryType.PUBLIC_HOLIDAY;
 import static org.synyx.urlaubsverwaltung.workingtime.WorkingTimeCalendar.WorkingDayInformation.WorkingTimeCalendarEntryType.WORKDAY;
 
 class WorkingTimeCalendarTest {
@@ -196,6 +198,71 @@ class WorkingTimeCalendarTest {
         assertThat(sut.workingTime(to, from)).isEqualTo(BigDecimal.ZERO);
     }
 
+    @Test
+    void ensureWorkingTimeForDateRangeExceedingTheCalendar() {
+        final LocalDate from = LocalDate.of(2022, 8, 1);
+        final LocalDate to = LocalDate.of(2022, 8, 31);
+
+        final Map<LocalDate, WorkingDayInformation> workingTimeByDate = buildWorkingTimeByDate(from, to, date -> fullWorkingDayInformation());
+        final WorkingTimeCalendar sut = new WorkingTimeCalendar(workingTimeByDate);
+
+        assertThat(sut.workingTime(from.minusYears(1), to.plusYears(1))).isEqualTo(BigDecimal.valueOf(31));
+        assertThat(sut.workingTime(from.minusDays(10), from.minusDays(1))).isEqualTo(BigDecimal.ZERO);
+        assertThat(sut.workingTime(to.plusDays(1), to.plusDays(10))).isEqualTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    void ensureWorkingTimeForDateRangeWithMixedDayLengthsAndUnknownDays() {
+        final Map<LocalDate, WorkingDayInformation> workingTimeByDate = new HashMap<>();
+        workingTimeByDate.put(LocalDate.of(2022, 8, 1), fullWorkingDayInformation());
+        workingTimeByDate.put(LocalDate.of(2022, 8, 2), new WorkingDayInformation(MORNING, WORKDAY, NO_WORKDAY));
+        workingTimeByDate.put(LocalDate.of(2022, 8, 5), new WorkingDayInformation(DayLength.ZERO, PUBLIC_HOLIDAY, PUBLIC_HOLIDAY));
+        workingTimeByDate.put(LocalDate.of(2022, 8, 8), fullWorkingDayInformation());
+        final WorkingTimeCalendar sut = new WorkingTimeCalendar(workingTimeByDate);
+
+        assertThat(sut.workingTime(LocalDate.of(2022, 8, 1), LocalDate.of(2022, 8, 8))).isEqualTo(new BigDecimal("2.5"));
+        assertThat(sut.workingTime(LocalDate.of(2022, 8, 3), LocalDate.of(2022, 8, 8))).isEqualTo(BigDecimal.ONE);
+        assertThat(sut.workingTime(LocalDate.of(2022, 8, 3))).isEmpty();
+        assertThat(sut.workingTimeDayLength(LocalDate.of(2022, 8, 5))).hasValue(DayLength.ZERO);
+    }
+
+    @Test
+    void ensureWorkingTimeForHalfDayApplicationWithHalfWorkingDays() {
+        final Map<LocalDate, WorkingDayInformation> workingTimeByDate = new HashMap<>();
+        workingTimeByDate.put(LocalDate.of(2022, 8, 1), fullWorkingDayInformation());
+        workingTimeByDate.put(LocalDate.of(2022, 8, 2), new WorkingDayInformation(NOON, NO_WORKDAY, WORKDAY));
+        final WorkingTimeCalendar sut = new WorkingTimeCalendar(workingTimeByDate);
+
+        final Application application = new Application();
+        application.setStartDate(LocalDate.of(2022, 8, 1));
+        application.setEndDate(LocalDate.of(2022, 8, 3));
+        application.setDayLength(MORNING);
+
+        assertThat(sut.workingTime(application)).isEqualTo(new BigDecimal("0.8"));
+    }
+
+    @Test
+    void ensureCalendarOfConsecutiveDaysEqualsCalendarOfMap() {
+        final WorkingDayInformation[] workingDays = {
+            null,
+            fullWorkingDayInformation(),
+            null,
+            new WorkingDayInformation(MORNING, WORKDAY, NO_WORKDAY),
+            null
+        };
+        final WorkingTimeCalendar sut = new WorkingTimeCalendar(LocalDate.of(2022, 8, 1), workingDays);
+
+        final Map<LocalDate, WorkingDayInformation> workingTimeByDate = new HashMap<>();
+        workingTimeByDate.put(LocalDate.of(2022, 8, 2), fullWorkingDayInformation());
+        workingTimeByDate.put(LocalDate.of(2022, 8, 4), new WorkingDayInformation(MORNING, WORKDAY, NO_WORKDAY));
+
+        assertThat(sut).isEqualTo(new WorkingTimeCalendar(workingTimeByDate));
+        assertThat(sut.workingDays()).containsExactly(
+            entry(LocalDate.of(2022, 8, 2), fullWorkingDayInformation()),
+            entry(LocalDate.of(2022, 8, 4), new WorkingDayInformation(MORNING, WORKDAY, NO_WORKDAY))
+        );
+    }
+
     static Stream<Arguments> morningAndNoonWorkingTimeInformation() {
         return Stream.of(
             Arguments.of(new WorkingDayInformation(MORNING, WORKDAY, NO_WORKDAY)),
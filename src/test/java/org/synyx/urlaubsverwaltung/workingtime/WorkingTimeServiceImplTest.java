@@ -9,6 +9,7 @@ import org.junit.jupiter.params.provider.NullSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.synyx.urlaubsverwaltung.absence.DateRange;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.settings.Settings;
@@ -48,12 +49,14 @@ class WorkingTimeServiceImplTest {
     private WorkingTimeRepository workingTimeRepository;
     @Mock
     private SettingsService settingsService;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
 
     private final Clock fixedClock = Clock.fixed(Instant.parse("2019-08-13T00:00:00.00Z"), UTC);
 
     @BeforeEach
     void setUp() {
-        sut = new WorkingTimeServiceImpl(workingTimeRepository, settingsService, fixedClock);
+        sut = new WorkingTimeServiceImpl(workingTimeRepository, settingsService, applicationEventPublisher, fixedClock);
     }
 
     @Test
@@ -156,6 +159,8 @@ class WorkingTimeServiceImplTest {
 
         final WorkingTimeEntity persistedWorkingTimeEntity = workingTimeArgumentCaptor.getValue();
         assertThat(persistedWorkingTimeEntity.getFederalStateOverride()).isNull();
+
+        verify(applicationEventPublisher).publishEvent(new WorkingTimeUpdatedEvent(person));
     }
 
     @ParameterizedTest